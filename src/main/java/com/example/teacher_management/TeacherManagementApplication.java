@@ -2,8 +2,10 @@ package com.example.teacher_management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cache.annotation.EnableCaching;
 
 @SpringBootApplication
+@EnableCaching
 public class TeacherManagementApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,97 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Caches the teacher and study group lookups made on every routine write and
+ * workload request. Sizes and TTL come from {@code spring.cache.caffeine.spec};
+ * hit/miss counts are published as {@code cache.gets} metrics. Cached entities
+ * are shared and detached, so callers must not modify them.
+ */
+@Component
+public class ReferenceDataCache {
+
+  public static final String TEACHERS_BY_ID = "teachersById";
+  public static final String TEACHERS_BY_NAME = "teachersByName";
+  public static final String GROUPS_BY_ID = "groupsById";
+
+  private final TeacherRepository teacherRepository;
+  private final GroupRepository groupRepository;
+  private final CacheManager cacheManager;
+
+  public ReferenceDataCache(TeacherRepository teacherRepository,
+      GroupRepository groupRepository, CacheManager cacheManager) {
+    this.teacherRepository = teacherRepository;
+    this.groupRepository = groupRepository;
+    this.cacheManager = cacheManager;
+  }
+
+  @Cacheable(cacheNames = TEACHERS_BY_ID, unless = "#result == null")
+  public Optional<Teacher> findTeacherById(Long teacherId) {
+    return teacherRepository.findById(teacherId);
+  }
+
+  @Cacheable(cacheNames = TEACHERS_BY_NAME, unless = "#result == null")
+  public Optional<Teacher> findTeacherByName(String name) {
+    return teacherRepository.findByName(name);
+  }
+
+  @Cacheable(cacheNames = GROUPS_BY_ID, unless = "#result == null")
+  public Optional<StudyGroup> findGroupById(Long groupId) {
+    return groupRepository.findById(groupId);
+  }
+
+  // The previous name is not known here, so the whole by-name cache is dropped;
+  // teacher edits are rare compared to lookups.
+  public void evictTeacher(Long teacherId) {
+    afterCommit(() -> {
+      evict(TEACHERS_BY_ID, teacherId);
+      clear(TEACHERS_BY_NAME);
+    });
+  }
+
+  public void evictGroup(Long groupId) {
+    afterCommit(() -> evict(GROUPS_BY_ID, groupId));
+  }
+
+  private void evict(String cacheName, Object key) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.evict(key);
+    }
+  }
+
+  private void clear(String cacheName) {
+    Cache cache = cacheManager.getCache(cacheName);
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  // Evicting before commit lets a concurrent lookup cache the old row again until
+  // the TTL runs out, so the eviction waits until the write is visible.
+  private void afterCommit(Runnable eviction) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      eviction.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            eviction.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,280 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.util.Recurrence;
+import com.example.teacher_management.util.RoutineIntervalSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of every scheduled slot, used to reject double-booked teachers and
+ * groups without querying the routine table on each write. Loaded once at startup,
+ * before the web server takes requests, so no write is checked against a partial
+ * index; afterwards only the routine write paths change it, inside their transactions, and
+ * a rollback puts the previous slots back. Recurring routines are kept as patterns,
+ * indexed by teacher and group, and checked date by date.
+ */
+@Component
+@Slf4j
+public class RoutineConflictIndex implements SmartInitializingSingleton {
+
+  private final RoutineRepository routineRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final RoutineIntervalSet slots = new RoutineIntervalSet();
+  private final Map<Long, RoutineDTO> routines = new HashMap<>();
+  private final Map<Long, RecurringRoutineDTO> recurring = new HashMap<>();
+  private final Map<Long, Set<Long>> recurringByTeacher = new HashMap<>();
+  private final Map<Long, Set<Long>> recurringByGroup = new HashMap<>();
+
+  public RoutineConflictIndex(RoutineRepository routineRepository,
+      RecurringRoutineRepository recurringRoutineRepository) {
+    this.routineRepository = routineRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+  }
+
+  // Called on the proxy once every singleton exists, which is before the web server
+  // starts, so the transaction applies.
+  @Override
+  @Transactional(readOnly = true)
+  public void afterSingletonsInstantiated() {
+    load();
+  }
+
+  void load() {
+    log.info("Loading routine conflict index");
+    List<RecurringRoutineDTO> definitions = recurringRoutineRepository
+        .findAllWithExceptions().stream().map(RecurringRoutineDTO::fromEntity).toList();
+    try (Stream<RoutineDTO> all = routineRepository.streamAllForExport()) {
+      synchronized (this) {
+        slots.clear();
+        routines.clear();
+        recurring.clear();
+        recurringByTeacher.clear();
+        recurringByGroup.clear();
+        all.forEach(this::put);
+        definitions.forEach(this::putRecurring);
+      }
+    }
+    log.info("Loaded {} routines and {} recurring routines into the conflict index",
+        routines.size(), recurring.size());
+  }
+
+  public synchronized List<Long> findConflicts(RoutineDTO routine) {
+    List<Long> conflicts = new ArrayList<>(slots.findConflicts(routine));
+    conflicts.remove(routine.getRoutineId());
+    return conflicts;
+  }
+
+  /**
+   * Replaces the {@code removed} routines with the {@code added} ones, checking each
+   * added routine against everything else, including routines added earlier in the
+   * same call. On a clash nothing changes and a {@link RoutineConflictException}
+   * names the clashing routine ids.
+   */
+  public synchronized void applyChanges(List<RoutineDTO> removed, List<RoutineDTO> added) {
+    List<RoutineDTO> displaced = new ArrayList<>();
+    for (RoutineDTO routine : removed) {
+      RoutineDTO indexed = take(routine.getRoutineId());
+      if (indexed != null) {
+        displaced.add(indexed);
+      }
+    }
+    List<RoutineDTO> placed = new ArrayList<>();
+    for (RoutineDTO routine : added) {
+      // An update that is not listed in removed still replaces its old slot.
+      RoutineDTO indexed = take(routine.getRoutineId());
+      if (indexed != null) {
+        displaced.add(indexed);
+      }
+      List<Long> conflicts = findConflicts(routine);
+      List<Long> recurringConflicts = findRecurringConflicts(routine);
+      if (!conflicts.isEmpty() || !recurringConflicts.isEmpty()) {
+        revert(placed, displaced);
+        throw conflict(describe(routine), conflicts, recurringConflicts);
+      }
+      put(routine);
+      placed.add(routine);
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status != STATUS_COMMITTED) {
+                synchronized (RoutineConflictIndex.this) {
+                  revert(placed, displaced);
+                }
+              }
+            }
+          });
+    }
+  }
+
+  /**
+   * Replaces the {@code removed} recurring routine with the {@code added} one, either of
+   * which may be null. The added routine is checked occurrence by occurrence against
+   * single routines and pattern by pattern against other recurring routines.
+   */
+  public synchronized void applyRecurringChanges(RecurringRoutineDTO removed,
+      RecurringRoutineDTO added) {
+    List<RecurringRoutineDTO> displaced = new ArrayList<>();
+    if (removed != null) {
+      RecurringRoutineDTO indexed = takeRecurring(removed.getRecurringRoutineId());
+      if (indexed != null) {
+        displaced.add(indexed);
+      }
+    }
+    if (added != null) {
+      RecurringRoutineDTO indexed = takeRecurring(added.getRecurringRoutineId());
+      if (indexed != null) {
+        displaced.add(indexed);
+      }
+      Set<Long> conflicts = new TreeSet<>();
+      Recurrence.expand(added, added.getStartDate(), added.getEndDate()).forEach(
+          occurrence -> conflicts.addAll(slots.findConflicts(
+              Recurrence.asRoutine(occurrence))));
+      Set<Long> recurringConflicts = new TreeSet<>();
+      for (Long id : recurringIdsFor(added.getTeacherId(), added.getGroupId())) {
+        if (Recurrence.overlaps(added, recurring.get(id))) {
+          recurringConflicts.add(id);
+        }
+      }
+      if (!conflicts.isEmpty() || !recurringConflicts.isEmpty()) {
+        displaced.forEach(this::putRecurring);
+        throw conflict("Recurring routine on " + added.getDayOfWeek() + "s from "
+                + added.getStartTime() + " to " + added.getEndTime(),
+            new ArrayList<>(conflicts), new ArrayList<>(recurringConflicts));
+      }
+      putRecurring(added);
+    }
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              if (status != STATUS_COMMITTED) {
+                synchronized (RoutineConflictIndex.this) {
+                  if (added != null) {
+                    takeRecurring(added.getRecurringRoutineId());
+                  }
+                  displaced.forEach(RoutineConflictIndex.this::putRecurring);
+                }
+              }
+            }
+          });
+    }
+  }
+
+  public synchronized List<Long> findRecurringConflicts(RoutineDTO routine) {
+    if (!RoutineIntervalSet.isSchedulable(routine)) {
+      return List.of();
+    }
+    Set<Long> conflicts = new TreeSet<>();
+    for (Long id : recurringIdsFor(routine.getTeacherId(), routine.getGroupId())) {
+      RecurringRoutineDTO definition = recurring.get(id);
+      if (Recurrence.occursOn(definition, routine.getRoutineDate())
+          && definition.getStartTime().isBefore(routine.getEndTime())
+          && routine.getStartTime().isBefore(definition.getEndTime())) {
+        conflicts.add(id);
+      }
+    }
+    return new ArrayList<>(conflicts);
+  }
+
+  private Set<Long> recurringIdsFor(Long teacherId, Long groupId) {
+    Set<Long> ids = new HashSet<>(recurringByTeacher.getOrDefault(teacherId, Set.of()));
+    ids.addAll(recurringByGroup.getOrDefault(groupId, Set.of()));
+    return ids;
+  }
+
+  private RoutineConflictException conflict(String description, List<Long> conflicts,
+      List<Long> recurringConflicts) {
+    StringBuilder message = new StringBuilder(description).append(" overlaps");
+    if (!conflicts.isEmpty()) {
+      message.append(" routine(s) ").append(conflicts);
+    }
+    if (!recurringConflicts.isEmpty()) {
+      message.append(conflicts.isEmpty() ? "" : " and")
+          .append(" recurring routine(s) ").append(recurringConflicts);
+    }
+    List<Long> ids = new ArrayList<>(conflicts);
+    ids.addAll(recurringConflicts);
+    return new RoutineConflictException(message.toString(), ids);
+  }
+
+  private void putRecurring(RecurringRoutineDTO routine) {
+    takeRecurring(routine.getRecurringRoutineId());
+    recurring.put(routine.getRecurringRoutineId(), routine);
+    if (routine.getTeacherId() != null) {
+      recurringByTeacher.computeIfAbsent(routine.getTeacherId(), id -> new HashSet<>())
+          .add(routine.getRecurringRoutineId());
+    }
+    if (routine.getGroupId() != null) {
+      recurringByGroup.computeIfAbsent(routine.getGroupId(), id -> new HashSet<>())
+          .add(routine.getRecurringRoutineId());
+    }
+  }
+
+  private RecurringRoutineDTO takeRecurring(Long recurringRoutineId) {
+    RecurringRoutineDTO indexed = recurringRoutineId == null ? null
+        : recurring.remove(recurringRoutineId);
+    if (indexed != null) {
+      Set<Long> teacherIds = recurringByTeacher.get(indexed.getTeacherId());
+      if (teacherIds != null) {
+        teacherIds.remove(recurringRoutineId);
+      }
+      Set<Long> groupIds = recurringByGroup.get(indexed.getGroupId());
+      if (groupIds != null) {
+        groupIds.remove(recurringRoutineId);
+      }
+    }
+    return indexed;
+  }
+
+  private void revert(List<RoutineDTO> placed, List<RoutineDTO> displaced) {
+    for (RoutineDTO routine : placed) {
+      take(routine.getRoutineId());
+    }
+    for (RoutineDTO routine : displaced) {
+      put(routine);
+    }
+  }
+
+  private void put(RoutineDTO routine) {
+    take(routine.getRoutineId());
+    routines.put(routine.getRoutineId(), routine);
+    slots.add(routine.getRoutineId(), routine);
+  }
+
+  private RoutineDTO take(Long routineId) {
+    RoutineDTO indexed = routineId == null ? null : routines.remove(routineId);
+    if (indexed != null) {
+      slots.remove(routineId, indexed);
+    }
+    return indexed;
+  }
+
+  private String describe(RoutineDTO routine) {
+    return "Routine on " + routine.getRoutineDate() + " from " + routine.getStartTime()
+        + " to " + routine.getEndTime();
+  }
+}
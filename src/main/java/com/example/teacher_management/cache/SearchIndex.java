@@ -0,0 +1,139 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.dto.SearchHitDTO;
+import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.util.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram indexes over teacher name, department and email and over study group name
+ * and description, so searches never scan the tables. Loaded once at startup, before
+ * the web server takes requests; after that the teacher and group write methods keep
+ * it current, once their change has committed.
+ */
+@Component
+@Slf4j
+public class SearchIndex implements SmartInitializingSingleton {
+
+  // Share of the query's trigrams a result must contain; low enough for one typo in
+  // a short name.
+  static final double MIN_SCORE = 0.3;
+
+  private final TeacherRepository teacherRepository;
+  private final GroupRepository groupRepository;
+  private final TrigramIndex<TeacherDTO> teachers = new TrigramIndex<>();
+  private final TrigramIndex<StudyGroupDTO> groups = new TrigramIndex<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public SearchIndex(TeacherRepository teacherRepository,
+      GroupRepository groupRepository) {
+    this.teacherRepository = teacherRepository;
+    this.groupRepository = groupRepository;
+  }
+
+  // Runs on the proxy before the web server starts, inside the transaction.
+  @Override
+  @Transactional(readOnly = true)
+  public void afterSingletonsInstantiated() {
+    load();
+  }
+
+  void load() {
+    log.info("Loading teacher and study group search index");
+    List<TeacherDTO> allTeachers = teacherRepository.findAll().stream()
+        .map(TeacherDTO::fromEntity).toList();
+    List<StudyGroupDTO> allGroups = groupRepository.findAll().stream()
+        .map(StudyGroupDTO::fromEntity).toList();
+    lock.writeLock().lock();
+    try {
+      teachers.clear();
+      groups.clear();
+      allTeachers.forEach(this::indexTeacher);
+      allGroups.forEach(this::indexGroup);
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Indexed {} teachers and {} study groups for search", allTeachers.size(),
+        allGroups.size());
+  }
+
+  public List<SearchHitDTO<TeacherDTO>> searchTeachers(String query, int limit) {
+    lock.readLock().lock();
+    try {
+      return teachers.search(query, MIN_SCORE, limit).stream()
+          .map(hit -> new SearchHitDTO<>(hit.value(), hit.score())).toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public List<SearchHitDTO<StudyGroupDTO>> searchGroups(String query, int limit) {
+    lock.readLock().lock();
+    try {
+      return groups.search(query, MIN_SCORE, limit).stream()
+          .map(hit -> new SearchHitDTO<>(hit.value(), hit.score())).toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void putTeacher(TeacherDTO teacher) {
+    afterCommit(() -> indexTeacher(teacher));
+  }
+
+  public void removeTeacher(Long teacherId) {
+    afterCommit(() -> teachers.remove(teacherId));
+  }
+
+  public void putGroup(StudyGroupDTO group) {
+    afterCommit(() -> indexGroup(group));
+  }
+
+  public void removeGroup(Long groupId) {
+    afterCommit(() -> groups.remove(groupId));
+  }
+
+  private void indexTeacher(TeacherDTO teacher) {
+    teachers.put(teacher.getTeacherId(), teacher, teacher.getName(),
+        teacher.getDepartment(), teacher.getEmail());
+  }
+
+  private void indexGroup(StudyGroupDTO group) {
+    groups.put(group.getGroupId(), group, group.getGroupName(), group.getDescription());
+  }
+
+  // Applied under the write lock, and only once the write is visible to other readers.
+  private void afterCommit(Runnable change) {
+    Runnable locked = () -> {
+      lock.writeLock().lock();
+      try {
+        change.run();
+      } finally {
+        lock.writeLock().unlock();
+      }
+    };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      locked.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            locked.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,151 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.event.RecurringRoutineChangedEvent;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.util.Recurrence;
+import com.example.teacher_management.util.TimetableGrid;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Caches one built week per teacher or group. Routine changes evict only the weeks
+ * they touch, before and after the change, once the change has committed. A week is
+ * built from one read-only snapshot and is not cached if any eviction happened while
+ * it was being built, since it may predate that change. Cached timetables are shared,
+ * so callers must not modify them.
+ */
+@Component
+public class TimetableCache {
+
+  public static final String TIMETABLES = "timetables";
+
+  private final RoutineRepository routineRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final CacheManager cacheManager;
+  private final TransactionTemplate weekRead;
+  private final AtomicLong evictions = new AtomicLong();
+
+  public TimetableCache(RoutineRepository routineRepository,
+      RecurringRoutineRepository recurringRoutineRepository, CacheManager cacheManager,
+      PlatformTransactionManager transactionManager) {
+    this.routineRepository = routineRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+    this.cacheManager = cacheManager;
+    // Routines and recurring routines are read from the same snapshot. Only a miss
+    // opens it, so a cache hit takes no connection.
+    this.weekRead = new TransactionTemplate(transactionManager);
+    weekRead.setReadOnly(true);
+    weekRead.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+  }
+
+  public static String key(TimetableOwner owner, Long ownerId, LocalDate weekStart) {
+    return owner + ":" + ownerId + ":" + weekStart;
+  }
+
+  public TimetableDTO findWeek(TimetableOwner owner, Long ownerId, LocalDate weekStart) {
+    Cache cache = cacheManager.getCache(TIMETABLES);
+    String key = key(owner, ownerId, weekStart);
+    TimetableDTO cached = cache == null ? null : cache.get(key, TimetableDTO.class);
+    if (cached != null) {
+      return cached;
+    }
+    // Read before the snapshot is taken: a change that commits after this point bumps
+    // the count, and one that committed before it is in the snapshot.
+    long evictionsBefore = evictions.get();
+    TimetableDTO week = weekRead.execute(status -> build(owner, ownerId, weekStart));
+    if (cache != null) {
+      synchronized (this) {
+        if (evictions.get() == evictionsBefore) {
+          cache.put(key, week);
+        }
+      }
+    }
+    return week;
+  }
+
+  private TimetableDTO build(TimetableOwner owner, Long ownerId, LocalDate weekStart) {
+    LocalDate weekEnd = weekStart.plusDays(TimetableGrid.DAYS_PER_WEEK - 1);
+    List<RoutineDTO> routines = owner == TimetableOwner.TEACHER
+        ? routineRepository.findByTeacherBetween(ownerId, weekStart, weekEnd)
+        : routineRepository.findByGroupBetween(ownerId, weekStart, weekEnd);
+    List<RecurringRoutine> definitions = owner == TimetableOwner.TEACHER
+        ? recurringRoutineRepository.findByTeachersBetween(List.of(ownerId), weekStart,
+            weekEnd)
+        : recurringRoutineRepository.findByGroupsBetween(List.of(ownerId), weekStart,
+            weekEnd);
+    List<RoutineOccurrenceDTO> occurrences = new ArrayList<>();
+    for (RecurringRoutine definition : definitions) {
+      occurrences.addAll(Recurrence.expand(RecurringRoutineDTO.fromEntity(definition),
+          weekStart, weekEnd));
+    }
+    return TimetableGrid.build(owner, ownerId, weekStart, routines, occurrences);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRoutineChanged(RoutineChangedEvent event) {
+    Cache cache = cacheManager.getCache(TIMETABLES);
+    if (cache == null) {
+      return;
+    }
+    Set<String> keys = new HashSet<>();
+    Stream.concat(event.getRemoved().stream(), event.getAdded().stream())
+        .filter(routine -> routine.getRoutineDate() != null)
+        .forEach(routine -> {
+          LocalDate weekStart = TimetableGrid.weekStart(routine.getRoutineDate());
+          if (routine.getTeacherId() != null) {
+            keys.add(key(TimetableOwner.TEACHER, routine.getTeacherId(), weekStart));
+          }
+          if (routine.getGroupId() != null) {
+            keys.add(key(TimetableOwner.GROUP, routine.getGroupId(), weekStart));
+          }
+        });
+    evict(cache, keys);
+  }
+
+  // A recurring routine can touch every week of its range, before and after the change.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRecurringRoutineChanged(RecurringRoutineChangedEvent event) {
+    Cache cache = cacheManager.getCache(TIMETABLES);
+    if (cache == null) {
+      return;
+    }
+    Set<String> keys = new HashSet<>();
+    Stream.of(event.getRemoved(), event.getAdded())
+        .filter(routine -> routine != null)
+        .forEach(routine -> {
+          LocalDate weekStart = TimetableGrid.weekStart(routine.getStartDate());
+          while (!weekStart.isAfter(routine.getEndDate())) {
+            keys.add(key(TimetableOwner.TEACHER, routine.getTeacherId(), weekStart));
+            keys.add(key(TimetableOwner.GROUP, routine.getGroupId(), weekStart));
+            weekStart = weekStart.plusWeeks(1);
+          }
+        });
+    evict(cache, keys);
+  }
+
+  private synchronized void evict(Cache cache, Set<String> keys) {
+    evictions.incrementAndGet();
+    keys.forEach(cache::evict);
+  }
+}
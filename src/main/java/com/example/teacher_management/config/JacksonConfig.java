@@ -0,0 +1,29 @@
+package com.example.teacher_management.config;
+
+import com.example.teacher_management.util.FieldSelection;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+  // The DTOs carry a property filter; without a selection it must write everything
+  // rather than fail, e.g. for SSE events and the journal.
+  @Bean
+  public Jackson2ObjectMapperBuilderCustomizer unfilteredFieldSelection() {
+    return builder -> builder.filters(FieldSelection.unfiltered());
+  }
+
+  // Answers Accept: application/cbor. Built from Boot's builder, so dates, modules and
+  // the filter setup match the JSON mapper.
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+      Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(
+        builder.factory(new CBORFactory()).build());
+  }
+}
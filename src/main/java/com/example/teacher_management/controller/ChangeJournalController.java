@@ -0,0 +1,70 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.JournalEntryDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.ChangeJournalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/journal")
+@Slf4j
+public class ChangeJournalController {
+
+  private final ChangeJournalService changeJournalService;
+
+  public ChangeJournalController(ChangeJournalService changeJournalService) {
+    this.changeJournalService = changeJournalService;
+  }
+
+  @GetMapping("/history")
+  public List<JournalEntryDTO> getHistory(@RequestParam String entityType,
+      @RequestParam Long entityId) {
+    log.info("Fetching journal history of {} {}", entityType, entityId);
+    try {
+      return changeJournalService.getHistory(SyncEntityType.valueOf(entityType),
+          entityId);
+    } catch (Exception e) {
+      log.error("Error fetching journal history: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error fetching journal history: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/routine/{id}")
+  public RoutineDTO getRoutineAsOf(@PathVariable Long id, @RequestParam String at) {
+    log.info("Rebuilding routine {} as of {}", id, at);
+    try {
+      return changeJournalService.getRoutineAsOf(id, Instant.parse(at));
+    } catch (Exception e) {
+      log.error("Error rebuilding routine {}: {}", id, e.getMessage());
+      throw new RoutineResourceException(
+          "Error rebuilding routine " + id + ": " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/teacher/{id}/timetable")
+  public TimetableDTO getTeacherTimetableAsOf(@PathVariable Long id,
+      @RequestParam String week, @RequestParam String at) {
+    log.info("Rebuilding timetable of teacher {} in week of {} as of {}", id, week, at);
+    try {
+      return changeJournalService.getTeacherTimetableAsOf(id, LocalDate.parse(week),
+          Instant.parse(at));
+    } catch (Exception e) {
+      log.error("Error rebuilding timetable of teacher {}: {}", id, e.getMessage());
+      throw new RoutineResourceException(
+          "Error rebuilding timetable of teacher " + id + ": " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.util.FieldSelection;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Renders JSON and CBOR responses with the request's {@code ?fields=} selection. The
+ * list endpoints have already narrowed their SQL projection to the same fields; this
+ * keeps the properties that were not read out of the payload.
+ */
+@ControllerAdvice
+public class FieldSelectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+  @Override
+  protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+      MediaType contentType, MethodParameter returnType, ServerHttpRequest request,
+      ServerHttpResponse response) {
+    String fields = request instanceof ServletServerHttpRequest servletRequest
+        ? servletRequest.getServletRequest().getParameter("fields") : null;
+    bodyContainer.setFilters(FieldSelection.filters(fields));
+  }
+}
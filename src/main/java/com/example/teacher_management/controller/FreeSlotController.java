@@ -0,0 +1,48 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.FreeSlotDTO;
+import com.example.teacher_management.dto.FreeSlotQuery;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.FreeSlotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class FreeSlotController {
+
+  private final FreeSlotService freeSlotService;
+
+  public FreeSlotController(FreeSlotService freeSlotService) {
+    this.freeSlotService = freeSlotService;
+  }
+
+  @GetMapping("/free-slots")
+  public List<FreeSlotDTO> findFreeSlots(
+      @RequestParam(required = false) List<Long> teacherIds,
+      @RequestParam(required = false) List<Long> groupIds, @RequestParam String startDate,
+      @RequestParam String endDate, @RequestParam(defaultValue = "0") int minMinutes,
+      @RequestParam(defaultValue = "08:00") String dayStart,
+      @RequestParam(defaultValue = "18:00") String dayEnd) {
+    log.info("Finding free slots for teachers {} and groups {}", teacherIds, groupIds);
+    try {
+      FreeSlotQuery query = new FreeSlotQuery(teacherIds, groupIds,
+          LocalDate.parse(startDate), LocalDate.parse(endDate), minMinutes,
+          LocalTime.parse(dayStart), LocalTime.parse(dayEnd));
+      List<FreeSlotDTO> freeSlots = freeSlotService.findFreeSlots(query);
+      log.info("Found {} free slots", freeSlots.size());
+      return freeSlots;
+    } catch (Exception e) {
+      log.error("Error finding free slots: {}", e.getMessage());
+      throw new RoutineResourceException("Error finding free slots: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import com.example.teacher_management.exception.IdNotFoundException;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.RecurringRoutineService;
+import com.example.teacher_management.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class RecurringRoutineController {
+
+  private final RecurringRoutineService recurringRoutineService;
+
+  public RecurringRoutineController(RecurringRoutineService recurringRoutineService) {
+    this.recurringRoutineService = recurringRoutineService;
+  }
+
+  @PostMapping("/recurring-routine")
+  public ResponseEntity<RecurringRoutineDTO> createRecurringRoutine(
+      @RequestBody RecurringRoutineDTO routine) {
+    log.info("Creating new recurring routine: {}", routine);
+    try {
+      if (routine == null) {
+        throw new RoutineResourceException("Recurring routine resource was not found");
+      }
+      RecurringRoutineDTO created = recurringRoutineService.saveRecurringRoutine(routine);
+      log.info("Successfully created recurring routine: {}",
+          created.getRecurringRoutineId());
+      return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    } catch (RoutineConflictException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error creating recurring routine: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error creating recurring routine: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/recurring-routine/{id}")
+  public ResponseEntity<RecurringRoutineDTO> getRecurringRoutineById(
+      @PathVariable Long id) {
+    log.info("Fetching recurring routine with id: {}", id);
+    try {
+      return ResponseEntity.ok(recurringRoutineService.getRecurringRoutineById(id));
+    } catch (RoutineResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error fetching recurring routine by id: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error fetching recurring routine by id: " + e.getMessage());
+    }
+  }
+
+  @PutMapping("/recurring-routine/{id}")
+  public ResponseEntity<RecurringRoutineDTO> updateRecurringRoutine(@PathVariable Long id,
+      @RequestBody RecurringRoutineDTO routine) {
+    log.info("Updating recurring routine with id {}: {}", id, routine);
+    try {
+      if (ValidationUtil.isNullOrZero(id)) {
+        throw new IdNotFoundException("Id is not valid or Defined");
+      }
+      RecurringRoutineDTO updated = recurringRoutineService.updateRecurringRoutine(id,
+          routine);
+      log.info("Successfully updated recurring routine with id: {}", id);
+      return ResponseEntity.ok(updated);
+    } catch (IdNotFoundException | RoutineResourceException
+        | RoutineConflictException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error updating recurring routine: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error updating recurring routine: " + e.getMessage());
+    }
+  }
+
+  @DeleteMapping("/recurring-routine/{id}")
+  public ResponseEntity<Void> deleteRecurringRoutine(@PathVariable Long id) {
+    log.info("Deleting recurring routine with id: {}", id);
+    try {
+      if (ValidationUtil.isNullOrZero(id)) {
+        throw new IdNotFoundException("Id is not valid or Defined");
+      }
+      recurringRoutineService.deleteRecurringRoutine(id);
+      log.info("Successfully deleted recurring routine with id: {}", id);
+      return ResponseEntity.noContent().build();
+    } catch (IdNotFoundException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error deleting recurring routine: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error deleting recurring routine: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/recurring-routines/occurrences")
+  public List<RoutineOccurrenceDTO> getOccurrences(
+      @RequestParam(required = false) Long teacherId,
+      @RequestParam(required = false) Long groupId, @RequestParam String startDate,
+      @RequestParam String endDate) {
+    log.info("Fetching recurring routine occurrences");
+    try {
+      List<RoutineOccurrenceDTO> occurrences = recurringRoutineService.getOccurrences(
+          teacherId, groupId, LocalDate.parse(startDate), LocalDate.parse(endDate));
+      log.info("Fetched {} occurrences", occurrences.size());
+      return occurrences;
+    } catch (Exception e) {
+      log.error("Error fetching recurring routine occurrences: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error fetching recurring routine occurrences: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.service.RoutineChangeFeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class RoutineChangeFeedController {
+
+  private final RoutineChangeFeedService routineChangeFeedService;
+
+  public RoutineChangeFeedController(RoutineChangeFeedService routineChangeFeedService) {
+    this.routineChangeFeedService = routineChangeFeedService;
+  }
+
+  @GetMapping(value = "/routines/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribe(@RequestParam(required = false) Long teacherId,
+      @RequestParam(required = false) Long groupId) {
+    log.info("Subscribing to routine changes for teacher {} and group {}", teacherId,
+        groupId);
+    return routineChangeFeedService.subscribe(teacherId, groupId);
+  }
+}
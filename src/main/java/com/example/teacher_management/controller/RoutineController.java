@@ -1,19 +1,34 @@
 package com.example.teacher_management.controller;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
 import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.exception.IdNotFoundException;
+import com.example.teacher_management.exception.RoutineConflictException;
 import com.example.teacher_management.exception.RoutineResourceException;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.service.RoutineService;
+import com.example.teacher_management.util.ETags;
+import com.example.teacher_management.util.FieldSelection;
 import com.example.teacher_management.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api")
@@ -36,30 +51,92 @@ public class RoutineController {
       RoutineDTO createdRoutine = routineService.saveRoutine(routine);
       log.info("Successfully created routine: {}", createdRoutine);
       return ResponseEntity.status(HttpStatus.CREATED).body(createdRoutine);
+    } catch (RoutineConflictException e) {
+      throw e;
     } catch (Exception e) {
       log.error("Error creating routine: {}", e.getMessage());
       throw new RoutineResourceException("Error creating routine: " + e.getMessage());
     }
   }
 
+  @PostMapping("/routines/batch")
+  public ResponseEntity<RoutineBatchResultDTO> applyRoutineBatch(
+      @RequestBody List<RoutineBatchOperationDTO> operations) {
+    log.info("Applying routine batch");
+    try {
+      if (operations == null || operations.isEmpty()) {
+        throw new RoutineResourceException("Routine batch is empty");
+      }
+      RoutineBatchResultDTO result = routineService.applyBatch(operations);
+      log.info("Successfully applied routine batch of {} operations", operations.size());
+      return ResponseEntity.ok(result);
+    } catch (RoutineConflictException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error applying routine batch: {}", e.getMessage());
+      throw new RoutineResourceException("Error applying routine batch: " + e.getMessage());
+    }
+  }
+
   @GetMapping("/routines")
-  public List<RoutineDTO> getAllRoutines() {
-    log.info("Fetching all routines");
+  public CursorPageDTO<RoutineDTO> getRoutines(
+      @RequestParam(required = false) Long teacherId,
+      @RequestParam(required = false) Long groupId,
+      @RequestParam(required = false) String startDate,
+      @RequestParam(required = false) String endDate,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String fields, WebRequest request) {
+    log.info("Fetching routines page, cursor: {}", cursor);
     try {
-      List<RoutineDTO> routines = routineService.getAllRoutines();
-      log.info("Fetched {} routines", routines.size());
+      Optional<Long> version = routineService.collectionVersion();
+      if (version.isPresent() && ETags.checkNotModified(request, version.get())) {
+        log.info("Routines not modified");
+        return null;
+      }
+      RoutineFilter filter = new RoutineFilter(teacherId, groupId,
+          ValidationUtil.isEmptyOrNull(startDate) ? null : LocalDate.parse(startDate),
+          ValidationUtil.isEmptyOrNull(endDate) ? null : LocalDate.parse(endDate));
+      CursorPageDTO<RoutineDTO> routines = routineService.getRoutines(filter, cursor,
+          size, FieldSelection.parse(fields, RoutineDTO.FIELDS));
+      log.info("Fetched {} routines", routines.getItems().size());
       return routines;
     } catch (Exception e) {
-      log.error("Error fetching all routines: {}", e.getMessage());
-      throw new RoutineResourceException(
-          "Error fetching all routines: " + e.getMessage());
+      log.error("Error fetching routines: {}", e.getMessage());
+      throw new RoutineResourceException("Error fetching routines: " + e.getMessage());
+    }
+  }
+
+  @GetMapping(value = "/routines/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportRoutines(
+      @RequestParam(required = false) String fields) {
+    log.info("Streaming routine export");
+    Set<String> selected;
+    try {
+      // Checked up front: once streaming starts, the status is already sent.
+      selected = FieldSelection.parse(fields, RoutineDTO.FIELDS);
+    } catch (Exception e) {
+      log.error("Error exporting routines: {}", e.getMessage());
+      throw new RoutineResourceException("Error exporting routines: " + e.getMessage());
     }
+    StreamingResponseBody body = outputStream -> routineService.exportRoutines(
+        outputStream, selected);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
   }
 
   @GetMapping("/routine/{id}")
-  public ResponseEntity<RoutineDTO> getRoutineById(@PathVariable Long id) {
+  public ResponseEntity<RoutineDTO> getRoutineById(@PathVariable Long id,
+      WebRequest request) {
     log.info("Fetching routine with id: {}", id);
     try {
+      // The version is read before the routine: should an update land in between, the
+      // tag is older than the body and the client's next request simply refetches.
+      Long version = routineService.getRoutineVersion(id).orElseThrow(
+          () -> new IdNotFoundException("Routine not found with id: " + id));
+      if (ETags.checkNotModified(request, version)) {
+        log.info("Routine {} not modified", id);
+        return null;
+      }
       Optional<RoutineDTO> routine = routineService.getRoutineById(id);
       if (routine.isEmpty()) {
         throw new IdNotFoundException("Routine not found with id: " + id);
@@ -77,16 +154,22 @@ public class RoutineController {
 
   @PutMapping("/routine/{id}")
   public ResponseEntity<RoutineDTO> updateRoutine(@PathVariable Long id,
-      @RequestBody RoutineDTO routine) {
+      @RequestBody RoutineDTO routine,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     log.info("Updating routine with id {}: {}", id, routine);
     try {
       if (ValidationUtil.isNullOrZero(id)) {
         throw new IdNotFoundException("Id is not valid or Defined");
       }
-      RoutineDTO updatedRoutine = routineService.updateRoutine(id, routine);
-      log.info("Successfully updated routine: {}", updatedRoutine);
-      return ResponseEntity.ok(updatedRoutine);
-    } catch (IdNotFoundException | RoutineResourceException e) {
+      Versioned<RoutineDTO> updatedRoutine = routineService.updateRoutine(id, routine,
+          ETags.versionOf(ifMatch));
+      log.info("Successfully updated routine: {}", updatedRoutine.getValue());
+      return ResponseEntity.ok().eTag(ETags.of(updatedRoutine.getVersion()))
+          .body(updatedRoutine.getValue());
+    } catch (VersionConflictException e) {
+      throw withCurrentState(e, id);
+    } catch (IdNotFoundException | RoutineResourceException
+        | RoutineConflictException e) {
       throw e;
     } catch (Exception e) {
       log.error("Error updating routine: {}", e.getMessage());
@@ -94,6 +177,14 @@ public class RoutineController {
     }
   }
 
+  // The 409 carries the routine as it now stands; version first, as for GET.
+  private VersionConflictException withCurrentState(VersionConflictException e, Long id) {
+    Long version = routineService.getRoutineVersion(id).orElseThrow(
+        () -> new IdNotFoundException("Routine not found with id: " + id));
+    return new VersionConflictException(e.getMessage(),
+        routineService.getRoutineById(id).orElse(null), version);
+  }
+
   @DeleteMapping("/routine/{id}")
   public ResponseEntity<Void> deleteRoutine(@PathVariable Long id) {
     log.info("Deleting routine with id: {}", id);
@@ -127,7 +218,7 @@ public class RoutineController {
       LocalDate end = LocalDate.parse(endDate);
       long workLoadTime = routineService.calculateTeacherWorkload(teacherName, start,
           end);
-      log.info("Workload calculated successfully: {} hrs", workLoadTime);
+      log.info("Workload calculated successfully: {} minutes", workLoadTime);
       return workLoadTime;
     } catch (Exception e) {
       log.warn("Failed to calculate the workload: {}", e.getMessage());
@@ -136,18 +227,58 @@ public class RoutineController {
     }
   }
 
+  @GetMapping("/teacher/workload/batch")
+  public Map<Long, Long> getTeacherWorkloads(
+      @RequestParam(required = false) List<Long> teacherIds,
+      @RequestParam(required = false) String department, @RequestParam String startDate,
+      @RequestParam String endDate) {
+    log.info(">> Inside teacher batch workload controller <<");
+    try {
+      Map<Long, Long> workloads = routineService.calculateTeacherWorkloads(teacherIds,
+          department, LocalDate.parse(startDate), LocalDate.parse(endDate));
+      log.info("Workload calculated successfully for {} teachers", workloads.size());
+      return workloads;
+    } catch (Exception e) {
+      log.warn("Failed to calculate the teacher workloads: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error calculating teacher workloads: " + e.getMessage());
+    }
+  }
+
   @GetMapping("/group/workload")
-  public long getGroupWorkload(@RequestParam Long groupId) {
+  public long getGroupWorkload(@RequestParam Long groupId,
+      @RequestParam(required = false) String startDate,
+      @RequestParam(required = false) String endDate) {
     log.info(">> Inside group workload Controller <<");
     try {
       if (ValidationUtil.isNullOrZero(groupId)) {
         throw new IdNotFoundException("Id is missing or Empty: " + groupId);
       }
-      return routineService.calculateGroupWorkload(groupId);
+      LocalDate start = ValidationUtil.isEmptyOrNull(startDate) ? null
+          : LocalDate.parse(startDate);
+      LocalDate end = ValidationUtil.isEmptyOrNull(endDate) ? null
+          : LocalDate.parse(endDate);
+      return routineService.calculateGroupWorkload(groupId, start, end);
     } catch (Exception e) {
       log.error("Error calculating group workload: {}", e.getMessage());
       throw new RoutineResourceException(
           "Error calculating group workload: " + e.getMessage());
     }
   }
+
+  @GetMapping("/group/workload/batch")
+  public Map<Long, Long> getGroupWorkloads(@RequestParam List<Long> groupIds,
+      @RequestParam String startDate, @RequestParam String endDate) {
+    log.info(">> Inside group batch workload controller <<");
+    try {
+      Map<Long, Long> workloads = routineService.calculateGroupWorkloads(groupIds,
+          LocalDate.parse(startDate), LocalDate.parse(endDate));
+      log.info("Workload calculated successfully for {} groups", workloads.size());
+      return workloads;
+    } catch (Exception e) {
+      log.error("Error calculating group workloads: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error calculating group workloads: " + e.getMessage());
+    }
+  }
 }
@@ -0,0 +1,47 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.RoutineImportReportDTO;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.RoutineImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/routines")
+@Slf4j
+public class RoutineImportController {
+
+  private final RoutineImportService routineImportService;
+
+  public RoutineImportController(RoutineImportService routineImportService) {
+    this.routineImportService = routineImportService;
+  }
+
+  @PostMapping("/import")
+  public ResponseEntity<RoutineImportReportDTO> importRoutines(
+      @RequestParam("file") MultipartFile file) {
+    log.info("Importing routines from file: {}", file.getOriginalFilename());
+    try (InputStream csv = file.getInputStream()) {
+      if (file.isEmpty()) {
+        throw new RoutineResourceException("Uploaded routine file is empty");
+      }
+      RoutineImportReportDTO report = routineImportService.importCsv(csv);
+      log.info("Imported {} routines, rejected {}", report.getImportedRows(),
+          report.getRejectedRows());
+      return ResponseEntity.ok(report);
+    } catch (RoutineResourceException | RoutineConflictException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error importing routines: {}", e.getMessage());
+      throw new RoutineResourceException("Error importing routines: " + e.getMessage());
+    }
+  }
+}
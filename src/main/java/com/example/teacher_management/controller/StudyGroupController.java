@@ -1,15 +1,26 @@
 package com.example.teacher_management.controller;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
 import com.example.teacher_management.exception.GroupResourceException;
 import com.example.teacher_management.exception.IdNotFoundException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.service.StudyGroupService;
+import com.example.teacher_management.util.ETags;
+import com.example.teacher_management.util.FieldSelection;
 import com.example.teacher_management.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/groups")
@@ -23,12 +34,19 @@ public class StudyGroupController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<StudyGroup> getStudyGroupById(@PathVariable Long id) {
+  public ResponseEntity<StudyGroup> getStudyGroupById(@PathVariable Long id,
+      WebRequest request) {
     log.info("Fetching study group with id: {}", id);
     try {
       if (ValidationUtil.isNullOrZero(id)) {
         throw new IdNotFoundException("Id is not valid or Defined");
       }
+      // The version is read before the group: should an update land in between, the
+      // tag is older than the body and the client's next request simply refetches.
+      if (ETags.checkNotModified(request, studyGroupService.findVersion(id))) {
+        log.info("Study group {} not modified", id);
+        return null;
+      }
       StudyGroup group = studyGroupService.findById(id);
       log.info("Successfully fetched study group: {}", group);
       return ResponseEntity.ok(group);
@@ -40,6 +58,52 @@ public class StudyGroupController {
     }
   }
 
+  @GetMapping
+  public CursorPageDTO<StudyGroupDTO> getGroups(
+      @RequestParam(required = false) String namePrefix,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String fields, WebRequest request) {
+    log.info("Fetching study groups page, cursor: {}", cursor);
+    try {
+      Optional<Long> version = studyGroupService.collectionVersion();
+      if (version.isPresent() && ETags.checkNotModified(request, version.get())) {
+        log.info("Study groups not modified");
+        return null;
+      }
+      CursorPageDTO<StudyGroupDTO> groups = studyGroupService.getGroups(namePrefix,
+          cursor, size, FieldSelection.parse(fields, StudyGroupDTO.FIELDS));
+      log.info("Fetched {} study groups", groups.getItems().size());
+      return groups;
+    } catch (GroupResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error fetching groups: {}", e.getMessage());
+      throw new GroupResourceException("Error fetching groups: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/batch")
+  public List<StudyGroupDTO> getGroupsByIds(@RequestParam List<Long> ids,
+      WebRequest request) {
+    log.info("Fetching study groups with ids: {}", ids);
+    try {
+      Optional<Long> version = studyGroupService.collectionVersion();
+      if (version.isPresent() && ETags.checkNotModified(request, version.get())) {
+        log.info("Study groups not modified");
+        return null;
+      }
+      List<StudyGroupDTO> groups = studyGroupService.findAllById(ids);
+      log.info("Fetched {} study groups", groups.size());
+      return groups;
+    } catch (GroupResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error fetching groups by ids: {}", e.getMessage());
+      throw new GroupResourceException("Error fetching groups by ids: " + e.getMessage());
+    }
+  }
+
   @PostMapping
   public ResponseEntity<StudyGroupDTO> createStudyGroup(@RequestBody StudyGroupDTO group) {
     log.info("Creating new study group: {}", group);
@@ -60,15 +124,20 @@ public class StudyGroupController {
 
   @PutMapping("/{id}")
   public ResponseEntity<StudyGroupDTO> updateStudyGroup(@PathVariable Long id,
-      @RequestBody StudyGroupDTO group) {
+      @RequestBody StudyGroupDTO group,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     log.info("Updating study group with id {}: {}", id, group);
     try {
       if (ValidationUtil.isNullOrZero(id)) {
         throw new IdNotFoundException("Id is not valid or Defined");
       }
-      StudyGroupDTO updatedGroup = studyGroupService.update(id, group);
-      log.info("Successfully updated study group: {}", updatedGroup);
-      return ResponseEntity.ok(updatedGroup);
+      Versioned<StudyGroupDTO> updatedGroup = studyGroupService.update(id, group,
+          ETags.versionOf(ifMatch));
+      log.info("Successfully updated study group: {}", updatedGroup.getValue());
+      return ResponseEntity.ok().eTag(ETags.of(updatedGroup.getVersion()))
+          .body(updatedGroup.getValue());
+    } catch (VersionConflictException e) {
+      throw withCurrentState(e, id);
     } catch (IdNotFoundException | GroupResourceException e) {
       throw e;
     } catch (Exception e) {
@@ -77,6 +146,13 @@ public class StudyGroupController {
     }
   }
 
+  // The 409 carries the group as it now stands; version first, as for GET.
+  private VersionConflictException withCurrentState(VersionConflictException e, Long id) {
+    long version = studyGroupService.findVersion(id);
+    return new VersionConflictException(e.getMessage(), studyGroupService.findById(id),
+        version);
+  }
+
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteStudyGroup(@PathVariable Long id) {
     log.info("Deleting study group with id: {}", id);
@@ -94,4 +170,20 @@ public class StudyGroupController {
       throw new GroupResourceException("Error deleting group: " + e.getMessage());
     }
   }
+
+  @GetMapping("/search")
+  public ResponseEntity<List<SearchHitDTO<StudyGroupDTO>>> searchGroups(
+      @RequestParam String q, @RequestParam(required = false) Integer limit) {
+    log.info("Searching groups for '{}'", q);
+    try {
+      List<SearchHitDTO<StudyGroupDTO>> hits = studyGroupService.search(q, limit);
+      log.info("Successfully found {} groups", hits.size());
+      return ResponseEntity.ok(hits);
+    } catch (GroupResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error searching groups: {}", e.getMessage());
+      throw new GroupResourceException("Error searching groups: " + e.getMessage());
+    }
+  }
 }
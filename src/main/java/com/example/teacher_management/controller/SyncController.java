@@ -0,0 +1,34 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.SyncDTO;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.SyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class SyncController {
+
+  private final SyncService syncService;
+
+  public SyncController(SyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  @GetMapping("/sync")
+  public SyncDTO sync(@RequestParam(defaultValue = "0") long since,
+      @RequestParam(required = false) Integer limit) {
+    log.info("Syncing changes after sequence {}", since);
+    try {
+      return syncService.changesSince(since, limit);
+    } catch (Exception e) {
+      log.error("Error syncing changes: {}", e.getMessage());
+      throw new RoutineResourceException("Error syncing changes: " + e.getMessage());
+    }
+  }
+}
@@ -1,14 +1,26 @@
 package com.example.teacher_management.controller;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.exception.IdNotFoundException;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.service.TeacherService;
+import com.example.teacher_management.util.ETags;
+import com.example.teacher_management.util.FieldSelection;
 import com.example.teacher_management.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/teachers")
@@ -22,12 +34,19 @@ public class TeacherController {
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id) {
+  public ResponseEntity<TeacherDTO> getTeacherById(@PathVariable Long id,
+      WebRequest request) {
     log.info("Fetching teacher with id: {}", id);
     try {
       if (ValidationUtil.isNullOrZero(id)) {
         throw new IdNotFoundException("Id is not valid or defined");
       }
+      // The version is read before the teacher: should an update land in between, the
+      // tag is older than the body and the client's next request simply refetches.
+      if (ETags.checkNotModified(request, teacherService.findVersion(id))) {
+        log.info("Teacher {} not modified", id);
+        return null;
+      }
       TeacherDTO teacher = teacherService.findById(id);
       log.info("Successfully fetched teacher: {}", teacher);
       return ResponseEntity.ok(teacher);
@@ -40,6 +59,55 @@ public class TeacherController {
     }
   }
 
+  @GetMapping
+  public CursorPageDTO<TeacherDTO> getTeachers(
+      @RequestParam(required = false) String department,
+      @RequestParam(required = false) String namePrefix,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String fields, WebRequest request) {
+    log.info("Fetching teachers page, cursor: {}", cursor);
+    try {
+      Optional<Long> version = teacherService.collectionVersion();
+      if (version.isPresent() && ETags.checkNotModified(request, version.get())) {
+        log.info("Teachers not modified");
+        return null;
+      }
+      CursorPageDTO<TeacherDTO> teachers = teacherService.getTeachers(
+          new TeacherFilter(department, namePrefix), cursor, size,
+          FieldSelection.parse(fields, TeacherDTO.FIELDS));
+      log.info("Fetched {} teachers", teachers.getItems().size());
+      return teachers;
+    } catch (TeacherResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error fetching teachers: {}", e.getMessage());
+      throw new TeacherResourceException("Error fetching teachers: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/batch")
+  public List<TeacherDTO> getTeachersByIds(@RequestParam List<Long> ids,
+      WebRequest request) {
+    log.info("Fetching teachers with ids: {}", ids);
+    try {
+      Optional<Long> version = teacherService.collectionVersion();
+      if (version.isPresent() && ETags.checkNotModified(request, version.get())) {
+        log.info("Teachers not modified");
+        return null;
+      }
+      List<TeacherDTO> teachers = teacherService.findAllById(ids);
+      log.info("Fetched {} teachers", teachers.size());
+      return teachers;
+    } catch (TeacherResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error fetching teachers by ids: {}", e.getMessage());
+      throw new TeacherResourceException(
+          "Error fetching teachers by ids: " + e.getMessage());
+    }
+  }
+
   @PostMapping
   public ResponseEntity<TeacherDTO> createTeacher(@RequestBody TeacherDTO teacherDto) {
     log.info("Creating new teacher: {}", teacherDto);
@@ -60,15 +128,20 @@ public class TeacherController {
 
   @PutMapping("/{id}")
   public ResponseEntity<TeacherDTO> updateTeacher(@PathVariable Long id,
-      @RequestBody TeacherDTO teacherDto) {
+      @RequestBody TeacherDTO teacherDto,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
     log.info("Updating teacher with id {}: {}", id, teacherDto);
     try {
       if (ValidationUtil.isNullOrZero(id)) {
         throw new IdNotFoundException("Id is not valid or defined");
       }
-      TeacherDTO updatedTeacher = teacherService.update(id, teacherDto);
-      log.info("Successfully updated teacher: {}", updatedTeacher);
-      return ResponseEntity.ok(updatedTeacher);
+      Versioned<TeacherDTO> updatedTeacher = teacherService.update(id, teacherDto,
+          ETags.versionOf(ifMatch));
+      log.info("Successfully updated teacher: {}", updatedTeacher.getValue());
+      return ResponseEntity.ok().eTag(ETags.of(updatedTeacher.getVersion()))
+          .body(updatedTeacher.getValue());
+    } catch (VersionConflictException e) {
+      throw withCurrentState(e, id);
     } catch (IdNotFoundException | TeacherResourceException e) {
       throw e;
     } catch (Exception e) {
@@ -77,6 +150,14 @@ public class TeacherController {
     }
   }
 
+  // The 409 carries the teacher as it now stands, for the client to merge and retry
+  // with. The version is read first, as for GET, so the tag is never ahead of the body.
+  private VersionConflictException withCurrentState(VersionConflictException e, Long id) {
+    long version = teacherService.findVersion(id);
+    return new VersionConflictException(e.getMessage(), teacherService.findById(id),
+        version);
+  }
+
   @DeleteMapping("/{id}")
   public ResponseEntity<Void> deleteTeacher(@PathVariable Long id) {
     log.info("Deleting teacher with id: {}", id);
@@ -94,4 +175,20 @@ public class TeacherController {
       throw new TeacherResourceException("Error deleting teacher: " + e.getMessage());
     }
   }
+
+  @GetMapping("/search")
+  public ResponseEntity<List<SearchHitDTO<TeacherDTO>>> searchTeachers(
+      @RequestParam String q, @RequestParam(required = false) Integer limit) {
+    log.info("Searching teachers for '{}'", q);
+    try {
+      List<SearchHitDTO<TeacherDTO>> hits = teacherService.search(q, limit);
+      log.info("Successfully found {} teachers", hits.size());
+      return ResponseEntity.ok(hits);
+    } catch (TeacherResourceException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error searching teachers: {}", e.getMessage());
+      throw new TeacherResourceException("Error searching teachers: " + e.getMessage());
+    }
+  }
 }
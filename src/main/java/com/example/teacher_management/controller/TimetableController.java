@@ -0,0 +1,58 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import com.example.teacher_management.exception.IdNotFoundException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.TimetableService;
+import com.example.teacher_management.util.ValidationUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api")
+@Slf4j
+public class TimetableController {
+
+  private final TimetableService timetableService;
+
+  public TimetableController(TimetableService timetableService) {
+    this.timetableService = timetableService;
+  }
+
+  @GetMapping("/teacher/{id}/timetable")
+  public ResponseEntity<TimetableDTO> getTeacherTimetable(@PathVariable Long id,
+      @RequestParam String week) {
+    return getTimetable(TimetableOwner.TEACHER, id, week);
+  }
+
+  @GetMapping("/group/{id}/timetable")
+  public ResponseEntity<TimetableDTO> getGroupTimetable(@PathVariable Long id,
+      @RequestParam String week) {
+    return getTimetable(TimetableOwner.GROUP, id, week);
+  }
+
+  private ResponseEntity<TimetableDTO> getTimetable(TimetableOwner owner, Long id,
+      String week) {
+    log.info("Fetching {} timetable for id {} in week of {}", owner, id, week);
+    try {
+      if (ValidationUtil.isNullOrZero(id)) {
+        throw new IdNotFoundException("Id is missing or Empty: " + id);
+      }
+      TimetableDTO timetable = timetableService.getTimetable(owner, id,
+          LocalDate.parse(week));
+      return ResponseEntity.ok(timetable);
+    } catch (Exception e) {
+      log.error("Error fetching {} timetable for id {}: {}", owner, id, e.getMessage());
+      throw new RoutineResourceException(
+          "Error fetching timetable for id " + id + ": " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TimetableGenerationRequestDTO;
+import com.example.teacher_management.dto.TimetablePlanDTO;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.TimetableGeneratorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timetables")
+@Slf4j
+public class TimetableGeneratorController {
+
+  private final TimetableGeneratorService timetableGeneratorService;
+
+  public TimetableGeneratorController(TimetableGeneratorService timetableGeneratorService) {
+    this.timetableGeneratorService = timetableGeneratorService;
+  }
+
+  @PostMapping("/generate")
+  public ResponseEntity<TimetablePlanDTO> generate(
+      @RequestBody TimetableGenerationRequestDTO request) {
+    log.info("Generating timetable");
+    try {
+      if (request == null) {
+        throw new RoutineResourceException("Timetable generation request is missing");
+      }
+      TimetablePlanDTO plan = timetableGeneratorService.generate(request);
+      log.info("Generated timetable of {} routines, feasible: {}",
+          plan.getRoutines().size(), plan.isFeasible());
+      return ResponseEntity.ok(plan);
+    } catch (Exception e) {
+      log.error("Error generating timetable: {}", e.getMessage());
+      throw new RoutineResourceException("Error generating timetable: " + e.getMessage());
+    }
+  }
+
+  @PostMapping("/commit")
+  public ResponseEntity<RoutineBatchResultDTO> commit(
+      @RequestBody List<RoutineDTO> routines) {
+    log.info("Committing generated timetable");
+    try {
+      if (routines == null || routines.isEmpty()) {
+        throw new RoutineResourceException("Generated timetable is empty");
+      }
+      RoutineBatchResultDTO result = timetableGeneratorService.commit(routines);
+      log.info("Committed {} generated routines", result.getCreated().size());
+      return ResponseEntity.ok(result);
+    } catch (RoutineConflictException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error committing timetable: {}", e.getMessage());
+      throw new RoutineResourceException("Error committing timetable: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.WorkloadJobDTO;
+import com.example.teacher_management.dto.WorkloadJobRequestDTO;
+import com.example.teacher_management.dto.WorkloadJobStatus;
+import com.example.teacher_management.exception.JobRejectedException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.WorkloadJobService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/workload/jobs")
+@Slf4j
+public class WorkloadJobController {
+
+  private final WorkloadJobService workloadJobService;
+
+  public WorkloadJobController(WorkloadJobService workloadJobService) {
+    this.workloadJobService = workloadJobService;
+  }
+
+  @PostMapping
+  public ResponseEntity<WorkloadJobDTO> submitJob(
+      @RequestBody WorkloadJobRequestDTO request) {
+    log.info("Submitting workload job");
+    try {
+      WorkloadJobDTO job = workloadJobService.submit(request);
+      log.info("Workload job {} is {}", job.getJobId(), job.getStatus());
+      return ResponseEntity.accepted()
+          .location(URI.create("/api/workload/jobs/" + job.getJobId()))
+          .body(job);
+    } catch (JobRejectedException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error submitting workload job: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error submitting workload job: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<WorkloadJobDTO> getJob(@PathVariable String id) {
+    log.info("Fetching workload job {}", id);
+    try {
+      return ResponseEntity.ok(workloadJobService.getJob(id));
+    } catch (Exception e) {
+      log.error("Error fetching workload job {}: {}", id, e.getMessage());
+      throw new RoutineResourceException("Error fetching workload job: " + e.getMessage());
+    }
+  }
+
+  // 200 with the bare result once the job is done; 202 with the job while it is not.
+  @GetMapping("/{id}/result")
+  public ResponseEntity<Object> getJobResult(@PathVariable String id) {
+    log.info("Fetching result of workload job {}", id);
+    WorkloadJobDTO job;
+    try {
+      job = workloadJobService.getJob(id);
+    } catch (Exception e) {
+      log.error("Error fetching workload job {}: {}", id, e.getMessage());
+      throw new RoutineResourceException("Error fetching workload job: " + e.getMessage());
+    }
+    if (job.getStatus() == WorkloadJobStatus.FAILED) {
+      throw new RoutineResourceException("Workload job failed: " + job.getError());
+    }
+    if (job.getStatus() != WorkloadJobStatus.DONE) {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+    return ResponseEntity.ok(job.getResult());
+  }
+}
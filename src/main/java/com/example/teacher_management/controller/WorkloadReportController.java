@@ -0,0 +1,41 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.WorkloadReportDTO;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.WorkloadReportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@Slf4j
+public class WorkloadReportController {
+
+  private final WorkloadReportService workloadReportService;
+
+  public WorkloadReportController(WorkloadReportService workloadReportService) {
+    this.workloadReportService = workloadReportService;
+  }
+
+  @GetMapping("/workload")
+  public ResponseEntity<WorkloadReportDTO> getWorkloadReport(@RequestParam String startDate,
+      @RequestParam String endDate) {
+    log.info("Building workload report from {} to {}", startDate, endDate);
+    try {
+      WorkloadReportDTO report = workloadReportService.buildReport(
+          LocalDate.parse(startDate), LocalDate.parse(endDate));
+      log.info("Built workload report for {} departments", report.getDepartments().size());
+      return ResponseEntity.ok(report);
+    } catch (Exception e) {
+      log.error("Error building workload report: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error building workload report: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.WorkloadRollupMismatchDTO;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.WorkloadRollupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/workload/rollup")
+@Slf4j
+public class WorkloadRollupController {
+
+  private final WorkloadRollupService workloadRollupService;
+
+  public WorkloadRollupController(WorkloadRollupService workloadRollupService) {
+    this.workloadRollupService = workloadRollupService;
+  }
+
+  @PostMapping("/rebuild")
+  public ResponseEntity<Integer> rebuild() {
+    log.info("Rebuilding workload rollups");
+    try {
+      int rows = workloadRollupService.rebuild();
+      log.info("Rebuilt workload rollups with {} rows", rows);
+      return ResponseEntity.ok(rows);
+    } catch (Exception e) {
+      log.error("Error rebuilding workload rollups: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error rebuilding workload rollups: " + e.getMessage());
+    }
+  }
+
+  @GetMapping("/check")
+  public List<WorkloadRollupMismatchDTO> check() {
+    log.info("Checking workload rollups");
+    try {
+      List<WorkloadRollupMismatchDTO> mismatches = workloadRollupService.checkConsistency();
+      log.info("Workload rollup check found {} mismatches", mismatches.size());
+      return mismatches;
+    } catch (Exception e) {
+      log.error("Error checking workload rollups: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error checking workload rollups: " + e.getMessage());
+    }
+  }
+}
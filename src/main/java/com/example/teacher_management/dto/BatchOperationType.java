@@ -0,0 +1,7 @@
+package com.example.teacher_management.dto;
+
+public enum BatchOperationType {
+  CREATE,
+  UPDATE,
+  DELETE
+}
@@ -0,0 +1,17 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+  private List<T> items;
+  private String nextCursor;
+}
@@ -0,0 +1,25 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class DepartmentWorkloadDTO {
+  private String department;
+  private int teacherCount;
+  private long totalMinutes;
+  private double meanMinutes;
+  private long p50Minutes;
+  private long p90Minutes;
+  private long maxMinutes;
+  private int overloadedCount;
+  private int underloadedCount;
+  private List<TeacherWorkloadDTO> teachers;
+}
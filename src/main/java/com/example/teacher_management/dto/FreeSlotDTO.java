@@ -0,0 +1,20 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeSlotDTO {
+  private LocalDate date;
+  private LocalTime startTime;
+  private LocalTime endTime;
+  private long minutes;
+}
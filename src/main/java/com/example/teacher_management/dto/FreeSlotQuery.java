@@ -0,0 +1,24 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FreeSlotQuery {
+  private List<Long> teacherIds;
+  private List<Long> groupIds;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private int minMinutes;
+  private LocalTime dayStart;
+  private LocalTime dayEnd;
+}
@@ -0,0 +1,31 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a listing ordered by id alone, as the teacher and study group
+ * listings are. Clients only ever see the opaque token form.
+ */
+@Getter
+@AllArgsConstructor
+public class IdCursor {
+  private final Long id;
+
+  public String encode() {
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static IdCursor decode(String token) {
+    try {
+      return new IdCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(token),
+          StandardCharsets.UTF_8)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+  }
+}
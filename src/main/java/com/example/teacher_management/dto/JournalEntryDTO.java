@@ -0,0 +1,22 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class JournalEntryDTO {
+  private long offset;
+  private Instant timestamp;
+  private SyncEntityType entityType;
+  private RoutineChangeType operation;
+  private Long entityId;
+  private RoutineDTO routine;
+  private RecurringRoutineDTO recurringRoutine;
+}
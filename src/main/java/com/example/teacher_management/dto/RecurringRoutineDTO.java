@@ -0,0 +1,70 @@
+package com.example.teacher_management.dto;
+
+import com.example.teacher_management.entity.RecurringRoutine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringRoutineDTO {
+  private Long recurringRoutineId;
+  private DayOfWeek dayOfWeek;
+  private LocalTime startTime;
+  private LocalTime endTime;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private Long teacherId;
+  private Long groupId;
+  private List<LocalDate> exceptionDates;
+
+  public static RecurringRoutineDTO fromEntity(RecurringRoutine routine) {
+    RecurringRoutineDTO dto = new RecurringRoutineDTO();
+    dto.setRecurringRoutineId(routine.getRecurringRoutineId());
+    dto.setDayOfWeek(routine.getDayOfWeek());
+    dto.setStartTime(routine.getStartTime());
+    dto.setEndTime(routine.getEndTime());
+    dto.setStartDate(routine.getStartDate());
+    dto.setEndDate(routine.getEndDate());
+    if (routine.getTeacher() != null) {
+      dto.setTeacherId(routine.getTeacher().getTeacherId());
+    }
+    if (routine.getStudyGroup() != null) {
+      dto.setGroupId(routine.getStudyGroup().getGroupId());
+    }
+    List<LocalDate> exceptionDates = new ArrayList<>(routine.getExceptionDates());
+    exceptionDates.sort(null);
+    dto.setExceptionDates(exceptionDates);
+    return dto;
+  }
+
+  public RecurringRoutine toEntity() {
+    RecurringRoutine routine = new RecurringRoutine();
+    routine.setRecurringRoutineId(this.recurringRoutineId);
+    copyTo(routine);
+    return routine;
+  }
+
+  /** Copies the schedule fields, not the id or the teacher and group references. */
+  public void copyTo(RecurringRoutine routine) {
+    routine.setDayOfWeek(this.dayOfWeek);
+    routine.setStartTime(this.startTime);
+    routine.setEndTime(this.endTime);
+    routine.setStartDate(this.startDate);
+    routine.setEndDate(this.endDate);
+    routine.getExceptionDates().clear();
+    if (this.exceptionDates != null) {
+      routine.getExceptionDates().addAll(new HashSet<>(this.exceptionDates));
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutineBatchOperationDTO {
+  private BatchOperationType operation;
+  private RoutineDTO routine;
+}
@@ -0,0 +1,18 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutineBatchResultDTO {
+  private List<RoutineDTO> created;
+  private List<RoutineDTO> updated;
+  private List<Long> deleted;
+}
@@ -0,0 +1,31 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One committed change to a routine. {@code routine} is the state after the change
+ * (null for a delete) and {@code previous} the state before it (null for a create).
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutineChangeDTO {
+  private RoutineChangeType type;
+  private Long routineId;
+  private RoutineDTO routine;
+  private RoutineDTO previous;
+
+  public boolean concerns(Long teacherId, Long groupId) {
+    return matches(routine, teacherId, groupId) || matches(previous, teacherId, groupId);
+  }
+
+  private static boolean matches(RoutineDTO state, Long teacherId, Long groupId) {
+    return state != null
+        && (teacherId == null || teacherId.equals(state.getTeacherId()))
+        && (groupId == null || groupId.equals(state.getGroupId()));
+  }
+}
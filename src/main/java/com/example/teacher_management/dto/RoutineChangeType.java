@@ -0,0 +1,7 @@
+package com.example.teacher_management.dto;
+
+public enum RoutineChangeType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
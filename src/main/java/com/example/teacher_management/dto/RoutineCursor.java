@@ -0,0 +1,43 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position in the routine listing, ordered by {@code routineDate}, routines
+ * without a date first, then {@code routineId}. Clients only ever see the opaque token
+ * form.
+ */
+@Getter
+@AllArgsConstructor
+public class RoutineCursor {
+  private final LocalDate routineDate;
+  private final Long routineId;
+
+  public static RoutineCursor after(RoutineDTO routine) {
+    return new RoutineCursor(routine.getRoutineDate(), routine.getRoutineId());
+  }
+
+  public String encode() {
+    String raw = (routineDate == null ? "" : routineDate) + ":" + routineId;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static RoutineCursor decode(String token) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token),
+          StandardCharsets.UTF_8);
+      int separator = raw.lastIndexOf(':');
+      String date = raw.substring(0, separator);
+      return new RoutineCursor(date.isEmpty() ? null : LocalDate.parse(date),
+          Long.parseLong(raw.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+  }
+}
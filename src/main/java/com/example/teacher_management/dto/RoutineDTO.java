@@ -1,6 +1,8 @@
 package com.example.teacher_management.dto;
 
 import com.example.teacher_management.entity.Routine;
+import com.example.teacher_management.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -8,12 +10,19 @@ import lombok.Setter;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class RoutineDTO {
+
+  /** Everything {@code ?fields=} may select. */
+  public static final List<String> FIELDS = List.of("routineId", "startTime", "endTime",
+      "routineDate", "teacherId", "groupId");
+
   private Long routineId;
   private LocalTime startTime;
   private LocalTime endTime;
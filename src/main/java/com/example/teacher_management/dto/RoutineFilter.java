@@ -0,0 +1,19 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutineFilter {
+  private Long teacherId;
+  private Long groupId;
+  private LocalDate startDate;
+  private LocalDate endDate;
+}
@@ -0,0 +1,19 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutineImportReportDTO {
+  private long totalRows;
+  private long importedRows;
+  private long rejectedRows;
+  private List<RoutineImportRejectionDTO> rejections;
+}
@@ -0,0 +1,23 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/** One dated occurrence of a recurring routine; occurrences are never stored. */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RoutineOccurrenceDTO {
+  private Long recurringRoutineId;
+  private LocalDate routineDate;
+  private LocalTime startTime;
+  private LocalTime endTime;
+  private Long teacherId;
+  private Long groupId;
+}
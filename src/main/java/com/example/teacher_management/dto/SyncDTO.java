@@ -0,0 +1,27 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Rows written or deleted after {@code since}. The client stores {@code changeSeq} and
+ * sends it as the next {@code since}; while {@code hasMore} is true it can ask again
+ * right away.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncDTO {
+  private long since;
+  private long changeSeq;
+  private boolean hasMore;
+  private List<TeacherDTO> teachers;
+  private List<StudyGroupDTO> groups;
+  private List<RoutineDTO> routines;
+  private List<SyncDeletionDTO> deleted;
+}
@@ -0,0 +1,8 @@
+package com.example.teacher_management.dto;
+
+public enum SyncEntityType {
+  ROUTINE,
+  TEACHER,
+  GROUP,
+  RECURRING_ROUTINE
+}
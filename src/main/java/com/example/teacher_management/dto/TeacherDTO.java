@@ -1,16 +1,26 @@
 package com.example.teacher_management.dto;
 
 import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.util.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.util.List;
+
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
+@JsonFilter(FieldSelection.FILTER_ID)
 public class TeacherDTO {
+
+  /** Everything {@code ?fields=} may select. */
+  public static final List<String> FIELDS = List.of("teacherId", "name", "department",
+      "email");
+
   private Long teacherId;
   private String name;
   private String department;
@@ -0,0 +1,17 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherWorkloadDTO {
+  private Long teacherId;
+  private String name;
+  private long minutes;
+  private WorkloadStatus status;
+}
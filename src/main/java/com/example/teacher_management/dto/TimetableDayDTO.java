@@ -0,0 +1,20 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimetableDayDTO {
+  private LocalDate date;
+  private int occupiedSlots;
+  private String occupied;
+  private List<TimetableEntryDTO> entries;
+}
@@ -0,0 +1,20 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimetableEntryDTO {
+  private Long routineId;
+  // Set instead of routineId for an occurrence of a recurring routine.
+  private Long recurringRoutineId;
+  private int startSlot;
+  private int endSlot;
+  private Long teacherId;
+  private Long groupId;
+}
@@ -0,0 +1,29 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimetableGenerationRequestDTO {
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private List<DayOfWeek> weekdays;
+  private LocalTime dayStart;
+  private LocalTime dayEnd;
+  private List<LocalDate> blackoutDates;
+  private Integer maxWeeklyMinutesPerTeacher;
+  private List<GroupRequirementDTO> groups;
+  private Integer seeds;
+  private Long timeBudgetMillis;
+  private Long seed;
+}
@@ -0,0 +1,6 @@
+package com.example.teacher_management.dto;
+
+public enum TimetableOwner {
+  TEACHER,
+  GROUP
+}
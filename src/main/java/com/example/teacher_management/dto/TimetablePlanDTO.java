@@ -0,0 +1,20 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TimetablePlanDTO {
+  private boolean feasible;
+  private int conflictingSlots;
+  private long seed;
+  private long iterations;
+  private List<RoutineDTO> routines;
+}
@@ -0,0 +1,12 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A value together with the entity version it was read or written at. */
+@Getter
+@AllArgsConstructor
+public class Versioned<T> {
+  private final T value;
+  private final long version;
+}
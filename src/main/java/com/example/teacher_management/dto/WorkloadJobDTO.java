@@ -0,0 +1,23 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadJobDTO {
+  private String jobId;
+  private WorkloadJobType type;
+  private WorkloadJobStatus status;
+  private Instant submittedAt;
+  private Instant completedAt;
+  private String error;
+  // WorkloadReportDTO for a report, a map of owner id to minutes otherwise.
+  private Object result;
+}
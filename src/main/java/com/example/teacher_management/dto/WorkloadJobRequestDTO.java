@@ -0,0 +1,27 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A workload computation to run in the background. {@code teacherIds} or
+ * {@code department} apply to {@code TEACHER_WORKLOADS}, {@code groupIds} to
+ * {@code GROUP_WORKLOADS}; a {@code REPORT} only needs the dates.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadJobRequestDTO {
+  private WorkloadJobType type;
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private List<Long> teacherIds;
+  private String department;
+  private List<Long> groupIds;
+}
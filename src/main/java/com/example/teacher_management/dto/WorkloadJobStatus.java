@@ -0,0 +1,8 @@
+package com.example.teacher_management.dto;
+
+public enum WorkloadJobStatus {
+  QUEUED,
+  RUNNING,
+  DONE,
+  FAILED
+}
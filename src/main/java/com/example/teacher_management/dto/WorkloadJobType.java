@@ -0,0 +1,7 @@
+package com.example.teacher_management.dto;
+
+public enum WorkloadJobType {
+  REPORT,
+  TEACHER_WORKLOADS,
+  GROUP_WORKLOADS
+}
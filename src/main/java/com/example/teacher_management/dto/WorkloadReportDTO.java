@@ -0,0 +1,21 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadReportDTO {
+  private LocalDate startDate;
+  private LocalDate endDate;
+  private long minExpectedMinutes;
+  private long maxExpectedMinutes;
+  private List<DepartmentWorkloadDTO> departments;
+}
@@ -0,0 +1,20 @@
+package com.example.teacher_management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class WorkloadRollupMismatchDTO {
+  private String ownerType;
+  private Long ownerId;
+  private LocalDate workloadDate;
+  private long expectedMinutes;
+  private long recordedMinutes;
+}
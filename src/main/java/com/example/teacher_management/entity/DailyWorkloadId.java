@@ -0,0 +1,20 @@
+package com.example.teacher_management.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyWorkloadId implements Serializable {
+  private Long ownerId;
+  private LocalDate workloadDate;
+}
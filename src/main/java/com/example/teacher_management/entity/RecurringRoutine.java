@@ -0,0 +1,49 @@
+package com.example.teacher_management.entity;
+
+import jakarta.persistence.*;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringRoutine {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_routine_seq")
+  @SequenceGenerator(name = "recurring_routine_seq",
+      sequenceName = "recurring_routine_seq", allocationSize = 50)
+  private Long recurringRoutineId;
+
+  @Enumerated(EnumType.STRING)
+  private DayOfWeek dayOfWeek;
+
+  private LocalTime startTime;
+  private LocalTime endTime;
+  private LocalDate startDate;
+  private LocalDate endDate;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "teacher_id")
+  private Teacher teacher;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "group_id")
+  private StudyGroup studyGroup;
+
+  @ElementCollection
+  @CollectionTable(name = "recurring_routine_exception",
+      joinColumns = @JoinColumn(name = "recurring_routine_id"))
+  @Column(name = "exception_date")
+  private Set<LocalDate> exceptionDates = new HashSet<>();
+}
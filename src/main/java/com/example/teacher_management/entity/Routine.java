@@ -17,18 +17,27 @@ import java.time.LocalTime;
 @NoArgsConstructor
 public class Routine {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "routine_seq")
+  @SequenceGenerator(name = "routine_seq", sequenceName = "routine_seq",
+      allocationSize = 50)
   private Long routineId;
 
   private LocalTime startTime;
   private LocalTime endTime;
   private LocalDate routineDate;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "teacher_id")
   private Teacher teacher;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "group_id")
   private StudyGroup studyGroup;
+
+  // Bumped from the global change_seq sequence on every write; see SyncService.
+  private Long changeSeq;
+
+  // Checked and bumped by JPA on every update; also the ETag the API hands out.
+  @Version
+  private Long version;
 }
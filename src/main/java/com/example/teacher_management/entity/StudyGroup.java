@@ -4,6 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -17,9 +19,18 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class StudyGroup {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "study_group_seq")
+  @SequenceGenerator(name = "study_group_seq", sequenceName = "study_group_seq",
+      allocationSize = 50)
   private Long groupId;
 
   private String groupName;
   private String description;
+
+  // Bumped from the global change_seq sequence on every write; see SyncService.
+  private Long changeSeq;
+
+  // Checked and bumped by JPA on every update; also the ETag the API hands out.
+  @Version
+  private Long version;
 }
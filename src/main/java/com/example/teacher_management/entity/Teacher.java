@@ -4,6 +4,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -17,10 +19,19 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class Teacher {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teacher_seq")
+  @SequenceGenerator(name = "teacher_seq", sequenceName = "teacher_seq",
+      allocationSize = 50)
   private Long teacherId;
 
   private String name;
   private String department;
   private String email;
+
+  // Bumped from the global change_seq sequence on every write; see SyncService.
+  private Long changeSeq;
+
+  // Checked and bumped by JPA on every update; also the ETag the API hands out.
+  @Version
+  private Long version;
 }
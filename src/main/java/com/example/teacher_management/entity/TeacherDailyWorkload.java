@@ -0,0 +1,32 @@
+package com.example.teacher_management.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "teacher_daily_workload")
+@IdClass(DailyWorkloadId.class)
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherDailyWorkload {
+  @Id
+  @Column(name = "teacher_id")
+  private Long ownerId;
+
+  @Id
+  private LocalDate workloadDate;
+
+  private long minutes;
+}
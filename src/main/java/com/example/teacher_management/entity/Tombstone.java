@@ -0,0 +1,28 @@
+package com.example.teacher_management.entity;
+
+import com.example.teacher_management.dto.SyncEntityType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/** Left behind by a delete so that syncing clients learn the row is gone. */
+@Entity
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class Tombstone {
+  @Id
+  private Long changeSeq;
+
+  @Enumerated(EnumType.STRING)
+  private SyncEntityType entityType;
+
+  private Long entityId;
+}
@@ -0,0 +1,17 @@
+package com.example.teacher_management.event;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the recurring routine write paths inside their transaction.
+ * {@code removed} is the definition before the change and {@code added} the one after
+ * it; either is null on a create or a delete.
+ */
+@Getter
+@AllArgsConstructor
+public class RecurringRoutineChangedEvent {
+  private final RecurringRoutineDTO removed;
+  private final RecurringRoutineDTO added;
+}
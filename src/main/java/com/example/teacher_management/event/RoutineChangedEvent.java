@@ -0,0 +1,44 @@
+package com.example.teacher_management.event;
+
+import com.example.teacher_management.dto.RoutineChangeDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Published by the routine write paths inside their transaction. {@code removed} holds
+ * the state before the change and {@code added} the state after it, so an update
+ * appears in both lists under the same routine id. Listeners that need committed data
+ * should use {@code @TransactionalEventListener}.
+ */
+@Getter
+@AllArgsConstructor
+public class RoutineChangedEvent {
+  private final List<RoutineDTO> removed;
+  private final List<RoutineDTO> added;
+
+  /** The event as one change per routine id, pairing the two states of an update. */
+  public List<RoutineChangeDTO> toChanges() {
+    Map<Long, RoutineDTO> before = new LinkedHashMap<>();
+    for (RoutineDTO routine : removed) {
+      before.put(routine.getRoutineId(), routine);
+    }
+    List<RoutineChangeDTO> changes = new ArrayList<>(removed.size() + added.size());
+    for (RoutineDTO routine : added) {
+      RoutineDTO previous = before.remove(routine.getRoutineId());
+      changes.add(new RoutineChangeDTO(previous == null ? RoutineChangeType.CREATED
+          : RoutineChangeType.UPDATED, routine.getRoutineId(), routine, previous));
+    }
+    for (RoutineDTO routine : before.values()) {
+      changes.add(new RoutineChangeDTO(RoutineChangeType.DELETED, routine.getRoutineId(),
+          null, routine));
+    }
+    return changes;
+  }
+}
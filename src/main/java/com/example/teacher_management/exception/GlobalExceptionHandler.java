@@ -1,5 +1,6 @@
 package com.example.teacher_management.exception;
 
+import com.example.teacher_management.util.ETags;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -25,6 +26,27 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  @ExceptionHandler(RoutineConflictException.class)
+  public ResponseEntity<String> handleRoutineConflictException(
+      RoutineConflictException ex) {
+    return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+  }
+
+  @ExceptionHandler(VersionConflictException.class)
+  public ResponseEntity<Object> handleVersionConflictException(
+      VersionConflictException ex) {
+    if (ex.getCurrent() == null) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+    return ResponseEntity.status(HttpStatus.CONFLICT)
+        .eTag(ETags.of(ex.getCurrentVersion())).body(ex.getCurrent());
+  }
+
+  @ExceptionHandler(JobRejectedException.class)
+  public ResponseEntity<String> handleJobRejectedException(JobRejectedException ex) {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+  }
+
   @ExceptionHandler(IdNotFoundException.class)
   public ResponseEntity<String> handleIdNotFoundException(IdNotFoundException ex) {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
@@ -0,0 +1,16 @@
+package com.example.teacher_management.exception;
+
+import java.util.List;
+
+public class RoutineConflictException extends RuntimeException {
+  private final List<Long> conflictingRoutineIds;
+
+  public RoutineConflictException(String message, List<Long> conflictingRoutineIds) {
+    super(message);
+    this.conflictingRoutineIds = conflictingRoutineIds;
+  }
+
+  public List<Long> getConflictingRoutineIds() {
+    return conflictingRoutineIds;
+  }
+}
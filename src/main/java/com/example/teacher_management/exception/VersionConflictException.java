@@ -0,0 +1,28 @@
+package com.example.teacher_management.exception;
+
+/**
+ * An update named a stale version, or lost the race to a concurrent one. The controller
+ * attaches the current state and version, which the 409 response carries.
+ */
+public class VersionConflictException extends RuntimeException {
+  private final Object current;
+  private final Long currentVersion;
+
+  public VersionConflictException(String message) {
+    this(message, null, null);
+  }
+
+  public VersionConflictException(String message, Object current, Long currentVersion) {
+    super(message);
+    this.current = current;
+    this.currentVersion = currentVersion;
+  }
+
+  public Object getCurrent() {
+    return current;
+  }
+
+  public Long getCurrentVersion() {
+    return currentVersion;
+  }
+}
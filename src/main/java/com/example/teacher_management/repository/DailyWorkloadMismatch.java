@@ -0,0 +1,13 @@
+package com.example.teacher_management.repository;
+
+import java.time.LocalDate;
+
+public interface DailyWorkloadMismatch {
+  Long getOwnerId();
+
+  LocalDate getWorkloadDate();
+
+  Long getExpectedMinutes();
+
+  Long getRecordedMinutes();
+}
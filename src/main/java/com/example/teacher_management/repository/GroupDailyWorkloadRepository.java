@@ -0,0 +1,71 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.entity.DailyWorkloadId;
+import com.example.teacher_management.entity.GroupDailyWorkload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface GroupDailyWorkloadRepository
+    extends JpaRepository<GroupDailyWorkload, DailyWorkloadId> {
+
+  String ROUTINE_MINUTES = "(EXTRACT(HOUR FROM r.end_time) * 60"
+      + " + EXTRACT(MINUTE FROM r.end_time) - EXTRACT(HOUR FROM r.start_time) * 60"
+      + " - EXTRACT(MINUTE FROM r.start_time))";
+
+  @Query("select coalesce(sum(w.minutes), 0) from GroupDailyWorkload w"
+      + " where w.ownerId = :groupId and w.workloadDate between :startDate and :endDate")
+  long sumMinutes(@Param("groupId") Long groupId, @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  @Query("select coalesce(sum(w.minutes), 0) from GroupDailyWorkload w"
+      + " where w.ownerId = :groupId")
+  long sumAllMinutes(@Param("groupId") Long groupId);
+
+  @Query("select w.ownerId as ownerId, sum(w.minutes) as minutes"
+      + " from GroupDailyWorkload w where w.ownerId in :groupIds"
+      + " and w.workloadDate between :startDate and :endDate group by w.ownerId")
+  List<OwnerMinutes> sumMinutesByGroup(@Param("groupIds") Collection<Long> groupIds,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Modifying
+  @Query(value = "INSERT INTO group_daily_workload (group_id, workload_date, minutes)"
+      + " VALUES (:groupId, :workloadDate, :minutes)"
+      + " ON CONFLICT (group_id, workload_date)"
+      + " DO UPDATE SET minutes = group_daily_workload.minutes + EXCLUDED.minutes",
+      nativeQuery = true)
+  void addMinutes(@Param("groupId") Long groupId,
+      @Param("workloadDate") LocalDate workloadDate, @Param("minutes") long minutes);
+
+  @Modifying
+  @Query(value = "DELETE FROM group_daily_workload", nativeQuery = true)
+  void deleteAllRows();
+
+  @Modifying
+  @Query(value = "INSERT INTO group_daily_workload (group_id, workload_date, minutes)"
+      + " SELECT r.group_id, r.routine_date,"
+      + " CAST(SUM(" + ROUTINE_MINUTES + ") AS bigint)"
+      + " FROM routine r WHERE r.group_id IS NOT NULL AND r.routine_date IS NOT NULL"
+      + " GROUP BY r.group_id, r.routine_date", nativeQuery = true)
+  int rebuildFromRoutines();
+
+  @Query(value = "SELECT COALESCE(e.group_id, w.group_id) AS \"ownerId\","
+      + " COALESCE(e.routine_date, w.workload_date) AS \"workloadDate\","
+      + " COALESCE(e.minutes, 0) AS \"expectedMinutes\","
+      + " COALESCE(w.minutes, 0) AS \"recordedMinutes\""
+      + " FROM (SELECT r.group_id, r.routine_date,"
+      + " CAST(SUM(" + ROUTINE_MINUTES + ") AS bigint)"
+      + " AS minutes FROM routine r"
+      + " WHERE r.group_id IS NOT NULL AND r.routine_date IS NOT NULL"
+      + " GROUP BY r.group_id, r.routine_date) e"
+      + " FULL OUTER JOIN group_daily_workload w"
+      + " ON w.group_id = e.group_id AND w.workload_date = e.routine_date"
+      + " WHERE COALESCE(e.minutes, 0) <> COALESCE(w.minutes, 0)"
+      + " ORDER BY 1, 2", nativeQuery = true)
+  List<DailyWorkloadMismatch> findMismatches();
+}
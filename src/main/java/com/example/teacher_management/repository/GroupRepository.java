@@ -1,7 +1,23 @@
 package com.example.teacher_management.repository;
 
 import com.example.teacher_management.entity.StudyGroup;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface GroupRepository extends JpaRepository<StudyGroup, Long> {
+import java.util.List;
+import java.util.Optional;
+
+public interface GroupRepository extends JpaRepository<StudyGroup, Long>,
+    GroupRepositoryCustom {
+  List<StudyGroup> findByChangeSeqGreaterThanOrderByChangeSeq(long changeSeq,
+      Limit limit);
+
+  // Conditional GETs: a primary key lookup of one column, nothing hydrated.
+  @Query("select g.version from StudyGroup g where g.groupId = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query("select coalesce(max(g.changeSeq), 0) from StudyGroup g")
+  long findMaxChangeSeq();
 }
@@ -0,0 +1,12 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.StudyGroupDTO;
+
+import java.util.List;
+import java.util.Set;
+
+public interface GroupRepositoryCustom {
+  List<StudyGroupDTO> findPage(String namePrefix, IdCursor after, int limit,
+      Set<String> fields);
+}
@@ -0,0 +1,55 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.util.ValidationUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class GroupRepositoryCustomImpl implements GroupRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<StudyGroupDTO> findPage(String namePrefix, IdCursor after, int limit,
+      Set<String> fields) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<StudyGroup> group = query.from(StudyGroup.class);
+    Path<Long> groupId = group.get("groupId");
+    Path<String> groupName = group.get("groupName");
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (!ValidationUtil.isEmptyOrNull(namePrefix)) {
+      predicates.add(cb.like(groupName, PrefixPattern.of(namePrefix),
+          PrefixPattern.ESCAPE));
+    }
+    if (after != null) {
+      predicates.add(cb.greaterThan(groupId, after.getId()));
+    }
+
+    Projection<StudyGroupDTO> projection = new Projection<>(StudyGroupDTO::new)
+        .column("groupId", groupId, StudyGroupDTO::setGroupId)
+        .column("groupName", groupName, StudyGroupDTO::setGroupName)
+        .column("description", group.<String>get("description"),
+            StudyGroupDTO::setDescription);
+    query.multiselect(projection.select(fields, "groupId"))
+        .where(predicates.toArray(new Predicate[0]))
+        .orderBy(cb.asc(groupId));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultStream()
+        .map(projection::read).toList();
+  }
+}
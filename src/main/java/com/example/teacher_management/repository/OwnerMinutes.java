@@ -0,0 +1,7 @@
+package com.example.teacher_management.repository;
+
+public interface OwnerMinutes {
+  Long getOwnerId();
+
+  Long getMinutes();
+}
@@ -0,0 +1,22 @@
+package com.example.teacher_management.repository;
+
+/** LIKE pattern matching values that start with a literal prefix. */
+final class PrefixPattern {
+
+  static final char ESCAPE = '\\';
+
+  private PrefixPattern() {
+  }
+
+  // Wildcards in the prefix are escaped so that "50%" means the text "50%".
+  static String of(String prefix) {
+    StringBuilder pattern = new StringBuilder(prefix.length() + 1);
+    for (char c : prefix.toCharArray()) {
+      if (c == '%' || c == '_' || c == ESCAPE) {
+        pattern.append(ESCAPE);
+      }
+      pattern.append(c);
+    }
+    return pattern.append('%').toString();
+  }
+}
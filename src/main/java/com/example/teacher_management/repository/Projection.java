@@ -0,0 +1,58 @@
+package com.example.teacher_management.repository;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps DTO fields to criteria columns, so that a query selects only the columns of the
+ * requested fields and the DTO is filled from the resulting tuple.
+ */
+final class Projection<T> {
+
+  private final Supplier<T> factory;
+  private final Map<String, Expression<?>> columns = new LinkedHashMap<>();
+  private final Map<String, BiConsumer<T, Object>> setters = new LinkedHashMap<>();
+
+  Projection(Supplier<T> factory) {
+    this.factory = factory;
+  }
+
+  @SuppressWarnings("unchecked")
+  <V> Projection<T> column(String field, Expression<V> column, BiConsumer<T, V> setter) {
+    columns.put(field, column);
+    setters.put(field, (target, value) -> setter.accept(target, (V) value));
+    return this;
+  }
+
+  /** The columns of {@code fields}, plus the {@code required} ones, aliased by field. */
+  List<Selection<?>> select(Set<String> fields, String... required) {
+    Set<String> selected = new LinkedHashSet<>(fields);
+    selected.addAll(List.of(required));
+    List<Selection<?>> selections = new ArrayList<>();
+    columns.forEach((field, column) -> {
+      if (selected.contains(field)) {
+        selections.add(column.alias(field));
+      }
+    });
+    return selections;
+  }
+
+  T read(Tuple tuple) {
+    T target = factory.get();
+    for (TupleElement<?> element : tuple.getElements()) {
+      setters.get(element.getAlias()).accept(target, tuple.get(element));
+    }
+    return target;
+  }
+}
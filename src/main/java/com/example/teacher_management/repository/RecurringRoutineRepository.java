@@ -0,0 +1,51 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.entity.RecurringRoutine;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface RecurringRoutineRepository extends JpaRepository<RecurringRoutine, Long> {
+
+  // Every read fetches the exception dates in the same query; a definition is never
+  // used without them. Teacher and group ids are read from the unloaded references.
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates"
+      + " where r.recurringRoutineId = :id")
+  Optional<RecurringRoutine> findWithExceptionsById(@Param("id") Long id);
+
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates")
+  List<RecurringRoutine> findAllWithExceptions();
+
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates"
+      + " where r.startDate <= :endDate and r.endDate >= :startDate")
+  List<RecurringRoutine> findAllBetween(@Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates"
+      + " where r.teacher.teacherId in :teacherIds"
+      + " and r.startDate <= :endDate and r.endDate >= :startDate")
+  List<RecurringRoutine> findByTeachersBetween(
+      @Param("teacherIds") Collection<Long> teacherIds,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates"
+      + " where r.studyGroup.groupId in :groupIds"
+      + " and r.startDate <= :endDate and r.endDate >= :startDate")
+  List<RecurringRoutine> findByGroupsBetween(@Param("groupIds") Collection<Long> groupIds,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates"
+      + " where r.studyGroup.groupId = :groupId")
+  List<RecurringRoutine> findByGroup(@Param("groupId") Long groupId);
+
+  @Query("select distinct r from RecurringRoutine r left join fetch r.exceptionDates"
+      + " where r.teacher.department = :department"
+      + " and r.startDate <= :endDate and r.endDate >= :startDate")
+  List<RecurringRoutine> findByDepartmentBetween(@Param("department") String department,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+}
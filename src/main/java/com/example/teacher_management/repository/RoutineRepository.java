@@ -1,14 +1,77 @@
 package com.example.teacher_management.repository;
 
-import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.dto.RoutineDTO;
 import com.example.teacher_management.entity.Routine;
-import com.example.teacher_management.entity.Teacher;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface RoutineRepository extends JpaRepository<Routine, Long> {
-  List<Routine> findByTeacherAndRoutineDateBetween(Teacher teacher, LocalDate startDate, LocalDate endDate);
-  List<Routine> findByStudyGroup(StudyGroup studyGroup);
+public interface RoutineRepository extends JpaRepository<Routine, Long>,
+    RoutineRepositoryCustom {
+
+  // Read paths select the routine columns only; the teacher and group ids come
+  // straight from the foreign keys, so neither table is joined.
+  @Query("select new com.example.teacher_management.dto.RoutineDTO(r.routineId,"
+      + " r.startTime, r.endTime, r.routineDate, r.teacher.teacherId,"
+      + " r.studyGroup.groupId) from Routine r where r.routineId = :id")
+  Optional<RoutineDTO> findDtoById(@Param("id") Long id);
+
+  // Forward-only cursor over DTO projections: nothing is attached to the
+  // persistence context, so memory stays flat however many rows are read.
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+  @Query("select new com.example.teacher_management.dto.RoutineDTO(r.routineId,"
+      + " r.startTime, r.endTime, r.routineDate, r.teacher.teacherId,"
+      + " r.studyGroup.groupId) from Routine r order by r.routineId")
+  Stream<RoutineDTO> streamAllForExport();
+
+  @Query("select new com.example.teacher_management.dto.RoutineDTO(r.routineId,"
+      + " r.startTime, r.endTime, r.routineDate, r.teacher.teacherId,"
+      + " r.studyGroup.groupId) from Routine r where r.teacher.teacherId = :teacherId"
+      + " and r.routineDate between :startDate and :endDate"
+      + " order by r.routineDate, r.startTime")
+  List<RoutineDTO> findByTeacherBetween(@Param("teacherId") Long teacherId,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("select new com.example.teacher_management.dto.RoutineDTO(r.routineId,"
+      + " r.startTime, r.endTime, r.routineDate, r.teacher.teacherId,"
+      + " r.studyGroup.groupId) from Routine r where r.studyGroup.groupId = :groupId"
+      + " and r.routineDate between :startDate and :endDate"
+      + " order by r.routineDate, r.startTime")
+  List<RoutineDTO> findByGroupBetween(@Param("groupId") Long groupId,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("select new com.example.teacher_management.dto.RoutineDTO(r.routineId,"
+      + " r.startTime, r.endTime, r.routineDate, r.teacher.teacherId,"
+      + " r.studyGroup.groupId) from Routine r where r.teacher.teacherId in :teacherIds"
+      + " and r.routineDate between :startDate and :endDate")
+  List<RoutineDTO> findByTeachersBetween(@Param("teacherIds") Collection<Long> teacherIds,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("select new com.example.teacher_management.dto.RoutineDTO(r.routineId,"
+      + " r.startTime, r.endTime, r.routineDate, r.teacher.teacherId,"
+      + " r.studyGroup.groupId) from Routine r where r.studyGroup.groupId in :groupIds"
+      + " and r.routineDate between :startDate and :endDate")
+  List<RoutineDTO> findByGroupsBetween(@Param("groupIds") Collection<Long> groupIds,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  // Entities rather than a projection so the change_seq comes along; teacher and group
+  // stay uninitialised proxies, whose ids need no join.
+  List<Routine> findByChangeSeqGreaterThanOrderByChangeSeq(long changeSeq, Limit limit);
+
+  // Conditional GETs: a primary key lookup of one column, nothing hydrated.
+  @Query("select r.version from Routine r where r.routineId = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query("select coalesce(max(r.changeSeq), 0) from Routine r")
+  long findMaxChangeSeq();
 }
@@ -0,0 +1,16 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.RoutineCursor;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface RoutineRepositoryCustom {
+  List<RoutineDTO> findPage(RoutineFilter filter, RoutineCursor after, int limit,
+      Set<String> fields);
+
+  Stream<RoutineDTO> streamForExport(Set<String> fields);
+}
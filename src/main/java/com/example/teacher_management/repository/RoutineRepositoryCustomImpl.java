@@ -0,0 +1,110 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.RoutineCursor;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+import com.example.teacher_management.entity.Routine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public class RoutineRepositoryCustomImpl implements RoutineRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<RoutineDTO> findPage(RoutineFilter filter, RoutineCursor after, int limit,
+      Set<String> fields) {
+    HibernateCriteriaBuilder cb =
+        (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Routine> routine = query.from(Routine.class);
+    Path<LocalDate> routineDate = routine.get("routineDate");
+    Path<Long> routineId = routine.get("routineId");
+    Path<Long> teacherId = routine.get("teacher").get("teacherId");
+    Path<Long> groupId = routine.get("studyGroup").get("groupId");
+
+    // Only the filters that were supplied end up in the WHERE clause, so each
+    // combination can be served by its own index instead of a catch-all plan.
+    List<Predicate> predicates = new ArrayList<>();
+    if (filter.getTeacherId() != null) {
+      predicates.add(cb.equal(teacherId, filter.getTeacherId()));
+    }
+    if (filter.getGroupId() != null) {
+      predicates.add(cb.equal(groupId, filter.getGroupId()));
+    }
+    if (filter.getStartDate() != null) {
+      predicates.add(cb.greaterThanOrEqualTo(routineDate, filter.getStartDate()));
+    }
+    if (filter.getEndDate() != null) {
+      predicates.add(cb.lessThanOrEqualTo(routineDate, filter.getEndDate()));
+    }
+    // Routines without a date sort first, so a cursor on one still has every dated
+    // routine ahead of it.
+    if (after != null && after.getRoutineDate() == null) {
+      predicates.add(cb.or(
+          cb.and(cb.isNull(routineDate), cb.greaterThan(routineId, after.getRoutineId())),
+          cb.isNotNull(routineDate)));
+    } else if (after != null) {
+      predicates.add(cb.or(
+          cb.greaterThan(routineDate, after.getRoutineDate()),
+          cb.and(cb.equal(routineDate, after.getRoutineDate()),
+              cb.greaterThan(routineId, after.getRoutineId()))));
+    }
+
+    // Only the selected columns are read, plus the keyset the next cursor is built from.
+    Projection<RoutineDTO> projection = projection(routine);
+    query.multiselect(projection.select(fields, "routineId", "routineDate"))
+        .where(predicates.toArray(new Predicate[0]))
+        .orderBy(cb.asc(routineDate, true), cb.asc(routineId));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultStream()
+        .map(projection::read).toList();
+  }
+
+  @Override
+  public Stream<RoutineDTO> streamForExport(Set<String> fields) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Routine> routine = query.from(Routine.class);
+    Projection<RoutineDTO> projection = projection(routine);
+    query.multiselect(projection.select(fields))
+        .orderBy(cb.asc(routine.get("routineId")));
+
+    // Forward-only cursor over tuples: nothing is attached to the persistence
+    // context, so memory stays flat however many rows are read.
+    return entityManager.createQuery(query)
+        .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+        .getResultStream().map(projection::read);
+  }
+
+  // Teacher and group ids come straight from the FK columns: neither table is joined.
+  private static Projection<RoutineDTO> projection(Root<Routine> routine) {
+    return new Projection<>(RoutineDTO::new)
+        .column("routineId", routine.<Long>get("routineId"), RoutineDTO::setRoutineId)
+        .column("startTime", routine.<LocalTime>get("startTime"),
+            RoutineDTO::setStartTime)
+        .column("endTime", routine.<LocalTime>get("endTime"), RoutineDTO::setEndTime)
+        .column("routineDate", routine.<LocalDate>get("routineDate"),
+            RoutineDTO::setRoutineDate)
+        .column("teacherId", routine.get("teacher").<Long>get("teacherId"),
+            RoutineDTO::setTeacherId)
+        .column("groupId", routine.get("studyGroup").<Long>get("groupId"),
+            RoutineDTO::setGroupId);
+  }
+}
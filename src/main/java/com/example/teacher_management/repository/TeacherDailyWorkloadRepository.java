@@ -0,0 +1,83 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.entity.DailyWorkloadId;
+import com.example.teacher_management.entity.TeacherDailyWorkload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface TeacherDailyWorkloadRepository
+    extends JpaRepository<TeacherDailyWorkload, DailyWorkloadId> {
+
+  String ROUTINE_MINUTES = "(EXTRACT(HOUR FROM r.end_time) * 60"
+      + " + EXTRACT(MINUTE FROM r.end_time) - EXTRACT(HOUR FROM r.start_time) * 60"
+      + " - EXTRACT(MINUTE FROM r.start_time))";
+
+  @Query("select coalesce(sum(w.minutes), 0) from TeacherDailyWorkload w"
+      + " where w.ownerId = :teacherId and w.workloadDate between :startDate and :endDate")
+  long sumMinutes(@Param("teacherId") Long teacherId, @Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  @Query("select w.ownerId as ownerId, sum(w.minutes) as minutes"
+      + " from TeacherDailyWorkload w where w.ownerId in :teacherIds"
+      + " and w.workloadDate between :startDate and :endDate group by w.ownerId")
+  List<OwnerMinutes> sumMinutesByTeacher(@Param("teacherIds") Collection<Long> teacherIds,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  // Left join from teacher so department members without routines report zero.
+  @Query("select t.teacherId as ownerId, coalesce(sum(w.minutes), 0) as minutes"
+      + " from Teacher t left join TeacherDailyWorkload w on w.ownerId = t.teacherId"
+      + " and w.workloadDate between :startDate and :endDate"
+      + " where t.department = :department group by t.teacherId")
+  List<OwnerMinutes> sumMinutesByDepartment(@Param("department") String department,
+      @Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+  @Query("select t.teacherId as teacherId, t.name as name, t.department as department,"
+      + " coalesce(sum(w.minutes), 0) as minutes"
+      + " from Teacher t left join TeacherDailyWorkload w on w.ownerId = t.teacherId"
+      + " and w.workloadDate between :startDate and :endDate"
+      + " group by t.teacherId, t.name, t.department")
+  List<TeacherWorkloadRow> sumMinutesPerTeacher(@Param("startDate") LocalDate startDate,
+      @Param("endDate") LocalDate endDate);
+
+  @Modifying
+  @Query(value = "INSERT INTO teacher_daily_workload (teacher_id, workload_date, minutes)"
+      + " VALUES (:teacherId, :workloadDate, :minutes)"
+      + " ON CONFLICT (teacher_id, workload_date)"
+      + " DO UPDATE SET minutes = teacher_daily_workload.minutes + EXCLUDED.minutes",
+      nativeQuery = true)
+  void addMinutes(@Param("teacherId") Long teacherId,
+      @Param("workloadDate") LocalDate workloadDate, @Param("minutes") long minutes);
+
+  @Modifying
+  @Query(value = "DELETE FROM teacher_daily_workload", nativeQuery = true)
+  void deleteAllRows();
+
+  @Modifying
+  @Query(value = "INSERT INTO teacher_daily_workload (teacher_id, workload_date, minutes)"
+      + " SELECT r.teacher_id, r.routine_date,"
+      + " CAST(SUM(" + ROUTINE_MINUTES + ") AS bigint)"
+      + " FROM routine r WHERE r.teacher_id IS NOT NULL AND r.routine_date IS NOT NULL"
+      + " GROUP BY r.teacher_id, r.routine_date", nativeQuery = true)
+  int rebuildFromRoutines();
+
+  @Query(value = "SELECT COALESCE(e.teacher_id, w.teacher_id) AS \"ownerId\","
+      + " COALESCE(e.routine_date, w.workload_date) AS \"workloadDate\","
+      + " COALESCE(e.minutes, 0) AS \"expectedMinutes\","
+      + " COALESCE(w.minutes, 0) AS \"recordedMinutes\""
+      + " FROM (SELECT r.teacher_id, r.routine_date,"
+      + " CAST(SUM(" + ROUTINE_MINUTES + ") AS bigint)"
+      + " AS minutes FROM routine r"
+      + " WHERE r.teacher_id IS NOT NULL AND r.routine_date IS NOT NULL"
+      + " GROUP BY r.teacher_id, r.routine_date) e"
+      + " FULL OUTER JOIN teacher_daily_workload w"
+      + " ON w.teacher_id = e.teacher_id AND w.workload_date = e.routine_date"
+      + " WHERE COALESCE(e.minutes, 0) <> COALESCE(w.minutes, 0)"
+      + " ORDER BY 1, 2", nativeQuery = true)
+  List<DailyWorkloadMismatch> findMismatches();
+}
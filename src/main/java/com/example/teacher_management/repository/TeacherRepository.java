@@ -1,10 +1,24 @@
 package com.example.teacher_management.repository;
 
 import com.example.teacher_management.entity.Teacher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface TeacherRepository extends JpaRepository<Teacher, Long> {
+public interface TeacherRepository extends JpaRepository<Teacher, Long>,
+    TeacherRepositoryCustom {
   Optional<Teacher> findByName(String name);
+
+  List<Teacher> findByChangeSeqGreaterThanOrderByChangeSeq(long changeSeq, Limit limit);
+
+  // Conditional GETs: a primary key lookup of one column, nothing hydrated.
+  @Query("select t.version from Teacher t where t.teacherId = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query("select coalesce(max(t.changeSeq), 0) from Teacher t")
+  long findMaxChangeSeq();
 }
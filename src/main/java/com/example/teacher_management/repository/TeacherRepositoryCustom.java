@@ -0,0 +1,13 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+
+import java.util.List;
+import java.util.Set;
+
+public interface TeacherRepositoryCustom {
+  List<TeacherDTO> findPage(TeacherFilter filter, IdCursor after, int limit,
+      Set<String> fields);
+}
@@ -0,0 +1,62 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.util.ValidationUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TeacherRepositoryCustomImpl implements TeacherRepositoryCustom {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<TeacherDTO> findPage(TeacherFilter filter, IdCursor after, int limit,
+      Set<String> fields) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Teacher> teacher = query.from(Teacher.class);
+    Path<Long> teacherId = teacher.get("teacherId");
+    Path<String> name = teacher.get("name");
+    Path<String> department = teacher.get("department");
+
+    // As with routines, only the supplied filters reach the WHERE clause.
+    List<Predicate> predicates = new ArrayList<>();
+    if (!ValidationUtil.isEmptyOrNull(filter.getDepartment())) {
+      predicates.add(cb.equal(department, filter.getDepartment()));
+    }
+    if (!ValidationUtil.isEmptyOrNull(filter.getNamePrefix())) {
+      predicates.add(cb.like(name, PrefixPattern.of(filter.getNamePrefix()),
+          PrefixPattern.ESCAPE));
+    }
+    if (after != null) {
+      predicates.add(cb.greaterThan(teacherId, after.getId()));
+    }
+
+    // Only the selected columns are read, plus the id the next cursor is built from.
+    Projection<TeacherDTO> projection = new Projection<>(TeacherDTO::new)
+        .column("teacherId", teacherId, TeacherDTO::setTeacherId)
+        .column("name", name, TeacherDTO::setName)
+        .column("department", department, TeacherDTO::setDepartment)
+        .column("email", teacher.<String>get("email"), TeacherDTO::setEmail);
+    query.multiselect(projection.select(fields, "teacherId"))
+        .where(predicates.toArray(new Predicate[0]))
+        .orderBy(cb.asc(teacherId));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultStream()
+        .map(projection::read).toList();
+  }
+}
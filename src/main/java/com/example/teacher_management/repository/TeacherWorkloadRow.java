@@ -0,0 +1,11 @@
+package com.example.teacher_management.repository;
+
+public interface TeacherWorkloadRow {
+  Long getTeacherId();
+
+  String getName();
+
+  String getDepartment();
+
+  Long getMinutes();
+}
@@ -0,0 +1,55 @@
+package com.example.teacher_management.repository;
+
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.entity.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+  // The last number handed out; a fresh sequence has not handed out last_value yet.
+  String LAST_DRAWN = "case when is_called then last_value else last_value - 1 end";
+
+  // Change sequences are drawn before commit, so a transaction can commit below a value
+  // a reader has already seen. Before drawing, each writer takes a transaction-scoped
+  // advisory lock keyed by the sequence's current value. Every number it draws is above
+  // that key and the lock is held until commit, so the smallest key in pg_locks bounds
+  // what is still in flight. Relies on the sequence's default CACHE 1.
+  @Query(value = "with claim as materialized (select pg_advisory_xact_lock_shared("
+      + LAST_DRAWN + ") from change_seq) select nextval('change_seq') from claim",
+      nativeQuery = true)
+  long nextChangeSeq();
+
+  @Query(value = "with claim as materialized (select pg_advisory_xact_lock_shared("
+      + LAST_DRAWN + ") from change_seq) select nextval('change_seq')"
+      + " from claim, generate_series(1, :count)", nativeQuery = true)
+  List<Long> nextChangeSeqs(@Param("count") int count);
+
+  @Query(value = "select " + LAST_DRAWN + " from change_seq", nativeQuery = true)
+  long findLastChangeSeq();
+
+  @Query(value = "select min((classid::bigint << 32) | objid::bigint) from pg_locks"
+      + " where locktype = 'advisory' and objsubid = 1"
+      + " and database = (select oid from pg_database where datname = current_database())",
+      nativeQuery = true)
+  Long findInFlightChangeSeqFloor();
+
+  // Highest change_seq at or below which nothing can still commit. The last value is
+  // read before the locks, so a writer that locks in between draws above it. Call it
+  // before the reads it bounds, outside any repeatable-read snapshot they share.
+  default long findSafeChangeSeq() {
+    long lastChangeSeq = findLastChangeSeq();
+    Long inFlightFloor = findInFlightChangeSeqFloor();
+    return inFlightFloor == null ? lastChangeSeq : Math.min(lastChangeSeq, inFlightFloor);
+  }
+
+  List<Tombstone> findByChangeSeqGreaterThanOrderByChangeSeq(long changeSeq, Limit limit);
+
+  @Query("select coalesce(max(t.changeSeq), 0) from Tombstone t"
+      + " where t.entityType = :entityType")
+  long findMaxChangeSeq(@Param("entityType") SyncEntityType entityType);
+}
@@ -0,0 +1,21 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.JournalEntryDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.TimetableDTO;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ChangeJournalService {
+  void record(SyncEntityType entityType, RoutineChangeType operation, Long entityId);
+
+  List<JournalEntryDTO> getHistory(SyncEntityType entityType, Long entityId);
+
+  RoutineDTO getRoutineAsOf(Long routineId, Instant at);
+
+  TimetableDTO getTeacherTimetableAsOf(Long teacherId, LocalDate week, Instant at);
+}
@@ -0,0 +1,10 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.FreeSlotDTO;
+import com.example.teacher_management.dto.FreeSlotQuery;
+
+import java.util.List;
+
+public interface FreeSlotService {
+  List<FreeSlotDTO> findFreeSlots(FreeSlotQuery query);
+}
@@ -0,0 +1,20 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RecurringRoutineService {
+  RecurringRoutineDTO saveRecurringRoutine(RecurringRoutineDTO routine);
+
+  RecurringRoutineDTO getRecurringRoutineById(Long id);
+
+  RecurringRoutineDTO updateRecurringRoutine(Long id, RecurringRoutineDTO routine);
+
+  void deleteRecurringRoutine(Long id);
+
+  List<RoutineOccurrenceDTO> getOccurrences(Long teacherId, Long groupId,
+      LocalDate startDate, LocalDate endDate);
+}
@@ -0,0 +1,7 @@
+package com.example.teacher_management.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface RoutineChangeFeedService {
+  SseEmitter subscribe(Long teacherId, Long groupId);
+}
@@ -0,0 +1,10 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.RoutineImportReportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface RoutineImportService {
+  RoutineImportReportDTO importCsv(InputStream csv) throws IOException;
+}
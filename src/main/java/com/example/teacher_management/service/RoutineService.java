@@ -1,24 +1,52 @@
 package com.example.teacher_management.service;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
 import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+import com.example.teacher_management.dto.Versioned;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface RoutineService {
+  /** Most operations one {@link #applyBatch} call accepts. */
+  int MAX_BATCH_SIZE = 5000;
+
   RoutineDTO saveRoutine(RoutineDTO routine);
 
   long calculateTeacherWorkload(String teacherName, LocalDate startDate,
       LocalDate endDate);
 
-  long calculateGroupWorkload(Long groupId);
+  long calculateGroupWorkload(Long groupId, LocalDate startDate, LocalDate endDate);
+
+  Map<Long, Long> calculateTeacherWorkloads(List<Long> teacherIds, String department,
+      LocalDate startDate, LocalDate endDate);
+
+  Map<Long, Long> calculateGroupWorkloads(List<Long> groupIds, LocalDate startDate,
+      LocalDate endDate);
 
-  RoutineDTO updateRoutine(Long id, RoutineDTO routineDTO);
+  Versioned<RoutineDTO> updateRoutine(Long id, RoutineDTO routineDTO,
+      Long expectedVersion);
 
-  List<RoutineDTO> getAllRoutines();
+  CursorPageDTO<RoutineDTO> getRoutines(RoutineFilter filter, String cursor, Integer size,
+      Set<String> fields);
 
   Optional<RoutineDTO> getRoutineById(Long id);
 
+  Optional<Long> getRoutineVersion(Long id);
+
+  Optional<Long> collectionVersion();
+
   void deleteRoutine(Long id);
+
+  RoutineBatchResultDTO applyBatch(List<RoutineBatchOperationDTO> operations);
+
+  void exportRoutines(OutputStream outputStream, Set<String> fields) throws IOException;
 }
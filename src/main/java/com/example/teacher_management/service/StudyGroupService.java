@@ -1,14 +1,32 @@
 package com.example.teacher_management.service;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 public interface StudyGroupService {
   StudyGroup findById(Long id);
 
+  long findVersion(Long id);
+
+  Optional<Long> collectionVersion();
+
+  List<StudyGroupDTO> findAllById(List<Long> ids);
+
+  CursorPageDTO<StudyGroupDTO> getGroups(String namePrefix, String cursor, Integer size,
+      Set<String> fields);
+
   StudyGroupDTO save(StudyGroupDTO group);
 
-  StudyGroupDTO update(Long id, StudyGroupDTO group);
+  Versioned<StudyGroupDTO> update(Long id, StudyGroupDTO group, Long expectedVersion);
 
   void delete(Long id);
+
+  List<SearchHitDTO<StudyGroupDTO>> search(String query, Integer limit);
 }
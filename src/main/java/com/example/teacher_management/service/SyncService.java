@@ -0,0 +1,7 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.SyncDTO;
+
+public interface SyncService {
+  SyncDTO changesSince(long since, Integer limit);
+}
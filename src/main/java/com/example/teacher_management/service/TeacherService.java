@@ -1,11 +1,25 @@
 package com.example.teacher_management.service;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.Teacher;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 public interface TeacherService {
   TeacherDTO findById(Long id);
+  long findVersion(Long id);
+  Optional<Long> collectionVersion();
+  List<TeacherDTO> findAllById(List<Long> ids);
+  CursorPageDTO<TeacherDTO> getTeachers(TeacherFilter filter, String cursor, Integer size,
+      Set<String> fields);
   TeacherDTO save(TeacherDTO teacher);
-  TeacherDTO update(Long id, TeacherDTO teacher);
+  Versioned<TeacherDTO> update(Long id, TeacherDTO teacher, Long expectedVersion);
   void delete(Long id);
+  List<SearchHitDTO<TeacherDTO>> search(String query, Integer limit);
 }
@@ -0,0 +1,14 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TimetableGenerationRequestDTO;
+import com.example.teacher_management.dto.TimetablePlanDTO;
+
+import java.util.List;
+
+public interface TimetableGeneratorService {
+  TimetablePlanDTO generate(TimetableGenerationRequestDTO request);
+
+  RoutineBatchResultDTO commit(List<RoutineDTO> routines);
+}
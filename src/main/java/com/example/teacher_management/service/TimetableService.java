@@ -0,0 +1,10 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+
+import java.time.LocalDate;
+
+public interface TimetableService {
+  TimetableDTO getTimetable(TimetableOwner owner, Long ownerId, LocalDate week);
+}
@@ -0,0 +1,10 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.WorkloadJobDTO;
+import com.example.teacher_management.dto.WorkloadJobRequestDTO;
+
+public interface WorkloadJobService {
+  WorkloadJobDTO submit(WorkloadJobRequestDTO request);
+
+  WorkloadJobDTO getJob(String jobId);
+}
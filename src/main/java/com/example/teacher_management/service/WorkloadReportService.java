@@ -0,0 +1,9 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.WorkloadReportDTO;
+
+import java.time.LocalDate;
+
+public interface WorkloadReportService {
+  WorkloadReportDTO buildReport(LocalDate startDate, LocalDate endDate);
+}
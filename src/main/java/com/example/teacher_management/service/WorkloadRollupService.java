@@ -0,0 +1,32 @@
+package com.example.teacher_management.service;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.WorkloadRollupMismatchDTO;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface WorkloadRollupService {
+  void applyChanges(List<RoutineDTO> removed, List<RoutineDTO> added);
+
+  long teacherMinutes(Long teacherId, LocalDate startDate, LocalDate endDate);
+
+  Map<Long, Long> teacherMinutes(Collection<Long> teacherIds, LocalDate startDate,
+      LocalDate endDate);
+
+  Map<Long, Long> departmentMinutes(String department, LocalDate startDate,
+      LocalDate endDate);
+
+  long groupMinutes(Long groupId);
+
+  long groupMinutes(Long groupId, LocalDate startDate, LocalDate endDate);
+
+  Map<Long, Long> groupMinutes(Collection<Long> groupIds, LocalDate startDate,
+      LocalDate endDate);
+
+  int rebuild();
+
+  List<WorkloadRollupMismatchDTO> checkConsistency();
+}
@@ -0,0 +1,281 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.JournalEntryDTO;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineChangeDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.event.RecurringRoutineChangedEvent;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.service.ChangeJournalService;
+import com.example.teacher_management.util.ChangeJournal;
+import com.example.teacher_management.util.Recurrence;
+import com.example.teacher_management.util.TimetableGrid;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Journals every committed teacher, study group, routine and recurring routine write,
+ * and answers history
+ * and point-in-time questions from the journal alone. Appends go to the mapped segment
+ * and are fsynced together every {@code journal.fsync-interval}, so a crash of the
+ * machine (not of the process) can lose at most that interval.
+ */
+@Service
+@Slf4j
+public class ChangeJournalServiceImpl implements ChangeJournalService,
+    SmartInitializingSingleton {
+
+  private final RoutineRepository routineRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final TeacherRepository teacherRepository;
+  private final GroupRepository groupRepository;
+  private final ChangeJournal journal;
+  private final ScheduledExecutorService flusher;
+
+  public ChangeJournalServiceImpl(RoutineRepository routineRepository,
+      RecurringRoutineRepository recurringRoutineRepository,
+      TeacherRepository teacherRepository, GroupRepository groupRepository,
+      @Value("${journal.dir:journal}") String directory,
+      @Value("${journal.segment-records:1048576}") int segmentRecords,
+      @Value("${journal.fsync-interval:100ms}") Duration fsyncInterval)
+      throws IOException {
+    this.routineRepository = routineRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+    this.teacherRepository = teacherRepository;
+    this.groupRepository = groupRepository;
+    this.journal = new ChangeJournal(Path.of(directory), segmentRecords);
+    this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "change-journal-fsync");
+      thread.setDaemon(true);
+      return thread;
+    });
+    flusher.scheduleWithFixedDelay(journal::force, fsyncInterval.toMillis(),
+        fsyncInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flusher.shutdownNow();
+    journal.close();
+  }
+
+  // A new journal starts from a snapshot of the current rows, so that point-in-time
+  // reads cover routines written before it existed. This runs before the web server
+  // starts: a write journaled first would make the journal look seeded.
+  @Override
+  @Transactional(readOnly = true)
+  public void afterSingletonsInstantiated() {
+    seed();
+  }
+
+  void seed() {
+    if (journal.nextOffset() > 0) {
+      return;
+    }
+    log.info("Seeding the change journal from the current tables");
+    long now = System.currentTimeMillis();
+    for (Teacher teacher : teacherRepository.findAll()) {
+      append(new ChangeJournal.Entry(now, SyncEntityType.TEACHER,
+          RoutineChangeType.CREATED, teacher.getTeacherId(), null));
+    }
+    for (StudyGroup group : groupRepository.findAll()) {
+      append(new ChangeJournal.Entry(now, SyncEntityType.GROUP,
+          RoutineChangeType.CREATED, group.getGroupId(), null));
+    }
+    try (Stream<RoutineDTO> routines = routineRepository.streamAllForExport()) {
+      routines.forEach(routine -> append(new ChangeJournal.Entry(now,
+          SyncEntityType.ROUTINE, RoutineChangeType.CREATED, routine.getRoutineId(),
+          routine)));
+    }
+    recurringRoutineRepository.findAllWithExceptions().forEach(routine -> append(
+        new ChangeJournal.Entry(now, SyncEntityType.RECURRING_ROUTINE,
+            RoutineChangeType.CREATED, routine.getRecurringRoutineId(), null,
+            RecurringRoutineDTO.fromEntity(routine))));
+    journal.force();
+    log.info("Seeded the change journal with {} records", journal.nextOffset());
+  }
+
+  @Override
+  public void record(SyncEntityType entityType, RoutineChangeType operation,
+      Long entityId) {
+    ChangeJournal.Entry entry = new ChangeJournal.Entry(System.currentTimeMillis(),
+        entityType, operation, entityId, null);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      append(entry);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            append(entry);
+          }
+        });
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRoutineChanged(RoutineChangedEvent event) {
+    long now = System.currentTimeMillis();
+    for (RoutineChangeDTO change : event.toChanges()) {
+      append(new ChangeJournal.Entry(now, SyncEntityType.ROUTINE, change.getType(),
+          change.getRoutineId(), change.getRoutine()));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRecurringRoutineChanged(RecurringRoutineChangedEvent event) {
+    RecurringRoutineDTO added = event.getAdded();
+    RoutineChangeType operation = event.getRemoved() == null ? RoutineChangeType.CREATED
+        : added == null ? RoutineChangeType.DELETED : RoutineChangeType.UPDATED;
+    Long id = added == null ? event.getRemoved().getRecurringRoutineId()
+        : added.getRecurringRoutineId();
+    append(new ChangeJournal.Entry(System.currentTimeMillis(),
+        SyncEntityType.RECURRING_ROUTINE, operation, id, null, added));
+  }
+
+  @Override
+  public List<JournalEntryDTO> getHistory(SyncEntityType entityType, Long entityId) {
+    log.info("Fetching journal history of {} {}", entityType, entityId);
+    List<JournalEntryDTO> history = new ArrayList<>();
+    replay(Long.MAX_VALUE, cursor -> {
+      if (cursor.entityId() != entityId || cursor.entityType() != entityType) {
+        return;
+      }
+      if (cursor.isExceptionDate()) {
+        history.get(history.size() - 1).getRecurringRoutine().getExceptionDates()
+            .add(cursor.routineDate());
+        return;
+      }
+      history.add(new JournalEntryDTO(cursor.offset(),
+          Instant.ofEpochMilli(cursor.timestamp()), entityType, cursor.operation(),
+          entityId, cursor.routine(), cursor.recurringRoutine()));
+    });
+    log.info("Fetched {} journal entries", history.size());
+    return history;
+  }
+
+  @Override
+  public RoutineDTO getRoutineAsOf(Long routineId, Instant at) {
+    log.info("Rebuilding routine {} as of {}", routineId, at);
+    RoutineDTO[] state = new RoutineDTO[1];
+    replay(at.toEpochMilli(), cursor -> {
+      if (cursor.entityId() == routineId
+          && cursor.entityType() == SyncEntityType.ROUTINE) {
+        state[0] = cursor.routine();
+      }
+    });
+    if (state[0] == null) {
+      throw new RoutineResourceException(
+          "Routine " + routineId + " did not exist at " + at);
+    }
+    return state[0];
+  }
+
+  @Override
+  public TimetableDTO getTeacherTimetableAsOf(Long teacherId, LocalDate week,
+      Instant at) {
+    log.info("Rebuilding timetable of teacher {} in week of {} as of {}", teacherId,
+        week, at);
+    LocalDate weekStart = TimetableGrid.weekStart(week);
+    LocalDate weekEnd = weekStart.plusDays(TimetableGrid.DAYS_PER_WEEK - 1);
+    // Only routines that are in this teacher's week after their latest record are
+    // kept; a later record that moves one elsewhere, or deletes it, drops it again.
+    // Recurring routines are kept whole and expanded once the replay is done.
+    Map<Long, RoutineDTO> routines = new HashMap<>();
+    Map<Long, RecurringRoutineDTO> recurring = new HashMap<>();
+    replay(at.toEpochMilli(), cursor -> {
+      if (cursor.entityType() == SyncEntityType.RECURRING_ROUTINE) {
+        replayRecurring(cursor, teacherId, recurring);
+        return;
+      }
+      if (cursor.entityType() != SyncEntityType.ROUTINE) {
+        return;
+      }
+      LocalDate date = cursor.routineDate();
+      if (cursor.operation() != RoutineChangeType.DELETED
+          && cursor.teacherId() == teacherId && date != null
+          && !date.isBefore(weekStart) && !date.isAfter(weekEnd)) {
+        routines.put(cursor.entityId(), cursor.routine());
+      } else {
+        routines.remove(cursor.entityId());
+      }
+    });
+    List<RoutineOccurrenceDTO> occurrences = new ArrayList<>();
+    for (RecurringRoutineDTO routine : recurring.values()) {
+      occurrences.addAll(Recurrence.expand(routine, weekStart, weekEnd));
+    }
+    return TimetableGrid.build(TimetableOwner.TEACHER, teacherId, weekStart,
+        new ArrayList<>(routines.values()), occurrences);
+  }
+
+  // The exception records of a recurring routine follow its own record.
+  private static void replayRecurring(ChangeJournal.Cursor cursor, long teacherId,
+      Map<Long, RecurringRoutineDTO> recurring) {
+    if (cursor.isExceptionDate()) {
+      RecurringRoutineDTO routine = recurring.get(cursor.entityId());
+      if (routine != null) {
+        routine.getExceptionDates().add(cursor.routineDate());
+      }
+    } else if (cursor.operation() != RoutineChangeType.DELETED
+        && cursor.teacherId() == teacherId) {
+      recurring.put(cursor.entityId(), cursor.recurringRoutine());
+    } else {
+      recurring.remove(cursor.entityId());
+    }
+  }
+
+  private void replay(long until, Consumer<ChangeJournal.Cursor> visitor) {
+    try {
+      journal.replay(until, visitor);
+    } catch (IOException e) {
+      log.error("Error reading the change journal: {}", e.getMessage());
+      throw new RoutineResourceException("Error reading the change journal: "
+          + e.getMessage());
+    }
+  }
+
+  // The database write has already committed, so a journal failure is logged rather
+  // than surfaced to the caller.
+  private void append(ChangeJournal.Entry entry) {
+    try {
+      journal.append(entry);
+    } catch (IOException e) {
+      log.error("Error appending {} {} to the change journal: {}", entry.entityType(),
+          entry.entityId(), e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.dto.FreeSlotDTO;
+import com.example.teacher_management.dto.FreeSlotQuery;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.service.FreeSlotService;
+import com.example.teacher_management.util.DaySlots;
+import com.example.teacher_management.util.Recurrence;
+import com.example.teacher_management.util.RoutineIntervalSet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class FreeSlotServiceImpl implements FreeSlotService {
+
+  private static final int MAX_RANGE_DAYS = 366;
+  private static final int MAX_OWNERS = 50;
+
+  private final RoutineRepository routineRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final ReferenceDataCache referenceDataCache;
+
+  public FreeSlotServiceImpl(RoutineRepository routineRepository,
+      RecurringRoutineRepository recurringRoutineRepository,
+      ReferenceDataCache referenceDataCache) {
+    this.routineRepository = routineRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+    this.referenceDataCache = referenceDataCache;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<FreeSlotDTO> findFreeSlots(FreeSlotQuery query) {
+    log.info("Finding free slots for teachers {} and groups {} from {} to {}",
+        query.getTeacherIds(), query.getGroupIds(), query.getStartDate(),
+        query.getEndDate());
+    Set<Long> teacherIds = distinct(query.getTeacherIds());
+    Set<Long> groupIds = distinct(query.getGroupIds());
+    validate(query, teacherIds, groupIds);
+
+    LocalDate startDate = query.getStartDate();
+    int dayCount = (int) ChronoUnit.DAYS.between(startDate, query.getEndDate()) + 1;
+    DaySlots[] busy = new DaySlots[dayCount];
+    for (int day = 0; day < dayCount; day++) {
+      busy[day] = new DaySlots();
+    }
+    // Every owner's routines land in the same per-day mask, so "free for all of them"
+    // is simply a clear bit; the masks are unions of everyone's busy slots.
+    LocalDate endDate = query.getEndDate();
+    if (!teacherIds.isEmpty()) {
+      mark(busy, startDate, routineRepository.findByTeachersBetween(teacherIds, startDate,
+          endDate));
+      mark(busy, startDate, Recurrence.expandAsRoutines(
+          recurringRoutineRepository.findByTeachersBetween(teacherIds, startDate, endDate)
+              .stream().map(RecurringRoutineDTO::fromEntity).toList(), startDate,
+          endDate));
+    }
+    if (!groupIds.isEmpty()) {
+      mark(busy, startDate, routineRepository.findByGroupsBetween(groupIds, startDate,
+          endDate));
+      mark(busy, startDate, Recurrence.expandAsRoutines(
+          recurringRoutineRepository.findByGroupsBetween(groupIds, startDate, endDate)
+              .stream().map(RecurringRoutineDTO::fromEntity).toList(), startDate,
+          endDate));
+    }
+
+    // Working hours shrink inward to whole slots; the duration rounds up.
+    int firstSlot = DaySlots.endSlot(query.getDayStart());
+    int lastSlot = DaySlots.startSlot(query.getDayEnd());
+    int minSlots = Math.max(1, (query.getMinMinutes() + DaySlots.SLOT_MINUTES - 1)
+        / DaySlots.SLOT_MINUTES);
+    List<FreeSlotDTO> freeSlots = new ArrayList<>();
+    for (int day = 0; day < dayCount; day++) {
+      LocalDate date = startDate.plusDays(day);
+      int slot = busy[day].nextFree(firstSlot);
+      while (slot < lastSlot) {
+        int taken = busy[day].nextOccupied(slot);
+        int end = taken < 0 || taken > lastSlot ? lastSlot : taken;
+        if (end - slot >= minSlots) {
+          freeSlots.add(new FreeSlotDTO(date, DaySlots.timeOf(slot), DaySlots.timeOf(end),
+              (long) (end - slot) * DaySlots.SLOT_MINUTES));
+        }
+        slot = busy[day].nextFree(end);
+      }
+    }
+    log.info("Found {} free slots", freeSlots.size());
+    return freeSlots;
+  }
+
+  private void mark(DaySlots[] busy, LocalDate startDate, List<RoutineDTO> routines) {
+    for (RoutineDTO routine : routines) {
+      if (RoutineIntervalSet.isSchedulable(routine)) {
+        busy[(int) ChronoUnit.DAYS.between(startDate, routine.getRoutineDate())].mark(
+            routine.getStartTime(), routine.getEndTime());
+      }
+    }
+  }
+
+  private void validate(FreeSlotQuery query, Set<Long> teacherIds, Set<Long> groupIds) {
+    if (teacherIds.isEmpty() && groupIds.isEmpty()) {
+      throw new RoutineResourceException("At least one teacher or group id is required");
+    }
+    if (teacherIds.size() + groupIds.size() > MAX_OWNERS) {
+      throw new RoutineResourceException(
+          "At most " + MAX_OWNERS + " teachers and groups can be searched at once");
+    }
+    LocalDate startDate = query.getStartDate();
+    LocalDate endDate = query.getEndDate();
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new RoutineResourceException("A valid start and end date are required");
+    }
+    if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+      throw new RoutineResourceException(
+          "The date range is limited to " + MAX_RANGE_DAYS + " days");
+    }
+    LocalTime dayStart = query.getDayStart();
+    LocalTime dayEnd = query.getDayEnd();
+    if (dayStart == null || dayEnd == null || !dayStart.isBefore(dayEnd)) {
+      throw new RoutineResourceException("Working hours must start before they end");
+    }
+    if (query.getMinMinutes() < 0) {
+      throw new RoutineResourceException("Minimum duration cannot be negative");
+    }
+    for (Long teacherId : teacherIds) {
+      if (referenceDataCache.findTeacherById(teacherId).isEmpty()) {
+        throw new TeacherResourceException("Teacher not found with id: " + teacherId);
+      }
+    }
+    for (Long groupId : groupIds) {
+      if (referenceDataCache.findGroupById(groupId).isEmpty()) {
+        throw new GroupResourceException("Group not found with id: " + groupId);
+      }
+    }
+  }
+
+  private Set<Long> distinct(List<Long> ids) {
+    Set<Long> distinct = new LinkedHashSet<>();
+    if (ids != null) {
+      ids.stream().filter(id -> id != null).forEach(distinct::add);
+    }
+    return distinct;
+  }
+}
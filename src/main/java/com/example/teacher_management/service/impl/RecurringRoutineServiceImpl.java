@@ -0,0 +1,200 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.RoutineConflictIndex;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.event.RecurringRoutineChangedEvent;
+import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.service.RecurringRoutineService;
+import com.example.teacher_management.util.Recurrence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+@Service
+@Slf4j
+public class RecurringRoutineServiceImpl implements RecurringRoutineService {
+
+  private static final int MAX_RANGE_DAYS = 366;
+
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final RoutineConflictIndex routineConflictIndex;
+  private final ApplicationEventPublisher eventPublisher;
+
+  public RecurringRoutineServiceImpl(RecurringRoutineRepository recurringRoutineRepository,
+      ReferenceDataCache referenceDataCache, RoutineConflictIndex routineConflictIndex,
+      ApplicationEventPublisher eventPublisher) {
+    this.recurringRoutineRepository = recurringRoutineRepository;
+    this.referenceDataCache = referenceDataCache;
+    this.routineConflictIndex = routineConflictIndex;
+    this.eventPublisher = eventPublisher;
+  }
+
+  @Override
+  @Transactional
+  public RecurringRoutineDTO saveRecurringRoutine(RecurringRoutineDTO routineDto) {
+    log.info("Saving recurring routine: {}", routineDto);
+    try {
+      validate(routineDto);
+      RecurringRoutine routine = routineDto.toEntity();
+      routine.setRecurringRoutineId(null);
+      assignReferences(routine, routineDto);
+
+      RecurringRoutineDTO saved = RecurringRoutineDTO.fromEntity(
+          recurringRoutineRepository.save(routine));
+      routineConflictIndex.applyRecurringChanges(null, saved);
+      eventPublisher.publishEvent(new RecurringRoutineChangedEvent(null, saved));
+      log.info("Saved recurring routine with id: {}", saved.getRecurringRoutineId());
+
+      return saved;
+    } catch (RoutineConflictException e) {
+      log.warn("Rejected recurring routine: {}", e.getMessage());
+      throw e;
+    } catch (Exception e) {
+      log.error("Error while saving recurring routine: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error while saving recurring routine: " + e.getMessage());
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public RecurringRoutineDTO getRecurringRoutineById(Long id) {
+    log.info("Fetching recurring routine with id: {}", id);
+    return RecurringRoutineDTO.fromEntity(findExisting(id));
+  }
+
+  @Override
+  @Transactional
+  public RecurringRoutineDTO updateRecurringRoutine(Long id,
+      RecurringRoutineDTO routineDto) {
+    log.info("Updating recurring routine with id {}: {}", id, routineDto);
+    try {
+      RecurringRoutine existing = findExisting(id);
+      RecurringRoutineDTO previous = RecurringRoutineDTO.fromEntity(existing);
+      validate(routineDto);
+      routineDto.copyTo(existing);
+      assignReferences(existing, routineDto);
+
+      RecurringRoutineDTO updated = RecurringRoutineDTO.fromEntity(
+          recurringRoutineRepository.save(existing));
+      routineConflictIndex.applyRecurringChanges(previous, updated);
+      eventPublisher.publishEvent(new RecurringRoutineChangedEvent(previous, updated));
+      log.info("Updated recurring routine with id: {}", id);
+
+      return updated;
+    } catch (RoutineConflictException e) {
+      log.warn("Rejected update of recurring routine with id {}: {}", id, e.getMessage());
+      throw e;
+    } catch (Exception e) {
+      log.error("Error updating recurring routine with id {}: {}", id, e.getMessage());
+      throw new RoutineResourceException(
+          "Error updating recurring routine with id " + id + ": " + e.getMessage());
+    }
+  }
+
+  @Override
+  @Transactional
+  public void deleteRecurringRoutine(Long id) {
+    log.info("Deleting recurring routine with id: {}", id);
+    try {
+      RecurringRoutine existing = findExisting(id);
+      RecurringRoutineDTO previous = RecurringRoutineDTO.fromEntity(existing);
+      recurringRoutineRepository.delete(existing);
+      routineConflictIndex.applyRecurringChanges(previous, null);
+      eventPublisher.publishEvent(new RecurringRoutineChangedEvent(previous, null));
+      log.info("Deleted recurring routine with id: {}", id);
+    } catch (Exception e) {
+      log.error("Error deleting recurring routine with id {}: {}", id, e.getMessage());
+      throw new RoutineResourceException(
+          "Error deleting recurring routine with id " + id + ": " + e.getMessage());
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<RoutineOccurrenceDTO> getOccurrences(Long teacherId, Long groupId,
+      LocalDate startDate, LocalDate endDate) {
+    log.info("Expanding recurring routines for teacher {} and group {} from {} to {}",
+        teacherId, groupId, startDate, endDate);
+    if (teacherId == null && groupId == null) {
+      throw new RoutineResourceException("A teacher id or a group id is required");
+    }
+    checkRange(startDate, endDate);
+    List<RecurringRoutine> definitions = teacherId != null
+        ? recurringRoutineRepository.findByTeachersBetween(List.of(teacherId), startDate,
+            endDate)
+        : recurringRoutineRepository.findByGroupsBetween(List.of(groupId), startDate,
+            endDate);
+
+    List<RoutineOccurrenceDTO> occurrences = new ArrayList<>();
+    for (RecurringRoutine definition : definitions) {
+      RecurringRoutineDTO routine = RecurringRoutineDTO.fromEntity(definition);
+      if (groupId == null || groupId.equals(routine.getGroupId())) {
+        occurrences.addAll(Recurrence.expand(routine, startDate, endDate));
+      }
+    }
+    occurrences.sort(Comparator.comparing(RoutineOccurrenceDTO::getRoutineDate)
+        .thenComparing(RoutineOccurrenceDTO::getStartTime));
+    log.info("Expanded {} occurrences from {} recurring routines", occurrences.size(),
+        definitions.size());
+    return occurrences;
+  }
+
+  private RecurringRoutine findExisting(Long id) {
+    return recurringRoutineRepository.findWithExceptionsById(id).orElseThrow(
+        () -> new RoutineResourceException("Recurring routine not found with id: " + id));
+  }
+
+  private void assignReferences(RecurringRoutine routine, RecurringRoutineDTO routineDto) {
+    routine.setTeacher(referenceDataCache.findTeacherById(routineDto.getTeacherId())
+        .orElseThrow(() -> new TeacherResourceException(
+            "Teacher not found with id: " + routineDto.getTeacherId())));
+    routine.setStudyGroup(referenceDataCache.findGroupById(routineDto.getGroupId())
+        .orElseThrow(() -> new GroupResourceException(
+            "Group not found with id: " + routineDto.getGroupId())));
+  }
+
+  private void validate(RecurringRoutineDTO routine) {
+    if (routine.getDayOfWeek() == null) {
+      throw new RoutineResourceException("A day of the week is required");
+    }
+    if (routine.getStartTime() == null || routine.getEndTime() == null
+        || !routine.getStartTime().isBefore(routine.getEndTime())) {
+      throw new RoutineResourceException("A routine must start before it ends");
+    }
+    if (routine.getTeacherId() == null || routine.getGroupId() == null) {
+      throw new RoutineResourceException("A teacher id and a group id are required");
+    }
+    checkRange(routine.getStartDate(), routine.getEndDate());
+    if (routine.getExceptionDates() != null
+        && routine.getExceptionDates().stream().anyMatch(Objects::isNull)) {
+      throw new RoutineResourceException("Exception dates cannot be empty");
+    }
+  }
+
+  private void checkRange(LocalDate startDate, LocalDate endDate) {
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new RoutineResourceException("A valid start and end date are required");
+    }
+    if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+      throw new RoutineResourceException(
+          "The date range is limited to " + MAX_RANGE_DAYS + " days");
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RoutineChangeDTO;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import com.example.teacher_management.service.RoutineChangeFeedService;
+import com.example.teacher_management.util.CoalescingBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed routine changes to Server-Sent Events subscribers. Connections are
+ * held by the servlet container's async support, not by threads: publishing only
+ * appends to each matching subscriber's buffer, and a small shared pool writes out
+ * whichever buffers have something pending. A write that blocks longer than the write
+ * timeout drops its subscriber, so a stalled client cannot hold a sender for long.
+ */
+@Service
+@Slf4j
+public class RoutineChangeFeedServiceImpl implements RoutineChangeFeedService {
+
+  static final String CHANGE_EVENT = "routine";
+  // Sent instead of the dropped changes when a subscriber's buffer overflowed; the
+  // client should reload what it displays.
+  static final String RESET_EVENT = "reset";
+
+  private final int bufferSize;
+  private final long timeoutMillis;
+  private final long writeTimeoutNanos;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final AtomicLong sequence = new AtomicLong();
+  private final ExecutorService senders;
+  private final ScheduledExecutorService heartbeats;
+
+  public RoutineChangeFeedServiceImpl(
+      @Value("${routine.feed.sender-threads:4}") int senderThreads,
+      @Value("${routine.feed.buffer-size:256}") int bufferSize,
+      @Value("${routine.feed.timeout:30m}") Duration timeout,
+      @Value("${routine.feed.heartbeat:25s}") Duration heartbeat,
+      @Value("${routine.feed.write-timeout:10s}") Duration writeTimeout) {
+    this.bufferSize = bufferSize;
+    this.timeoutMillis = timeout.toMillis();
+    this.writeTimeoutNanos = writeTimeout.toNanos();
+    AtomicInteger threadCount = new AtomicInteger();
+    this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+      Thread thread = new Thread(runnable,
+          "routine-feed-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "routine-feed-heartbeat");
+      thread.setDaemon(true);
+      return thread;
+    });
+    // Heartbeats keep proxies from closing idle streams and reveal dead clients,
+    // whose next write fails.
+    heartbeats.scheduleAtFixedRate(
+        () -> subscribers.forEach(Subscriber::heartbeat),
+        heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    long checkMillis = Math.max(writeTimeout.toMillis() / 2, 1);
+    heartbeats.scheduleAtFixedRate(() -> {
+      long now = System.nanoTime();
+      subscribers.forEach(subscriber -> subscriber.checkStalled(now));
+    }, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    heartbeats.shutdownNow();
+    senders.shutdownNow();
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+  }
+
+  @Override
+  public SseEmitter subscribe(Long teacherId, Long groupId) {
+    SseEmitter emitter = newEmitter(timeoutMillis);
+    Subscriber subscriber = new Subscriber(emitter, teacherId, groupId);
+    emitter.onCompletion(() -> subscribers.remove(subscriber));
+    emitter.onTimeout(() -> subscribers.remove(subscriber));
+    emitter.onError(error -> subscribers.remove(subscriber));
+    subscribers.add(subscriber);
+    log.info("Routine feed subscriber added for teacher {} and group {}, {} connected",
+        teacherId, groupId, subscribers.size());
+    return emitter;
+  }
+
+  // After commit only, so subscribers never see a change that was rolled back.
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRoutineChanged(RoutineChangedEvent event) {
+    List<RoutineChangeDTO> changes = event.toChanges();
+    for (RoutineChangeDTO change : changes) {
+      long id = sequence.incrementAndGet();
+      for (Subscriber subscriber : subscribers) {
+        if (change.concerns(subscriber.teacherId, subscriber.groupId)) {
+          subscriber.offer(id, change);
+        }
+      }
+    }
+  }
+
+  SseEmitter newEmitter(long timeoutMillis) {
+    return new SseEmitter(timeoutMillis);
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  private record Pending(long id, RoutineChangeDTO change) {
+  }
+
+  private final class Subscriber {
+    private final SseEmitter emitter;
+    private final Long teacherId;
+    private final Long groupId;
+    private final CoalescingBuffer<Long, Pending> buffer;
+    private boolean scheduled;
+    private boolean heartbeatDue;
+    private Thread sender;
+    private long sendStartedNanos;
+    private boolean stalled;
+
+    private Subscriber(SseEmitter emitter, Long teacherId, Long groupId) {
+      this.emitter = emitter;
+      this.teacherId = teacherId;
+      this.groupId = groupId;
+      this.buffer = new CoalescingBuffer<>(bufferSize);
+    }
+
+    private void offer(long id, RoutineChangeDTO change) {
+      buffer.offer(change.getRoutineId(), new Pending(id, change));
+      schedule();
+    }
+
+    private void heartbeat() {
+      synchronized (this) {
+        heartbeatDue = true;
+      }
+      schedule();
+    }
+
+    private void schedule() {
+      synchronized (this) {
+        if (scheduled) {
+          return;
+        }
+        scheduled = true;
+      }
+      senders.execute(this::drain);
+    }
+
+    // Writes one batch, then yields the sender thread; a busy subscriber is
+    // rescheduled behind the others rather than looping.
+    private void drain() {
+      boolean heartbeatOnly;
+      synchronized (this) {
+        heartbeatOnly = heartbeatDue && buffer.isEmpty();
+        heartbeatDue = false;
+      }
+      try {
+        if (buffer.takeOverflow()) {
+          send(SseEmitter.event().id(String.valueOf(sequence.get()))
+              .name(RESET_EVENT).data(""));
+        }
+        for (Pending pending : buffer.drain()) {
+          send(SseEmitter.event().id(String.valueOf(pending.id()))
+              .name(CHANGE_EVENT).data(pending.change()));
+        }
+        if (heartbeatOnly) {
+          send(SseEmitter.event().comment("heartbeat"));
+        }
+      } catch (Exception e) {
+        // The client went away; completing releases the async request.
+        subscribers.remove(this);
+        emitter.completeWithError(e);
+        return;
+      }
+      synchronized (this) {
+        scheduled = false;
+        if (buffer.isEmpty() && !heartbeatDue) {
+          return;
+        }
+      }
+      schedule();
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+      synchronized (this) {
+        if (stalled) {
+          throw new IOException("Write timed out");
+        }
+        sender = Thread.currentThread();
+        sendStartedNanos = System.nanoTime();
+      }
+      boolean timedOut;
+      try {
+        emitter.send(event);
+      } finally {
+        synchronized (this) {
+          sender = null;
+          timedOut = stalled;
+          if (timedOut) {
+            // The watchdog's interrupt was meant for this write, not the next task.
+            Thread.interrupted();
+          }
+        }
+      }
+      if (timedOut) {
+        throw new IOException("Write timed out");
+      }
+    }
+
+    // Runs on the watchdog thread. The stalled subscriber stops receiving batches and
+    // its sender is interrupted; if the container's write ignores that, the write
+    // still ends at the container's own timeout.
+    private void checkStalled(long now) {
+      synchronized (this) {
+        if (sender == null || now - sendStartedNanos < writeTimeoutNanos) {
+          return;
+        }
+        stalled = true;
+        sender.interrupt();
+      }
+      subscribers.remove(this);
+      log.warn("Dropped routine feed subscriber for teacher {} and group {} after a"
+          + " stalled write", teacherId, groupId);
+    }
+  }
+}
@@ -0,0 +1,250 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.RoutineConflictIndex;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineImportRejectionDTO;
+import com.example.teacher_management.dto.RoutineImportReportDTO;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.RoutineImportService;
+import com.example.teacher_management.util.RoutineCsvReader;
+import com.example.teacher_management.util.RoutineIntervalSet;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class RoutineImportServiceImpl implements RoutineImportService {
+
+  private static final int MAX_REPORTED_REJECTIONS = 10_000;
+
+  private static final String CREATE_STAGING_TABLE =
+      "CREATE TEMP TABLE routine_import_staging (line_number bigint NOT NULL,"
+          + " teacher_id bigint NOT NULL, group_id bigint NOT NULL,"
+          + " routine_date date NOT NULL, start_time time NOT NULL,"
+          + " end_time time NOT NULL) ON COMMIT DROP";
+
+  private static final String COPY_INTO_STAGING =
+      "COPY routine_import_staging (line_number, teacher_id, group_id, routine_date,"
+          + " start_time, end_time) FROM STDIN WITH (FORMAT csv)";
+
+  // Inserts every staged row that is not already scheduled, folds the inserted minutes
+  // into the daily workload rollups, and returns the skipped lines followed by the
+  // inserted routines (line_number null). checkOverlaps has already rejected lines
+  // that overlap an earlier line or a routine in the conflict index, so a row is only
+  // skipped here if the index could not see it: written to the table behind the
+  // application's back. Each nextval claims a whole pooled block, which keeps these
+  // ids clear of the blocks Hibernate uses.
+  private static final String MERGE_STAGING =
+      "WITH classified AS ("
+          + " SELECT s.*, EXISTS (SELECT 1 FROM routine r"
+          + " WHERE r.teacher_id = s.teacher_id"
+          + " AND r.group_id = s.group_id AND r.routine_date = s.routine_date"
+          + " AND r.start_time = s.start_time AND r.end_time = s.end_time) AS scheduled"
+          + " FROM routine_import_staging s),"
+          + " merged AS (INSERT INTO routine (routine_id, start_time, end_time,"
+          + " routine_date, teacher_id, group_id)"
+          + " SELECT nextval('routine_seq'), c.start_time, c.end_time, c.routine_date,"
+          + " c.teacher_id, c.group_id FROM classified c"
+          + " WHERE NOT c.scheduled"
+          + " RETURNING routine_id, teacher_id, group_id, routine_date, start_time,"
+          + " end_time,"
+          + " (EXTRACT(HOUR FROM end_time) * 60 + EXTRACT(MINUTE FROM end_time)"
+          + " - EXTRACT(HOUR FROM start_time) * 60 - EXTRACT(MINUTE FROM start_time))"
+          + " AS minutes),"
+          + " teacher_rollup AS (INSERT INTO teacher_daily_workload"
+          + " (teacher_id, workload_date, minutes)"
+          + " SELECT teacher_id, routine_date, SUM(minutes)::bigint FROM merged"
+          + " GROUP BY teacher_id, routine_date ON CONFLICT (teacher_id, workload_date)"
+          + " DO UPDATE SET minutes = teacher_daily_workload.minutes + EXCLUDED.minutes),"
+          + " group_rollup AS (INSERT INTO group_daily_workload"
+          + " (group_id, workload_date, minutes)"
+          + " SELECT group_id, routine_date, SUM(minutes)::bigint FROM merged"
+          + " GROUP BY group_id, routine_date ON CONFLICT (group_id, workload_date)"
+          + " DO UPDATE SET minutes = group_daily_workload.minutes + EXCLUDED.minutes)"
+          + " SELECT c.line_number, NULL::bigint AS routine_id,"
+          + " NULL::bigint AS teacher_id, NULL::bigint AS group_id,"
+          + " NULL::date AS routine_date, NULL::time AS start_time, NULL::time AS end_time"
+          + " FROM classified c WHERE c.scheduled"
+          + " UNION ALL SELECT NULL, m.routine_id, m.teacher_id, m.group_id,"
+          + " m.routine_date, m.start_time, m.end_time FROM merged m";
+
+  // The merge draws change_seq through the column default, so it registers as an
+  // in-flight writer first, as TombstoneRepository.nextChangeSeq does.
+  private static final String CLAIM_CHANGE_SEQ =
+      "SELECT pg_advisory_xact_lock_shared(" + TombstoneRepository.LAST_DRAWN
+          + ") FROM change_seq";
+
+  private final TeacherRepository teacherRepository;
+  private final GroupRepository groupRepository;
+  private final RoutineConflictIndex routineConflictIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  private final JdbcTemplate jdbcTemplate;
+  private final DataSource dataSource;
+
+  public RoutineImportServiceImpl(TeacherRepository teacherRepository,
+      GroupRepository groupRepository, RoutineConflictIndex routineConflictIndex,
+      ApplicationEventPublisher eventPublisher, JdbcTemplate jdbcTemplate,
+      DataSource dataSource) {
+    this.teacherRepository = teacherRepository;
+    this.groupRepository = groupRepository;
+    this.routineConflictIndex = routineConflictIndex;
+    this.eventPublisher = eventPublisher;
+    this.jdbcTemplate = jdbcTemplate;
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  @Transactional
+  public RoutineImportReportDTO importCsv(InputStream csv) throws IOException {
+    log.info("Importing routines from CSV");
+    List<RoutineImportRejectionDTO> rejections = new ArrayList<>();
+    long totalRows = 0;
+    long rejectedRows = 0;
+    long stagedRows = 0;
+
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+      RoutineCsvReader csvReader = new RoutineCsvReader(reader.readLine(),
+          loadTeacherIdsByName(), loadGroupIds());
+      // Slots claimed by earlier lines of this file, keyed by line number.
+      RoutineIntervalSet fileSlots = new RoutineIntervalSet();
+
+      jdbcTemplate.execute(CREATE_STAGING_TABLE);
+      Connection connection = DataSourceUtils.getConnection(dataSource);
+      CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+          .copyIn(COPY_INTO_STAGING);
+      try {
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+          lineNumber++;
+          if (line.isBlank()) {
+            continue;
+          }
+          totalRows++;
+          try {
+            RoutineDTO routine = csvReader.read(line);
+            checkOverlaps(routine, fileSlots);
+            fileSlots.add(lineNumber, routine);
+            byte[] row = toStagingRow(lineNumber, routine);
+            copyIn.writeToCopy(row, 0, row.length);
+            stagedRows++;
+          } catch (IllegalArgumentException e) {
+            rejectedRows++;
+            addRejection(rejections, lineNumber, e.getMessage());
+          }
+        }
+        copyIn.endCopy();
+      } finally {
+        if (copyIn.isActive()) {
+          copyIn.cancelCopy();
+        }
+      }
+    } catch (SQLException e) {
+      log.error("Error copying routines into staging: {}", e.getMessage());
+      throw new RoutineResourceException("Error importing routines: " + e.getMessage());
+    } catch (IllegalArgumentException e) {
+      log.error("Rejected routine CSV: {}", e.getMessage());
+      throw new RoutineResourceException("Error importing routines: " + e.getMessage());
+    }
+
+    List<RoutineImportRejectionDTO> skipped = new ArrayList<>();
+    List<RoutineDTO> inserted = new ArrayList<>();
+    jdbcTemplate.execute(CLAIM_CHANGE_SEQ);
+    jdbcTemplate.query(MERGE_STAGING, rs -> {
+      long lineNumber = rs.getLong("line_number");
+      if (!rs.wasNull()) {
+        skipped.add(new RoutineImportRejectionDTO(lineNumber, "Routine already exists"));
+      } else {
+        inserted.add(new RoutineDTO(rs.getLong("routine_id"),
+            rs.getTime("start_time").toLocalTime(), rs.getTime("end_time").toLocalTime(),
+            rs.getDate("routine_date").toLocalDate(), rs.getLong("teacher_id"),
+            rs.getLong("group_id")));
+      }
+    });
+    routineConflictIndex.applyChanges(List.of(), inserted);
+    eventPublisher.publishEvent(new RoutineChangedEvent(List.of(), inserted));
+    for (RoutineImportRejectionDTO rejection : skipped) {
+      addRejection(rejections, rejection.getLineNumber(), rejection.getReason());
+    }
+    rejectedRows += skipped.size();
+    rejections.sort(Comparator.comparingLong(RoutineImportRejectionDTO::getLineNumber));
+    long importedRows = stagedRows - skipped.size();
+    log.info("Imported {} of {} routine rows, {} rejected", importedRows, totalRows,
+        rejectedRows);
+
+    return new RoutineImportReportDTO(totalRows, importedRows, rejectedRows, rejections);
+  }
+
+  private void checkOverlaps(RoutineDTO routine, RoutineIntervalSet fileSlots) {
+    List<Long> routineIds = routineConflictIndex.findConflicts(routine);
+    if (!routineIds.isEmpty()) {
+      throw new IllegalArgumentException("Overlaps routine(s) " + routineIds);
+    }
+    List<Long> recurringIds = routineConflictIndex.findRecurringConflicts(routine);
+    if (!recurringIds.isEmpty()) {
+      throw new IllegalArgumentException("Overlaps recurring routine(s) " + recurringIds);
+    }
+    List<Long> lineNumbers = fileSlots.findConflicts(routine);
+    if (!lineNumbers.isEmpty()) {
+      throw new IllegalArgumentException("Overlaps line(s) " + lineNumbers);
+    }
+  }
+
+  private Map<String, Long> loadTeacherIdsByName() {
+    Map<String, Long> teacherIdsByName = new HashMap<>();
+    for (Teacher teacher : teacherRepository.findAll()) {
+      if (teacher.getName() != null) {
+        teacherIdsByName.merge(teacher.getName().trim(), teacher.getTeacherId(),
+            (first, second) -> RoutineCsvReader.AMBIGUOUS_TEACHER);
+      }
+    }
+    return teacherIdsByName;
+  }
+
+  private Set<Long> loadGroupIds() {
+    return groupRepository.findAll().stream().map(StudyGroup::getGroupId)
+        .collect(Collectors.toSet());
+  }
+
+  private byte[] toStagingRow(long lineNumber, RoutineDTO routine) {
+    return (lineNumber + "," + routine.getTeacherId() + "," + routine.getGroupId() + ","
+        + routine.getRoutineDate() + "," + routine.getStartTime() + ","
+        + routine.getEndTime() + "\n").getBytes(StandardCharsets.UTF_8);
+  }
+
+  private void addRejection(List<RoutineImportRejectionDTO> rejections, long lineNumber,
+      String reason) {
+    if (rejections.size() < MAX_REPORTED_REJECTIONS) {
+      rejections.add(new RoutineImportRejectionDTO(lineNumber, reason));
+    }
+  }
+}
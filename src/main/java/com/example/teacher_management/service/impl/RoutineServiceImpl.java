@@ -1,57 +1,121 @@
 package com.example.teacher_management.service.impl;
 
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.RoutineConflictIndex;
+import com.example.teacher_management.dto.BatchOperationType;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
+import com.example.teacher_management.dto.RoutineCursor;
 import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.event.RoutineChangedEvent;
 import com.example.teacher_management.entity.Routine;
 import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.entity.Tombstone;
 import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.RoutineConflictException;
 import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.exception.TeacherResourceException;
 import com.example.teacher_management.repository.GroupRepository;
 import com.example.teacher_management.repository.RoutineRepository;
 import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
 import com.example.teacher_management.service.RoutineService;
+import com.example.teacher_management.service.WorkloadRollupService;
+import com.example.teacher_management.util.FieldSelection;
+import com.example.teacher_management.util.ValidationUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class RoutineServiceImpl implements RoutineService {
 
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int EXPORT_FLUSH_INTERVAL = 500;
+  private static final int MAX_WORKLOAD_IDS = 1000;
+
   private final RoutineRepository routineRepository;
   private final TeacherRepository teacherRepository;
   private final GroupRepository groupRepository;
+  private final TombstoneRepository tombstoneRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final WorkloadRollupService workloadRollupService;
+  private final RoutineConflictIndex routineConflictIndex;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ObjectMapper objectMapper;
 
   public RoutineServiceImpl(RoutineRepository routineRepository,
-      TeacherRepository teacherRepository, GroupRepository groupRepository) {
+      TeacherRepository teacherRepository, GroupRepository groupRepository,
+      TombstoneRepository tombstoneRepository, ReferenceDataCache referenceDataCache,
+      WorkloadRollupService workloadRollupService,
+      RoutineConflictIndex routineConflictIndex, ApplicationEventPublisher eventPublisher,
+      ObjectMapper objectMapper) {
     this.routineRepository = routineRepository;
     this.teacherRepository = teacherRepository;
     this.groupRepository = groupRepository;
+    this.tombstoneRepository = tombstoneRepository;
+    this.referenceDataCache = referenceDataCache;
+    this.workloadRollupService = workloadRollupService;
+    this.routineConflictIndex = routineConflictIndex;
+    this.eventPublisher = eventPublisher;
+    this.objectMapper = objectMapper;
   }
 
   @Override
+  @Transactional
   public RoutineDTO saveRoutine(RoutineDTO routineDto) {
     log.info("Saving routine: {}", routineDto);
     try {
       Routine routine = routineDto.toEntity();
 
       Long teacherId = routineDto.getTeacherId();
-      Optional<Teacher> optionalTeacher = teacherRepository.findById(teacherId);
+      Optional<Teacher> optionalTeacher = referenceDataCache.findTeacherById(teacherId);
       optionalTeacher.ifPresent(routine::setTeacher);
 
       Long groupId = routineDto.getGroupId();
-      Optional<StudyGroup> optionalGroup = groupRepository.findById(groupId);
+      Optional<StudyGroup> optionalGroup = referenceDataCache.findGroupById(groupId);
       optionalGroup.ifPresent(routine::setStudyGroup);
 
+      routine.setChangeSeq(tombstoneRepository.nextChangeSeq());
+      // save only assigns the sequence id; the INSERT is flushed at commit, after
+      // the conflict index has accepted the slot.
       Routine savedRoutine = routineRepository.save(routine);
+      RoutineDTO saved = RoutineDTO.fromEntity(savedRoutine);
+      routineConflictIndex.applyChanges(List.of(), List.of(saved));
+      workloadRollupService.applyChanges(List.of(), List.of(saved));
+      eventPublisher.publishEvent(new RoutineChangedEvent(List.of(), List.of(saved)));
       log.info("Saved routine: {}", savedRoutine);
 
-      return RoutineDTO.fromEntity(savedRoutine);
+      return saved;
+    } catch (RoutineConflictException e) {
+      log.warn("Rejected routine: {}", e.getMessage());
+      throw e;
     } catch (Exception e) {
       log.error("Error while saving routine: {}", e.getMessage());
       throw new RoutineResourceException("Error while saving routine: " + e.getMessage());
@@ -59,28 +123,51 @@ public class RoutineServiceImpl implements RoutineService {
   }
 
   @Override
-  public RoutineDTO updateRoutine(Long id, RoutineDTO routineDto) {
+  @Transactional
+  public Versioned<RoutineDTO> updateRoutine(Long id, RoutineDTO routineDto,
+      Long expectedVersion) {
     log.info("Updating routine with id {}: {}", id, routineDto);
     try {
       Routine existingRoutine = routineRepository.findById(id).orElseThrow(
           () -> new RoutineResourceException("Routine not found with id: " + id));
+      if (expectedVersion != null
+          && !expectedVersion.equals(existingRoutine.getVersion())) {
+        throw new VersionConflictException("Routine with id " + id + " is at version "
+            + existingRoutine.getVersion() + ", not " + expectedVersion);
+      }
+      RoutineDTO previous = RoutineDTO.fromEntity(existingRoutine);
 
       existingRoutine.setRoutineDate(routineDto.getRoutineDate());
       existingRoutine.setStartTime(routineDto.getStartTime());
       existingRoutine.setEndTime(routineDto.getEndTime());
 
       Long teacherId = routineDto.getTeacherId();
-      Optional<Teacher> optionalTeacher = teacherRepository.findById(teacherId);
+      Optional<Teacher> optionalTeacher = referenceDataCache.findTeacherById(teacherId);
       optionalTeacher.ifPresent(existingRoutine::setTeacher);
 
       Long groupId = routineDto.getGroupId();
-      Optional<StudyGroup> optionalGroup = groupRepository.findById(groupId);
+      Optional<StudyGroup> optionalGroup = referenceDataCache.findGroupById(groupId);
       optionalGroup.ifPresent(existingRoutine::setStudyGroup);
 
-      Routine updatedRoutine = routineRepository.save(existingRoutine);
+      existingRoutine.setChangeSeq(tombstoneRepository.nextChangeSeq());
+      // Version-guarded UPDATE, flushed before the conflict index and rollups are
+      // touched so that a concurrent writer shows up here and nothing else changes.
+      Routine updatedRoutine = routineRepository.saveAndFlush(existingRoutine);
+      RoutineDTO updated = RoutineDTO.fromEntity(updatedRoutine);
+      routineConflictIndex.applyChanges(List.of(previous), List.of(updated));
+      workloadRollupService.applyChanges(List.of(previous), List.of(updated));
+      eventPublisher.publishEvent(new RoutineChangedEvent(List.of(previous),
+          List.of(updated)));
       log.info("Updated routine: {}", updatedRoutine);
 
-      return RoutineDTO.fromEntity(updatedRoutine);
+      return new Versioned<>(updated, updatedRoutine.getVersion());
+    } catch (RoutineConflictException | VersionConflictException e) {
+      log.warn("Rejected update of routine with id {}: {}", id, e.getMessage());
+      throw e;
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Concurrent update of routine with id: {}", id);
+      throw new VersionConflictException(
+          "Routine with id " + id + " was updated concurrently");
     } catch (Exception e) {
       log.error("Error updating routine with id {}: {}", id, e.getMessage());
       throw new RoutineResourceException(
@@ -89,13 +176,18 @@ public class RoutineServiceImpl implements RoutineService {
   }
 
   @Override
+  @Transactional
   public void deleteRoutine(Long id) {
     log.info("Deleting routine with id: {}", id);
     try {
-      if (!routineRepository.existsById(id)) {
-        throw new RoutineResourceException("Routine not found with id: " + id);
-      }
+      RoutineDTO previous = routineRepository.findDtoById(id).orElseThrow(
+          () -> new RoutineResourceException("Routine not found with id: " + id));
       routineRepository.deleteById(id);
+      tombstoneRepository.save(new Tombstone(tombstoneRepository.nextChangeSeq(),
+          SyncEntityType.ROUTINE, id));
+      routineConflictIndex.applyChanges(List.of(previous), List.of());
+      workloadRollupService.applyChanges(List.of(previous), List.of());
+      eventPublisher.publishEvent(new RoutineChangedEvent(List.of(previous), List.of()));
       log.info("Deleted routine with id: {}", id);
     } catch (Exception e) {
       log.error("Error deleting routine with id {}: {}", id, e.getMessage());
@@ -105,17 +197,174 @@ public class RoutineServiceImpl implements RoutineService {
   }
 
   @Override
-  public List<RoutineDTO> getAllRoutines() {
-    log.info("Fetching all routines");
+  @Transactional
+  public RoutineBatchResultDTO applyBatch(List<RoutineBatchOperationDTO> operations) {
+    log.info("Applying batch of {} routine operations", operations.size());
     try {
-      List<Routine> routines = routineRepository.findAll();
-      log.info("Fetched {} routines", routines.size());
+      if (operations.size() > MAX_BATCH_SIZE) {
+        throw new RoutineResourceException(
+            "Batch exceeds the limit of " + MAX_BATCH_SIZE + " operations");
+      }
+
+      Set<Long> teacherIds = new HashSet<>();
+      Set<Long> groupIds = new HashSet<>();
+      Set<Long> existingIds = new HashSet<>();
+      for (RoutineBatchOperationDTO operation : operations) {
+        RoutineDTO routineDto = operation.getRoutine();
+        if (operation.getOperation() == null || routineDto == null) {
+          throw new RoutineResourceException("Batch operation and routine are required");
+        }
+        if (operation.getOperation() != BatchOperationType.CREATE) {
+          if (ValidationUtil.isNullOrZero(routineDto.getRoutineId())) {
+            throw new RoutineResourceException(
+                operation.getOperation() + " requires a routine id");
+          }
+          // A second operation on the same routine would be applied to stale state.
+          if (!existingIds.add(routineDto.getRoutineId())) {
+            throw new RoutineResourceException("Routine " + routineDto.getRoutineId()
+                + " appears more than once in the batch");
+          }
+        }
+        if (operation.getOperation() != BatchOperationType.DELETE) {
+          if (routineDto.getTeacherId() == null || routineDto.getGroupId() == null) {
+            throw new RoutineResourceException(
+                operation.getOperation() + " requires a teacher id and a group id");
+          }
+          teacherIds.add(routineDto.getTeacherId());
+          groupIds.add(routineDto.getGroupId());
+        }
+      }
+
+      // One IN query per entity type instead of two findById calls per routine.
+      Map<Long, Teacher> teachers = teacherRepository.findAllById(teacherIds).stream()
+          .collect(Collectors.toMap(Teacher::getTeacherId, Function.identity()));
+      Map<Long, StudyGroup> groups = groupRepository.findAllById(groupIds).stream()
+          .collect(Collectors.toMap(StudyGroup::getGroupId, Function.identity()));
+      Map<Long, Routine> existing = routineRepository.findAllById(existingIds).stream()
+          .collect(Collectors.toMap(Routine::getRoutineId, Function.identity()));
+
+      List<Routine> created = new ArrayList<>();
+      List<Routine> updated = new ArrayList<>();
+      List<Long> deleted = new ArrayList<>();
+      List<RoutineDTO> previous = new ArrayList<>();
+      for (RoutineBatchOperationDTO operation : operations) {
+        RoutineDTO routineDto = operation.getRoutine();
+        switch (operation.getOperation()) {
+          case CREATE -> {
+            Routine routine = routineDto.toEntity();
+            routine.setRoutineId(null);
+            assignReferences(routine, routineDto, teachers, groups);
+            created.add(routine);
+          }
+          case UPDATE -> {
+            Routine routine = findExisting(existing, routineDto.getRoutineId());
+            previous.add(RoutineDTO.fromEntity(routine));
+            routine.setRoutineDate(routineDto.getRoutineDate());
+            routine.setStartTime(routineDto.getStartTime());
+            routine.setEndTime(routineDto.getEndTime());
+            assignReferences(routine, routineDto, teachers, groups);
+            updated.add(routine);
+          }
+          case DELETE -> {
+            previous.add(RoutineDTO.fromEntity(
+                findExisting(existing, routineDto.getRoutineId())));
+            deleted.add(routineDto.getRoutineId());
+          }
+        }
+      }
 
-      return routines.stream().map(RoutineDTO::fromEntity).toList();
+      // Sequence ids are handed out from the pooled allocator, so the inserts and
+      // the dirty-checked updates are flushed as JDBC batches at commit.
+      stampChangeSeqs(created, updated, deleted);
+      routineRepository.saveAll(created);
+      List<RoutineDTO> createdDtos = created.stream().map(RoutineDTO::fromEntity).toList();
+      List<RoutineDTO> updatedDtos = updated.stream().map(RoutineDTO::fromEntity).toList();
+      List<RoutineDTO> current = new ArrayList<>(createdDtos);
+      current.addAll(updatedDtos);
+      // Checked as a whole, so routines within the batch cannot clash either.
+      routineConflictIndex.applyChanges(previous, current);
+      if (!deleted.isEmpty()) {
+        routineRepository.deleteAllByIdInBatch(deleted);
+      }
+      workloadRollupService.applyChanges(previous, current);
+      eventPublisher.publishEvent(new RoutineChangedEvent(previous, current));
+      log.info("Applied routine batch: {} created, {} updated, {} deleted",
+          created.size(), updated.size(), deleted.size());
+
+      return new RoutineBatchResultDTO(createdDtos, updatedDtos, deleted);
+    } catch (RoutineConflictException e) {
+      log.warn("Rejected routine batch: {}", e.getMessage());
+      throw e;
     } catch (Exception e) {
-      log.error("Error fetching all routines: {}", e.getMessage());
-      throw new RoutineResourceException(
-          "Error fetching all routines: " + e.getMessage());
+      log.error("Error applying routine batch: {}", e.getMessage());
+      throw new RoutineResourceException("Error applying routine batch: " + e.getMessage());
+    }
+  }
+
+  // One round trip draws a change_seq for every created, updated and deleted routine.
+  private void stampChangeSeqs(List<Routine> created, List<Routine> updated,
+      List<Long> deleted) {
+    int count = created.size() + updated.size() + deleted.size();
+    if (count == 0) {
+      return;
+    }
+    Iterator<Long> changeSeqs = tombstoneRepository.nextChangeSeqs(count).iterator();
+    created.forEach(routine -> routine.setChangeSeq(changeSeqs.next()));
+    updated.forEach(routine -> routine.setChangeSeq(changeSeqs.next()));
+    List<Tombstone> tombstones = new ArrayList<>(deleted.size());
+    for (Long id : deleted) {
+      tombstones.add(new Tombstone(changeSeqs.next(), SyncEntityType.ROUTINE, id));
+    }
+    tombstoneRepository.saveAll(tombstones);
+  }
+
+  private void assignReferences(Routine routine, RoutineDTO routineDto,
+      Map<Long, Teacher> teachers, Map<Long, StudyGroup> groups) {
+    Teacher teacher = teachers.get(routineDto.getTeacherId());
+    if (teacher == null) {
+      throw new TeacherResourceException(
+          "Teacher not found with id: " + routineDto.getTeacherId());
+    }
+    StudyGroup group = groups.get(routineDto.getGroupId());
+    if (group == null) {
+      throw new GroupResourceException(
+          "Group not found with id: " + routineDto.getGroupId());
+    }
+    routine.setTeacher(teacher);
+    routine.setStudyGroup(group);
+  }
+
+  private Routine findExisting(Map<Long, Routine> existing, Long id) {
+    Routine routine = existing.get(id);
+    if (routine == null) {
+      throw new RoutineResourceException("Routine not found with id: " + id);
+    }
+    return routine;
+  }
+
+  @Override
+  public CursorPageDTO<RoutineDTO> getRoutines(RoutineFilter filter, String cursor,
+      Integer size, Set<String> fields) {
+    log.info("Fetching routines page after cursor: {}", cursor);
+    try {
+      int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE
+          : Math.min(size, MAX_PAGE_SIZE);
+      RoutineCursor after = ValidationUtil.isEmptyOrNull(cursor) ? null
+          : RoutineCursor.decode(cursor);
+
+      // One extra row tells us whether another page exists without a count query.
+      List<RoutineDTO> routines = routineRepository.findPage(filter, after,
+          pageSize + 1, fields);
+      boolean hasMore = routines.size() > pageSize;
+      List<RoutineDTO> page = hasMore ? routines.subList(0, pageSize) : routines;
+      String nextCursor = hasMore ? RoutineCursor.after(page.get(pageSize - 1)).encode()
+          : null;
+      log.info("Fetched {} routines", page.size());
+
+      return new CursorPageDTO<>(page, nextCursor);
+    } catch (Exception e) {
+      log.error("Error fetching routines: {}", e.getMessage());
+      throw new RoutineResourceException("Error fetching routines: " + e.getMessage());
     }
   }
 
@@ -123,10 +372,10 @@ public class RoutineServiceImpl implements RoutineService {
   public Optional<RoutineDTO> getRoutineById(Long id) {
     log.info("Fetching routine with id: {}", id);
     try {
-      Routine routine = routineRepository.findById(id).orElseThrow(
+      RoutineDTO routine = routineRepository.findDtoById(id).orElseThrow(
           () -> new RoutineResourceException("Routine not found with id: " + id));
       log.info("Fetched routine: {}", routine);
-      return Optional.of(RoutineDTO.fromEntity(routine));
+      return Optional.of(routine);
     } catch (Exception e) {
       log.error("Error fetching routine with id {}: {}", id, e.getMessage());
       throw new RoutineResourceException(
@@ -134,22 +383,59 @@ public class RoutineServiceImpl implements RoutineService {
     }
   }
 
+  @Override
+  public Optional<Long> getRoutineVersion(Long id) {
+    return routineRepository.findVersionById(id);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Long> collectionVersion() {
+    // Every write stamps its row from change_seq and every delete leaves a tombstone, so
+    // the highest of the two moves whenever the collection changes. While a write below
+    // it is still in flight, its commit would not move it, so no tag is given.
+    long safeChangeSeq = tombstoneRepository.findSafeChangeSeq();
+    long version = Math.max(routineRepository.findMaxChangeSeq(),
+        tombstoneRepository.findMaxChangeSeq(SyncEntityType.ROUTINE));
+    return version <= safeChangeSeq ? Optional.of(version) : Optional.empty();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportRoutines(OutputStream outputStream, Set<String> fields)
+      throws IOException {
+    log.info("Exporting routines as NDJSON with fields {}", fields);
+    long exported = 0;
+    ObjectWriter writer = objectMapper.writer(FieldSelection.filters(fields));
+    try (Stream<RoutineDTO> routines = routineRepository.streamForExport(fields)) {
+      Iterator<RoutineDTO> iterator = routines.iterator();
+      while (iterator.hasNext()) {
+        outputStream.write(writer.writeValueAsBytes(iterator.next()));
+        outputStream.write('\n');
+        // Flush the first row right away so the client sees bytes before the
+        // cursor is drained, then periodically to keep the buffer bounded.
+        if (++exported == 1 || exported % EXPORT_FLUSH_INTERVAL == 0) {
+          outputStream.flush();
+        }
+      }
+    }
+    outputStream.flush();
+    log.info("Exported {} routines", exported);
+  }
+
   @Override
   public long calculateTeacherWorkload(String teacherName, LocalDate startDate,
       LocalDate endDate) {
     log.info("Calculating workload for teacher '{}' from {} to {}", teacherName,
         startDate, endDate);
-    Teacher teacher = teacherRepository.findByName(teacherName).orElseThrow(
+    Teacher teacher = referenceDataCache.findTeacherByName(teacherName).orElseThrow(
         () -> new TeacherResourceException(
             "Teacher not found with name: " + teacherName));
 
     try {
-      List<Routine> routines = routineRepository.findByTeacherAndRoutineDateBetween(
-          teacher, startDate, endDate);
-      long workload = routines.stream().mapToLong(
-          routine -> Duration.between(routine.getStartTime(), routine.getEndTime())
-              .toHours()).sum();
-      log.info("Calculated Teacher workload: {} hours", workload);
+      long workload = workloadRollupService.teacherMinutes(teacher.getTeacherId(),
+          startDate, endDate);
+      log.info("Calculated Teacher workload: {} minutes", workload);
       return workload;
     } catch (Exception e) {
       log.error("Error while calculating teacher workload: {}", e.getMessage());
@@ -159,17 +445,20 @@ public class RoutineServiceImpl implements RoutineService {
   }
 
   @Override
-  public long calculateGroupWorkload(Long groupId) {
-    log.info("Calculating workload for group with id: {}", groupId);
-    StudyGroup studyGroup = groupRepository.findById(groupId).orElseThrow(
-        () -> new GroupResourceException("Group not found with id: " + groupId));
+  public long calculateGroupWorkload(Long groupId, LocalDate startDate,
+      LocalDate endDate) {
+    log.info("Calculating workload for group with id {} from {} to {}", groupId,
+        startDate, endDate);
+    if (referenceDataCache.findGroupById(groupId).isEmpty()) {
+      throw new GroupResourceException("Group not found with id: " + groupId);
+    }
 
     try {
-      List<Routine> routines = routineRepository.findByStudyGroup(studyGroup);
-      long workload = routines.stream().mapToLong(
-          routine -> Duration.between(routine.getStartTime(), routine.getEndTime())
-              .toHours()).sum();
-      log.info("Calculated workload: {} hours", workload);
+      long workload = startDate == null && endDate == null
+          ? workloadRollupService.groupMinutes(groupId)
+          : workloadRollupService.groupMinutes(groupId, requireDate(startDate),
+              requireDate(endDate));
+      log.info("Calculated workload: {} minutes", workload);
       return workload;
     } catch (Exception e) {
       log.error("Error while calculating group workload: {}", e.getMessage());
@@ -177,4 +466,72 @@ public class RoutineServiceImpl implements RoutineService {
           "Error while calculating group workload: " + e.getMessage());
     }
   }
+
+  @Override
+  public Map<Long, Long> calculateTeacherWorkloads(List<Long> teacherIds,
+      String department, LocalDate startDate, LocalDate endDate) {
+    log.info("Calculating workload for teachers {} / department '{}' from {} to {}",
+        teacherIds, department, startDate, endDate);
+    try {
+      boolean byIds = teacherIds != null && !teacherIds.isEmpty();
+      if (byIds == !ValidationUtil.isEmptyOrNull(department)) {
+        throw new RoutineResourceException(
+            "Provide either teacher ids or a department");
+      }
+      checkRange(startDate, endDate);
+      Map<Long, Long> workloads = byIds
+          ? workloadRollupService.teacherMinutes(checkIds(teacherIds), startDate, endDate)
+          : workloadRollupService.departmentMinutes(department, startDate, endDate);
+      log.info("Calculated workload for {} teachers", workloads.size());
+      return workloads;
+    } catch (Exception e) {
+      log.error("Error while calculating teacher workloads: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error while calculating teacher workloads: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public Map<Long, Long> calculateGroupWorkloads(List<Long> groupIds, LocalDate startDate,
+      LocalDate endDate) {
+    log.info("Calculating workload for groups {} from {} to {}", groupIds, startDate,
+        endDate);
+    try {
+      if (groupIds == null || groupIds.isEmpty()) {
+        throw new RoutineResourceException("Group ids are required");
+      }
+      checkRange(startDate, endDate);
+      Map<Long, Long> workloads = workloadRollupService.groupMinutes(checkIds(groupIds),
+          startDate, endDate);
+      log.info("Calculated workload for {} groups", workloads.size());
+      return workloads;
+    } catch (Exception e) {
+      log.error("Error while calculating group workloads: {}", e.getMessage());
+      throw new RoutineResourceException(
+          "Error while calculating group workloads: " + e.getMessage());
+    }
+  }
+
+  private Set<Long> checkIds(List<Long> ids) {
+    Set<Long> distinct = new HashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_WORKLOAD_IDS) {
+      throw new RoutineResourceException(
+          "At most " + MAX_WORKLOAD_IDS + " ids can be requested at once");
+    }
+    return distinct;
+  }
+
+  private void checkRange(LocalDate startDate, LocalDate endDate) {
+    if (requireDate(startDate).isAfter(requireDate(endDate))) {
+      throw new RoutineResourceException("Start date is after end date");
+    }
+  }
+
+  private LocalDate requireDate(LocalDate date) {
+    if (date == null) {
+      throw new RoutineResourceException("Both start and end date are required");
+    }
+    return date;
+  }
 }
@@ -1,21 +1,60 @@
 package com.example.teacher_management.service.impl;
 
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.SearchIndex;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Tombstone;
 import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.ChangeJournalService;
 import com.example.teacher_management.service.StudyGroupService;
+import com.example.teacher_management.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class StudyGroupServiceImpl implements StudyGroupService {
 
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int MAX_IDS = 500;
+  private static final int DEFAULT_SEARCH_LIMIT = 20;
+  private static final int MAX_SEARCH_LIMIT = 100;
+
   private final GroupRepository studyGroupRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final TombstoneRepository tombstoneRepository;
+  private final ChangeJournalService changeJournalService;
+  private final SearchIndex searchIndex;
 
-  public StudyGroupServiceImpl(GroupRepository studyGroupRepository) {
+  public StudyGroupServiceImpl(GroupRepository studyGroupRepository,
+      ReferenceDataCache referenceDataCache, TombstoneRepository tombstoneRepository,
+      ChangeJournalService changeJournalService, SearchIndex searchIndex) {
     this.studyGroupRepository = studyGroupRepository;
+    this.referenceDataCache = referenceDataCache;
+    this.tombstoneRepository = tombstoneRepository;
+    this.changeJournalService = changeJournalService;
+    this.searchIndex = searchIndex;
   }
 
   @Override
@@ -28,11 +67,91 @@ public class StudyGroupServiceImpl implements StudyGroupService {
   }
 
   @Override
+  public long findVersion(Long id) {
+    return studyGroupRepository.findVersionById(id).orElseThrow(() -> {
+      log.error("Group resource not found with id: {}", id);
+      return new GroupResourceException("Group resource not found with id: " + id);
+    });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Long> collectionVersion() {
+    // Every write stamps its row from change_seq and every delete leaves a tombstone, so
+    // the highest of the two moves whenever the collection changes. While a write below
+    // it is still in flight, its commit would not move it, so no tag is given.
+    long safeChangeSeq = tombstoneRepository.findSafeChangeSeq();
+    long version = Math.max(studyGroupRepository.findMaxChangeSeq(),
+        tombstoneRepository.findMaxChangeSeq(SyncEntityType.GROUP));
+    return version <= safeChangeSeq ? Optional.of(version) : Optional.empty();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<StudyGroupDTO> findAllById(List<Long> ids) {
+    log.info("Fetching study groups with ids: {}", ids);
+    if (ids == null || ids.isEmpty()) {
+      throw new GroupResourceException("At least one id is required");
+    }
+    LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_IDS) {
+      throw new GroupResourceException(
+          "At most " + MAX_IDS + " ids can be fetched at once");
+    }
+    try {
+      // findAllById issues a single IN query; rows come back in any order.
+      Map<Long, StudyGroupDTO> found = studyGroupRepository.findAllById(distinct)
+          .stream().map(StudyGroupDTO::fromEntity)
+          .collect(Collectors.toMap(StudyGroupDTO::getGroupId, Function.identity()));
+      List<StudyGroupDTO> groups = distinct.stream().map(found::get)
+          .filter(item -> item != null).toList();
+      log.info("Fetched {} of {} study groups", groups.size(), distinct.size());
+      return groups;
+    } catch (Exception e) {
+      log.error("Error fetching study groups by ids: {}", e.getMessage());
+      throw new GroupResourceException(
+          "Error fetching study groups by ids: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public CursorPageDTO<StudyGroupDTO> getGroups(String namePrefix, String cursor,
+      Integer size, Set<String> fields) {
+    log.info("Fetching study groups page after cursor: {}", cursor);
+    try {
+      int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE
+          : Math.min(size, MAX_PAGE_SIZE);
+      IdCursor after = ValidationUtil.isEmptyOrNull(cursor) ? null
+          : IdCursor.decode(cursor);
+
+      // One extra row tells us whether another page exists, as for routines.
+      List<StudyGroupDTO> groups = studyGroupRepository.findPage(namePrefix, after,
+          pageSize + 1, fields);
+      boolean hasMore = groups.size() > pageSize;
+      List<StudyGroupDTO> page = hasMore ? groups.subList(0, pageSize) : groups;
+      String nextCursor = hasMore
+          ? new IdCursor(page.get(pageSize - 1).getGroupId()).encode() : null;
+      log.info("Fetched {} study groups", page.size());
+
+      return new CursorPageDTO<>(page, nextCursor);
+    } catch (Exception e) {
+      log.error("Error fetching study groups: {}", e.getMessage());
+      throw new GroupResourceException("Error fetching study groups: " + e.getMessage());
+    }
+  }
+
+  @Override
+  @Transactional
   public StudyGroupDTO save(StudyGroupDTO groupDto) {
     log.info("Saving study group: {}", groupDto);
     try {
       StudyGroup studyGroup = groupDto.toEntity();
+      studyGroup.setChangeSeq(tombstoneRepository.nextChangeSeq());
       StudyGroup savedGroup = studyGroupRepository.save(studyGroup);
+      changeJournalService.record(SyncEntityType.GROUP, RoutineChangeType.CREATED,
+          savedGroup.getGroupId());
+      searchIndex.putGroup(StudyGroupDTO.fromEntity(savedGroup));
 
       log.info("Saved study group: {}", savedGroup);
       return StudyGroupDTO.fromEntity(savedGroup);
@@ -43,21 +162,41 @@ public class StudyGroupServiceImpl implements StudyGroupService {
   }
 
   @Override
-  public StudyGroupDTO update(Long id, StudyGroupDTO groupDto) {
+  @Transactional
+  public Versioned<StudyGroupDTO> update(Long id, StudyGroupDTO groupDto,
+      Long expectedVersion) {
     log.info("Updating study group with id: {}", id);
     try {
       StudyGroup existingGroup = studyGroupRepository.findById(id).orElseThrow(() -> {
         log.error("Group not found with id: {}", id);
         return new GroupResourceException("Group not found with id: " + id);
       });
+      if (expectedVersion != null
+          && !expectedVersion.equals(existingGroup.getVersion())) {
+        throw new VersionConflictException("Study group with id " + id
+            + " is at version " + existingGroup.getVersion() + ", not " + expectedVersion);
+      }
 
       existingGroup.setGroupName(groupDto.getGroupName());
       existingGroup.setDescription(groupDto.getDescription());
 
-      StudyGroup updatedGroup = studyGroupRepository.save(existingGroup);
+      existingGroup.setChangeSeq(tombstoneRepository.nextChangeSeq());
+      // Version-guarded UPDATE, flushed so that a concurrent writer shows up here.
+      StudyGroup updatedGroup = studyGroupRepository.saveAndFlush(existingGroup);
+      referenceDataCache.evictGroup(id);
+      changeJournalService.record(SyncEntityType.GROUP, RoutineChangeType.UPDATED, id);
+      searchIndex.putGroup(StudyGroupDTO.fromEntity(updatedGroup));
       log.info("Updated study group: {}", updatedGroup);
 
-      return StudyGroupDTO.fromEntity(updatedGroup);
+      return new Versioned<>(StudyGroupDTO.fromEntity(updatedGroup),
+          updatedGroup.getVersion());
+    } catch (VersionConflictException e) {
+      log.warn("Rejected update of study group with id {}: {}", id, e.getMessage());
+      throw e;
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Concurrent update of study group with id: {}", id);
+      throw new VersionConflictException(
+          "Study group with id " + id + " was updated concurrently");
     } catch (Exception e) {
       log.error("Error updating study group with id: {}: {}", id, e.getMessage());
       throw new GroupResourceException(
@@ -66,6 +205,7 @@ public class StudyGroupServiceImpl implements StudyGroupService {
   }
 
   @Override
+  @Transactional
   public void delete(Long id) {
     log.info("Deleting study group with id: {}", id);
     try {
@@ -73,6 +213,11 @@ public class StudyGroupServiceImpl implements StudyGroupService {
         throw new GroupResourceException("Group not found with id: " + id);
       }
       studyGroupRepository.deleteById(id);
+      tombstoneRepository.save(new Tombstone(tombstoneRepository.nextChangeSeq(),
+          SyncEntityType.GROUP, id));
+      referenceDataCache.evictGroup(id);
+      changeJournalService.record(SyncEntityType.GROUP, RoutineChangeType.DELETED, id);
+      searchIndex.removeGroup(id);
       log.info("Deleted study group with id: {}", id);
     } catch (Exception e) {
       log.error("Error deleting study group with id: {}: {}", id, e.getMessage());
@@ -80,4 +225,17 @@ public class StudyGroupServiceImpl implements StudyGroupService {
           "Error deleting study group with id: " + id + ". " + e.getMessage());
     }
   }
+
+  @Override
+  public List<SearchHitDTO<StudyGroupDTO>> search(String query, Integer limit) {
+    log.info("Searching study groups for '{}'", query);
+    if (query == null || query.isBlank()) {
+      throw new GroupResourceException("A search query is required");
+    }
+    List<SearchHitDTO<StudyGroupDTO>> hits = searchIndex.searchGroups(query,
+        limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT
+            : Math.min(limit, MAX_SEARCH_LIMIT));
+    log.info("Found {} study groups", hits.size());
+    return hits;
+  }
 }
@@ -0,0 +1,102 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.SyncDTO;
+import com.example.teacher_management.dto.SyncDeletionDTO;
+import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.entity.Routine;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.entity.Tombstone;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.SyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+@Service
+@Slf4j
+public class SyncServiceImpl implements SyncService {
+
+  private static final int DEFAULT_LIMIT = 500;
+  private static final int MAX_LIMIT = 5000;
+
+  private final TeacherRepository teacherRepository;
+  private final GroupRepository groupRepository;
+  private final RoutineRepository routineRepository;
+  private final TombstoneRepository tombstoneRepository;
+
+  public SyncServiceImpl(TeacherRepository teacherRepository,
+      GroupRepository groupRepository, RoutineRepository routineRepository,
+      TombstoneRepository tombstoneRepository) {
+    this.teacherRepository = teacherRepository;
+    this.groupRepository = groupRepository;
+    this.routineRepository = routineRepository;
+    this.tombstoneRepository = tombstoneRepository;
+  }
+
+  // Read committed, so every scan sees whatever committed before the watermark was read.
+  // Rows at or below the watermark can no longer change without moving above it, so the
+  // scans need no shared snapshot.
+  @Override
+  @Transactional(readOnly = true)
+  public SyncDTO changesSince(long since, Integer limit) {
+    log.info("Fetching changes after sequence {}", since);
+    if (since < 0) {
+      throw new RoutineResourceException("Change sequence cannot be negative");
+    }
+    int pageSize = limit == null || limit <= 0 ? DEFAULT_LIMIT
+        : Math.min(limit, MAX_LIMIT);
+
+    long safeChangeSeq = tombstoneRepository.findSafeChangeSeq();
+    // Each table is read past the page size; the page then ends at the pageSize-th
+    // smallest sequence across all of them, which none of the reads can have skipped,
+    // and never above the watermark.
+    Limit scan = Limit.of(pageSize + 1);
+    List<Teacher> teachers = teacherRepository.findByChangeSeqGreaterThanOrderByChangeSeq(
+        since, scan);
+    List<StudyGroup> groups = groupRepository.findByChangeSeqGreaterThanOrderByChangeSeq(
+        since, scan);
+    List<Routine> routines = routineRepository.findByChangeSeqGreaterThanOrderByChangeSeq(
+        since, scan);
+    List<Tombstone> tombstones = tombstoneRepository
+        .findByChangeSeqGreaterThanOrderByChangeSeq(since, scan);
+
+    long[] changeSeqs = LongStream.concat(LongStream.concat(
+            teachers.stream().mapToLong(Teacher::getChangeSeq),
+            groups.stream().mapToLong(StudyGroup::getChangeSeq)),
+        LongStream.concat(routines.stream().mapToLong(Routine::getChangeSeq),
+            tombstones.stream().mapToLong(Tombstone::getChangeSeq))).toArray();
+    Arrays.sort(changeSeqs);
+    long pageEnd = changeSeqs.length == 0 ? since
+        : changeSeqs[Math.min(changeSeqs.length, pageSize) - 1];
+    long upTo = Math.max(since, Math.min(pageEnd, safeChangeSeq));
+    // Rows held back by the watermark are not ready yet, so they do not count as more.
+    boolean hasMore = changeSeqs.length > pageSize && pageEnd <= safeChangeSeq;
+
+    SyncDTO sync = new SyncDTO(since, upTo, hasMore,
+        teachers.stream().filter(teacher -> teacher.getChangeSeq() <= upTo)
+            .map(TeacherDTO::fromEntity).toList(),
+        groups.stream().filter(group -> group.getChangeSeq() <= upTo)
+            .map(StudyGroupDTO::fromEntity).toList(),
+        routines.stream().filter(routine -> routine.getChangeSeq() <= upTo)
+            .map(RoutineDTO::fromEntity).toList(),
+        tombstones.stream().filter(tombstone -> tombstone.getChangeSeq() <= upTo)
+            .map(tombstone -> new SyncDeletionDTO(tombstone.getEntityType(),
+                tombstone.getEntityId())).toList());
+    log.info("Fetched changes up to sequence {}: {} teachers, {} groups, {} routines,"
+            + " {} deletions", upTo, sync.getTeachers().size(), sync.getGroups().size(),
+        sync.getRoutines().size(), sync.getDeleted().size());
+    return sync;
+  }
+}
@@ -1,23 +1,61 @@
 package com.example.teacher_management.service.impl;
 
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.SearchIndex;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.SearchHitDTO;
+import com.example.teacher_management.dto.SyncEntityType;
 import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.entity.Tombstone;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.ChangeJournalService;
 import com.example.teacher_management.service.TeacherService;
+import com.example.teacher_management.util.ValidationUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class TeacherServiceImpl implements TeacherService {
 
+  private static final int DEFAULT_PAGE_SIZE = 50;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int MAX_IDS = 500;
+  private static final int DEFAULT_SEARCH_LIMIT = 20;
+  private static final int MAX_SEARCH_LIMIT = 100;
+
   private final TeacherRepository teacherRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final TombstoneRepository tombstoneRepository;
+  private final ChangeJournalService changeJournalService;
+  private final SearchIndex searchIndex;
 
-  public TeacherServiceImpl(TeacherRepository teacherRepository) {
+  public TeacherServiceImpl(TeacherRepository teacherRepository,
+      ReferenceDataCache referenceDataCache, TombstoneRepository tombstoneRepository,
+      ChangeJournalService changeJournalService, SearchIndex searchIndex) {
     this.teacherRepository = teacherRepository;
+    this.referenceDataCache = referenceDataCache;
+    this.tombstoneRepository = tombstoneRepository;
+    this.changeJournalService = changeJournalService;
+    this.searchIndex = searchIndex;
   }
 
   @Override
@@ -32,11 +70,91 @@ public class TeacherServiceImpl implements TeacherService {
   }
 
   @Override
+  public long findVersion(Long id) {
+    return teacherRepository.findVersionById(id).orElseThrow(() -> {
+      log.error("Teacher not found with id: {}", id);
+      return new TeacherResourceException("Teacher not found with id: " + id);
+    });
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Long> collectionVersion() {
+    // Every write stamps its row from change_seq and every delete leaves a tombstone, so
+    // the highest of the two moves whenever the collection changes. While a write below
+    // it is still in flight, its commit would not move it, so no tag is given.
+    long safeChangeSeq = tombstoneRepository.findSafeChangeSeq();
+    long version = Math.max(teacherRepository.findMaxChangeSeq(),
+        tombstoneRepository.findMaxChangeSeq(SyncEntityType.TEACHER));
+    return version <= safeChangeSeq ? Optional.of(version) : Optional.empty();
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<TeacherDTO> findAllById(List<Long> ids) {
+    log.info("Fetching teachers with ids: {}", ids);
+    if (ids == null || ids.isEmpty()) {
+      throw new TeacherResourceException("At least one id is required");
+    }
+    LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.size() > MAX_IDS) {
+      throw new TeacherResourceException(
+          "At most " + MAX_IDS + " ids can be fetched at once");
+    }
+    try {
+      // findAllById issues a single IN query; rows come back in any order.
+      Map<Long, TeacherDTO> found = teacherRepository.findAllById(distinct)
+          .stream().map(TeacherDTO::fromEntity)
+          .collect(Collectors.toMap(TeacherDTO::getTeacherId, Function.identity()));
+      List<TeacherDTO> teachers = distinct.stream().map(found::get)
+          .filter(item -> item != null).toList();
+      log.info("Fetched {} of {} teachers", teachers.size(), distinct.size());
+      return teachers;
+    } catch (Exception e) {
+      log.error("Error fetching teachers by ids: {}", e.getMessage());
+      throw new TeacherResourceException(
+          "Error fetching teachers by ids: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public CursorPageDTO<TeacherDTO> getTeachers(TeacherFilter filter, String cursor,
+      Integer size, Set<String> fields) {
+    log.info("Fetching teachers page after cursor: {}", cursor);
+    try {
+      int pageSize = size == null || size <= 0 ? DEFAULT_PAGE_SIZE
+          : Math.min(size, MAX_PAGE_SIZE);
+      IdCursor after = ValidationUtil.isEmptyOrNull(cursor) ? null
+          : IdCursor.decode(cursor);
+
+      // One extra row tells us whether another page exists, as for routines.
+      List<TeacherDTO> teachers = teacherRepository.findPage(filter, after,
+          pageSize + 1, fields);
+      boolean hasMore = teachers.size() > pageSize;
+      List<TeacherDTO> page = hasMore ? teachers.subList(0, pageSize) : teachers;
+      String nextCursor = hasMore
+          ? new IdCursor(page.get(pageSize - 1).getTeacherId()).encode() : null;
+      log.info("Fetched {} teachers", page.size());
+
+      return new CursorPageDTO<>(page, nextCursor);
+    } catch (Exception e) {
+      log.error("Error fetching teachers: {}", e.getMessage());
+      throw new TeacherResourceException("Error fetching teachers: " + e.getMessage());
+    }
+  }
+
+  @Override
+  @Transactional
   public TeacherDTO save(TeacherDTO teacherDto) {
     log.info("Saving teacher: {}", teacherDto);
     try {
       Teacher teacher = teacherDto.toEntity();
+      teacher.setChangeSeq(tombstoneRepository.nextChangeSeq());
       Teacher savedTeacher = teacherRepository.save(teacher);
+      changeJournalService.record(SyncEntityType.TEACHER, RoutineChangeType.CREATED,
+          savedTeacher.getTeacherId());
+      searchIndex.putTeacher(TeacherDTO.fromEntity(savedTeacher));
       log.info("Saved teacher: {}", savedTeacher);
       return TeacherDTO.fromEntity(savedTeacher);
     } catch (Exception e) {
@@ -46,21 +164,42 @@ public class TeacherServiceImpl implements TeacherService {
   }
 
   @Override
-  public TeacherDTO update(Long id, TeacherDTO teacherDto) {
+  @Transactional
+  public Versioned<TeacherDTO> update(Long id, TeacherDTO teacherDto,
+      Long expectedVersion) {
     log.info("Updating teacher with id: {}", id);
     try {
       Teacher existingTeacher = teacherRepository.findById(id).orElseThrow(() -> {
         log.error("Teacher not found for id: {}", id);
         return new TeacherResourceException("Teacher not found with id: " + id);
       });
+      if (expectedVersion != null
+          && !expectedVersion.equals(existingTeacher.getVersion())) {
+        throw new VersionConflictException("Teacher with id " + id + " is at version "
+            + existingTeacher.getVersion() + ", not " + expectedVersion);
+      }
 
       existingTeacher.setName(teacherDto.getName());
       existingTeacher.setDepartment(teacherDto.getDepartment());
       existingTeacher.setEmail(teacherDto.getEmail());
 
-      Teacher updatedTeacher = teacherRepository.save(existingTeacher);
+      existingTeacher.setChangeSeq(tombstoneRepository.nextChangeSeq());
+      // The UPDATE is guarded by the version read above, and flushed here so that a
+      // concurrent writer surfaces as a conflict rather than at commit.
+      Teacher updatedTeacher = teacherRepository.saveAndFlush(existingTeacher);
+      referenceDataCache.evictTeacher(id);
+      changeJournalService.record(SyncEntityType.TEACHER, RoutineChangeType.UPDATED, id);
+      searchIndex.putTeacher(TeacherDTO.fromEntity(updatedTeacher));
       log.info("Updated teacher: {}", updatedTeacher);
-      return TeacherDTO.fromEntity(updatedTeacher);
+      return new Versioned<>(TeacherDTO.fromEntity(updatedTeacher),
+          updatedTeacher.getVersion());
+    } catch (VersionConflictException e) {
+      log.warn("Rejected update of teacher with id {}: {}", id, e.getMessage());
+      throw e;
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Concurrent update of teacher with id: {}", id);
+      throw new VersionConflictException(
+          "Teacher with id " + id + " was updated concurrently");
     } catch (Exception e) {
       log.error("Error updating teacher with id: {}: {}", id, e.getMessage());
       throw new TeacherResourceException(
@@ -69,6 +208,7 @@ public class TeacherServiceImpl implements TeacherService {
   }
 
   @Override
+  @Transactional
   public void delete(Long id) {
     log.info("Deleting teacher with id: {}", id);
     try {
@@ -76,6 +216,11 @@ public class TeacherServiceImpl implements TeacherService {
         throw new TeacherResourceException("Teacher not found with id: " + id);
       }
       teacherRepository.deleteById(id);
+      tombstoneRepository.save(new Tombstone(tombstoneRepository.nextChangeSeq(),
+          SyncEntityType.TEACHER, id));
+      referenceDataCache.evictTeacher(id);
+      changeJournalService.record(SyncEntityType.TEACHER, RoutineChangeType.DELETED, id);
+      searchIndex.removeTeacher(id);
       log.info("Deleted teacher with id: {}", id);
     } catch (Exception e) {
       log.error("Error deleting teacher with id: {}: {}", id, e.getMessage());
@@ -83,4 +228,17 @@ public class TeacherServiceImpl implements TeacherService {
           "Error deleting teacher with id: " + id + ". " + e.getMessage());
     }
   }
+
+  @Override
+  public List<SearchHitDTO<TeacherDTO>> search(String query, Integer limit) {
+    log.info("Searching teachers for '{}'", query);
+    if (query == null || query.isBlank()) {
+      throw new TeacherResourceException("A search query is required");
+    }
+    List<SearchHitDTO<TeacherDTO>> hits = searchIndex.searchTeachers(query,
+        limit == null || limit <= 0 ? DEFAULT_SEARCH_LIMIT
+            : Math.min(limit, MAX_SEARCH_LIMIT));
+    log.info("Found {} teachers", hits.size());
+    return hits;
+  }
 }
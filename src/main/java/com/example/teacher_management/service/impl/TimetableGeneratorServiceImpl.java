@@ -0,0 +1,310 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.dto.BatchOperationType;
+import com.example.teacher_management.dto.GroupRequirementDTO;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TimetableGenerationRequestDTO;
+import com.example.teacher_management.dto.TimetablePlanDTO;
+import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.service.RoutineService;
+import com.example.teacher_management.service.TimetableGeneratorService;
+import com.example.teacher_management.util.DaySlots;
+import com.example.teacher_management.util.Recurrence;
+import com.example.teacher_management.util.RoutineIntervalSet;
+import com.example.teacher_management.util.TimetableGrid;
+import com.example.teacher_management.util.TimetableSearch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+@Service
+@Slf4j
+public class TimetableGeneratorServiceImpl implements TimetableGeneratorService {
+
+  private static final int MAX_SEEDS = 16;
+  private static final long DEFAULT_TIME_BUDGET_MILLIS = 2000;
+  private static final long MAX_TIME_BUDGET_MILLIS = 30_000;
+  private static final int MAX_SESSIONS_PER_WEEK = 2000;
+  // Sessions start on quarter hours of the clock, which keeps the search space small.
+  private static final int START_STEP_SLOTS = 15 / DaySlots.SLOT_MINUTES;
+  private static final List<DayOfWeek> DEFAULT_WEEKDAYS = List.of(DayOfWeek.MONDAY,
+      DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY);
+
+  private final RoutineRepository routineRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final ReferenceDataCache referenceDataCache;
+  private final RoutineService routineService;
+  private final ForkJoinPool searchPool = new ForkJoinPool(
+      Runtime.getRuntime().availableProcessors());
+
+  public TimetableGeneratorServiceImpl(RoutineRepository routineRepository,
+      RecurringRoutineRepository recurringRoutineRepository,
+      ReferenceDataCache referenceDataCache, RoutineService routineService) {
+    this.routineRepository = routineRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+    this.referenceDataCache = referenceDataCache;
+    this.routineService = routineService;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    searchPool.shutdownNow();
+  }
+
+  // Not transactional: the two reads are independent and no connection should be held
+  // while the search runs.
+  @Override
+  public TimetablePlanDTO generate(TimetableGenerationRequestDTO request) {
+    log.info("Generating timetable from {} to {}", request.getStartDate(),
+        request.getEndDate());
+    validate(request);
+    List<DayOfWeek> weekdays = request.getWeekdays() == null
+        || request.getWeekdays().isEmpty() ? DEFAULT_WEEKDAYS
+        : List.copyOf(new TreeSet<>(request.getWeekdays()));
+    Set<LocalDate> blackoutDates = request.getBlackoutDates() == null ? Set.of()
+        : new HashSet<>(request.getBlackoutDates());
+
+    Map<Long, Integer> teacherIndex = new LinkedHashMap<>();
+    Map<Long, Integer> groupIndex = new LinkedHashMap<>();
+    for (GroupRequirementDTO requirement : request.getGroups()) {
+      groupIndex.putIfAbsent(requirement.getGroupId(), groupIndex.size());
+      for (Long teacherId : requirement.getTeacherIds()) {
+        teacherIndex.putIfAbsent(teacherId, teacherIndex.size());
+      }
+    }
+
+    // Existing routines on any occurrence of a weekday block that weekday's slots for
+    // the whole term, so every week of the expanded template is clash-free.
+    DaySlots[][] teacherBusy = emptySlots(teacherIndex.size(), weekdays.size());
+    DaySlots[][] groupBusy = emptySlots(groupIndex.size(), weekdays.size());
+    Map<Long, Map<LocalDate, Integer>> existingWeeklySlots = new HashMap<>();
+    List<RoutineDTO> teacherRoutines = new ArrayList<>(routineRepository
+        .findByTeachersBetween(teacherIndex.keySet(), request.getStartDate(),
+            request.getEndDate()));
+    teacherRoutines.addAll(Recurrence.expandAsRoutines(recurringRoutineRepository
+        .findByTeachersBetween(teacherIndex.keySet(), request.getStartDate(),
+            request.getEndDate())
+        .stream().map(RecurringRoutineDTO::fromEntity).toList(), request.getStartDate(),
+        request.getEndDate()));
+    for (RoutineDTO routine : teacherRoutines) {
+      if (!RoutineIntervalSet.isSchedulable(routine)) {
+        continue;
+      }
+      int day = weekdays.indexOf(routine.getRoutineDate().getDayOfWeek());
+      if (day >= 0 && !blackoutDates.contains(routine.getRoutineDate())) {
+        teacherBusy[teacherIndex.get(routine.getTeacherId())][day].mark(
+            routine.getStartTime(), routine.getEndTime());
+      }
+      existingWeeklySlots.computeIfAbsent(routine.getTeacherId(), id -> new HashMap<>())
+          .merge(TimetableGrid.weekStart(routine.getRoutineDate()), slotsOf(routine),
+              Integer::sum);
+    }
+    List<RoutineDTO> groupRoutines = new ArrayList<>(routineRepository
+        .findByGroupsBetween(groupIndex.keySet(), request.getStartDate(),
+            request.getEndDate()));
+    groupRoutines.addAll(Recurrence.expandAsRoutines(recurringRoutineRepository
+        .findByGroupsBetween(groupIndex.keySet(), request.getStartDate(),
+            request.getEndDate())
+        .stream().map(RecurringRoutineDTO::fromEntity).toList(), request.getStartDate(),
+        request.getEndDate()));
+    for (RoutineDTO routine : groupRoutines) {
+      if (!RoutineIntervalSet.isSchedulable(routine)) {
+        continue;
+      }
+      int day = weekdays.indexOf(routine.getRoutineDate().getDayOfWeek());
+      if (day >= 0 && !blackoutDates.contains(routine.getRoutineDate())) {
+        groupBusy[groupIndex.get(routine.getGroupId())][day].mark(routine.getStartTime(),
+            routine.getEndTime());
+      }
+    }
+
+    int[] teacherCapSlots = new int[teacherIndex.size()];
+    for (Map.Entry<Long, Integer> teacher : teacherIndex.entrySet()) {
+      int existing = existingWeeklySlots.getOrDefault(teacher.getKey(), Map.of())
+          .values().stream().mapToInt(Integer::intValue).max().orElse(0);
+      Integer cap = request.getMaxWeeklyMinutesPerTeacher();
+      teacherCapSlots[teacher.getValue()] = cap == null ? Integer.MAX_VALUE / 2
+          : cap / DaySlots.SLOT_MINUTES - existing;
+    }
+
+    List<TimetableSearch.Session> sessions = new ArrayList<>();
+    for (GroupRequirementDTO requirement : request.getGroups()) {
+      int[] eligible = requirement.getTeacherIds().stream().distinct()
+          .mapToInt(teacherIndex::get).toArray();
+      for (int i = 0; i < requirement.getSessionsPerWeek(); i++) {
+        sessions.add(new TimetableSearch.Session(groupIndex.get(requirement.getGroupId()),
+            eligible, slotsOf(requirement.getSessionMinutes())));
+      }
+    }
+
+    TimetableSearch search = new TimetableSearch(weekdays.size(),
+        firstStartSlot(request.getDayStart()), DaySlots.startSlot(request.getDayEnd()),
+        START_STEP_SLOTS, sessions, teacherBusy, groupBusy, teacherCapSlots);
+    long baseSeed = request.getSeed() == null ? System.nanoTime() : request.getSeed();
+    int seeds = request.getSeeds() == null ? searchPool.getParallelism()
+        : Math.min(Math.max(request.getSeeds(), 1), MAX_SEEDS);
+    long budget = request.getTimeBudgetMillis() == null ? DEFAULT_TIME_BUDGET_MILLIS
+        : Math.min(Math.max(request.getTimeBudgetMillis(), 1), MAX_TIME_BUDGET_MILLIS);
+    long deadline = System.nanoTime() + budget * 1_000_000;
+
+    // Independent restarts race against the same deadline; the cheapest plan wins.
+    List<CompletableFuture<TimetableSearch.Result>> runs = new ArrayList<>();
+    for (int i = 0; i < seeds; i++) {
+      long seed = baseSeed + i;
+      runs.add(CompletableFuture.supplyAsync(() -> search.search(seed, deadline),
+          searchPool));
+    }
+    int bestRun = 0;
+    List<TimetableSearch.Result> results = runs.stream().map(CompletableFuture::join)
+        .toList();
+    for (int i = 1; i < results.size(); i++) {
+      if (results.get(i).cost() < results.get(bestRun).cost()) {
+        bestRun = i;
+      }
+    }
+    TimetableSearch.Result best = results.get(bestRun);
+    long iterations = results.stream().mapToLong(TimetableSearch.Result::iterations).sum();
+
+    List<Long> teacherIds = new ArrayList<>(teacherIndex.keySet());
+    List<Long> groupIds = new ArrayList<>(groupIndex.keySet());
+    List<RoutineDTO> routines = new ArrayList<>();
+    for (LocalDate week = TimetableGrid.weekStart(request.getStartDate());
+        !week.isAfter(request.getEndDate()); week = week.plusWeeks(1)) {
+      for (int s = 0; s < sessions.size(); s++) {
+        LocalDate date = week.plusDays(weekdays.get(best.days()[s]).getValue() - 1);
+        if (date.isBefore(request.getStartDate()) || date.isAfter(request.getEndDate())
+            || blackoutDates.contains(date)) {
+          continue;
+        }
+        int start = best.starts()[s];
+        routines.add(new RoutineDTO(null, DaySlots.timeOf(start),
+            DaySlots.timeOf(start + sessions.get(s).slots()), date,
+            teacherIds.get(best.teachers()[s]), groupIds.get(sessions.get(s).group())));
+      }
+    }
+    routines.sort(Comparator.comparing(RoutineDTO::getRoutineDate)
+        .thenComparing(RoutineDTO::getStartTime));
+    log.info("Generated {} routines with {} conflicting slots after {} iterations",
+        routines.size(), best.cost(), iterations);
+
+    return new TimetablePlanDTO(best.cost() == 0, best.cost(), baseSeed + bestRun,
+        iterations, routines);
+  }
+
+  @Override
+  public RoutineBatchResultDTO commit(List<RoutineDTO> routines) {
+    log.info("Committing generated timetable of {} routines", routines.size());
+    List<RoutineBatchOperationDTO> operations = routines.stream()
+        .map(routine -> new RoutineBatchOperationDTO(BatchOperationType.CREATE, routine))
+        .toList();
+    return routineService.applyBatch(operations);
+  }
+
+  private void validate(TimetableGenerationRequestDTO request) {
+    if (request.getStartDate() == null || request.getEndDate() == null
+        || request.getStartDate().isAfter(request.getEndDate())) {
+      throw new RoutineResourceException("A valid start and end date are required");
+    }
+    if (request.getDayStart() == null || request.getDayEnd() == null
+        || !request.getDayStart().isBefore(request.getDayEnd())) {
+      throw new RoutineResourceException("Daily window must start before it ends");
+    }
+    if (request.getGroups() == null || request.getGroups().isEmpty()) {
+      throw new RoutineResourceException("At least one group requirement is required");
+    }
+    int windowSlots = DaySlots.startSlot(request.getDayEnd())
+        - firstStartSlot(request.getDayStart());
+    int sessionsPerWeek = 0;
+    for (GroupRequirementDTO requirement : request.getGroups()) {
+      if (requirement.getGroupId() == null
+          || referenceDataCache.findGroupById(requirement.getGroupId()).isEmpty()) {
+        throw new GroupResourceException(
+            "Group not found with id: " + requirement.getGroupId());
+      }
+      if (requirement.getTeacherIds() == null || requirement.getTeacherIds().isEmpty()) {
+        throw new RoutineResourceException(
+            "Group " + requirement.getGroupId() + " needs at least one eligible teacher");
+      }
+      for (Long teacherId : requirement.getTeacherIds()) {
+        if (teacherId == null || referenceDataCache.findTeacherById(teacherId).isEmpty()) {
+          throw new TeacherResourceException("Teacher not found with id: " + teacherId);
+        }
+      }
+      // Rounding a length up to whole slots would book, and count, time nobody asked for.
+      if (requirement.getSessionMinutes() % DaySlots.SLOT_MINUTES != 0) {
+        throw new RoutineResourceException("Sessions of group " + requirement.getGroupId()
+            + " must last a multiple of " + DaySlots.SLOT_MINUTES + " minutes");
+      }
+      if (requirement.getSessionMinutes() <= 0
+          || slotsOf(requirement.getSessionMinutes()) > windowSlots) {
+        throw new RoutineResourceException("Sessions of group " + requirement.getGroupId()
+            + " must be positive and fit in the daily window");
+      }
+      if (requirement.getSessionsPerWeek() < 0) {
+        throw new RoutineResourceException("Sessions per week cannot be negative");
+      }
+      sessionsPerWeek += requirement.getSessionsPerWeek();
+    }
+    if (sessionsPerWeek > MAX_SESSIONS_PER_WEEK) {
+      throw new RoutineResourceException(
+          "At most " + MAX_SESSIONS_PER_WEEK + " sessions per week can be generated");
+    }
+    // The plan is committed as one batch, so it has to fit in one.
+    long weeks = ChronoUnit.WEEKS.between(TimetableGrid.weekStart(request.getStartDate()),
+        TimetableGrid.weekStart(request.getEndDate())) + 1;
+    if (sessionsPerWeek * weeks > RoutineService.MAX_BATCH_SIZE) {
+      throw new RoutineResourceException("Up to " + sessionsPerWeek * weeks
+          + " routines over " + weeks + " weeks exceed the commit limit of "
+          + RoutineService.MAX_BATCH_SIZE + "; generate the term in parts");
+    }
+  }
+
+  private DaySlots[][] emptySlots(int owners, int days) {
+    DaySlots[][] slots = new DaySlots[owners][days];
+    for (DaySlots[] ownerSlots : slots) {
+      for (int day = 0; day < days; day++) {
+        ownerSlots[day] = new DaySlots();
+      }
+    }
+    return slots;
+  }
+
+  private int slotsOf(RoutineDTO routine) {
+    return DaySlots.endSlot(routine.getEndTime())
+        - DaySlots.startSlot(routine.getStartTime());
+  }
+
+  private int slotsOf(int minutes) {
+    return minutes / DaySlots.SLOT_MINUTES;
+  }
+
+  // The first quarter hour at or after the start of the daily window.
+  private int firstStartSlot(LocalTime dayStart) {
+    int slot = DaySlots.endSlot(dayStart);
+    return (slot + START_STEP_SLOTS - 1) / START_STEP_SLOTS * START_STEP_SLOTS;
+  }
+}
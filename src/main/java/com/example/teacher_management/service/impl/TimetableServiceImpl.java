@@ -0,0 +1,42 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.TimetableCache;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.service.TimetableService;
+import com.example.teacher_management.util.TimetableGrid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+@Service
+@Slf4j
+public class TimetableServiceImpl implements TimetableService {
+
+  private final ReferenceDataCache referenceDataCache;
+  private final TimetableCache timetableCache;
+
+  public TimetableServiceImpl(ReferenceDataCache referenceDataCache,
+      TimetableCache timetableCache) {
+    this.referenceDataCache = referenceDataCache;
+    this.timetableCache = timetableCache;
+  }
+
+  @Override
+  public TimetableDTO getTimetable(TimetableOwner owner, Long ownerId, LocalDate week) {
+    log.info("Fetching {} timetable for id {} in week of {}", owner, ownerId, week);
+    if (owner == TimetableOwner.TEACHER
+        && referenceDataCache.findTeacherById(ownerId).isEmpty()) {
+      throw new TeacherResourceException("Teacher not found with id: " + ownerId);
+    }
+    if (owner == TimetableOwner.GROUP
+        && referenceDataCache.findGroupById(ownerId).isEmpty()) {
+      throw new GroupResourceException("Group not found with id: " + ownerId);
+    }
+    return timetableCache.findWeek(owner, ownerId, TimetableGrid.weekStart(week));
+  }
+}
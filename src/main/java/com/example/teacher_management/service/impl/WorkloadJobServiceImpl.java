@@ -0,0 +1,222 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.WorkloadJobDTO;
+import com.example.teacher_management.dto.WorkloadJobRequestDTO;
+import com.example.teacher_management.dto.WorkloadJobStatus;
+import com.example.teacher_management.dto.WorkloadJobType;
+import com.example.teacher_management.exception.JobRejectedException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.RoutineService;
+import com.example.teacher_management.service.WorkloadJobService;
+import com.example.teacher_management.service.WorkloadReportService;
+import com.example.teacher_management.util.ValidationUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@Slf4j
+public class WorkloadJobServiceImpl implements WorkloadJobService {
+
+  private static final int MAX_TRACKED_JOBS = 10_000;
+
+  private final RoutineService routineService;
+  private final WorkloadReportService workloadReportService;
+  private final ThreadPoolExecutor executor;
+  // Jobs by id for polling, and by normalised request for de-duplication. Both keep a
+  // job until it has been finished for resultTtl.
+  private final Cache<String, Job> jobs;
+  private final Cache<String, Job> jobsByRequest;
+
+  public WorkloadJobServiceImpl(RoutineService routineService,
+      WorkloadReportService workloadReportService,
+      @Value("${workload.jobs.threads:2}") int threads,
+      @Value("${workload.jobs.queue-capacity:50}") int queueCapacity,
+      @Value("${workload.jobs.result-ttl:10m}") Duration resultTtl) {
+    this.routineService = routineService;
+    this.workloadReportService = workloadReportService;
+    AtomicInteger threadCount = new AtomicInteger();
+    this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+          Thread thread = new Thread(runnable,
+              "workload-job-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.jobs = newJobCache(resultTtl);
+    this.jobsByRequest = newJobCache(resultTtl);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Override
+  public WorkloadJobDTO submit(WorkloadJobRequestDTO request) {
+    WorkloadJobRequestDTO normalised = normalise(request);
+    String requestKey = requestKey(normalised);
+    Job candidate = new Job(UUID.randomUUID().toString(), requestKey, normalised);
+    // A queued, running or finished job for the same request is shared; a failed one is
+    // replaced so that resubmitting retries.
+    Job job = jobsByRequest.asMap().compute(requestKey,
+        (key, existing) -> existing != null && existing.status != WorkloadJobStatus.FAILED
+            ? existing : candidate);
+    if (job != candidate) {
+      log.info("Reusing workload job {} for {}", job.id, requestKey);
+      return job.toDto();
+    }
+
+    jobs.put(candidate.id, candidate);
+    try {
+      executor.execute(() -> run(candidate));
+    } catch (RejectedExecutionException e) {
+      jobsByRequest.asMap().remove(requestKey, candidate);
+      jobs.invalidate(candidate.id);
+      log.warn("Rejected workload job for {}: queue is full", requestKey);
+      throw new JobRejectedException("Too many workload jobs are queued, retry later");
+    }
+    log.info("Queued workload job {} for {}", candidate.id, requestKey);
+    return candidate.toDto();
+  }
+
+  @Override
+  public WorkloadJobDTO getJob(String jobId) {
+    Job job = jobId == null ? null : jobs.getIfPresent(jobId);
+    if (job == null) {
+      throw new RoutineResourceException("Workload job not found with id: " + jobId);
+    }
+    return job.toDto();
+  }
+
+  private void run(Job job) {
+    job.status = WorkloadJobStatus.RUNNING;
+    log.info("Running workload job {}", job.id);
+    WorkloadJobRequestDTO request = job.request;
+    try {
+      job.result = switch (request.getType()) {
+        case REPORT -> workloadReportService.buildReport(request.getStartDate(),
+            request.getEndDate());
+        case TEACHER_WORKLOADS -> routineService.calculateTeacherWorkloads(
+            request.getTeacherIds(), request.getDepartment(), request.getStartDate(),
+            request.getEndDate());
+        case GROUP_WORKLOADS -> routineService.calculateGroupWorkloads(
+            request.getGroupIds(), request.getStartDate(), request.getEndDate());
+      };
+      job.completedAt = Instant.now();
+      job.status = WorkloadJobStatus.DONE;
+      log.info("Finished workload job {}", job.id);
+    } catch (Exception e) {
+      job.error = e.getMessage();
+      job.completedAt = Instant.now();
+      job.status = WorkloadJobStatus.FAILED;
+      log.error("Workload job {} failed: {}", job.id, e.getMessage());
+    } finally {
+      // Writing the finished job back starts its time to live.
+      jobs.asMap().replace(job.id, job, job);
+      jobsByRequest.asMap().replace(job.requestKey, job, job);
+    }
+  }
+
+  private WorkloadJobRequestDTO normalise(WorkloadJobRequestDTO request) {
+    if (request == null || request.getType() == null) {
+      throw new RoutineResourceException("A workload job type is required");
+    }
+    if (request.getStartDate() == null || request.getEndDate() == null
+        || request.getStartDate().isAfter(request.getEndDate())) {
+      throw new RoutineResourceException("A valid start and end date are required");
+    }
+    WorkloadJobRequestDTO normalised = new WorkloadJobRequestDTO(request.getType(),
+        request.getStartDate(), request.getEndDate(), null, null, null);
+    if (request.getType() == WorkloadJobType.TEACHER_WORKLOADS) {
+      List<Long> teacherIds = sortedIds(request.getTeacherIds());
+      String department = ValidationUtil.isEmptyOrNull(request.getDepartment()) ? null
+          : request.getDepartment().trim();
+      if (teacherIds.isEmpty() == (department == null)) {
+        throw new RoutineResourceException("Provide either teacher ids or a department");
+      }
+      normalised.setTeacherIds(teacherIds.isEmpty() ? null : teacherIds);
+      normalised.setDepartment(department);
+    } else if (request.getType() == WorkloadJobType.GROUP_WORKLOADS) {
+      List<Long> groupIds = sortedIds(request.getGroupIds());
+      if (groupIds.isEmpty()) {
+        throw new RoutineResourceException("Group ids are required");
+      }
+      normalised.setGroupIds(groupIds);
+    }
+    return normalised;
+  }
+
+  private String requestKey(WorkloadJobRequestDTO request) {
+    return request.getType() + ":" + request.getStartDate() + ":" + request.getEndDate()
+        + ":" + request.getTeacherIds() + ":" + request.getDepartment() + ":"
+        + request.getGroupIds();
+  }
+
+  private List<Long> sortedIds(List<Long> ids) {
+    return ids == null ? List.of()
+        : ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+  }
+
+  private static Cache<String, Job> newJobCache(Duration resultTtl) {
+    long ttlNanos = resultTtl.toNanos();
+    return Caffeine.newBuilder()
+        .maximumSize(MAX_TRACKED_JOBS)
+        .expireAfter(new Expiry<String, Job>() {
+          @Override
+          public long expireAfterCreate(String key, Job job, long currentTime) {
+            return job.completedAt == null ? Long.MAX_VALUE : ttlNanos;
+          }
+
+          @Override
+          public long expireAfterUpdate(String key, Job job, long currentTime,
+              long currentDuration) {
+            return job.completedAt == null ? Long.MAX_VALUE : ttlNanos;
+          }
+
+          @Override
+          public long expireAfterRead(String key, Job job, long currentTime,
+              long currentDuration) {
+            return currentDuration;
+          }
+        })
+        .build();
+  }
+
+  private static class Job {
+    private final String id;
+    private final String requestKey;
+    private final WorkloadJobRequestDTO request;
+    private final Instant submittedAt = Instant.now();
+    private volatile WorkloadJobStatus status = WorkloadJobStatus.QUEUED;
+    private volatile Object result;
+    private volatile String error;
+    private volatile Instant completedAt;
+
+    private Job(String id, String requestKey, WorkloadJobRequestDTO request) {
+      this.id = id;
+      this.requestKey = requestKey;
+      this.request = request;
+    }
+
+    private WorkloadJobDTO toDto() {
+      return new WorkloadJobDTO(id, request.getType(), status, submittedAt, completedAt,
+          error, result);
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.DepartmentWorkloadDTO;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.TeacherWorkloadDTO;
+import com.example.teacher_management.dto.WorkloadReportDTO;
+import com.example.teacher_management.dto.WorkloadStatus;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.TeacherDailyWorkloadRepository;
+import com.example.teacher_management.repository.TeacherWorkloadRow;
+import com.example.teacher_management.service.WorkloadReportService;
+import com.example.teacher_management.util.Recurrence;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+public class WorkloadReportServiceImpl implements WorkloadReportService {
+
+  static final String UNASSIGNED_DEPARTMENT = "Unassigned";
+
+  private final TeacherDailyWorkloadRepository teacherDailyWorkloadRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+  private final long minWeeklyMinutes;
+  private final long maxWeeklyMinutes;
+
+  public WorkloadReportServiceImpl(
+      TeacherDailyWorkloadRepository teacherDailyWorkloadRepository,
+      RecurringRoutineRepository recurringRoutineRepository,
+      @Value("${workload.report.min-weekly-minutes:600}") long minWeeklyMinutes,
+      @Value("${workload.report.max-weekly-minutes:1500}") long maxWeeklyMinutes) {
+    this.teacherDailyWorkloadRepository = teacherDailyWorkloadRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+    this.minWeeklyMinutes = minWeeklyMinutes;
+    this.maxWeeklyMinutes = maxWeeklyMinutes;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public WorkloadReportDTO buildReport(LocalDate startDate, LocalDate endDate) {
+    log.info("Building workload report from {} to {}", startDate, endDate);
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new RoutineResourceException("A valid start and end date are required");
+    }
+    long weeks = (ChronoUnit.DAYS.between(startDate, endDate) + 7) / 7;
+    long minExpected = minWeeklyMinutes * weeks;
+    long maxExpected = maxWeeklyMinutes * weeks;
+
+    // Recurring routines add occurrence count times duration on top of the rollups.
+    Map<Long, Long> recurringMinutes = new HashMap<>();
+    for (RecurringRoutine definition : recurringRoutineRepository.findAllBetween(startDate,
+        endDate)) {
+      RecurringRoutineDTO routine = RecurringRoutineDTO.fromEntity(definition);
+      recurringMinutes.merge(routine.getTeacherId(),
+          Recurrence.minutes(routine, startDate, endDate), Long::sum);
+    }
+
+    // One GROUP BY over the daily rollups gives every teacher's total for the range.
+    Map<String, List<TeacherWorkloadRow>> byDepartment = new HashMap<>();
+    for (TeacherWorkloadRow row : teacherDailyWorkloadRepository.sumMinutesPerTeacher(
+        startDate, endDate)) {
+      String department = row.getDepartment() == null || row.getDepartment().isBlank()
+          ? UNASSIGNED_DEPARTMENT : row.getDepartment();
+      byDepartment.computeIfAbsent(department, key -> new ArrayList<>()).add(row);
+    }
+
+    // Departments are independent, so they are summarised in parallel on the common
+    // fork-join pool.
+    List<DepartmentWorkloadDTO> departments = byDepartment.entrySet().parallelStream()
+        .map(entry -> summarise(entry.getKey(), entry.getValue(), recurringMinutes,
+            minExpected, maxExpected))
+        .sorted(Comparator.comparing(DepartmentWorkloadDTO::getDepartment))
+        .toList();
+    log.info("Built workload report for {} departments", departments.size());
+
+    return new WorkloadReportDTO(startDate, endDate, minExpected, maxExpected,
+        departments);
+  }
+
+  static DepartmentWorkloadDTO summarise(String department, List<TeacherWorkloadRow> rows,
+      Map<Long, Long> recurringMinutes, long minExpected, long maxExpected) {
+    int count = rows.size();
+    long[] minutes = new long[count];
+    long total = 0;
+    long max = 0;
+    int overloaded = 0;
+    int underloaded = 0;
+    List<TeacherWorkloadDTO> teachers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      TeacherWorkloadRow row = rows.get(i);
+      long teacherMinutes = (row.getMinutes() == null ? 0 : row.getMinutes())
+          + recurringMinutes.getOrDefault(row.getTeacherId(), 0L);
+      minutes[i] = teacherMinutes;
+      total += teacherMinutes;
+      max = Math.max(max, teacherMinutes);
+      WorkloadStatus status = WorkloadStatus.NORMAL;
+      if (teacherMinutes > maxExpected) {
+        status = WorkloadStatus.OVERLOADED;
+        overloaded++;
+      } else if (teacherMinutes < minExpected) {
+        status = WorkloadStatus.UNDERLOADED;
+        underloaded++;
+      }
+      teachers.add(new TeacherWorkloadDTO(row.getTeacherId(), row.getName(),
+          teacherMinutes, status));
+    }
+    Arrays.sort(minutes);
+    teachers.sort(Comparator.comparingLong(TeacherWorkloadDTO::getMinutes).reversed());
+
+    return new DepartmentWorkloadDTO(department, count, total,
+        count == 0 ? 0 : (double) total / count, percentile(minutes, 50),
+        percentile(minutes, 90), max, overloaded, underloaded, teachers);
+  }
+
+  // Nearest-rank percentile over an ascending array.
+  static long percentile(long[] sorted, int percent) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+}
@@ -0,0 +1,213 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.WorkloadRollupMismatchDTO;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.repository.DailyWorkloadMismatch;
+import com.example.teacher_management.repository.GroupDailyWorkloadRepository;
+import com.example.teacher_management.repository.OwnerMinutes;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.TeacherDailyWorkloadRepository;
+import com.example.teacher_management.service.WorkloadRollupService;
+import com.example.teacher_management.util.Recurrence;
+import com.example.teacher_management.util.TimeUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+@Service
+@Slf4j
+public class WorkloadRollupServiceImpl implements WorkloadRollupService {
+
+  private final TeacherDailyWorkloadRepository teacherDailyWorkloadRepository;
+  private final GroupDailyWorkloadRepository groupDailyWorkloadRepository;
+  private final RecurringRoutineRepository recurringRoutineRepository;
+
+  public WorkloadRollupServiceImpl(
+      TeacherDailyWorkloadRepository teacherDailyWorkloadRepository,
+      GroupDailyWorkloadRepository groupDailyWorkloadRepository,
+      RecurringRoutineRepository recurringRoutineRepository) {
+    this.teacherDailyWorkloadRepository = teacherDailyWorkloadRepository;
+    this.groupDailyWorkloadRepository = groupDailyWorkloadRepository;
+    this.recurringRoutineRepository = recurringRoutineRepository;
+  }
+
+  @Override
+  @Transactional
+  public void applyChanges(List<RoutineDTO> removed, List<RoutineDTO> added) {
+    // Net the deltas per (owner, day) first, so a routine moving between
+    // teachers or groups touches each affected row exactly once.
+    Map<Long, Map<LocalDate, Long>> teacherDeltas = new HashMap<>();
+    Map<Long, Map<LocalDate, Long>> groupDeltas = new HashMap<>();
+    for (RoutineDTO routine : removed) {
+      collect(teacherDeltas, routine, RoutineDTO::getTeacherId, -1);
+      collect(groupDeltas, routine, RoutineDTO::getGroupId, -1);
+    }
+    for (RoutineDTO routine : added) {
+      collect(teacherDeltas, routine, RoutineDTO::getTeacherId, 1);
+      collect(groupDeltas, routine, RoutineDTO::getGroupId, 1);
+    }
+
+    teacherDeltas.forEach((teacherId, days) -> days.forEach((day, minutes) -> {
+      if (minutes != 0) {
+        teacherDailyWorkloadRepository.addMinutes(teacherId, day, minutes);
+      }
+    }));
+    groupDeltas.forEach((groupId, days) -> days.forEach((day, minutes) -> {
+      if (minutes != 0) {
+        groupDailyWorkloadRepository.addMinutes(groupId, day, minutes);
+      }
+    }));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long teacherMinutes(Long teacherId, LocalDate startDate, LocalDate endDate) {
+    return teacherDailyWorkloadRepository.sumMinutes(teacherId, startDate, endDate)
+        + recurringMinutes(recurringRoutineRepository.findByTeachersBetween(
+            List.of(teacherId), startDate, endDate), RecurringRoutineDTO::getTeacherId,
+            startDate, endDate).getOrDefault(teacherId, 0L);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, Long> teacherMinutes(Collection<Long> teacherIds, LocalDate startDate,
+      LocalDate endDate) {
+    Map<Long, Long> minutes = toMap(teacherIds, teacherDailyWorkloadRepository
+        .sumMinutesByTeacher(teacherIds, startDate, endDate));
+    return addRecurring(minutes, recurringMinutes(
+        recurringRoutineRepository.findByTeachersBetween(teacherIds, startDate, endDate),
+        RecurringRoutineDTO::getTeacherId, startDate, endDate));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, Long> departmentMinutes(String department, LocalDate startDate,
+      LocalDate endDate) {
+    Map<Long, Long> minutes = toMap(List.of(),
+        teacherDailyWorkloadRepository.sumMinutesByDepartment(department, startDate,
+            endDate));
+    return addRecurring(minutes, recurringMinutes(
+        recurringRoutineRepository.findByDepartmentBetween(department, startDate, endDate),
+        RecurringRoutineDTO::getTeacherId, startDate, endDate));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long groupMinutes(Long groupId) {
+    long recurring = 0;
+    for (RecurringRoutine definition : recurringRoutineRepository.findByGroup(groupId)) {
+      RecurringRoutineDTO routine = RecurringRoutineDTO.fromEntity(definition);
+      recurring += Recurrence.minutes(routine, routine.getStartDate(),
+          routine.getEndDate());
+    }
+    return groupDailyWorkloadRepository.sumAllMinutes(groupId) + recurring;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public long groupMinutes(Long groupId, LocalDate startDate, LocalDate endDate) {
+    return groupDailyWorkloadRepository.sumMinutes(groupId, startDate, endDate)
+        + recurringMinutes(recurringRoutineRepository.findByGroupsBetween(
+            List.of(groupId), startDate, endDate), RecurringRoutineDTO::getGroupId,
+            startDate, endDate).getOrDefault(groupId, 0L);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Map<Long, Long> groupMinutes(Collection<Long> groupIds, LocalDate startDate,
+      LocalDate endDate) {
+    Map<Long, Long> minutes = toMap(groupIds,
+        groupDailyWorkloadRepository.sumMinutesByGroup(groupIds, startDate, endDate));
+    return addRecurring(minutes, recurringMinutes(
+        recurringRoutineRepository.findByGroupsBetween(groupIds, startDate, endDate),
+        RecurringRoutineDTO::getGroupId, startDate, endDate));
+  }
+
+  @Override
+  @Transactional
+  public int rebuild() {
+    log.info("Rebuilding workload rollups from routines");
+    teacherDailyWorkloadRepository.deleteAllRows();
+    groupDailyWorkloadRepository.deleteAllRows();
+    int rows = teacherDailyWorkloadRepository.rebuildFromRoutines()
+        + groupDailyWorkloadRepository.rebuildFromRoutines();
+    log.info("Rebuilt workload rollups: {} rows", rows);
+    return rows;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public List<WorkloadRollupMismatchDTO> checkConsistency() {
+    log.info("Checking workload rollups against routines");
+    List<WorkloadRollupMismatchDTO> mismatches = new ArrayList<>();
+    for (DailyWorkloadMismatch mismatch : teacherDailyWorkloadRepository.findMismatches()) {
+      mismatches.add(toDto("TEACHER", mismatch));
+    }
+    for (DailyWorkloadMismatch mismatch : groupDailyWorkloadRepository.findMismatches()) {
+      mismatches.add(toDto("GROUP", mismatch));
+    }
+    log.info("Found {} workload rollup mismatches", mismatches.size());
+    return mismatches;
+  }
+
+  private void collect(Map<Long, Map<LocalDate, Long>> deltas, RoutineDTO routine,
+      Function<RoutineDTO, Long> owner, int sign) {
+    Long ownerId = owner.apply(routine);
+    if (ownerId == null || routine.getRoutineDate() == null
+        || routine.getStartTime() == null || routine.getEndTime() == null) {
+      return;
+    }
+    long minutes = TimeUtil.minutesBetween(routine.getStartTime(), routine.getEndTime());
+    deltas.computeIfAbsent(ownerId, id -> new HashMap<>())
+        .merge(routine.getRoutineDate(), sign * minutes, Long::sum);
+  }
+
+  // Recurring routines have no rollup rows; their minutes are occurrence count times
+  // duration, worked out from the pattern without expanding it.
+  private Map<Long, Long> recurringMinutes(List<RecurringRoutine> definitions,
+      Function<RecurringRoutineDTO, Long> owner, LocalDate startDate, LocalDate endDate) {
+    Map<Long, Long> minutesById = new HashMap<>();
+    for (RecurringRoutine definition : definitions) {
+      RecurringRoutineDTO routine = RecurringRoutineDTO.fromEntity(definition);
+      minutesById.merge(owner.apply(routine),
+          Recurrence.minutes(routine, startDate, endDate), Long::sum);
+    }
+    return minutesById;
+  }
+
+  private Map<Long, Long> addRecurring(Map<Long, Long> minutesById,
+      Map<Long, Long> recurringMinutes) {
+    recurringMinutes.forEach((id, minutes) -> minutesById.merge(id, minutes, Long::sum));
+    return minutesById;
+  }
+
+  // Requested ids without any rollup row in the range report zero minutes.
+  private Map<Long, Long> toMap(Collection<Long> requestedIds, List<OwnerMinutes> rows) {
+    Map<Long, Long> minutesById = new TreeMap<>();
+    for (Long id : requestedIds) {
+      minutesById.put(id, 0L);
+    }
+    for (OwnerMinutes row : rows) {
+      minutesById.put(row.getOwnerId(), row.getMinutes());
+    }
+    return minutesById;
+  }
+
+  private WorkloadRollupMismatchDTO toDto(String ownerType,
+      DailyWorkloadMismatch mismatch) {
+    return new WorkloadRollupMismatchDTO(ownerType, mismatch.getOwnerId(),
+        mismatch.getWorkloadDate(), mismatch.getExpectedMinutes(),
+        mismatch.getRecordedMinutes());
+  }
+}
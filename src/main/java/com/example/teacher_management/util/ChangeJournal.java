@@ -0,0 +1,433 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of fixed-size change records in memory-mapped segment files.
+ * Each segment is named after the offset of its first record, so a record's file and
+ * position follow from its offset arithmetically. Timestamps never decrease, which lets
+ * a reader binary-search a segment for a point in time. Appends only write to the
+ * mapping; {@link #force()} flushes everything written since the previous call, so
+ * callers decide how many appends share one fsync. A record is checksummed, and
+ * reopening stops at the first record that fails its check, which drops a write torn by
+ * a crash.
+ *
+ * <p>Layout, little-endian: timestamp millis (8), entity id (8), teacher id (8), group
+ * id (8), routine epoch day (4), start and end second of day (4 + 4), entity type (1),
+ * operation (1), day of week (1), kind (1), end epoch day (4), CRC32 of the preceding
+ * 52 bytes (4). Absent values are 0 for ids and the day of week,
+ * {@link Integer#MIN_VALUE} for the days and -1 for the times.
+ *
+ * <p>A recurring routine is a record with its start date as the epoch day, its end date
+ * and its day of week, followed by one record of kind {@code EXCEPTION_DATE} per
+ * skipped date, carrying that date. The records of one entry are appended together.
+ */
+public class ChangeJournal implements Closeable {
+
+  public static final int RECORD_SIZE = 56;
+
+  private static final int ENTITY_ID = 8;
+  private static final int TEACHER_ID = 16;
+  private static final int GROUP_ID = 24;
+  private static final int EPOCH_DAY = 32;
+  private static final int START_SECOND = 36;
+  private static final int END_SECOND = 40;
+  private static final int ENTITY_TYPE = 44;
+  private static final int OPERATION = 45;
+  private static final int DAY_OF_WEEK = 46;
+  private static final int KIND = 47;
+  private static final int END_DAY = 48;
+  private static final int CHECKSUM = 52;
+  private static final int NO_DAY = Integer.MIN_VALUE;
+  private static final byte EXCEPTION_DATE = 1;
+  private static final String SUFFIX = ".journal";
+
+  private final Path directory;
+  private final int segmentRecords;
+  private final ConcurrentSkipListMap<Long, Segment> segments =
+      new ConcurrentSkipListMap<>();
+  private final CRC32 crc = new CRC32();
+  private Segment active;
+  private MappedByteBuffer activeBuffer;
+  private int flushedRecords;
+  private long lastTimestamp;
+
+  public ChangeJournal(Path directory, int segmentRecords) throws IOException {
+    this.directory = directory;
+    this.segmentRecords = segmentRecords;
+    Files.createDirectories(directory);
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path path : files.filter(path -> path.toString().endsWith(SUFFIX)).toList()) {
+        String name = path.getFileName().toString();
+        long baseOffset = Long.parseLong(
+            name.substring(0, name.length() - SUFFIX.length()));
+        int capacity = (int) (Files.size(path) / RECORD_SIZE);
+        segments.put(baseOffset, new Segment(path, baseOffset, capacity, capacity));
+      }
+    }
+    if (segments.isEmpty()) {
+      openSegment(0);
+    } else {
+      recover(segments.lastEntry().getValue());
+    }
+  }
+
+  /**
+   * One change; {@code routine} is null except for routine creates and updates, and
+   * {@code recurringRoutine} except for recurring routine creates and updates.
+   */
+  public record Entry(long timestamp, SyncEntityType entityType,
+      RoutineChangeType operation, long entityId, RoutineDTO routine,
+      RecurringRoutineDTO recurringRoutine) {
+
+    public Entry(long timestamp, SyncEntityType entityType, RoutineChangeType operation,
+        long entityId, RoutineDTO routine) {
+      this(timestamp, entityType, operation, entityId, routine, null);
+    }
+  }
+
+  /** Appends the entry and returns the offset of its first record. */
+  public synchronized long append(Entry entry) throws IOException {
+    // Kept monotonic so that readers can binary-search by time even if the clock
+    // steps back.
+    long timestamp = Math.max(entry.timestamp(), lastTimestamp);
+    long offset = nextOffset();
+    RoutineDTO routine = entry.routine();
+    RecurringRoutineDTO recurring = entry.recurringRoutine();
+    if (recurring != null) {
+      appendRecord(timestamp, entry, (byte) 0, recurring.getTeacherId(),
+          recurring.getGroupId(), recurring.getStartDate(), recurring.getStartTime(),
+          recurring.getEndTime(), recurring.getDayOfWeek(), recurring.getEndDate());
+      if (recurring.getExceptionDates() != null) {
+        for (LocalDate date : recurring.getExceptionDates()) {
+          appendRecord(timestamp, entry, EXCEPTION_DATE, null, null, date, null, null,
+              null, null);
+        }
+      }
+    } else if (routine != null) {
+      appendRecord(timestamp, entry, (byte) 0, routine.getTeacherId(),
+          routine.getGroupId(), routine.getRoutineDate(), routine.getStartTime(),
+          routine.getEndTime(), null, null);
+    } else {
+      appendRecord(timestamp, entry, (byte) 0, null, null, null, null, null, null, null);
+    }
+    lastTimestamp = timestamp;
+    return offset;
+  }
+
+  private void appendRecord(long timestamp, Entry entry, byte kind, Long teacherId,
+      Long groupId, LocalDate date, LocalTime startTime, LocalTime endTime,
+      DayOfWeek dayOfWeek, LocalDate endDate) throws IOException {
+    if (active.records == active.capacity) {
+      rotate();
+    }
+    int position = active.records * RECORD_SIZE;
+    ByteBuffer buffer = activeBuffer;
+    buffer.putLong(position, timestamp);
+    buffer.putLong(position + ENTITY_ID, entry.entityId());
+    buffer.putLong(position + TEACHER_ID, teacherId == null ? 0 : teacherId);
+    buffer.putLong(position + GROUP_ID, groupId == null ? 0 : groupId);
+    buffer.putInt(position + EPOCH_DAY, epochDay(date));
+    buffer.putInt(position + START_SECOND, secondOfDay(startTime));
+    buffer.putInt(position + END_SECOND, secondOfDay(endTime));
+    buffer.put(position + ENTITY_TYPE, (byte) (entry.entityType().ordinal() + 1));
+    buffer.put(position + OPERATION, (byte) (entry.operation().ordinal() + 1));
+    buffer.put(position + DAY_OF_WEEK,
+        (byte) (dayOfWeek == null ? 0 : dayOfWeek.getValue()));
+    buffer.put(position + KIND, kind);
+    buffer.putInt(position + END_DAY, epochDay(endDate));
+    buffer.putInt(position + CHECKSUM, checksum(buffer, position));
+    // The volatile count publishes the record to readers.
+    active.records++;
+  }
+
+  /** Flushes the records appended since the previous call to disk. */
+  public void force() {
+    MappedByteBuffer buffer;
+    int from;
+    int to;
+    synchronized (this) {
+      buffer = activeBuffer;
+      from = flushedRecords;
+      to = active.records;
+      flushedRecords = to;
+    }
+    // Outside the lock, so appends carry on while the disk catches up.
+    if (to > from) {
+      buffer.force(from * RECORD_SIZE, (to - from) * RECORD_SIZE);
+    }
+  }
+
+  /** The offset the next append will get. */
+  public synchronized long nextOffset() {
+    return active.baseOffset + active.records;
+  }
+
+  /**
+   * The record at {@code offset}. A recurring routine's exception dates are records of
+   * their own, so the routine read from its first record lists none.
+   */
+  public Optional<Entry> read(long offset) throws IOException {
+    Map.Entry<Long, Segment> floor = segments.floorEntry(offset);
+    if (floor == null || offset - floor.getKey() >= floor.getValue().records) {
+      return Optional.empty();
+    }
+    Cursor cursor = new Cursor(floor.getValue().readView(), floor.getKey());
+    cursor.moveTo((int) (offset - floor.getKey()));
+    return Optional.of(cursor.toEntry());
+  }
+
+  /**
+   * Visits every record stamped at or before {@code until}, oldest first. The cursor
+   * reads straight from the mapped segments, so nothing is copied for records the
+   * visitor skips; it is only valid during the call.
+   */
+  public void replay(long until, Consumer<Cursor> visitor) throws IOException {
+    for (Segment segment : segments.values()) {
+      int records = segment.records;
+      if (records == 0) {
+        return;
+      }
+      ByteBuffer view = segment.readView();
+      int end = upperBound(view, records, until);
+      Cursor cursor = new Cursor(view, segment.baseOffset);
+      for (int index = 0; index < end; index++) {
+        cursor.moveTo(index);
+        visitor.accept(cursor);
+      }
+      if (end < records) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    activeBuffer.force();
+    flushedRecords = active.records;
+  }
+
+  /** Read-only view of the record under it; see {@link #replay}. */
+  public static final class Cursor {
+    private final ByteBuffer view;
+    private final long baseOffset;
+    private int index;
+    private int position;
+
+    private Cursor(ByteBuffer view, long baseOffset) {
+      this.view = view;
+      this.baseOffset = baseOffset;
+    }
+
+    private void moveTo(int index) {
+      this.index = index;
+      this.position = index * RECORD_SIZE;
+    }
+
+    public long offset() {
+      return baseOffset + index;
+    }
+
+    public long timestamp() {
+      return view.getLong(position);
+    }
+
+    public SyncEntityType entityType() {
+      return SyncEntityType.values()[view.get(position + ENTITY_TYPE) - 1];
+    }
+
+    public RoutineChangeType operation() {
+      return RoutineChangeType.values()[view.get(position + OPERATION) - 1];
+    }
+
+    public long entityId() {
+      return view.getLong(position + ENTITY_ID);
+    }
+
+    public long teacherId() {
+      return view.getLong(position + TEACHER_ID);
+    }
+
+    public long groupId() {
+      return view.getLong(position + GROUP_ID);
+    }
+
+    public LocalDate routineDate() {
+      return dateOf(view.getInt(position + EPOCH_DAY));
+    }
+
+    /** Whether this record only adds {@link #routineDate} to the preceding one's skips. */
+    public boolean isExceptionDate() {
+      return view.get(position + KIND) == EXCEPTION_DATE;
+    }
+
+    /** The routine as written, or null if the record carries none. */
+    public RoutineDTO routine() {
+      if (entityType() != SyncEntityType.ROUTINE
+          || operation() == RoutineChangeType.DELETED) {
+        return null;
+      }
+      return new RoutineDTO(entityId(), timeOf(view.getInt(position + START_SECOND)),
+          timeOf(view.getInt(position + END_SECOND)), routineDate(),
+          idOf(teacherId()), idOf(groupId()));
+    }
+
+    /**
+     * The recurring routine as written, without exception dates, or null if the record
+     * carries none. The list is mutable, for the exception records that follow.
+     */
+    public RecurringRoutineDTO recurringRoutine() {
+      if (entityType() != SyncEntityType.RECURRING_ROUTINE
+          || operation() == RoutineChangeType.DELETED || isExceptionDate()) {
+        return null;
+      }
+      int dayOfWeek = view.get(position + DAY_OF_WEEK);
+      return new RecurringRoutineDTO(entityId(),
+          dayOfWeek == 0 ? null : DayOfWeek.of(dayOfWeek),
+          timeOf(view.getInt(position + START_SECOND)),
+          timeOf(view.getInt(position + END_SECOND)), routineDate(),
+          dateOf(view.getInt(position + END_DAY)), idOf(teacherId()), idOf(groupId()),
+          new ArrayList<>());
+    }
+
+    public Entry toEntry() {
+      return new Entry(timestamp(), entityType(), operation(), entityId(), routine(),
+          recurringRoutine());
+    }
+  }
+
+  private void recover(Segment last) throws IOException {
+    activeBuffer = map(last.path, last.capacity);
+    int records = 0;
+    while (records < last.capacity
+        && activeBuffer.getInt(records * RECORD_SIZE + CHECKSUM)
+            == checksum(activeBuffer, records * RECORD_SIZE)) {
+      records++;
+    }
+    last.records = records;
+    active = last;
+    flushedRecords = records;
+    for (Segment segment : segments.descendingMap().values()) {
+      if (segment.records > 0) {
+        lastTimestamp = segment.readView().getLong((segment.records - 1) * RECORD_SIZE);
+        break;
+      }
+    }
+  }
+
+  private void rotate() throws IOException {
+    activeBuffer.force();
+    openSegment(active.baseOffset + active.records);
+  }
+
+  private void openSegment(long baseOffset) throws IOException {
+    Path path = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+    Segment segment = new Segment(path, baseOffset, segmentRecords, 0);
+    activeBuffer = map(path, segmentRecords);
+    segments.put(baseOffset, segment);
+    active = segment;
+    flushedRecords = 0;
+  }
+
+  // Maps the whole segment up front; the file is extended (sparsely) to its full size.
+  private static MappedByteBuffer map(Path path, int capacity) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+          (long) capacity * RECORD_SIZE);
+      buffer.order(ByteOrder.LITTLE_ENDIAN);
+      return buffer;
+    }
+  }
+
+  private int checksum(ByteBuffer buffer, int position) {
+    crc.reset();
+    crc.update(buffer.slice(position, CHECKSUM));
+    return (int) crc.getValue();
+  }
+
+  // First index whose timestamp is after until, given that timestamps never decrease.
+  private static int upperBound(ByteBuffer view, int records, long until) {
+    int low = 0;
+    int high = records;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (view.getLong(middle * RECORD_SIZE) <= until) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static int epochDay(LocalDate date) {
+    return date == null ? NO_DAY : (int) date.toEpochDay();
+  }
+
+  private static LocalDate dateOf(int epochDay) {
+    return epochDay == NO_DAY ? null : LocalDate.ofEpochDay(epochDay);
+  }
+
+  private static int secondOfDay(LocalTime time) {
+    return time == null ? -1 : time.toSecondOfDay();
+  }
+
+  private static LocalTime timeOf(int secondOfDay) {
+    return secondOfDay < 0 ? null : LocalTime.ofSecondOfDay(secondOfDay);
+  }
+
+  private static Long idOf(long id) {
+    return id == 0 ? null : id;
+  }
+
+  private static final class Segment {
+    private final Path path;
+    private final long baseOffset;
+    private final int capacity;
+    private volatile int records;
+    private ByteBuffer readView;
+
+    private Segment(Path path, long baseOffset, int capacity, int records) {
+      this.path = path;
+      this.baseOffset = baseOffset;
+      this.capacity = capacity;
+      this.records = records;
+    }
+
+    // A second, read-only mapping of the same pages; it sees appends as they are made.
+    private synchronized ByteBuffer readView() throws IOException {
+      if (readView == null) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+          readView = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+              (long) capacity * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        }
+      }
+      // Each caller gets its own position; the bytes are shared.
+      return readView.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+  }
+}
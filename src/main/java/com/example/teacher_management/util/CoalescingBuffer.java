@@ -0,0 +1,56 @@
+package com.example.teacher_management.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded buffer for one slow consumer. A value offered under a key that is still
+ * pending replaces the older value and moves to the back, so a burst of changes to
+ * one item costs one slot. Once more than {@code capacity} keys are pending the buffer
+ * drops everything and reports an overflow, after which the consumer should resync
+ * instead of replaying. Thread-safe.
+ */
+public class CoalescingBuffer<K, V> {
+
+  private final int capacity;
+  private final LinkedHashMap<K, V> pending = new LinkedHashMap<>();
+  private boolean overflowed;
+
+  public CoalescingBuffer(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /** Returns false if the value was not kept because the buffer has overflowed. */
+  public synchronized boolean offer(K key, V value) {
+    if (overflowed) {
+      return false;
+    }
+    pending.remove(key);
+    pending.put(key, value);
+    if (pending.size() > capacity) {
+      pending.clear();
+      overflowed = true;
+      return false;
+    }
+    return true;
+  }
+
+  public synchronized boolean isEmpty() {
+    return pending.isEmpty() && !overflowed;
+  }
+
+  /** Whether the buffer overflowed since the last call; clears the flag. */
+  public synchronized boolean takeOverflow() {
+    boolean wasOverflowed = overflowed;
+    overflowed = false;
+    return wasOverflowed;
+  }
+
+  /** Removes and returns the pending values, oldest first. */
+  public synchronized List<V> drain() {
+    List<V> values = new ArrayList<>(pending.values());
+    pending.clear();
+    return values;
+  }
+}
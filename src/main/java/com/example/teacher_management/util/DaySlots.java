@@ -0,0 +1,111 @@
+package com.example.teacher_management.util;
+
+import java.time.LocalTime;
+import java.util.Base64;
+
+/**
+ * Occupancy of one day as a bitset of 288 five-minute slots packed into five longs.
+ * A routine covers every slot it touches, so 09:02-09:58 occupies 09:00-10:00.
+ */
+public class DaySlots {
+
+  public static final int SLOT_MINUTES = 5;
+  public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+  private final long[] words = new long[(SLOTS_PER_DAY + 63) / 64];
+
+  public static int startSlot(LocalTime start) {
+    return TimeUtil.minuteOfDay(start) / SLOT_MINUTES;
+  }
+
+  public static int endSlot(LocalTime end) {
+    return (TimeUtil.minuteOfDay(end) + SLOT_MINUTES - 1) / SLOT_MINUTES;
+  }
+
+  public static LocalTime timeOf(int slot) {
+    return slot >= SLOTS_PER_DAY ? LocalTime.MAX.withSecond(0).withNano(0)
+        : LocalTime.ofSecondOfDay((long) slot * SLOT_MINUTES * 60);
+  }
+
+  /** Marks the slots {@code [fromSlot, toSlot)}. */
+  public void mark(int fromSlot, int toSlot) {
+    int end = Math.min(toSlot, SLOTS_PER_DAY);
+    for (int slot = Math.max(fromSlot, 0); slot < end; slot++) {
+      words[slot >>> 6] |= 1L << slot;
+    }
+  }
+
+  public void mark(LocalTime start, LocalTime end) {
+    mark(startSlot(start), endSlot(end));
+  }
+
+  public boolean isOccupied(int slot) {
+    return (words[slot >>> 6] & (1L << slot)) != 0;
+  }
+
+  /** Whether any slot in {@code [fromSlot, toSlot)} is occupied. */
+  public boolean isOccupied(int fromSlot, int toSlot) {
+    int next = nextOccupied(fromSlot);
+    return next >= 0 && next < toSlot;
+  }
+
+  /** First occupied slot at or after {@code fromSlot}, or -1. */
+  public int nextOccupied(int fromSlot) {
+    if (fromSlot >= SLOTS_PER_DAY) {
+      return -1;
+    }
+    int index = fromSlot >>> 6;
+    long word = words[index] & (-1L << fromSlot);
+    while (true) {
+      if (word != 0) {
+        int slot = index * 64 + Long.numberOfTrailingZeros(word);
+        return slot < SLOTS_PER_DAY ? slot : -1;
+      }
+      if (++index == words.length) {
+        return -1;
+      }
+      word = words[index];
+    }
+  }
+
+  /** First free slot at or after {@code fromSlot}, or {@link #SLOTS_PER_DAY}. */
+  public int nextFree(int fromSlot) {
+    if (fromSlot >= SLOTS_PER_DAY) {
+      return SLOTS_PER_DAY;
+    }
+    int index = fromSlot >>> 6;
+    long word = ~words[index] & (-1L << fromSlot);
+    while (true) {
+      if (word != 0) {
+        return Math.min(index * 64 + Long.numberOfTrailingZeros(word), SLOTS_PER_DAY);
+      }
+      if (++index == words.length) {
+        return SLOTS_PER_DAY;
+      }
+      word = ~words[index];
+    }
+  }
+
+  public int occupiedCount() {
+    int count = 0;
+    for (long word : words) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  public void or(DaySlots other) {
+    for (int i = 0; i < words.length; i++) {
+      words[i] |= other.words[i];
+    }
+  }
+
+  /** The 288 bits as 36 bytes, slot 0 in the lowest bit of the first byte, base64. */
+  public String encode() {
+    byte[] bytes = new byte[SLOTS_PER_DAY / 8];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) * 8));
+    }
+    return Base64.getEncoder().encodeToString(bytes);
+  }
+}
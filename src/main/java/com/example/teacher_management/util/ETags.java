@@ -0,0 +1,63 @@
+package com.example.teacher_management.util;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Entity tags for conditional requests: an entity's tag is its {@code @Version}, a
+ * collection's the highest change sequence among its rows and tombstones. GET responses
+ * carry weak tags, which leave them open to compression and name no single encoding;
+ * write responses carry the strong form, for {@code If-Match}.
+ */
+public final class ETags {
+
+  private ETags() {
+  }
+
+  public static String of(long version) {
+    return "\"" + version + "\"";
+  }
+
+  public static String weak(long version) {
+    return "W/" + of(version);
+  }
+
+  /**
+   * Tags a GET response with {@link #weak} and reports whether {@code If-None-Match}
+   * already names it. JSON and CBOR share the tag, so the response varies on Accept.
+   */
+  public static boolean checkNotModified(WebRequest request, long version) {
+    if (request instanceof NativeWebRequest nativeRequest) {
+      HttpServletResponse response =
+          nativeRequest.getNativeResponse(HttpServletResponse.class);
+      if (response != null) {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+      }
+    }
+    return request.checkNotModified(weak(version));
+  }
+
+  /**
+   * The version named by an If-Match header, or null when there is none or it is
+   * {@code *}. Only a single tag, as handed out by {@link #of} or {@link #weak}, is
+   * accepted: both name the entity's version, which is all the update compares.
+   */
+  public static Long versionOf(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String tag = ifMatch.trim();
+    if (tag.startsWith("W/")) {
+      tag = tag.substring(2);
+    }
+    String digits = tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")
+        ? tag.substring(1, tag.length() - 1) : "";
+    if (!digits.isEmpty() && digits.length() < 19
+        && digits.chars().allMatch(Character::isDigit)) {
+      return Long.parseLong(digits);
+    }
+    throw new IllegalArgumentException("Invalid If-Match: " + ifMatch);
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.teacher_management.util;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code ?fields=} selection on routine, teacher and study group responses. The
+ * DTOs carry {@code @JsonFilter(FILTER_ID)}; a response is rendered through
+ * {@link #filters} so that only the selected properties are written.
+ */
+public final class FieldSelection {
+
+  public static final String FILTER_ID = "fields";
+
+  private FieldSelection() {
+  }
+
+  /**
+   * The comma-separated field names, in the order given; all of {@code allowed} when
+   * none are given.
+   */
+  public static Set<String> parse(String fields, List<String> allowed) {
+    Set<String> selected = names(fields);
+    if (selected.isEmpty()) {
+      return new LinkedHashSet<>(allowed);
+    }
+    for (String field : selected) {
+      if (!allowed.contains(field)) {
+        throw new IllegalArgumentException(
+            "Unknown field: " + field + ", expected some of " + allowed);
+      }
+    }
+    return selected;
+  }
+
+  /** Writes only the given properties of the filtered DTOs. */
+  public static FilterProvider filters(Set<String> fields) {
+    return new SimpleFilterProvider().addFilter(FILTER_ID,
+        SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+  }
+
+  /** As {@link #filters(Set)}, or {@link #unfiltered()} when no field is named. */
+  public static FilterProvider filters(String fields) {
+    Set<String> selected = names(fields);
+    return selected.isEmpty() ? unfiltered() : filters(selected);
+  }
+
+  /** Writes every property; for mappers that render the DTOs without a selection. */
+  public static FilterProvider unfiltered() {
+    return new SimpleFilterProvider().setFailOnUnknownId(false);
+  }
+
+  private static Set<String> names(String fields) {
+    Set<String> names = new LinkedHashSet<>();
+    if (fields != null) {
+      for (String field : fields.split(",")) {
+        if (!field.isBlank()) {
+          names.add(field.trim());
+        }
+      }
+    }
+    return names;
+  }
+}
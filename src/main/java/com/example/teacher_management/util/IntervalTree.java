@@ -0,0 +1,183 @@
+package com.example.teacher_management.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * AVL-balanced interval tree over half-open {@code [start, end)} ranges. Every node
+ * carries the largest end in its subtree, so overlap queries skip whole subtrees and
+ * run in O(log n + k). Not thread-safe.
+ */
+public class IntervalTree<V extends Comparable<V>> {
+
+  private Node<V> root;
+  private int size;
+
+  public void insert(long start, long end, V value) {
+    root = insert(root, new Node<>(start, end, value));
+    size++;
+  }
+
+  public boolean remove(long start, long end, V value) {
+    int before = size;
+    root = remove(root, start, end, value);
+    return size < before;
+  }
+
+  public List<V> findOverlapping(long start, long end) {
+    List<V> overlapping = new ArrayList<>();
+    collectOverlapping(root, start, end, overlapping);
+    return overlapping;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private void collectOverlapping(Node<V> node, long start, long end, List<V> result) {
+    if (node == null || node.maxEnd <= start) {
+      return;
+    }
+    collectOverlapping(node.left, start, end, result);
+    if (node.start >= end) {
+      // Everything to the right starts even later.
+      return;
+    }
+    if (node.end > start) {
+      result.add(node.value);
+    }
+    collectOverlapping(node.right, start, end, result);
+  }
+
+  private Node<V> insert(Node<V> node, Node<V> inserted) {
+    if (node == null) {
+      return inserted;
+    }
+    if (compare(inserted.start, inserted.end, inserted.value, node) < 0) {
+      node.left = insert(node.left, inserted);
+    } else {
+      node.right = insert(node.right, inserted);
+    }
+    return rebalance(node);
+  }
+
+  private Node<V> remove(Node<V> node, long start, long end, V value) {
+    if (node == null) {
+      return null;
+    }
+    int comparison = compare(start, end, value, node);
+    if (comparison < 0) {
+      node.left = remove(node.left, start, end, value);
+    } else if (comparison > 0) {
+      node.right = remove(node.right, start, end, value);
+    } else {
+      size--;
+      if (node.left == null) {
+        return node.right;
+      }
+      if (node.right == null) {
+        return node.left;
+      }
+      Node<V> successor = node.right;
+      while (successor.left != null) {
+        successor = successor.left;
+      }
+      node.right = removeMin(node.right);
+      successor.right = node.right;
+      successor.left = node.left;
+      node = successor;
+    }
+    return rebalance(node);
+  }
+
+  private Node<V> removeMin(Node<V> node) {
+    if (node.left == null) {
+      return node.right;
+    }
+    node.left = removeMin(node.left);
+    return rebalance(node);
+  }
+
+  private int compare(long start, long end, V value, Node<V> node) {
+    if (start != node.start) {
+      return Long.compare(start, node.start);
+    }
+    if (end != node.end) {
+      return Long.compare(end, node.end);
+    }
+    return value.compareTo(node.value);
+  }
+
+  private Node<V> rebalance(Node<V> node) {
+    update(node);
+    int balance = height(node.left) - height(node.right);
+    if (balance > 1) {
+      if (height(node.left.left) < height(node.left.right)) {
+        node.left = rotateLeft(node.left);
+      }
+      return rotateRight(node);
+    }
+    if (balance < -1) {
+      if (height(node.right.right) < height(node.right.left)) {
+        node.right = rotateRight(node.right);
+      }
+      return rotateLeft(node);
+    }
+    return node;
+  }
+
+  private Node<V> rotateRight(Node<V> node) {
+    Node<V> pivot = node.left;
+    node.left = pivot.right;
+    pivot.right = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private Node<V> rotateLeft(Node<V> node) {
+    Node<V> pivot = node.right;
+    node.right = pivot.left;
+    pivot.left = node;
+    update(node);
+    update(pivot);
+    return pivot;
+  }
+
+  private void update(Node<V> node) {
+    node.height = 1 + Math.max(height(node.left), height(node.right));
+    long maxEnd = node.end;
+    if (node.left != null) {
+      maxEnd = Math.max(maxEnd, node.left.maxEnd);
+    }
+    if (node.right != null) {
+      maxEnd = Math.max(maxEnd, node.right.maxEnd);
+    }
+    node.maxEnd = maxEnd;
+  }
+
+  private int height(Node<V> node) {
+    return node == null ? 0 : node.height;
+  }
+
+  private static class Node<V> {
+    private final long start;
+    private final long end;
+    private final V value;
+    private long maxEnd;
+    private int height = 1;
+    private Node<V> left;
+    private Node<V> right;
+
+    private Node(long start, long end, V value) {
+      this.start = start;
+      this.end = end;
+      this.value = value;
+      this.maxEnd = end;
+    }
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Date arithmetic over weekly recurring routines. A routine occurs on every
+ * {@code dayOfWeek} from {@code startDate} to {@code endDate}, both inclusive, except
+ * on its exception dates.
+ */
+public class Recurrence {
+  private Recurrence() {
+  }
+
+  public static boolean occursOn(RecurringRoutineDTO routine, LocalDate date) {
+    return date.getDayOfWeek() == routine.getDayOfWeek()
+        && !date.isBefore(routine.getStartDate()) && !date.isAfter(routine.getEndDate())
+        && (routine.getExceptionDates() == null
+            || !routine.getExceptionDates().contains(date));
+  }
+
+  /** Occurrences between the two dates, both inclusive, counted without expanding. */
+  public static long count(RecurringRoutineDTO routine, LocalDate from, LocalDate to) {
+    LocalDate first = firstOccurrence(routine, from);
+    LocalDate last = last(routine, to);
+    if (first.isAfter(last)) {
+      return 0;
+    }
+    long count = ChronoUnit.DAYS.between(first, last) / 7 + 1;
+    if (routine.getExceptionDates() != null) {
+      count -= new HashSet<>(routine.getExceptionDates()).stream()
+          .filter(date -> date.getDayOfWeek() == routine.getDayOfWeek()
+              && !date.isBefore(first) && !date.isAfter(last))
+          .count();
+    }
+    return count;
+  }
+
+  public static long minutes(RecurringRoutineDTO routine, LocalDate from, LocalDate to) {
+    return count(routine, from, to)
+        * TimeUtil.minutesBetween(routine.getStartTime(), routine.getEndTime());
+  }
+
+  public static List<RoutineOccurrenceDTO> expand(RecurringRoutineDTO routine,
+      LocalDate from, LocalDate to) {
+    List<RoutineOccurrenceDTO> occurrences = new ArrayList<>();
+    Set<LocalDate> exceptionDates = routine.getExceptionDates() == null ? Set.of()
+        : new HashSet<>(routine.getExceptionDates());
+    LocalDate last = last(routine, to);
+    for (LocalDate date = firstOccurrence(routine, from); !date.isAfter(last);
+        date = date.plusWeeks(1)) {
+      if (!exceptionDates.contains(date)) {
+        occurrences.add(new RoutineOccurrenceDTO(routine.getRecurringRoutineId(), date,
+            routine.getStartTime(), routine.getEndTime(), routine.getTeacherId(),
+            routine.getGroupId()));
+      }
+    }
+    return occurrences;
+  }
+
+  /**
+   * Occurrences of all the routines as routine views without a routine id, for code
+   * that only needs the booked slots.
+   */
+  public static List<RoutineDTO> expandAsRoutines(List<RecurringRoutineDTO> routines,
+      LocalDate from, LocalDate to) {
+    List<RoutineDTO> expanded = new ArrayList<>();
+    for (RecurringRoutineDTO routine : routines) {
+      for (RoutineOccurrenceDTO occurrence : expand(routine, from, to)) {
+        expanded.add(asRoutine(occurrence));
+      }
+    }
+    return expanded;
+  }
+
+  public static RoutineDTO asRoutine(RoutineOccurrenceDTO occurrence) {
+    return new RoutineDTO(null, occurrence.getStartTime(), occurrence.getEndTime(),
+        occurrence.getRoutineDate(), occurrence.getTeacherId(), occurrence.getGroupId());
+  }
+
+  /**
+   * Whether the two routines share a teacher or group and meet at overlapping times on
+   * at least one date that neither has excepted.
+   */
+  public static boolean overlaps(RecurringRoutineDTO a, RecurringRoutineDTO b) {
+    boolean sharedOwner = a.getTeacherId() != null
+        && a.getTeacherId().equals(b.getTeacherId())
+        || a.getGroupId() != null && a.getGroupId().equals(b.getGroupId());
+    if (!sharedOwner || a.getDayOfWeek() != b.getDayOfWeek()
+        || !a.getStartTime().isBefore(b.getEndTime())
+        || !b.getStartTime().isBefore(a.getEndTime())) {
+      return false;
+    }
+    LocalDate from = a.getStartDate().isAfter(b.getStartDate()) ? a.getStartDate()
+        : b.getStartDate();
+    LocalDate to = a.getEndDate().isBefore(b.getEndDate()) ? a.getEndDate()
+        : b.getEndDate();
+    return expand(a, from, to).stream()
+        .anyMatch(occurrence -> occursOn(b, occurrence.getRoutineDate()));
+  }
+
+  private static LocalDate firstOccurrence(RecurringRoutineDTO routine, LocalDate from) {
+    LocalDate start = from.isAfter(routine.getStartDate()) ? from : routine.getStartDate();
+    return start.with(TemporalAdjusters.nextOrSame(routine.getDayOfWeek()));
+  }
+
+  private static LocalDate last(RecurringRoutineDTO routine, LocalDate to) {
+    return to.isBefore(routine.getEndDate()) ? to : routine.getEndDate();
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns lines of the registrar's routine CSV into {@link RoutineDTO}s.
+ * Columns are located by header name, so their order in the file does not
+ * matter: {@code teacher_name, group_id, routine_date, start_time, end_time}.
+ * Teacher names and group ids are resolved against lookups loaded once per
+ * import. A line that cannot be used throws {@link IllegalArgumentException}
+ * with the reason.
+ */
+public class RoutineCsvReader {
+
+  /**
+   * Marks a teacher name shared by more than one teacher. Stored names are unique, but
+   * lookups are keyed by the trimmed name, so "Ann" and "Ann " still collide here.
+   */
+  public static final Long AMBIGUOUS_TEACHER = -1L;
+
+  private static final String[] COLUMNS = {"teacher_name", "group_id", "routine_date",
+      "start_time", "end_time"};
+
+  private final int[] positions = new int[COLUMNS.length];
+  private final Map<String, Long> teacherIdsByName;
+  private final Set<Long> groupIds;
+
+  public RoutineCsvReader(String headerLine, Map<String, Long> teacherIdsByName,
+      Set<Long> groupIds) {
+    if (ValidationUtil.isEmptyOrNull(headerLine)) {
+      throw new IllegalArgumentException("CSV header is missing");
+    }
+    List<String> header = splitLine(headerLine);
+    for (int i = 0; i < COLUMNS.length; i++) {
+      positions[i] = -1;
+      for (int j = 0; j < header.size(); j++) {
+        if (header.get(j).trim().toLowerCase(Locale.ROOT).equals(COLUMNS[i])) {
+          positions[i] = j;
+        }
+      }
+      if (positions[i] < 0) {
+        throw new IllegalArgumentException("CSV header has no column " + COLUMNS[i]);
+      }
+    }
+    this.teacherIdsByName = teacherIdsByName;
+    this.groupIds = groupIds;
+  }
+
+  public RoutineDTO read(String line) {
+    List<String> fields = splitLine(line);
+    String teacherName = field(fields, 0);
+    Long teacherId = teacherIdsByName.get(teacherName);
+    if (teacherId == null) {
+      throw new IllegalArgumentException("Unknown teacher: " + teacherName);
+    }
+    if (AMBIGUOUS_TEACHER.equals(teacherId)) {
+      throw new IllegalArgumentException("Ambiguous teacher name: " + teacherName);
+    }
+
+    RoutineDTO routine = new RoutineDTO();
+    routine.setTeacherId(teacherId);
+    try {
+      routine.setGroupId(Long.parseLong(field(fields, 1)));
+      routine.setRoutineDate(LocalDate.parse(field(fields, 2)));
+      routine.setStartTime(LocalTime.parse(field(fields, 3)));
+      routine.setEndTime(LocalTime.parse(field(fields, 4)));
+    } catch (NumberFormatException | DateTimeParseException e) {
+      throw new IllegalArgumentException("Malformed value: " + e.getMessage());
+    }
+    if (!groupIds.contains(routine.getGroupId())) {
+      throw new IllegalArgumentException("Unknown group id: " + routine.getGroupId());
+    }
+    if (!routine.getStartTime().isBefore(routine.getEndTime())) {
+      throw new IllegalArgumentException("Start time must be before end time");
+    }
+    return routine;
+  }
+
+  private String field(List<String> fields, int column) {
+    int position = positions[column];
+    if (position >= fields.size()) {
+      throw new IllegalArgumentException("Missing value for " + COLUMNS[column]);
+    }
+    return fields.get(position).trim();
+  }
+
+  static List<String> splitLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder current = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          current.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          current.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(current.toString());
+        current.setLength(0);
+      } else {
+        current.append(c);
+      }
+    }
+    fields.add(current.toString());
+    return fields;
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Scheduled slots per teacher and per group, one {@link IntervalTree} each, keyed on
+ * minutes since the epoch so a single tree covers every date. Values are caller
+ * chosen ids (routine ids, or CSV line numbers during an import). Not thread-safe.
+ */
+public class RoutineIntervalSet {
+
+  private static final long MINUTES_PER_DAY = 24 * 60;
+
+  private final Map<Long, IntervalTree<Long>> byTeacher = new HashMap<>();
+  private final Map<Long, IntervalTree<Long>> byGroup = new HashMap<>();
+
+  public static boolean isSchedulable(RoutineDTO routine) {
+    return routine.getRoutineDate() != null && routine.getStartTime() != null
+        && routine.getEndTime() != null;
+  }
+
+  public void add(Long id, RoutineDTO routine) {
+    if (!isSchedulable(routine)) {
+      return;
+    }
+    long start = start(routine);
+    long end = end(routine);
+    if (routine.getTeacherId() != null) {
+      byTeacher.computeIfAbsent(routine.getTeacherId(), owner -> new IntervalTree<>())
+          .insert(start, end, id);
+    }
+    if (routine.getGroupId() != null) {
+      byGroup.computeIfAbsent(routine.getGroupId(), owner -> new IntervalTree<>())
+          .insert(start, end, id);
+    }
+  }
+
+  public void remove(Long id, RoutineDTO routine) {
+    if (!isSchedulable(routine)) {
+      return;
+    }
+    remove(byTeacher, routine.getTeacherId(), start(routine), end(routine), id);
+    remove(byGroup, routine.getGroupId(), start(routine), end(routine), id);
+  }
+
+  /**
+   * Ids of the slots that overlap the routine for the same teacher or the same group,
+   * in ascending order. Touching slots (one ends when the next starts) do not clash.
+   */
+  public List<Long> findConflicts(RoutineDTO routine) {
+    if (!isSchedulable(routine)) {
+      return List.of();
+    }
+    TreeSet<Long> conflicts = new TreeSet<>();
+    long start = start(routine);
+    long end = end(routine);
+    IntervalTree<Long> teacherSlots = byTeacher.get(routine.getTeacherId());
+    if (teacherSlots != null) {
+      conflicts.addAll(teacherSlots.findOverlapping(start, end));
+    }
+    IntervalTree<Long> groupSlots = byGroup.get(routine.getGroupId());
+    if (groupSlots != null) {
+      conflicts.addAll(groupSlots.findOverlapping(start, end));
+    }
+    return List.copyOf(conflicts);
+  }
+
+  public void clear() {
+    byTeacher.clear();
+    byGroup.clear();
+  }
+
+  private void remove(Map<Long, IntervalTree<Long>> trees, Long ownerId, long start,
+      long end, Long id) {
+    IntervalTree<Long> tree = ownerId == null ? null : trees.get(ownerId);
+    if (tree != null && tree.remove(start, end, id) && tree.isEmpty()) {
+      trees.remove(ownerId);
+    }
+  }
+
+  private static long start(RoutineDTO routine) {
+    return routine.getRoutineDate().toEpochDay() * MINUTES_PER_DAY
+        + TimeUtil.minuteOfDay(routine.getStartTime());
+  }
+
+  private static long end(RoutineDTO routine) {
+    return routine.getRoutineDate().toEpochDay() * MINUTES_PER_DAY
+        + TimeUtil.minuteOfDay(routine.getEndTime());
+  }
+}
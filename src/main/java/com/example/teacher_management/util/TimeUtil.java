@@ -0,0 +1,16 @@
+package com.example.teacher_management.util;
+
+import java.time.LocalTime;
+
+public class TimeUtil {
+  private TimeUtil() {
+  }
+
+  public static int minuteOfDay(LocalTime time) {
+    return time.getHour() * 60 + time.getMinute();
+  }
+
+  public static long minutesBetween(LocalTime start, LocalTime end) {
+    return minuteOfDay(end) - minuteOfDay(start);
+  }
+}
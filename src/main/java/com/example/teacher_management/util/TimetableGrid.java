@@ -0,0 +1,82 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableDayDTO;
+import com.example.teacher_management.dto.TimetableEntryDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class TimetableGrid {
+  public static final int DAYS_PER_WEEK = 7;
+
+  private TimetableGrid() {
+  }
+
+  public static LocalDate weekStart(LocalDate date) {
+    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  public static TimetableDTO build(TimetableOwner owner, Long ownerId,
+      LocalDate weekStart, List<RoutineDTO> routines) {
+    return build(owner, ownerId, weekStart, routines, List.of());
+  }
+
+  /**
+   * Lays out one week of routines and recurring routine occurrences; anything outside
+   * the week is ignored.
+   */
+  public static TimetableDTO build(TimetableOwner owner, Long ownerId,
+      LocalDate weekStart, List<RoutineDTO> routines,
+      List<RoutineOccurrenceDTO> occurrences) {
+    DaySlots[] slots = new DaySlots[DAYS_PER_WEEK];
+    List<List<TimetableEntryDTO>> entries = new ArrayList<>(DAYS_PER_WEEK);
+    for (int day = 0; day < DAYS_PER_WEEK; day++) {
+      slots[day] = new DaySlots();
+      entries.add(new ArrayList<>());
+    }
+    for (RoutineDTO routine : routines) {
+      if (!RoutineIntervalSet.isSchedulable(routine)) {
+        continue;
+      }
+      int day = (int) (routine.getRoutineDate().toEpochDay() - weekStart.toEpochDay());
+      if (day < 0 || day >= DAYS_PER_WEEK) {
+        continue;
+      }
+      int startSlot = DaySlots.startSlot(routine.getStartTime());
+      int endSlot = DaySlots.endSlot(routine.getEndTime());
+      slots[day].mark(startSlot, endSlot);
+      entries.get(day).add(new TimetableEntryDTO(routine.getRoutineId(), null, startSlot,
+          endSlot, routine.getTeacherId(), routine.getGroupId()));
+    }
+    for (RoutineOccurrenceDTO occurrence : occurrences) {
+      int day = (int) (occurrence.getRoutineDate().toEpochDay() - weekStart.toEpochDay());
+      if (day < 0 || day >= DAYS_PER_WEEK) {
+        continue;
+      }
+      int startSlot = DaySlots.startSlot(occurrence.getStartTime());
+      int endSlot = DaySlots.endSlot(occurrence.getEndTime());
+      slots[day].mark(startSlot, endSlot);
+      entries.get(day).add(new TimetableEntryDTO(null,
+          occurrence.getRecurringRoutineId(), startSlot, endSlot,
+          occurrence.getTeacherId(), occurrence.getGroupId()));
+    }
+    for (List<TimetableEntryDTO> dayEntries : entries) {
+      dayEntries.sort(Comparator.comparingInt(TimetableEntryDTO::getStartSlot));
+    }
+
+    List<TimetableDayDTO> days = new ArrayList<>(DAYS_PER_WEEK);
+    for (int day = 0; day < DAYS_PER_WEEK; day++) {
+      days.add(new TimetableDayDTO(weekStart.plusDays(day), slots[day].occupiedCount(),
+          slots[day].encode(), entries.get(day)));
+    }
+    return new TimetableDTO(owner, ownerId, weekStart, DaySlots.SLOT_MINUTES, days);
+  }
+}
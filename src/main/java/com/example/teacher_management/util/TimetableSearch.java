@@ -0,0 +1,230 @@
+package com.example.teacher_management.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Min-conflicts local search over a weekly template. Each session gets a day, a start
+ * slot and one of its eligible teachers; the cost is the number of slots where a
+ * teacher or group is double-booked or already busy, plus the slots by which a
+ * teacher's weekly load exceeds its cap. Instances are immutable and can be searched
+ * from several threads at once, each call keeping its own state.
+ */
+public class TimetableSearch {
+
+  private static final double NOISE = 0.1;
+
+  private final int dayCount;
+  private final int firstSlot;
+  private final int lastSlot;
+  private final int step;
+  private final Session[] sessions;
+  private final DaySlots[][] teacherBusy;
+  private final DaySlots[][] groupBusy;
+  private final int[] teacherCapSlots;
+
+  /**
+   * @param firstSlot       the earliest start; sessions start at it plus a multiple of
+   *                        {@code step}, so it should itself be a multiple of it
+   * @param lastSlot        the slot by which every session must have ended
+   * @param teacherBusy     per teacher index and day, slots that are already taken
+   * @param groupBusy       per group index and day, slots that are already taken
+   * @param teacherCapSlots per teacher index, the most slots it may teach in a week
+   */
+  public TimetableSearch(int dayCount, int firstSlot, int lastSlot, int step,
+      List<Session> sessions, DaySlots[][] teacherBusy, DaySlots[][] groupBusy,
+      int[] teacherCapSlots) {
+    this.dayCount = dayCount;
+    this.firstSlot = firstSlot;
+    this.lastSlot = lastSlot;
+    this.step = Math.max(1, step);
+    this.sessions = sessions.toArray(new Session[0]);
+    this.teacherBusy = teacherBusy;
+    this.groupBusy = groupBusy;
+    this.teacherCapSlots = teacherCapSlots;
+  }
+
+  public Result search(long seed, long deadlineNanos) {
+    return new Run(new Random(seed)).solve(deadlineNanos);
+  }
+
+  /** One session to place: a group index, its eligible teacher indexes and a length. */
+  public record Session(int group, int[] teachers, int slots) {
+  }
+
+  /** Placement per session (day index, start slot, teacher index) and its cost. */
+  public record Result(int[] days, int[] starts, int[] teachers, int cost,
+      long iterations) {
+  }
+
+  private class Run {
+    private final Random random;
+    private final int[][] teacherUse;
+    private final int[][] groupUse;
+    private final int[] teacherLoad;
+    private final int[] days = new int[sessions.length];
+    private final int[] starts = new int[sessions.length];
+    private final int[] teachers = new int[sessions.length];
+
+    private Run(Random random) {
+      this.random = random;
+      this.teacherUse = new int[teacherBusy.length][dayCount * DaySlots.SLOTS_PER_DAY];
+      this.groupUse = new int[groupBusy.length][dayCount * DaySlots.SLOTS_PER_DAY];
+      this.teacherLoad = new int[teacherBusy.length];
+    }
+
+    private Result solve(long deadlineNanos) {
+      int cost = 0;
+      for (int s = 0; s < sessions.length; s++) {
+        cost += place(s, randomDay(), randomStart(s), randomTeacher(s));
+      }
+      int bestCost = cost;
+      int[] bestDays = days.clone();
+      int[] bestStarts = starts.clone();
+      int[] bestTeachers = teachers.clone();
+
+      long iterations = 0;
+      List<Integer> conflicted = new ArrayList<>();
+      while (bestCost > 0 && System.nanoTime() < deadlineNanos) {
+        iterations++;
+        conflicted.clear();
+        for (int s = 0; s < sessions.length; s++) {
+          if (isConflicted(s)) {
+            conflicted.add(s);
+          }
+        }
+        if (conflicted.isEmpty()) {
+          break;
+        }
+        int s = conflicted.get(random.nextInt(conflicted.size()));
+        cost -= remove(s);
+        if (random.nextDouble() < NOISE) {
+          cost += place(s, randomDay(), randomStart(s), randomTeacher(s));
+        } else {
+          cost += placeBest(s);
+        }
+        if (cost < bestCost) {
+          bestCost = cost;
+          bestDays = days.clone();
+          bestStarts = starts.clone();
+          bestTeachers = teachers.clone();
+        }
+      }
+      return new Result(bestDays, bestStarts, bestTeachers, bestCost, iterations);
+    }
+
+    private int placeBest(int s) {
+      Session session = sessions[s];
+      int bestCost = Integer.MAX_VALUE;
+      int ties = 0;
+      int bestDay = 0;
+      int bestStart = firstSlot;
+      int bestTeacher = session.teachers()[0];
+      for (int teacher : session.teachers()) {
+        for (int day = 0; day < dayCount; day++) {
+          for (int start = firstSlot; start + session.slots() <= lastSlot; start += step) {
+            int candidate = costAt(session, day, start, teacher);
+            if (candidate < bestCost) {
+              bestCost = candidate;
+              ties = 1;
+              bestDay = day;
+              bestStart = start;
+              bestTeacher = teacher;
+            } else if (candidate == bestCost && random.nextInt(++ties) == 0) {
+              bestDay = day;
+              bestStart = start;
+              bestTeacher = teacher;
+            }
+          }
+        }
+      }
+      return place(s, bestDay, bestStart, bestTeacher);
+    }
+
+    // Cost the session would add at this placement, given everything else placed.
+    private int costAt(Session session, int day, int start, int teacher) {
+      int cost = 0;
+      int offset = day * DaySlots.SLOTS_PER_DAY;
+      DaySlots teacherDay = teacherBusy[teacher][day];
+      DaySlots groupDay = groupBusy[session.group()][day];
+      int[] teacherSlots = teacherUse[teacher];
+      int[] groupSlots = groupUse[session.group()];
+      for (int slot = start; slot < start + session.slots(); slot++) {
+        cost += teacherSlots[offset + slot] + groupSlots[offset + slot];
+        if (teacherDay.isOccupied(slot)) {
+          cost++;
+        }
+        if (groupDay.isOccupied(slot)) {
+          cost++;
+        }
+      }
+      return cost + overflow(teacher, teacherLoad[teacher] + session.slots())
+          - overflow(teacher, teacherLoad[teacher]);
+    }
+
+    private int place(int s, int day, int start, int teacher) {
+      Session session = sessions[s];
+      int cost = costAt(session, day, start, teacher);
+      int offset = day * DaySlots.SLOTS_PER_DAY;
+      for (int slot = start; slot < start + session.slots(); slot++) {
+        teacherUse[teacher][offset + slot]++;
+        groupUse[session.group()][offset + slot]++;
+      }
+      teacherLoad[teacher] += session.slots();
+      days[s] = day;
+      starts[s] = start;
+      teachers[s] = teacher;
+      return cost;
+    }
+
+    private int remove(int s) {
+      Session session = sessions[s];
+      int teacher = teachers[s];
+      int offset = days[s] * DaySlots.SLOTS_PER_DAY;
+      for (int slot = starts[s]; slot < starts[s] + session.slots(); slot++) {
+        teacherUse[teacher][offset + slot]--;
+        groupUse[session.group()][offset + slot]--;
+      }
+      teacherLoad[teacher] -= session.slots();
+      return costAt(session, days[s], starts[s], teacher);
+    }
+
+    private boolean isConflicted(int s) {
+      Session session = sessions[s];
+      int teacher = teachers[s];
+      if (overflow(teacher, teacherLoad[teacher]) > 0) {
+        return true;
+      }
+      int offset = days[s] * DaySlots.SLOTS_PER_DAY;
+      DaySlots teacherDay = teacherBusy[teacher][days[s]];
+      DaySlots groupDay = groupBusy[session.group()][days[s]];
+      for (int slot = starts[s]; slot < starts[s] + session.slots(); slot++) {
+        if (teacherUse[teacher][offset + slot] > 1
+            || groupUse[session.group()][offset + slot] > 1
+            || teacherDay.isOccupied(slot) || groupDay.isOccupied(slot)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private int overflow(int teacher, int load) {
+      return Math.max(0, load - teacherCapSlots[teacher]);
+    }
+
+    private int randomDay() {
+      return random.nextInt(dayCount);
+    }
+
+    private int randomStart(int s) {
+      int positions = (lastSlot - sessions[s].slots() - firstSlot) / step + 1;
+      return firstSlot + random.nextInt(Math.max(positions, 1)) * step;
+    }
+
+    private int randomTeacher(int s) {
+      int[] eligible = sessions[s].teachers();
+      return eligible[random.nextInt(eligible.length)];
+    }
+  }
+}
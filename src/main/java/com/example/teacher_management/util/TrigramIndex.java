@@ -0,0 +1,143 @@
+package com.example.teacher_management.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index from character trigrams to documents, for prefix and typo-tolerant
+ * search over short text such as names. Text is lower-cased, stripped of accents and
+ * split into words; each word is padded the way pg_trgm pads it (two spaces in front,
+ * one behind), so leading characters weigh more. The last query word is left unpadded
+ * at the end, which makes it match as a prefix. A document's score is the share of the
+ * query's trigrams it contains. Not thread-safe.
+ */
+public class TrigramIndex<V> {
+
+  private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final Map<Long, Set<Long>> postings = new HashMap<>();
+  private final Map<Long, Document<V>> documents = new HashMap<>();
+
+  /** A search result: the indexed value, its score in (0, 1] and a prefix flag. */
+  public record Hit<V>(Long id, V value, double score, boolean prefix) {
+  }
+
+  private record Document<V>(V value, Set<Long> trigrams, List<String> words) {
+  }
+
+  public void put(Long id, V value, String... fields) {
+    remove(id);
+    List<String> words = new ArrayList<>();
+    for (String field : fields) {
+      words.addAll(words(field));
+    }
+    Set<Long> trigrams = new HashSet<>();
+    for (String word : words) {
+      addTrigrams(word, true, trigrams);
+    }
+    documents.put(id, new Document<>(value, trigrams, words));
+    for (Long trigram : trigrams) {
+      postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(id);
+    }
+  }
+
+  public void remove(Long id) {
+    Document<V> document = documents.remove(id);
+    if (document == null) {
+      return;
+    }
+    for (Long trigram : document.trigrams()) {
+      Set<Long> ids = postings.get(trigram);
+      ids.remove(id);
+      if (ids.isEmpty()) {
+        postings.remove(trigram);
+      }
+    }
+  }
+
+  public void clear() {
+    postings.clear();
+    documents.clear();
+  }
+
+  public int size() {
+    return documents.size();
+  }
+
+  /**
+   * Documents sharing at least {@code minScore} of the query's trigrams, best first.
+   * Documents with a word starting with the last query word rank ahead of the rest.
+   */
+  public List<Hit<V>> search(String query, double minScore, int limit) {
+    List<String> queryWords = words(query);
+    if (queryWords.isEmpty() || limit <= 0) {
+      return List.of();
+    }
+    Set<Long> queryTrigrams = new HashSet<>();
+    for (int i = 0; i < queryWords.size(); i++) {
+      addTrigrams(queryWords.get(i), i < queryWords.size() - 1, queryTrigrams);
+    }
+
+    // Only documents on at least one posting list are ever looked at.
+    Map<Long, Integer> matches = new HashMap<>();
+    for (Long trigram : queryTrigrams) {
+      for (Long id : postings.getOrDefault(trigram, Set.of())) {
+        matches.merge(id, 1, Integer::sum);
+      }
+    }
+    String lastWord = queryWords.get(queryWords.size() - 1);
+    List<Hit<V>> hits = new ArrayList<>();
+    Map<Long, Integer> prefixLengths = new HashMap<>();
+    for (Map.Entry<Long, Integer> match : matches.entrySet()) {
+      double score = (double) match.getValue() / queryTrigrams.size();
+      if (score >= minScore) {
+        Document<V> document = documents.get(match.getKey());
+        int prefixLength = document.words().stream()
+            .filter(word -> word.startsWith(lastWord))
+            .mapToInt(String::length).min().orElse(Integer.MAX_VALUE);
+        prefixLengths.put(match.getKey(), prefixLength);
+        hits.add(new Hit<>(match.getKey(), document.value(), score,
+            prefixLength != Integer.MAX_VALUE));
+      }
+    }
+    // Among prefix matches the shortest completion wins, so an exact word comes first.
+    hits.sort(Comparator.comparing((Hit<V> hit) -> !hit.prefix())
+        .thenComparing(Hit::score, Comparator.reverseOrder())
+        .thenComparing(hit -> prefixLengths.get(hit.id()))
+        .thenComparing(Hit::id));
+    return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+  }
+
+  static List<String> words(String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+    String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+        .replaceAll("").toLowerCase(Locale.ROOT);
+    List<String> words = new ArrayList<>();
+    for (String word : SEPARATORS.split(folded)) {
+      if (!word.isEmpty()) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+
+  // Each trigram is packed into a long, 16 bits per character.
+  private static void addTrigrams(String word, boolean padEnd, Set<Long> trigrams) {
+    String padded = "  " + word + (padEnd ? " " : "");
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      trigrams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+          | padded.charAt(i + 2));
+    }
+  }
+}
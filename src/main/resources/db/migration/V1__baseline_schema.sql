@@ -0,0 +1,41 @@
+-- Baseline of the schema previously generated by hibernate ddl-auto=update.
+-- Written to be idempotent so it also applies to databases created that way.
+
+CREATE TABLE IF NOT EXISTS teacher (
+    teacher_id bigint       NOT NULL PRIMARY KEY,
+    name       varchar(255),
+    department varchar(255),
+    email      varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS study_group (
+    group_id    bigint       NOT NULL PRIMARY KEY,
+    group_name  varchar(255),
+    description varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS routine (
+    routine_id   bigint NOT NULL PRIMARY KEY,
+    start_time   time(6),
+    end_time     time(6),
+    routine_date date,
+    teacher_id   bigint REFERENCES teacher (teacher_id),
+    group_id     bigint REFERENCES study_group (group_id)
+);
+
+CREATE SEQUENCE IF NOT EXISTS teacher_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS study_group_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS routine_seq START WITH 1 INCREMENT BY 50;
+
+-- Hibernate's pooled optimizer uses ids (value - 49 .. value] for each value it
+-- draws, so move every sequence a full block past both the highest existing id
+-- and any block already handed out.
+SELECT setval('teacher_seq', GREATEST(
+    (SELECT COALESCE(MAX(teacher_id), 0) FROM teacher),
+    (SELECT last_value FROM teacher_seq)) + 50, false);
+SELECT setval('study_group_seq', GREATEST(
+    (SELECT COALESCE(MAX(group_id), 0) FROM study_group),
+    (SELECT last_value FROM study_group_seq)) + 50, false);
+SELECT setval('routine_seq', GREATEST(
+    (SELECT COALESCE(MAX(routine_id), 0) FROM routine),
+    (SELECT last_value FROM routine_seq)) + 50, false);
@@ -0,0 +1,35 @@
+-- Workload sums, teacher-filtered listings and CSV duplicate checks.
+CREATE INDEX IF NOT EXISTS idx_routine_teacher_date
+    ON routine (teacher_id, routine_date) INCLUDE (start_time, end_time);
+
+-- Group workload and group-filtered listings.
+CREATE INDEX IF NOT EXISTS idx_routine_group_date
+    ON routine (group_id, routine_date) INCLUDE (start_time, end_time);
+
+-- Keyset order of GET /api/routines.
+CREATE INDEX IF NOT EXISTS idx_routine_date_id
+    ON routine (routine_date, routine_id);
+
+-- Workload lookups resolve teachers by name, which must therefore be unique.
+-- Existing duplicates would fail the index with a bare unique violation, so stop
+-- first with a message that lists them.
+DO $$
+DECLARE
+    duplicates text;
+BEGIN
+    SELECT string_agg(format('"%s" (ids %s)', name, ids), '; ')
+      INTO duplicates
+      FROM (SELECT name, string_agg(teacher_id::text, ', ' ORDER BY teacher_id) AS ids
+              FROM teacher
+             WHERE name IS NOT NULL
+             GROUP BY name
+            HAVING count(*) > 1) shared;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'Teacher names must be unique before uq_teacher_name is created: %',
+            duplicates
+            USING HINT = 'Rename the listed teachers and restart; see the README''s Setup.';
+    END IF;
+END $$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_teacher_name
+    ON teacher (name);
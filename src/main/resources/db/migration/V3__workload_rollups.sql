@@ -0,0 +1,31 @@
+-- Scheduled minutes per teacher and per group per day, kept in step with the
+-- routine table by the service layer so workload reads touch one row per day.
+CREATE TABLE teacher_daily_workload (
+    teacher_id    bigint NOT NULL,
+    workload_date date   NOT NULL,
+    minutes       bigint NOT NULL,
+    PRIMARY KEY (teacher_id, workload_date)
+);
+
+CREATE TABLE group_daily_workload (
+    group_id      bigint NOT NULL,
+    workload_date date   NOT NULL,
+    minutes       bigint NOT NULL,
+    PRIMARY KEY (group_id, workload_date)
+);
+
+INSERT INTO teacher_daily_workload (teacher_id, workload_date, minutes)
+SELECT teacher_id, routine_date,
+       SUM(EXTRACT(HOUR FROM end_time) * 60 + EXTRACT(MINUTE FROM end_time)
+           - EXTRACT(HOUR FROM start_time) * 60 - EXTRACT(MINUTE FROM start_time))::bigint
+FROM routine
+WHERE teacher_id IS NOT NULL AND routine_date IS NOT NULL
+GROUP BY teacher_id, routine_date;
+
+INSERT INTO group_daily_workload (group_id, workload_date, minutes)
+SELECT group_id, routine_date,
+       SUM(EXTRACT(HOUR FROM end_time) * 60 + EXTRACT(MINUTE FROM end_time)
+           - EXTRACT(HOUR FROM start_time) * 60 - EXTRACT(MINUTE FROM start_time))::bigint
+FROM routine
+WHERE group_id IS NOT NULL AND routine_date IS NOT NULL
+GROUP BY group_id, routine_date;
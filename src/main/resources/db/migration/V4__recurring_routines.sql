@@ -0,0 +1,28 @@
+-- Weekly routines stored once as a pattern instead of one routine row per week.
+-- Occurrences are expanded in the application; exception dates cancel single weeks.
+CREATE TABLE recurring_routine (
+    recurring_routine_id bigint      NOT NULL PRIMARY KEY,
+    day_of_week          varchar(9)  NOT NULL,
+    start_time           time(6)     NOT NULL,
+    end_time             time(6)     NOT NULL,
+    start_date           date        NOT NULL,
+    end_date             date        NOT NULL,
+    teacher_id           bigint      NOT NULL REFERENCES teacher (teacher_id),
+    group_id             bigint      NOT NULL REFERENCES study_group (group_id),
+    CHECK (start_time < end_time),
+    CHECK (start_date <= end_date)
+);
+
+CREATE TABLE recurring_routine_exception (
+    recurring_routine_id bigint NOT NULL
+        REFERENCES recurring_routine (recurring_routine_id) ON DELETE CASCADE,
+    exception_date       date   NOT NULL,
+    PRIMARY KEY (recurring_routine_id, exception_date)
+);
+
+CREATE SEQUENCE recurring_routine_seq START WITH 1 INCREMENT BY 50;
+
+CREATE INDEX idx_recurring_routine_teacher_dates
+    ON recurring_routine (teacher_id, start_date, end_date);
+CREATE INDEX idx_recurring_routine_group_dates
+    ON recurring_routine (group_id, start_date, end_date);
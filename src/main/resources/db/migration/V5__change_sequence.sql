@@ -0,0 +1,31 @@
+-- Delta sync: every write stamps the row with the next value of one global sequence,
+-- and every delete leaves a tombstone, so "what changed after N" is an index range
+-- scan per table.
+CREATE SEQUENCE change_seq;
+
+ALTER TABLE routine ADD COLUMN change_seq bigint;
+ALTER TABLE teacher ADD COLUMN change_seq bigint;
+ALTER TABLE study_group ADD COLUMN change_seq bigint;
+
+UPDATE teacher SET change_seq = nextval('change_seq');
+UPDATE study_group SET change_seq = nextval('change_seq');
+UPDATE routine SET change_seq = nextval('change_seq');
+
+-- The services assign the value themselves; the default covers the SQL-only insert
+-- of the CSV import.
+ALTER TABLE routine ALTER COLUMN change_seq SET DEFAULT nextval('change_seq'),
+    ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE teacher ALTER COLUMN change_seq SET DEFAULT nextval('change_seq'),
+    ALTER COLUMN change_seq SET NOT NULL;
+ALTER TABLE study_group ALTER COLUMN change_seq SET DEFAULT nextval('change_seq'),
+    ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE UNIQUE INDEX idx_routine_change_seq ON routine (change_seq);
+CREATE UNIQUE INDEX idx_teacher_change_seq ON teacher (change_seq);
+CREATE UNIQUE INDEX idx_study_group_change_seq ON study_group (change_seq);
+
+CREATE TABLE tombstone (
+    change_seq  bigint      NOT NULL PRIMARY KEY,
+    entity_type varchar(16) NOT NULL,
+    entity_id   bigint      NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Department-filtered teacher listings, in keyset (teacher_id) order.
+CREATE INDEX IF NOT EXISTS idx_teacher_department_id
+    ON teacher (department, teacher_id);
+
+-- Name prefix filters are LIKE 'prefix%', which only a pattern_ops index can serve
+-- under a non-C collation.
+CREATE INDEX IF NOT EXISTS idx_teacher_name_pattern
+    ON teacher (name varchar_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_study_group_name_pattern
+    ON study_group (group_name varchar_pattern_ops);
@@ -0,0 +1,5 @@
+-- Optimistic-lock versions: JPA bumps the column on every update, and the API hands it
+-- out as the entity's ETag. Existing rows and the SQL-only CSV import start at 0.
+ALTER TABLE teacher ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE study_group ADD COLUMN version bigint NOT NULL DEFAULT 0;
+ALTER TABLE routine ADD COLUMN version bigint NOT NULL DEFAULT 0;
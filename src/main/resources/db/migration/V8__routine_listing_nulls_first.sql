@@ -0,0 +1,5 @@
+-- GET /api/routines lists routines without a date first, so the keyset index has to
+-- hold them in that order too.
+DROP INDEX IF EXISTS idx_routine_date_id;
+CREATE INDEX idx_routine_date_id
+    ON routine (routine_date NULLS FIRST, routine_id);
@@ -0,0 +1,77 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+  @Mock
+  private TeacherRepository teacherRepository;
+
+  @Mock
+  private GroupRepository groupRepository;
+
+  @Mock
+  private CacheManager cacheManager;
+
+  @Mock
+  private Cache teachersById;
+
+  @Mock
+  private Cache teachersByName;
+
+  private ReferenceDataCache referenceDataCache;
+
+  @BeforeEach
+  void setUp() {
+    referenceDataCache = new ReferenceDataCache(teacherRepository, groupRepository,
+        cacheManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void evictTeacher_waitsForCommit() {
+    when(cacheManager.getCache(ReferenceDataCache.TEACHERS_BY_ID))
+        .thenReturn(teachersById);
+    when(cacheManager.getCache(ReferenceDataCache.TEACHERS_BY_NAME))
+        .thenReturn(teachersByName);
+    TransactionSynchronizationManager.initSynchronization();
+
+    referenceDataCache.evictTeacher(1L);
+    verifyNoInteractions(cacheManager);
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+
+    verify(teachersById, times(1)).evict(1L);
+    verify(teachersByName, times(1)).clear();
+  }
+
+  @Test
+  void evictGroup_withoutTransactionEvictsImmediately() {
+    Cache groupsById = mock(Cache.class);
+    when(cacheManager.getCache(ReferenceDataCache.GROUPS_BY_ID)).thenReturn(groupsById);
+
+    referenceDataCache.evictGroup(7L);
+
+    verify(groupsById, times(1)).evict(7L);
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutineConflictIndexTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+  @Mock
+  private RoutineRepository routineRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  private RoutineConflictIndex routineConflictIndex;
+
+  @BeforeEach
+  void setUp() {
+    routineConflictIndex = new RoutineConflictIndex(routineRepository,
+        recurringRoutineRepository);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private RoutineDTO routine(Long id, Long teacherId, Long groupId, int startHour) {
+    return new RoutineDTO(id, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0),
+        MONDAY, teacherId, groupId);
+  }
+
+  private RecurringRoutineDTO weekly(Long id, Long teacherId, Long groupId) {
+    return new RecurringRoutineDTO(id, DayOfWeek.MONDAY, LocalTime.of(14, 0),
+        LocalTime.of(15, 0), MONDAY, MONDAY.plusWeeks(4), teacherId, groupId, List.of());
+  }
+
+  private void completeTransaction(int status) {
+    List<TransactionSynchronization> synchronizations =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+    synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+  }
+
+  @Test
+  void applyChanges_rejectsClashWithinTheSameCall() {
+    routineConflictIndex.applyChanges(List.of(), List.of(routine(1L, 1L, 7L, 9)));
+
+    RoutineConflictException exception = assertThrows(RoutineConflictException.class,
+        () -> routineConflictIndex.applyChanges(List.of(),
+            List.of(routine(2L, 2L, 8L, 11), routine(3L, 2L, 9L, 11))));
+
+    assertEquals(List.of(2L), exception.getConflictingRoutineIds());
+    // Nothing from the rejected call stays indexed.
+    assertEquals(List.of(), routineConflictIndex.findConflicts(routine(null, 2L, 8L, 11)));
+    assertEquals(List.of(1L),
+        routineConflictIndex.findConflicts(routine(null, 1L, 8L, 9)));
+  }
+
+  @Test
+  void applyChanges_rollbackRestoresPreviousSlots() {
+    routineConflictIndex.applyChanges(List.of(), List.of(routine(1L, 1L, 7L, 9)));
+    TransactionSynchronizationManager.initSynchronization();
+
+    routineConflictIndex.applyChanges(List.of(routine(1L, 1L, 7L, 9)),
+        List.of(routine(1L, 1L, 7L, 12), routine(2L, 2L, 8L, 9)));
+    assertEquals(List.of(1L),
+        routineConflictIndex.findConflicts(routine(null, 1L, 9L, 12)));
+    completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertEquals(List.of(1L),
+        routineConflictIndex.findConflicts(routine(null, 1L, 9L, 9)));
+    assertEquals(List.of(), routineConflictIndex.findConflicts(routine(null, 1L, 9L, 12)));
+    assertEquals(List.of(), routineConflictIndex.findConflicts(routine(null, 2L, 8L, 9)));
+  }
+
+  @Test
+  void applyChanges_commitKeepsNewSlots() {
+    TransactionSynchronizationManager.initSynchronization();
+
+    routineConflictIndex.applyChanges(List.of(), List.of(routine(1L, 1L, 7L, 9)));
+    completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+    assertEquals(List.of(1L),
+        routineConflictIndex.findConflicts(routine(null, 1L, 8L, 9)));
+  }
+
+  @Test
+  void applyRecurringChanges_rejectsClashWithSingleRoutine() {
+    routineConflictIndex.applyChanges(List.of(), List.of(
+        new RoutineDTO(5L, LocalTime.of(14, 30), LocalTime.of(15, 30),
+            MONDAY.plusWeeks(2), 1L, 8L)));
+
+    RoutineConflictException exception = assertThrows(RoutineConflictException.class,
+        () -> routineConflictIndex.applyRecurringChanges(null, weekly(3L, 1L, 7L)));
+
+    assertEquals(List.of(5L), exception.getConflictingRoutineIds());
+    assertEquals(List.of(), routineConflictIndex.findRecurringConflicts(
+        routine(null, 1L, 7L, 14)));
+  }
+
+  @Test
+  void applyRecurringChanges_rollbackRestoresPreviousPattern() {
+    routineConflictIndex.applyRecurringChanges(null, weekly(3L, 1L, 7L));
+    TransactionSynchronizationManager.initSynchronization();
+
+    RecurringRoutineDTO moved = weekly(3L, 2L, 7L);
+    routineConflictIndex.applyRecurringChanges(weekly(3L, 1L, 7L), moved);
+    assertEquals(List.of(3L), routineConflictIndex.findRecurringConflicts(
+        routine(null, 2L, 9L, 14)));
+    completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+    assertEquals(List.of(3L), routineConflictIndex.findRecurringConflicts(
+        routine(null, 1L, 9L, 14)));
+    assertEquals(List.of(), routineConflictIndex.findRecurringConflicts(
+        routine(null, 2L, 9L, 14)));
+  }
+}
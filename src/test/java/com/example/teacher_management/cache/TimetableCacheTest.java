@@ -0,0 +1,87 @@
+package com.example.teacher_management.cache;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableCacheTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+  @Mock
+  private RoutineRepository routineRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private ConcurrentMapCacheManager cacheManager;
+
+  private TimetableCache timetableCache;
+
+  @BeforeEach
+  void setUp() {
+    cacheManager = new ConcurrentMapCacheManager(TimetableCache.TIMETABLES);
+    timetableCache = new TimetableCache(routineRepository, recurringRoutineRepository,
+        cacheManager, transactionManager);
+  }
+
+  private RoutineDTO routine(Long id, int startHour) {
+    return new RoutineDTO(id, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0),
+        MONDAY, 1L, 7L);
+  }
+
+  @Test
+  void findWeek_cachesTheBuiltWeek() {
+    when(routineRepository.findByTeacherBetween(1L, MONDAY, MONDAY.plusDays(6)))
+        .thenReturn(List.of(routine(5L, 9)));
+
+    TimetableDTO first = timetableCache.findWeek(TimetableOwner.TEACHER, 1L, MONDAY);
+    TimetableDTO second = timetableCache.findWeek(TimetableOwner.TEACHER, 1L, MONDAY);
+
+    assertSame(first, second);
+    verify(routineRepository, times(1)).findByTeacherBetween(1L, MONDAY,
+        MONDAY.plusDays(6));
+    verify(transactionManager, times(1)).getTransaction(any());
+  }
+
+  @Test
+  void findWeek_doesNotCacheAWeekBuiltAcrossAnEviction() {
+    // The change commits, and is evicted, while the old rows are being read.
+    when(routineRepository.findByTeacherBetween(1L, MONDAY, MONDAY.plusDays(6)))
+        .thenAnswer(invocation -> {
+          timetableCache.onRoutineChanged(new RoutineChangedEvent(
+              List.of(routine(5L, 9)), List.of(routine(5L, 11))));
+          return List.of(routine(5L, 9));
+        })
+        .thenReturn(List.of(routine(5L, 11)));
+
+    TimetableDTO stale = timetableCache.findWeek(TimetableOwner.TEACHER, 1L, MONDAY);
+    TimetableDTO fresh = timetableCache.findWeek(TimetableOwner.TEACHER, 1L, MONDAY);
+
+    assertNotSame(stale, fresh);
+    assertSame(fresh, timetableCache.findWeek(TimetableOwner.TEACHER, 1L, MONDAY));
+    verify(routineRepository, times(2)).findByTeacherBetween(1L, MONDAY,
+        MONDAY.plusDays(6));
+  }
+}
@@ -1,9 +1,17 @@
 package com.example.teacher_management.controller;
 
+import com.example.teacher_management.dto.BatchOperationType;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
 import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.exception.IdNotFoundException;
+import com.example.teacher_management.exception.RoutineConflictException;
 import com.example.teacher_management.exception.RoutineResourceException;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.service.RoutineService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,12 +20,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,11 +48,17 @@ class RoutineControllerTest {
   private RoutineController routineController;
 
   private RoutineDTO routineDTO;
+  private MockHttpServletRequest servletRequest;
+  private MockHttpServletResponse servletResponse;
+  private ServletWebRequest request;
 
   @BeforeEach
   void setUp() {
     routineDTO = new RoutineDTO();
     routineDTO.setRoutineId(1L);
+    servletRequest = new MockHttpServletRequest("GET", "/api/routine/1");
+    servletResponse = new MockHttpServletResponse();
+    request = new ServletWebRequest(servletRequest, servletResponse);
   }
 
   @Test
@@ -60,54 +82,157 @@ class RoutineControllerTest {
   }
 
   @Test
-  void getAllRoutines_success() {
-    List<RoutineDTO> routines = Collections.singletonList(routineDTO);
-    when(routineService.getAllRoutines()).thenReturn(routines);
+  void applyRoutineBatch_success() {
+    List<RoutineBatchOperationDTO> operations = List.of(
+        new RoutineBatchOperationDTO(BatchOperationType.CREATE, routineDTO));
+    RoutineBatchResultDTO result = new RoutineBatchResultDTO(List.of(routineDTO),
+        List.of(), List.of());
+    when(routineService.applyBatch(operations)).thenReturn(result);
 
-    List<RoutineDTO> response = routineController.getAllRoutines();
+    ResponseEntity<RoutineBatchResultDTO> response = routineController.applyRoutineBatch(
+        operations);
 
-    assertEquals(1, response.size());
-    assertEquals(routineDTO, response.get(0));
-    verify(routineService, times(1)).getAllRoutines();
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(result, response.getBody());
+  }
+
+  @Test
+  void applyRoutineBatch_empty() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineController.applyRoutineBatch(List.of()));
+
+    assertEquals("Error applying routine batch: Routine batch is empty",
+        exception.getMessage());
+  }
+
+  @Test
+  void getRoutines_success() {
+    CursorPageDTO<RoutineDTO> page = new CursorPageDTO<>(
+        Collections.singletonList(routineDTO), "next");
+    when(routineService.getRoutines(any(RoutineFilter.class), isNull(), isNull(),
+        eq(Set.of("routineId", "routineDate")))).thenReturn(page);
+
+    CursorPageDTO<RoutineDTO> response = routineController.getRoutines(1L, null,
+        "2024-07-01", "2024-07-31", null, null, "routineId, routineDate", request);
+
+    assertEquals(1, response.getItems().size());
+    assertEquals(routineDTO, response.getItems().get(0));
+    assertEquals("next", response.getNextCursor());
+    verify(routineService, times(1)).getRoutines(any(RoutineFilter.class), isNull(),
+        isNull(), anySet());
+  }
+
+  @Test
+  void getRoutines_invalidDate() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineController.getRoutines(null, null, "not-a-date", null, null, null,
+            null, request));
+
+    assertTrue(exception.getMessage().startsWith("Error fetching routines:"));
+  }
+
+  @Test
+  void getRoutines_notModified() {
+    servletRequest.addHeader("If-None-Match", "\"42\"");
+    when(routineService.collectionVersion()).thenReturn(Optional.of(42L));
+
+    assertNull(routineController.getRoutines(null, null, null, null, null, null, null,
+        request));
+
+    assertEquals(304, servletResponse.getStatus());
+    verify(routineService, never()).getRoutines(any(), any(), any(), any());
+  }
+
+  @Test
+  void exportRoutines_streamsNdjson() throws Exception {
+    ResponseEntity<StreamingResponseBody> response = routineController.exportRoutines(
+        null);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    response.getBody().writeTo(out);
+    verify(routineService, times(1)).exportRoutines(out, Set.copyOf(RoutineDTO.FIELDS));
+  }
+
+  @Test
+  void exportRoutines_unknownField() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineController.exportRoutines("routineId,room"));
+
+    assertTrue(exception.getMessage().startsWith(
+        "Error exporting routines: Unknown field: room"));
+    verifyNoInteractions(routineService);
   }
 
   @Test
   void getRoutineById_success() {
+    when(routineService.getRoutineVersion(1L)).thenReturn(Optional.of(2L));
     when(routineService.getRoutineById(anyLong())).thenReturn(Optional.of(routineDTO));
 
-    ResponseEntity<RoutineDTO> response = routineController.getRoutineById(1L);
+    ResponseEntity<RoutineDTO> response = routineController.getRoutineById(1L, request);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(routineDTO, response.getBody());
+    assertEquals("W/\"2\"", servletResponse.getHeader("ETag"));
     verify(routineService, times(1)).getRoutineById(anyLong());
   }
 
+  @Test
+  void getRoutineById_notModified() {
+    servletRequest.addHeader("If-None-Match", "\"1\", \"2\"");
+    when(routineService.getRoutineVersion(1L)).thenReturn(Optional.of(2L));
+
+    assertNull(routineController.getRoutineById(1L, request));
+
+    assertEquals(304, servletResponse.getStatus());
+    verify(routineService, never()).getRoutineById(anyLong());
+  }
+
   @Test
   void getRoutineById_notFound() {
-    when(routineService.getRoutineById(anyLong())).thenReturn(Optional.empty());
+    when(routineService.getRoutineVersion(1L)).thenReturn(Optional.empty());
 
     IdNotFoundException exception = assertThrows(IdNotFoundException.class,
-        () -> routineController.getRoutineById(1L));
+        () -> routineController.getRoutineById(1L, request));
 
     assertEquals("Routine not found with id: 1", exception.getMessage());
+    verify(routineService, never()).getRoutineById(anyLong());
   }
 
   @Test
   void updateRoutine_success() {
-    when(routineService.updateRoutine(anyLong(), any(RoutineDTO.class))).thenReturn(
-        routineDTO);
+    when(routineService.updateRoutine(anyLong(), any(RoutineDTO.class), eq(2L)))
+        .thenReturn(new Versioned<>(routineDTO, 3L));
 
-    ResponseEntity<RoutineDTO> response = routineController.updateRoutine(1L, routineDTO);
+    ResponseEntity<RoutineDTO> response = routineController.updateRoutine(1L, routineDTO,
+        " \"2\" ");
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(routineDTO, response.getBody());
-    verify(routineService, times(1)).updateRoutine(anyLong(), any(RoutineDTO.class));
+    assertEquals("\"3\"", response.getHeaders().getETag());
+    verify(routineService, times(1)).updateRoutine(anyLong(), any(RoutineDTO.class),
+        eq(2L));
+  }
+
+  @Test
+  void updateRoutine_conflictCarriesCurrentState() {
+    when(routineService.updateRoutine(1L, routineDTO, 2L))
+        .thenThrow(new VersionConflictException("stale"));
+    when(routineService.getRoutineVersion(1L)).thenReturn(Optional.of(3L));
+    when(routineService.getRoutineById(1L)).thenReturn(Optional.of(routineDTO));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> routineController.updateRoutine(1L, routineDTO, "\"2\""));
+
+    assertEquals(routineDTO, exception.getCurrent());
+    assertEquals(3L, exception.getCurrentVersion());
   }
 
   @Test
   void updateRoutine_invalidId() {
     IdNotFoundException exception = assertThrows(IdNotFoundException.class,
-        () -> routineController.updateRoutine(0L, routineDTO));
+        () -> routineController.updateRoutine(0L, routineDTO, null));
 
     assertEquals("Id is not valid or Defined", exception.getMessage());
   }
@@ -155,20 +280,60 @@ class RoutineControllerTest {
 
   @Test
   void getGroupWorkload_success() {
-    when(routineService.calculateGroupWorkload(anyLong())).thenReturn(20L);
+    when(routineService.calculateGroupWorkload(anyLong(), isNull(), isNull()))
+        .thenReturn(20L);
 
-    long workload = routineController.getGroupWorkload(1L);
+    long workload = routineController.getGroupWorkload(1L, null, null);
 
     assertEquals(20L, workload);
-    verify(routineService, times(1)).calculateGroupWorkload(anyLong());
+    verify(routineService, times(1)).calculateGroupWorkload(anyLong(), isNull(),
+        isNull());
   }
 
   @Test
   void getGroupWorkload_invalidId() {
     RoutineResourceException exception = assertThrows(RoutineResourceException.class,
-        () -> routineController.getGroupWorkload(0L));
+        () -> routineController.getGroupWorkload(0L, null, null));
 
     assertEquals("Error calculating group workload: Id is missing or Empty: 0",
         exception.getMessage());
   }
+
+  @Test
+  void getGroupWorkload_dateRange() {
+    when(routineService.calculateGroupWorkload(1L, LocalDate.of(2024, 7, 1),
+        LocalDate.of(2024, 7, 31))).thenReturn(30L);
+
+    assertEquals(30L, routineController.getGroupWorkload(1L, "2024-07-01", "2024-07-31"));
+  }
+
+  @Test
+  void getTeacherWorkloads_success() {
+    when(routineService.calculateTeacherWorkloads(isNull(), eq("Science"),
+        any(LocalDate.class), any(LocalDate.class))).thenReturn(Map.of(1L, 90L));
+
+    Map<Long, Long> workloads = routineController.getTeacherWorkloads(null, "Science",
+        "2024-07-01", "2024-07-31");
+
+    assertEquals(Map.of(1L, 90L), workloads);
+  }
+
+  @Test
+  void getGroupWorkloads_invalidDate() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineController.getGroupWorkloads(List.of(1L), "July", "2024-07-31"));
+
+    assertTrue(exception.getMessage().startsWith("Error calculating group workloads: "));
+    verifyNoInteractions(routineService);
+  }
+
+  @Test
+  void createRoutine_conflictIsNotWrapped() {
+    RoutineConflictException conflict = new RoutineConflictException(
+        "Routine overlaps routine(s) [5]", List.of(5L));
+    when(routineService.saveRoutine(any(RoutineDTO.class))).thenThrow(conflict);
+
+    assertSame(conflict, assertThrows(RoutineConflictException.class,
+        () -> routineController.createRoutine(new RoutineDTO())));
+  }
 }
@@ -0,0 +1,55 @@
+package com.example.teacher_management.controller;
+
+import com.example.teacher_management.dto.RoutineImportReportDTO;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.RoutineImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutineImportControllerTest {
+
+  @Mock
+  private RoutineImportService routineImportService;
+
+  @InjectMocks
+  private RoutineImportController routineImportController;
+
+  @Test
+  void importRoutines_success() throws Exception {
+    MockMultipartFile file = new MockMultipartFile("file", "routines.csv", "text/csv",
+        "teacher_name,group_id,routine_date,start_time,end_time\n"
+            .getBytes(StandardCharsets.UTF_8));
+    RoutineImportReportDTO report = new RoutineImportReportDTO(0, 0, 0, List.of());
+    when(routineImportService.importCsv(any(InputStream.class))).thenReturn(report);
+
+    ResponseEntity<RoutineImportReportDTO> response = routineImportController
+        .importRoutines(file);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(report, response.getBody());
+  }
+
+  @Test
+  void importRoutines_emptyFile() {
+    MockMultipartFile file = new MockMultipartFile("file", new byte[0]);
+
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineImportController.importRoutines(file));
+
+    assertEquals("Uploaded routine file is empty", exception.getMessage());
+  }
+}
@@ -1,10 +1,14 @@
 package com.example.teacher_management.controller;
 
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
 import com.example.teacher_management.exception.GroupResourceException;
 import com.example.teacher_management.exception.IdNotFoundException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.service.StudyGroupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +17,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -24,9 +35,16 @@ public class StudyGroupControllerTest {
   @InjectMocks
   private StudyGroupController studyGroupController;
 
+  private MockHttpServletRequest servletRequest;
+  private MockHttpServletResponse servletResponse;
+  private ServletWebRequest request;
+
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    servletRequest = new MockHttpServletRequest("GET", "/api/groups/1");
+    servletResponse = new MockHttpServletResponse();
+    request = new ServletWebRequest(servletRequest, servletResponse);
   }
 
   @Test
@@ -35,21 +53,35 @@ public class StudyGroupControllerTest {
     StudyGroup group = new StudyGroup();
     group.setGroupId(id);
 
+    when(studyGroupService.findVersion(id)).thenReturn(5L);
     when(studyGroupService.findById(id)).thenReturn(group);
 
-    ResponseEntity<StudyGroup> response = studyGroupController.getStudyGroupById(id);
+    ResponseEntity<StudyGroup> response =
+        studyGroupController.getStudyGroupById(id, request);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(group, response.getBody());
+    assertEquals("W/\"5\"", servletResponse.getHeader("ETag"));
     verify(studyGroupService, times(1)).findById(id);
   }
 
+  @Test
+  void getStudyGroupById_notModified() {
+    servletRequest.addHeader("If-None-Match", "\"5\"");
+    when(studyGroupService.findVersion(1L)).thenReturn(5L);
+
+    assertNull(studyGroupController.getStudyGroupById(1L, request));
+
+    assertEquals(304, servletResponse.getStatus());
+    verify(studyGroupService, never()).findById(anyLong());
+  }
+
   @Test
   void getStudyGroupById_invalidId() {
     Long id = 0L;
 
     IdNotFoundException exception = assertThrows(IdNotFoundException.class,
-        () -> studyGroupController.getStudyGroupById(id));
+        () -> studyGroupController.getStudyGroupById(id, request));
 
     assertEquals("Id is not valid or Defined", exception.getMessage());
   }
@@ -82,13 +114,32 @@ public class StudyGroupControllerTest {
     StudyGroupDTO groupDto = new StudyGroupDTO();
     StudyGroupDTO updatedGroupDto = new StudyGroupDTO();
 
-    when(studyGroupService.update(id, groupDto)).thenReturn(updatedGroupDto);
+    when(studyGroupService.update(id, groupDto, null))
+        .thenReturn(new Versioned<>(updatedGroupDto, 1L));
 
-    ResponseEntity<StudyGroupDTO> response = studyGroupController.updateStudyGroup(id, groupDto);
+    ResponseEntity<StudyGroupDTO> response =
+        studyGroupController.updateStudyGroup(id, groupDto, null);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(updatedGroupDto, response.getBody());
-    verify(studyGroupService, times(1)).update(id, groupDto);
+    assertEquals("\"1\"", response.getHeaders().getETag());
+    verify(studyGroupService, times(1)).update(id, groupDto, null);
+  }
+
+  @Test
+  void updateStudyGroup_conflictCarriesCurrentState() {
+    StudyGroupDTO groupDto = new StudyGroupDTO();
+    StudyGroup current = new StudyGroup();
+    when(studyGroupService.update(1L, groupDto, null))
+        .thenThrow(new VersionConflictException("raced"));
+    when(studyGroupService.findVersion(1L)).thenReturn(7L);
+    when(studyGroupService.findById(1L)).thenReturn(current);
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> studyGroupController.updateStudyGroup(1L, groupDto, "*"));
+
+    assertEquals(current, exception.getCurrent());
+    assertEquals(7L, exception.getCurrentVersion());
   }
 
   @Test
@@ -97,7 +148,7 @@ public class StudyGroupControllerTest {
     StudyGroupDTO groupDto = new StudyGroupDTO();
 
     IdNotFoundException exception = assertThrows(IdNotFoundException.class,
-        () -> studyGroupController.updateStudyGroup(id, groupDto));
+        () -> studyGroupController.updateStudyGroup(id, groupDto, null));
 
     assertEquals("Id is not valid or Defined", exception.getMessage());
   }
@@ -121,5 +172,46 @@ public class StudyGroupControllerTest {
 
     assertEquals("Id was not specified or valid", exception.getMessage());
   }
-}
 
+  @Test
+  void searchGroups_returnsHits() {
+    List<SearchHitDTO<StudyGroupDTO>> hits =
+        List.of(new SearchHitDTO<>(new StudyGroupDTO(), 1.0));
+    when(studyGroupService.search("kar", 5)).thenReturn(hits);
+
+    ResponseEntity<List<SearchHitDTO<StudyGroupDTO>>> response =
+        studyGroupController.searchGroups("kar", 5);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(hits, response.getBody());
+  }
+
+  @Test
+  void getGroups_returnsPage() {
+    CursorPageDTO<StudyGroupDTO> page =
+        new CursorPageDTO<>(List.of(new StudyGroupDTO()), "next");
+    when(studyGroupService.getGroups("IT", null, 20, Set.copyOf(StudyGroupDTO.FIELDS)))
+        .thenReturn(page);
+
+    assertEquals(page, studyGroupController.getGroups("IT", null, 20, null, request));
+  }
+
+  @Test
+  void getGroupsByIds_notModified() {
+    servletRequest.addHeader("If-None-Match", "\"42\"");
+    when(studyGroupService.collectionVersion()).thenReturn(Optional.of(42L));
+
+    assertNull(studyGroupController.getGroupsByIds(List.of(1L, 2L), request));
+
+    assertEquals(304, servletResponse.getStatus());
+    verify(studyGroupService, never()).findAllById(anyList());
+  }
+
+  @Test
+  void getGroupsByIds_returnsFound() {
+    List<StudyGroupDTO> found = List.of(new StudyGroupDTO());
+    when(studyGroupService.findAllById(List.of(1L, 2L))).thenReturn(found);
+
+    assertEquals(found, studyGroupController.getGroupsByIds(List.of(1L, 2L), request));
+  }
+}
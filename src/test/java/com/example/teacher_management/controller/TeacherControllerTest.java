@@ -1,8 +1,13 @@
 package com.example.teacher_management.controller;
 
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.exception.IdNotFoundException;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.service.TeacherService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +16,13 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,9 +36,16 @@ public class TeacherControllerTest {
   @InjectMocks
   private TeacherController teacherController;
 
+  private MockHttpServletRequest servletRequest;
+  private MockHttpServletResponse servletResponse;
+  private ServletWebRequest request;
+
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    servletRequest = new MockHttpServletRequest("GET", "/api/teachers/1");
+    servletResponse = new MockHttpServletResponse();
+    request = new ServletWebRequest(servletRequest, servletResponse);
   }
 
   @Test
@@ -35,21 +54,48 @@ public class TeacherControllerTest {
     TeacherDTO teacherDto = new TeacherDTO();
     teacherDto.setTeacherId(id);
 
+    when(teacherService.findVersion(id)).thenReturn(3L);
     when(teacherService.findById(id)).thenReturn(teacherDto);
 
-    ResponseEntity<TeacherDTO> response = teacherController.getTeacherById(id);
+    ResponseEntity<TeacherDTO> response = teacherController.getTeacherById(id, request);
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(teacherDto, response.getBody());
+    assertEquals("W/\"3\"", servletResponse.getHeader("ETag"));
+    assertEquals("Accept", servletResponse.getHeader("Vary"));
     verify(teacherService, times(1)).findById(id);
   }
 
+  @Test
+  void getTeacherById_notModified() {
+    servletRequest.addHeader("If-None-Match", "W/\"3\"");
+    when(teacherService.findVersion(1L)).thenReturn(3L);
+
+    assertNull(teacherController.getTeacherById(1L, request));
+
+    assertEquals(304, servletResponse.getStatus());
+    assertEquals("W/\"3\"", servletResponse.getHeader("ETag"));
+    verify(teacherService, never()).findById(anyLong());
+  }
+
+  @Test
+  void getTeacherById_staleTag() {
+    servletRequest.addHeader("If-None-Match", "\"2\"");
+    when(teacherService.findVersion(1L)).thenReturn(3L);
+    when(teacherService.findById(1L)).thenReturn(new TeacherDTO());
+
+    ResponseEntity<TeacherDTO> response = teacherController.getTeacherById(1L, request);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals("W/\"3\"", servletResponse.getHeader("ETag"));
+  }
+
   @Test
   void getTeacherById_invalidId() {
     Long id = 0L;
 
     IdNotFoundException exception = assertThrows(IdNotFoundException.class,
-        () -> teacherController.getTeacherById(id));
+        () -> teacherController.getTeacherById(id, request));
 
     assertEquals("Id is not valid or defined", exception.getMessage());
   }
@@ -82,13 +128,43 @@ public class TeacherControllerTest {
     TeacherDTO teacherDto = new TeacherDTO();
     TeacherDTO updatedTeacherDto = new TeacherDTO();
 
-    when(teacherService.update(id, teacherDto)).thenReturn(updatedTeacherDto);
+    when(teacherService.update(id, teacherDto, 3L))
+        .thenReturn(new Versioned<>(updatedTeacherDto, 4L));
 
-    ResponseEntity<TeacherDTO> response = teacherController.updateTeacher(id, teacherDto);
+    ResponseEntity<TeacherDTO> response =
+        teacherController.updateTeacher(id, teacherDto, "\"3\"");
 
     assertEquals(HttpStatus.OK, response.getStatusCode());
     assertEquals(updatedTeacherDto, response.getBody());
-    verify(teacherService, times(1)).update(id, teacherDto);
+    assertEquals("\"4\"", response.getHeaders().getETag());
+    verify(teacherService, times(1)).update(id, teacherDto, 3L);
+  }
+
+  @Test
+  void updateTeacher_conflictCarriesCurrentState() {
+    TeacherDTO teacherDto = new TeacherDTO();
+    TeacherDTO current = new TeacherDTO();
+    when(teacherService.update(1L, teacherDto, 3L))
+        .thenThrow(new VersionConflictException("stale"));
+    when(teacherService.findVersion(1L)).thenReturn(5L);
+    when(teacherService.findById(1L)).thenReturn(current);
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> teacherController.updateTeacher(1L, teacherDto, "\"3\""));
+
+    assertEquals("stale", exception.getMessage());
+    assertEquals(current, exception.getCurrent());
+    assertEquals(5L, exception.getCurrentVersion());
+  }
+
+  @Test
+  void updateTeacher_invalidIfMatch() {
+    TeacherResourceException exception = assertThrows(TeacherResourceException.class,
+        () -> teacherController.updateTeacher(1L, new TeacherDTO(), "W/\"3\""));
+
+    assertEquals("Error updating teacher: Invalid If-Match: W/\"3\"",
+        exception.getMessage());
+    verify(teacherService, never()).update(anyLong(), any(), any());
   }
 
   @Test
@@ -97,7 +173,7 @@ public class TeacherControllerTest {
     TeacherDTO teacherDto = new TeacherDTO();
 
     IdNotFoundException exception = assertThrows(IdNotFoundException.class,
-        () -> teacherController.updateTeacher(id, teacherDto));
+        () -> teacherController.updateTeacher(id, teacherDto, null));
 
     assertEquals("Id is not valid or defined", exception.getMessage());
   }
@@ -121,4 +197,50 @@ public class TeacherControllerTest {
 
     assertEquals("Id is not valid or defined", exception.getMessage());
   }
+
+  @Test
+  void searchTeachers_returnsHits() {
+    List<SearchHitDTO<TeacherDTO>> hits =
+        List.of(new SearchHitDTO<>(new TeacherDTO(), 1.0));
+    when(teacherService.search("kar", 5)).thenReturn(hits);
+
+    ResponseEntity<List<SearchHitDTO<TeacherDTO>>> response =
+        teacherController.searchTeachers("kar", 5);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(hits, response.getBody());
+  }
+
+  @Test
+  void getTeachers_returnsPage() {
+    CursorPageDTO<TeacherDTO> page =
+        new CursorPageDTO<>(List.of(new TeacherDTO()), "next");
+    when(teacherService.getTeachers(any(TeacherFilter.class), isNull(), eq(20),
+        eq(Set.of("name"))))
+        .thenReturn(page);
+
+    assertEquals(page,
+        teacherController.getTeachers("IT", "Aa", null, 20, "name", request));
+  }
+
+  @Test
+  void getTeachers_notModified() {
+    servletRequest.addHeader("If-None-Match", "\"42\"");
+    when(teacherService.collectionVersion()).thenReturn(Optional.of(42L));
+
+    assertNull(teacherController.getTeachers(null, null, null, null, null, request));
+
+    assertEquals(304, servletResponse.getStatus());
+    assertEquals("W/\"42\"", servletResponse.getHeader("ETag"));
+    assertEquals("Accept", servletResponse.getHeader("Vary"));
+    verify(teacherService, never()).getTeachers(any(), any(), any(), any());
+  }
+
+  @Test
+  void getTeachersByIds_returnsFound() {
+    List<TeacherDTO> found = List.of(new TeacherDTO());
+    when(teacherService.findAllById(List.of(1L, 2L))).thenReturn(found);
+
+    assertEquals(found, teacherController.getTeachersByIds(List.of(1L, 2L), request));
+  }
 }
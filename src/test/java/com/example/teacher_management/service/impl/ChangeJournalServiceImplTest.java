@@ -0,0 +1,193 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.JournalEntryDTO;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.event.RecurringRoutineChangedEvent;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeJournalServiceImplTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+  @TempDir
+  Path directory;
+
+  @Mock
+  private RoutineRepository routineRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  @Mock
+  private TeacherRepository teacherRepository;
+
+  @Mock
+  private GroupRepository groupRepository;
+
+  private ChangeJournalServiceImpl changeJournalService;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    changeJournalService = new ChangeJournalServiceImpl(routineRepository,
+        recurringRoutineRepository, teacherRepository, groupRepository,
+        directory.toString(), 16,
+        Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    changeJournalService.shutdown();
+  }
+
+  private RoutineDTO routine(Long id, Long teacherId, LocalDate date, int startHour) {
+    return new RoutineDTO(id, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0),
+        date, teacherId, 7L);
+  }
+
+  // Journal timestamps are in milliseconds; waiting makes "before" and "after" distinct.
+  private Instant tick() throws InterruptedException {
+    Instant now = Instant.now();
+    Thread.sleep(5);
+    return now;
+  }
+
+  @Test
+  void getRoutineAsOf_replaysUpToTheTimestamp() throws InterruptedException {
+    RoutineDTO created = routine(5L, 1L, MONDAY, 9);
+    RoutineDTO moved = routine(5L, 2L, MONDAY, 11);
+    Instant beforeCreate = tick();
+    changeJournalService.onRoutineChanged(new RoutineChangedEvent(List.of(),
+        List.of(created)));
+    Instant afterCreate = tick();
+    changeJournalService.onRoutineChanged(new RoutineChangedEvent(List.of(created),
+        List.of(moved)));
+    Instant afterUpdate = tick();
+    changeJournalService.onRoutineChanged(new RoutineChangedEvent(List.of(moved),
+        List.of()));
+
+    assertThrows(RoutineResourceException.class,
+        () -> changeJournalService.getRoutineAsOf(5L, beforeCreate));
+    assertEquals(1L, changeJournalService.getRoutineAsOf(5L, afterCreate).getTeacherId());
+    assertEquals(2L, changeJournalService.getRoutineAsOf(5L, afterUpdate).getTeacherId());
+    assertThrows(RoutineResourceException.class,
+        () -> changeJournalService.getRoutineAsOf(5L, Instant.now()));
+  }
+
+  @Test
+  void getTeacherTimetableAsOf_dropsRoutinesThatMovedAway() throws InterruptedException {
+    RoutineDTO first = routine(5L, 1L, MONDAY, 9);
+    RoutineDTO second = routine(6L, 1L, MONDAY.plusDays(2), 10);
+    RoutineDTO otherWeek = routine(7L, 1L, MONDAY.plusDays(7), 10);
+    changeJournalService.onRoutineChanged(new RoutineChangedEvent(List.of(),
+        List.of(first, second, otherWeek)));
+    Instant before = tick();
+    changeJournalService.onRoutineChanged(new RoutineChangedEvent(List.of(second),
+        List.of(routine(6L, 3L, MONDAY.plusDays(2), 10))));
+
+    TimetableDTO then = changeJournalService.getTeacherTimetableAsOf(1L,
+        MONDAY.plusDays(3), before);
+    TimetableDTO now = changeJournalService.getTeacherTimetableAsOf(1L, MONDAY,
+        Instant.now());
+
+    assertEquals(MONDAY, then.getWeekStart());
+    assertEquals(1, then.getDays().get(0).getEntries().size());
+    assertEquals(1, then.getDays().get(2).getEntries().size());
+    assertEquals(0, now.getDays().get(2).getEntries().size());
+  }
+
+  @Test
+  void getTeacherTimetableAsOf_expandsRecurringRoutines() throws InterruptedException {
+    RecurringRoutineDTO weekly = new RecurringRoutineDTO(3L, DayOfWeek.WEDNESDAY,
+        LocalTime.of(14, 0), LocalTime.of(15, 0), MONDAY, MONDAY.plusWeeks(4), 1L, 7L,
+        List.of());
+    RecurringRoutineDTO skipped = new RecurringRoutineDTO(3L, DayOfWeek.WEDNESDAY,
+        LocalTime.of(14, 0), LocalTime.of(15, 0), MONDAY, MONDAY.plusWeeks(4), 1L, 7L,
+        List.of(MONDAY.plusDays(2)));
+    changeJournalService.onRecurringRoutineChanged(
+        new RecurringRoutineChangedEvent(null, weekly));
+    Instant beforeSkip = tick();
+    changeJournalService.onRecurringRoutineChanged(
+        new RecurringRoutineChangedEvent(weekly, skipped));
+    Instant beforeDelete = tick();
+    changeJournalService.onRecurringRoutineChanged(
+        new RecurringRoutineChangedEvent(skipped, null));
+
+    assertEquals(1, changeJournalService.getTeacherTimetableAsOf(1L, MONDAY, beforeSkip)
+        .getDays().get(2).getEntries().size());
+    assertEquals(0, changeJournalService.getTeacherTimetableAsOf(1L, MONDAY,
+        beforeDelete).getDays().get(2).getEntries().size());
+    assertEquals(1, changeJournalService.getTeacherTimetableAsOf(1L,
+        MONDAY.plusWeeks(1), beforeDelete).getDays().get(2).getEntries().size());
+    assertEquals(0, changeJournalService.getTeacherTimetableAsOf(1L,
+        MONDAY.plusWeeks(1), Instant.now()).getDays().get(2).getEntries().size());
+    assertEquals(0, changeJournalService.getTeacherTimetableAsOf(2L, MONDAY, beforeSkip)
+        .getDays().get(2).getEntries().size());
+
+    List<JournalEntryDTO> history = changeJournalService.getHistory(
+        SyncEntityType.RECURRING_ROUTINE, 3L);
+    assertEquals(3, history.size());
+    assertEquals(List.of(MONDAY.plusDays(2)),
+        history.get(1).getRecurringRoutine().getExceptionDates());
+    assertEquals(DayOfWeek.WEDNESDAY, history.get(1).getRecurringRoutine().getDayOfWeek());
+    assertNull(history.get(2).getRecurringRoutine());
+  }
+
+  @Test
+  void getHistory_listsRecordsOfOneEntity() {
+    changeJournalService.record(SyncEntityType.TEACHER, RoutineChangeType.CREATED, 1L);
+    changeJournalService.record(SyncEntityType.GROUP, RoutineChangeType.CREATED, 1L);
+    changeJournalService.record(SyncEntityType.TEACHER, RoutineChangeType.UPDATED, 1L);
+
+    List<JournalEntryDTO> history = changeJournalService.getHistory(
+        SyncEntityType.TEACHER, 1L);
+
+    assertEquals(2, history.size());
+    assertEquals(RoutineChangeType.UPDATED, history.get(1).getOperation());
+    assertEquals(2L, history.get(1).getOffset());
+  }
+
+  @Test
+  void seed_snapshotsCurrentRowsIntoAnEmptyJournal() {
+    when(teacherRepository.findAll()).thenReturn(List.of());
+    when(groupRepository.findAll()).thenReturn(List.of());
+    when(routineRepository.streamAllForExport()).thenReturn(
+        Stream.of(routine(5L, 1L, MONDAY, 9)));
+
+    changeJournalService.seed();
+    changeJournalService.seed();
+
+    assertEquals(1L, changeJournalService.getRoutineAsOf(5L, Instant.now())
+        .getTeacherId());
+    verify(routineRepository, times(1)).streamAllForExport();
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.ChangeJournalService;
+import com.example.teacher_management.service.StudyGroupService;
+import com.example.teacher_management.service.TeacherService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Checks that creating a teacher or study group keeps the sync watermark below the new
+ * row's change_seq until the insert commits. Skipped when no Docker daemon is available.
+ */
+@SpringBootTest(properties = "journal.dir=build/change-seq-test-journal")
+@Testcontainers(disabledWithoutDocker = true)
+class ChangeSeqPostgresTest {
+
+  @Container
+  @ServiceConnection
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired
+  private TeacherService teacherService;
+
+  @Autowired
+  private StudyGroupService studyGroupService;
+
+  @Autowired
+  private TombstoneRepository tombstoneRepository;
+
+  @SpyBean
+  private ChangeJournalService changeJournalService;
+
+  // Runs inside save, after the insert and before commit.
+  private void watchWatermarkOnCreate(SyncEntityType entityType, AtomicLong lastDrawn,
+      AtomicLong safe) {
+    doAnswer(invocation -> {
+      lastDrawn.set(tombstoneRepository.findLastChangeSeq());
+      safe.set(tombstoneRepository.findSafeChangeSeq());
+      return invocation.callRealMethod();
+    }).when(changeJournalService)
+        .record(eq(entityType), eq(RoutineChangeType.CREATED), anyLong());
+  }
+
+  @Test
+  void saveTeacher_holdsWatermarkUntilCommit() {
+    AtomicLong lastDrawn = new AtomicLong();
+    AtomicLong safe = new AtomicLong();
+    watchWatermarkOnCreate(SyncEntityType.TEACHER, lastDrawn, safe);
+
+    teacherService.save(new TeacherDTO(null, "Watermark Ann", null, null));
+
+    assertTrue(safe.get() < lastDrawn.get(),
+        "watermark " + safe.get() + " passed uncommitted change " + lastDrawn.get());
+    assertTrue(tombstoneRepository.findSafeChangeSeq() >= lastDrawn.get());
+  }
+
+  @Test
+  void saveGroup_holdsWatermarkUntilCommit() {
+    AtomicLong lastDrawn = new AtomicLong();
+    AtomicLong safe = new AtomicLong();
+    watchWatermarkOnCreate(SyncEntityType.GROUP, lastDrawn, safe);
+
+    studyGroupService.save(new StudyGroupDTO(null, "Watermark Group", null));
+
+    assertTrue(safe.get() < lastDrawn.get(),
+        "watermark " + safe.get() + " passed uncommitted change " + lastDrawn.get());
+    assertTrue(tombstoneRepository.findSafeChangeSeq() >= lastDrawn.get());
+  }
+}
@@ -0,0 +1,105 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.dto.FreeSlotDTO;
+import com.example.teacher_management.dto.FreeSlotQuery;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FreeSlotServiceImplTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 7, 1);
+
+  @Mock
+  private RoutineRepository routineRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @InjectMocks
+  private FreeSlotServiceImpl freeSlotService;
+
+  private RoutineDTO routine(LocalDate date, int startHour, int endHour) {
+    return new RoutineDTO(1L, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0), date,
+        1L, 7L);
+  }
+
+  @Test
+  void findFreeSlots_intersectsTeacherAndGroup() {
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    when(referenceDataCache.findGroupById(7L)).thenReturn(Optional.of(new StudyGroup()));
+    when(routineRepository.findByTeachersBetween(anyCollection(), eq(DAY), eq(DAY)))
+        .thenReturn(List.of(routine(DAY, 9, 10)));
+    when(routineRepository.findByGroupsBetween(anyCollection(), eq(DAY), eq(DAY)))
+        .thenReturn(List.of(routine(DAY, 11, 13)));
+
+    List<FreeSlotDTO> freeSlots = freeSlotService.findFreeSlots(new FreeSlotQuery(
+        List.of(1L), List.of(7L), DAY, DAY, 60, LocalTime.of(8, 0), LocalTime.of(17, 0)));
+
+    assertEquals(3, freeSlots.size());
+    assertEquals(LocalTime.of(8, 0), freeSlots.get(0).getStartTime());
+    assertEquals(LocalTime.of(9, 0), freeSlots.get(0).getEndTime());
+    assertEquals(LocalTime.of(10, 0), freeSlots.get(1).getStartTime());
+    assertEquals(LocalTime.of(11, 0), freeSlots.get(1).getEndTime());
+    assertEquals(LocalTime.of(13, 0), freeSlots.get(2).getStartTime());
+    assertEquals(240, freeSlots.get(2).getMinutes());
+  }
+
+  @Test
+  void findFreeSlots_skipsShortGapsAndCoversEveryDay() {
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    when(routineRepository.findByTeachersBetween(anyCollection(), any(), any()))
+        .thenReturn(List.of(routine(DAY, 9, 10)));
+
+    List<FreeSlotDTO> freeSlots = freeSlotService.findFreeSlots(new FreeSlotQuery(
+        List.of(1L), null, DAY, DAY.plusDays(1), 90, LocalTime.of(8, 0),
+        LocalTime.of(12, 0)));
+
+    assertEquals(2, freeSlots.size());
+    assertEquals(DAY, freeSlots.get(0).getDate());
+    assertEquals(LocalTime.of(10, 0), freeSlots.get(0).getStartTime());
+    assertEquals(DAY.plusDays(1), freeSlots.get(1).getDate());
+    assertEquals(240, freeSlots.get(1).getMinutes());
+    verifyNoMoreInteractions(routineRepository);
+  }
+
+  @Test
+  void findFreeSlots_unknownTeacher() {
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.empty());
+
+    assertThrows(TeacherResourceException.class, () -> freeSlotService.findFreeSlots(
+        new FreeSlotQuery(List.of(1L), null, DAY, DAY, 30, LocalTime.of(8, 0),
+            LocalTime.of(17, 0))));
+  }
+
+  @Test
+  void findFreeSlots_requiresAnOwner() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> freeSlotService.findFreeSlots(new FreeSlotQuery(null, List.of(), DAY, DAY,
+            30, LocalTime.of(8, 0), LocalTime.of(17, 0))));
+
+    assertEquals("At least one teacher or group id is required", exception.getMessage());
+  }
+}
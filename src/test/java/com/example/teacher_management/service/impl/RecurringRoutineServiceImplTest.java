@@ -0,0 +1,145 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.RoutineConflictIndex;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.event.RecurringRoutineChangedEvent;
+import com.example.teacher_management.exception.RoutineConflictException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringRoutineServiceImplTest {
+
+  private static final LocalDate TERM_START = LocalDate.of(2024, 7, 1);
+  private static final LocalDate TERM_END = LocalDate.of(2024, 9, 30);
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @Mock
+  private RoutineConflictIndex routineConflictIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @InjectMocks
+  private RecurringRoutineServiceImpl recurringRoutineService;
+
+  private RecurringRoutineDTO weekly(Long id) {
+    return new RecurringRoutineDTO(id, DayOfWeek.MONDAY, LocalTime.of(9, 0),
+        LocalTime.of(10, 0), TERM_START, TERM_END, 1L, 7L,
+        List.of(LocalDate.of(2024, 7, 8)));
+  }
+
+  private RecurringRoutine entity(RecurringRoutineDTO routine) {
+    RecurringRoutine entity = routine.toEntity();
+    entity.setTeacher(new Teacher(routine.getTeacherId(), "Ann", null, null, null, null));
+    entity.setStudyGroup(new StudyGroup(routine.getGroupId(), "A", null, null, null));
+    return entity;
+  }
+
+  private void stubReferences() {
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(
+        Optional.of(new Teacher(1L, "Ann", null, null, null, null)));
+    when(referenceDataCache.findGroupById(7L)).thenReturn(
+        Optional.of(new StudyGroup(7L, "A", null, null, null)));
+  }
+
+  @Test
+  void saveRecurringRoutine_indexesAndPublishes() {
+    stubReferences();
+    when(recurringRoutineRepository.save(any(RecurringRoutine.class))).thenAnswer(
+        invocation -> {
+          RecurringRoutine saved = invocation.getArgument(0);
+          saved.setRecurringRoutineId(5L);
+          return saved;
+        });
+
+    RecurringRoutineDTO saved = recurringRoutineService.saveRecurringRoutine(weekly(null));
+
+    assertEquals(5L, saved.getRecurringRoutineId());
+    assertEquals(List.of(LocalDate.of(2024, 7, 8)), saved.getExceptionDates());
+    verify(routineConflictIndex).applyRecurringChanges(isNull(), eq(saved));
+    verify(eventPublisher).publishEvent(any(RecurringRoutineChangedEvent.class));
+  }
+
+  @Test
+  void saveRecurringRoutine_conflictIsNotWrapped() {
+    stubReferences();
+    when(recurringRoutineRepository.save(any(RecurringRoutine.class))).thenAnswer(
+        invocation -> invocation.getArgument(0));
+    doThrow(new RoutineConflictException("overlap", List.of(3L)))
+        .when(routineConflictIndex).applyRecurringChanges(any(), any());
+
+    assertThrows(RoutineConflictException.class,
+        () -> recurringRoutineService.saveRecurringRoutine(weekly(null)));
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void saveRecurringRoutine_rejectsEmptyTimeRange() {
+    RecurringRoutineDTO routine = weekly(null);
+    routine.setEndTime(routine.getStartTime());
+
+    assertThrows(RoutineResourceException.class,
+        () -> recurringRoutineService.saveRecurringRoutine(routine));
+    verifyNoInteractions(recurringRoutineRepository, routineConflictIndex);
+  }
+
+  @Test
+  void deleteRecurringRoutine_releasesIndexedPattern() {
+    RecurringRoutine existing = entity(weekly(5L));
+    when(recurringRoutineRepository.findWithExceptionsById(5L)).thenReturn(
+        Optional.of(existing));
+
+    recurringRoutineService.deleteRecurringRoutine(5L);
+
+    verify(recurringRoutineRepository).delete(existing);
+    verify(routineConflictIndex).applyRecurringChanges(
+        argThat(previous -> previous.getRecurringRoutineId().equals(5L)), isNull());
+  }
+
+  @Test
+  void getOccurrences_expandsOnlyTheRequestedRange() {
+    when(recurringRoutineRepository.findByTeachersBetween(List.of(1L), TERM_START,
+        LocalDate.of(2024, 7, 31))).thenReturn(List.of(entity(weekly(5L))));
+
+    List<RoutineOccurrenceDTO> occurrences = recurringRoutineService.getOccurrences(1L,
+        null, TERM_START, LocalDate.of(2024, 7, 31));
+
+    // Mondays of July 2024 without the excepted 8th.
+    assertEquals(List.of(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 7, 15),
+            LocalDate.of(2024, 7, 22), LocalDate.of(2024, 7, 29)),
+        occurrences.stream().map(RoutineOccurrenceDTO::getRoutineDate).toList());
+    assertEquals(5L, occurrences.get(0).getRecurringRoutineId());
+  }
+
+  @Test
+  void getOccurrences_requiresAnOwner() {
+    assertThrows(RoutineResourceException.class,
+        () -> recurringRoutineService.getOccurrences(null, null, TERM_START, TERM_END));
+  }
+}
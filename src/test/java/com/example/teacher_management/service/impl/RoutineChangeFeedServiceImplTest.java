@@ -0,0 +1,139 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RoutineChangeDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.event.RoutineChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutineChangeFeedServiceImplTest {
+
+  private RoutineChangeFeedServiceImpl routineChangeFeedService;
+
+  @BeforeEach
+  void setUp() {
+    routineChangeFeedService = new RoutineChangeFeedServiceImpl(1, 4,
+        Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofSeconds(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    routineChangeFeedService.shutdown();
+  }
+
+  // Records that a write started; a stalling one then blocks until interrupted.
+  private static class TestEmitter extends SseEmitter {
+    private final boolean stall;
+    private final CountDownLatch sent = new CountDownLatch(1);
+
+    private TestEmitter(boolean stall) {
+      this.stall = stall;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      sent.countDown();
+      if (stall) {
+        try {
+          Thread.sleep(60_000);
+        } catch (InterruptedException e) {
+          throw new IOException("Interrupted", e);
+        }
+      }
+    }
+  }
+
+  private RoutineDTO routine(Long id, Long teacherId, Long groupId, int startHour) {
+    return new RoutineDTO(id, LocalTime.of(startHour, 0), LocalTime.of(startHour + 1, 0),
+        LocalDate.of(2024, 7, 1), teacherId, groupId);
+  }
+
+  @Test
+  void toChanges_pairsRemovedAndAddedById() {
+    RoutineChangedEvent event = new RoutineChangedEvent(
+        List.of(routine(1L, 1L, 7L, 9), routine(2L, 1L, 7L, 10)),
+        List.of(routine(1L, 2L, 7L, 11), routine(3L, 1L, 8L, 12)));
+
+    List<RoutineChangeDTO> changes = event.toChanges();
+
+    assertEquals(3, changes.size());
+    assertEquals(RoutineChangeType.UPDATED, changes.get(0).getType());
+    assertEquals(1L, changes.get(0).getRoutineId());
+    assertEquals(1L, changes.get(0).getPrevious().getTeacherId());
+    assertEquals(2L, changes.get(0).getRoutine().getTeacherId());
+    assertEquals(RoutineChangeType.CREATED, changes.get(1).getType());
+    assertNull(changes.get(1).getPrevious());
+    assertEquals(RoutineChangeType.DELETED, changes.get(2).getType());
+    assertEquals(2L, changes.get(2).getRoutineId());
+    assertNull(changes.get(2).getRoutine());
+  }
+
+  @Test
+  void concerns_matchesEitherStateOfAnUpdate() {
+    RoutineChangeDTO change = new RoutineChangeDTO(RoutineChangeType.UPDATED, 1L,
+        routine(1L, 2L, 7L, 9), routine(1L, 1L, 7L, 9));
+
+    assertTrue(change.concerns(null, null));
+    assertTrue(change.concerns(1L, null));
+    assertTrue(change.concerns(2L, 7L));
+    assertFalse(change.concerns(3L, null));
+    assertFalse(change.concerns(1L, 8L));
+  }
+
+  @Test
+  void subscribe_registersEachSubscriber() {
+    SseEmitter emitter = routineChangeFeedService.subscribe(1L, null);
+    routineChangeFeedService.subscribe(null, 7L);
+
+    assertNotNull(emitter);
+    assertEquals(2, routineChangeFeedService.subscriberCount());
+    // Publishing only fills the buffers; no request is attached, so the emitters
+    // hold the writes until one is.
+    assertDoesNotThrow(() -> routineChangeFeedService.onRoutineChanged(
+        new RoutineChangedEvent(List.of(), List.of(routine(1L, 1L, 8L, 9)))));
+  }
+
+  @Test
+  void stalledWriteDropsSubscriberAndFreesSender() throws Exception {
+    TestEmitter slow = new TestEmitter(true);
+    TestEmitter fast = new TestEmitter(false);
+    Iterator<TestEmitter> emitters = List.of(slow, fast).iterator();
+    RoutineChangeFeedServiceImpl feed = new RoutineChangeFeedServiceImpl(1, 4,
+        Duration.ofMinutes(1), Duration.ofMinutes(1), Duration.ofMillis(100)) {
+      @Override
+      SseEmitter newEmitter(long timeoutMillis) {
+        return emitters.next();
+      }
+    };
+    try {
+      feed.subscribe(1L, null);
+      feed.subscribe(2L, null);
+
+      feed.onRoutineChanged(
+          new RoutineChangedEvent(List.of(), List.of(routine(1L, 1L, 7L, 9))));
+      assertTrue(slow.sent.await(5, TimeUnit.SECONDS));
+      // The only sender is blocked on the slow client until the watchdog drops it.
+      feed.onRoutineChanged(
+          new RoutineChangedEvent(List.of(), List.of(routine(2L, 2L, 7L, 9))));
+
+      assertTrue(fast.sent.await(5, TimeUnit.SECONDS));
+      assertEquals(1, feed.subscriberCount());
+    } finally {
+      feed.shutdown();
+    }
+  }
+}
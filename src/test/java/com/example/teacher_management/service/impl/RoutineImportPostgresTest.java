@@ -0,0 +1,84 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RoutineImportRejectionDTO;
+import com.example.teacher_management.dto.RoutineImportReportDTO;
+import com.example.teacher_management.service.RoutineImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the CSV import against a real PostgreSQL: the COPY into the staging table, the
+ * merge statement with its rollup upserts, and the per-line rejection report.
+ * Skipped when no Docker daemon is available.
+ */
+@SpringBootTest(properties = "journal.dir=build/routine-import-test-journal")
+@Testcontainers(disabledWithoutDocker = true)
+class RoutineImportPostgresTest {
+
+  @Container
+  @ServiceConnection
+  static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+  @Autowired
+  private RoutineImportService routineImportService;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void importCsv_mergesStagedRowsAndReportsRejections() throws Exception {
+    jdbcTemplate.update("INSERT INTO teacher (teacher_id, name) VALUES"
+        + " (900001, 'Import Ann'), (900002, 'Import Bob'), (900003, 'Import Bob ')");
+    jdbcTemplate.update("INSERT INTO study_group (group_id, group_name)"
+        + " VALUES (900001, 'Import Group')");
+    // Written behind the application's back, so only the merge can see it.
+    jdbcTemplate.update("INSERT INTO routine (routine_id, start_time, end_time,"
+        + " routine_date, teacher_id, group_id)"
+        + " VALUES (900001, '09:00', '10:00', '2024-08-05', 900001, 900001)");
+    String csv = "teacher_name,group_id,routine_date,start_time,end_time\n"
+        + "Import Ann,900001,2024-08-06,09:00,10:00\n"
+        + "Nobody,900001,2024-08-06,11:00,12:00\n"
+        + "Import Ann,900001,2024-08-05,09:00,10:00\n"
+        + "Import Ann,900001,2024-08-06,09:30,10:30\n"
+        + "Import Bob,900001,2024-08-08,09:00,10:00\n"
+        + "\"Import Ann\",900001,2024-08-07,13:00,14:30\n";
+
+    RoutineImportReportDTO report = routineImportService.importCsv(
+        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(6, report.getTotalRows());
+    assertEquals(2, report.getImportedRows());
+    assertEquals(4, report.getRejectedRows());
+    assertEquals(List.of(3L, 4L, 5L, 6L), report.getRejections().stream()
+        .map(RoutineImportRejectionDTO::getLineNumber).toList());
+    assertEquals(List.of("Unknown teacher: Nobody", "Routine already exists",
+            "Overlaps line(s) [2]", "Ambiguous teacher name: Import Bob"),
+        report.getRejections().stream().map(RoutineImportRejectionDTO::getReason)
+            .toList());
+
+    assertEquals(List.of("2024-08-05", "2024-08-06", "2024-08-07"),
+        jdbcTemplate.queryForList("SELECT routine_date::text FROM routine"
+            + " WHERE teacher_id = 900001 ORDER BY routine_date", String.class));
+    assertEquals(2L, jdbcTemplate.queryForObject("SELECT count(*) FROM routine"
+        + " WHERE teacher_id = 900001 AND change_seq > (SELECT change_seq FROM routine"
+        + " WHERE routine_id = 900001)", Long.class));
+    assertEquals(List.of(60L, 90L), jdbcTemplate.queryForList("SELECT minutes"
+        + " FROM teacher_daily_workload WHERE teacher_id = 900001"
+        + " ORDER BY workload_date", Long.class));
+    assertEquals(List.of(60L, 90L), jdbcTemplate.queryForList("SELECT minutes"
+        + " FROM group_daily_workload WHERE group_id = 900001"
+        + " ORDER BY workload_date", Long.class));
+  }
+}
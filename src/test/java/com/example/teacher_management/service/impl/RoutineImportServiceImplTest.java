@@ -0,0 +1,96 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.RoutineConflictIndex;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineImportReportDTO;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoutineImportServiceImplTest {
+
+  @Mock
+  private TeacherRepository teacherRepository;
+
+  @Mock
+  private GroupRepository groupRepository;
+
+  @Mock
+  private RoutineConflictIndex routineConflictIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private DataSource dataSource;
+
+  @Mock
+  private Connection connection;
+
+  @Mock
+  private PGConnection pgConnection;
+
+  @Mock
+  private CopyManager copyManager;
+
+  @Mock
+  private CopyIn copyIn;
+
+  @InjectMocks
+  private RoutineImportServiceImpl routineImportService;
+
+  @Test
+  void importCsv_rejectsLineOverlappingRecurringRoutine() throws Exception {
+    when(teacherRepository.findAll()).thenReturn(
+        List.of(new Teacher(1L, "Ann", null, null, null, 0L)));
+    when(groupRepository.findAll()).thenReturn(
+        List.of(new StudyGroup(7L, "A", null, null, 0L)));
+    when(dataSource.getConnection()).thenReturn(connection);
+    when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+    when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+    when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+    when(routineConflictIndex.findRecurringConflicts(any(RoutineDTO.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0, RoutineDTO.class)
+            .getRoutineDate().equals(LocalDate.of(2024, 7, 1)) ? List.of(3L) : List.of());
+    String csv = "teacher_name,group_id,routine_date,start_time,end_time\n"
+        + "Ann,7,2024-07-01,09:00,10:00\n"
+        + "Ann,7,2024-07-02,09:00,10:00\n";
+
+    RoutineImportReportDTO report = routineImportService.importCsv(
+        new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+    assertEquals(2, report.getTotalRows());
+    assertEquals(1, report.getImportedRows());
+    assertEquals(1, report.getRejectedRows());
+    assertEquals(2L, report.getRejections().get(0).getLineNumber());
+    assertEquals("Overlaps recurring routine(s) [3]",
+        report.getRejections().get(0).getReason());
+    verify(copyIn, times(1)).writeToCopy(any(byte[].class), eq(0), anyInt());
+    verify(routineConflictIndex).applyChanges(List.of(), List.of());
+  }
+}
@@ -1,26 +1,54 @@
 package com.example.teacher_management.service.impl;
 
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.RoutineConflictIndex;
+import com.example.teacher_management.dto.BatchOperationType;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
+import com.example.teacher_management.dto.RoutineCursor;
 import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.RoutineFilter;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
 import com.example.teacher_management.entity.Routine;
 import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.entity.Tombstone;
+import com.example.teacher_management.event.RoutineChangedEvent;
 import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.RoutineConflictException;
 import com.example.teacher_management.exception.RoutineResourceException;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.repository.GroupRepository;
 import com.example.teacher_management.repository.RoutineRepository;
 import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.WorkloadRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +56,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class RoutineServiceImplTest {
 
+  private static final Set<String> ALL_FIELDS = Set.copyOf(RoutineDTO.FIELDS);
+
   @Mock
   private RoutineRepository routineRepository;
 
@@ -37,6 +67,24 @@ class RoutineServiceImplTest {
   @Mock
   private GroupRepository groupRepository;
 
+  @Mock
+  private TombstoneRepository tombstoneRepository;
+
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @Mock
+  private WorkloadRollupService workloadRollupService;
+
+  @Mock
+  private RoutineConflictIndex routineConflictIndex;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
   @InjectMocks
   private RoutineServiceImpl routineService;
 
@@ -69,23 +117,40 @@ class RoutineServiceImplTest {
     routine.setRoutineDate(LocalDate.now());
     routine.setStartTime(LocalTime.of(9, 0));
     routine.setEndTime(LocalTime.of(10, 0));
+    routine.setVersion(2L);
   }
 
   @Test
   void saveRoutine_success() {
-    when(teacherRepository.findById(anyLong())).thenReturn(Optional.of(teacher));
-    when(groupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(referenceDataCache.findTeacherById(anyLong())).thenReturn(Optional.of(teacher));
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.of(studyGroup));
     when(routineRepository.save(any(Routine.class))).thenReturn(routine);
 
     RoutineDTO savedRoutine = routineService.saveRoutine(routineDTO);
 
     assertNotNull(savedRoutine);
     verify(routineRepository, times(1)).save(any(Routine.class));
+    verify(eventPublisher, times(1)).publishEvent(any(RoutineChangedEvent.class));
+  }
+
+  @Test
+  void saveRoutine_conflict() {
+    when(referenceDataCache.findTeacherById(anyLong())).thenReturn(Optional.of(teacher));
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(routineRepository.save(any(Routine.class))).thenReturn(routine);
+    doThrow(new RoutineConflictException("Routine overlaps routine(s) [5]", List.of(5L)))
+        .when(routineConflictIndex).applyChanges(anyList(), anyList());
+
+    RoutineConflictException exception = assertThrows(RoutineConflictException.class,
+        () -> routineService.saveRoutine(routineDTO));
+
+    assertEquals(List.of(5L), exception.getConflictingRoutineIds());
+    verifyNoInteractions(workloadRollupService);
   }
 
   @Test
   void saveRoutine_teacherNotFound() {
-    when(teacherRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(referenceDataCache.findTeacherById(anyLong())).thenReturn(Optional.empty());
 
     RoutineResourceException exception = assertThrows(RoutineResourceException.class,
         () -> routineService.saveRoutine(routineDTO));
@@ -98,14 +163,43 @@ class RoutineServiceImplTest {
   @Test
   void updateRoutine_success() {
     when(routineRepository.findById(anyLong())).thenReturn(Optional.of(routine));
-    when(teacherRepository.findById(anyLong())).thenReturn(Optional.of(teacher));
-    when(groupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
-    when(routineRepository.save(any(Routine.class))).thenReturn(routine);
+    when(referenceDataCache.findTeacherById(anyLong())).thenReturn(Optional.of(teacher));
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(routineRepository.saveAndFlush(any(Routine.class))).thenReturn(routine);
 
-    RoutineDTO updatedRoutine = routineService.updateRoutine(1L, routineDTO);
+    Versioned<RoutineDTO> updatedRoutine = routineService.updateRoutine(1L, routineDTO,
+        2L);
 
-    assertNotNull(updatedRoutine);
-    verify(routineRepository, times(1)).save(any(Routine.class));
+    assertNotNull(updatedRoutine.getValue());
+    assertEquals(2L, updatedRoutine.getVersion());
+    verify(routineRepository, times(1)).saveAndFlush(any(Routine.class));
+  }
+
+  @Test
+  void updateRoutine_staleVersion() {
+    when(routineRepository.findById(anyLong())).thenReturn(Optional.of(routine));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> routineService.updateRoutine(1L, routineDTO, 1L));
+
+    assertEquals("Routine with id 1 is at version 2, not 1", exception.getMessage());
+    verify(routineRepository, never()).saveAndFlush(any(Routine.class));
+    verifyNoInteractions(routineConflictIndex, workloadRollupService);
+  }
+
+  @Test
+  void updateRoutine_concurrentWrite() {
+    when(routineRepository.findById(anyLong())).thenReturn(Optional.of(routine));
+    when(referenceDataCache.findTeacherById(anyLong())).thenReturn(Optional.of(teacher));
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(routineRepository.saveAndFlush(any(Routine.class))).thenThrow(
+        new ObjectOptimisticLockingFailureException(Routine.class, 1L));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> routineService.updateRoutine(1L, routineDTO, null));
+
+    assertEquals("Routine with id 1 was updated concurrently", exception.getMessage());
+    verifyNoInteractions(routineConflictIndex, workloadRollupService);
   }
 
   @Test
@@ -113,7 +207,7 @@ class RoutineServiceImplTest {
     when(routineRepository.findById(anyLong())).thenReturn(Optional.empty());
 
     RoutineResourceException exception = assertThrows(RoutineResourceException.class,
-        () -> routineService.updateRoutine(1L, routineDTO));
+        () -> routineService.updateRoutine(1L, routineDTO, null));
 
     assertEquals("Error updating routine with id 1: Routine not found with id: 1",
         exception.getMessage());
@@ -121,17 +215,21 @@ class RoutineServiceImplTest {
 
   @Test
   void deleteRoutine_success() {
-    when(routineRepository.existsById(anyLong())).thenReturn(true);
+    when(routineRepository.findDtoById(anyLong())).thenReturn(Optional.of(routineDTO));
     doNothing().when(routineRepository).deleteById(anyLong());
 
     routineService.deleteRoutine(1L);
 
     verify(routineRepository, times(1)).deleteById(anyLong());
+    verify(workloadRollupService, times(1)).applyChanges(List.of(routineDTO), List.of());
+    verify(tombstoneRepository).save(argThat((Tombstone tombstone) ->
+        tombstone.getEntityType() == SyncEntityType.ROUTINE
+            && tombstone.getEntityId() == 1L));
   }
 
   @Test
   void deleteRoutine_notFound() {
-    when(routineRepository.existsById(anyLong())).thenReturn(false);
+    when(routineRepository.findDtoById(anyLong())).thenReturn(Optional.empty());
 
     RoutineResourceException exception = assertThrows(RoutineResourceException.class,
         () -> routineService.deleteRoutine(1L));
@@ -141,28 +239,193 @@ class RoutineServiceImplTest {
   }
 
   @Test
-  void getAllRoutines_success() {
-    when(routineRepository.findAll()).thenReturn(List.of(routine));
+  void getRoutines_lastPage() {
+    when(routineRepository.findPage(any(RoutineFilter.class), isNull(), eq(51),
+        eq(ALL_FIELDS))).thenReturn(List.of(routineDTO));
+
+    CursorPageDTO<RoutineDTO> page = routineService.getRoutines(new RoutineFilter(),
+        null, null, ALL_FIELDS);
+
+    assertEquals(1, page.getItems().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void getRoutines_hasNextPage() {
+    RoutineDTO next = new RoutineDTO();
+    next.setRoutineId(2L);
+    next.setRoutineDate(routineDTO.getRoutineDate());
+    when(routineRepository.findPage(any(RoutineFilter.class), any(RoutineCursor.class),
+        eq(2), eq(ALL_FIELDS))).thenReturn(List.of(routineDTO, next));
+
+    String cursor = new RoutineCursor(LocalDate.of(2024, 7, 1), 0L).encode();
+    CursorPageDTO<RoutineDTO> page = routineService.getRoutines(new RoutineFilter(),
+        cursor, 1, ALL_FIELDS);
+
+    assertEquals(1, page.getItems().size());
+    RoutineCursor nextCursor = RoutineCursor.decode(page.getNextCursor());
+    assertEquals(routineDTO.getRoutineDate(), nextCursor.getRoutineDate());
+    assertEquals(1L, nextCursor.getRoutineId());
+  }
+
+  @Test
+  void getRoutines_pageEndingOnUndatedRoutine() {
+    RoutineDTO undated = new RoutineDTO();
+    undated.setRoutineId(4L);
+    when(routineRepository.findPage(any(RoutineFilter.class), isNull(), eq(2),
+        eq(ALL_FIELDS))).thenReturn(List.of(undated, routineDTO));
+
+    CursorPageDTO<RoutineDTO> page = routineService.getRoutines(new RoutineFilter(),
+        null, 1, ALL_FIELDS);
+
+    RoutineCursor nextCursor = RoutineCursor.decode(page.getNextCursor());
+    assertNull(nextCursor.getRoutineDate());
+    assertEquals(4L, nextCursor.getRoutineId());
+  }
+
+  @Test
+  void getRoutines_sizeIsCapped() {
+    when(routineRepository.findPage(any(RoutineFilter.class), isNull(), eq(501),
+        eq(ALL_FIELDS))).thenReturn(List.of(routineDTO));
+
+    routineService.getRoutines(new RoutineFilter(), null, 10_000, ALL_FIELDS);
+
+    verify(routineRepository, times(1)).findPage(any(RoutineFilter.class), isNull(),
+        eq(501), eq(ALL_FIELDS));
+  }
+
+  @Test
+  void getRoutines_invalidCursor() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineService.getRoutines(new RoutineFilter(), "not-a-cursor", null,
+            ALL_FIELDS));
 
-    List<RoutineDTO> routines = routineService.getAllRoutines();
+    assertEquals("Error fetching routines: Invalid cursor: not-a-cursor",
+        exception.getMessage());
+  }
 
-    assertFalse(routines.isEmpty());
-    verify(routineRepository, times(1)).findAll();
+  @Test
+  void exportRoutines_writesOneLinePerRoutine() throws IOException {
+    RoutineDTO second = RoutineDTO.fromEntity(routine);
+    second.setRoutineId(2L);
+    when(routineRepository.streamForExport(ALL_FIELDS)).thenReturn(
+        Stream.of(RoutineDTO.fromEntity(routine), second));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    routineService.exportRoutines(out, ALL_FIELDS);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertEquals(2L, objectMapper.readValue(lines[1], RoutineDTO.class).getRoutineId());
+  }
+
+  @Test
+  void exportRoutines_writesOnlySelectedFields() throws IOException {
+    Set<String> fields = Set.of("routineId", "routineDate");
+    RoutineDTO selected = new RoutineDTO();
+    selected.setRoutineId(1L);
+    selected.setRoutineDate(LocalDate.of(2024, 7, 1));
+    when(routineRepository.streamForExport(fields)).thenReturn(Stream.of(selected));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    routineService.exportRoutines(out, fields);
+
+    Set<String> written = new HashSet<>();
+    objectMapper.readTree(out.toString(StandardCharsets.UTF_8).trim()).fieldNames()
+        .forEachRemaining(written::add);
+    assertEquals(fields, written);
+  }
+
+  @Test
+  void applyBatch_success() {
+    RoutineDTO create = RoutineDTO.fromEntity(routine);
+    create.setRoutineId(null);
+    RoutineDTO delete = new RoutineDTO();
+    delete.setRoutineId(2L);
+    Routine toDelete = new Routine();
+    toDelete.setRoutineId(2L);
+    when(teacherRepository.findAllById(anySet())).thenReturn(List.of(teacher));
+    when(groupRepository.findAllById(anySet())).thenReturn(List.of(studyGroup));
+    when(routineRepository.findAllById(anySet())).thenReturn(List.of(routine, toDelete));
+    when(tombstoneRepository.nextChangeSeqs(3)).thenReturn(List.of(10L, 11L, 12L));
+
+    RoutineBatchResultDTO result = routineService.applyBatch(List.of(
+        new RoutineBatchOperationDTO(BatchOperationType.CREATE, create),
+        new RoutineBatchOperationDTO(BatchOperationType.UPDATE, routineDTO),
+        new RoutineBatchOperationDTO(BatchOperationType.DELETE, delete)));
+
+    assertEquals(1, result.getCreated().size());
+    assertEquals(1, result.getUpdated().size());
+    assertEquals(List.of(2L), result.getDeleted());
+    verify(teacherRepository, times(1)).findAllById(anySet());
+    verify(groupRepository, times(1)).findAllById(anySet());
+    verify(routineRepository, times(1)).saveAll(anyList());
+    verify(routineRepository, times(1)).deleteAllByIdInBatch(List.of(2L));
+    assertEquals(11L, routine.getChangeSeq());
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Tombstone>> tombstones = ArgumentCaptor.forClass(List.class);
+    verify(tombstoneRepository).saveAll(tombstones.capture());
+    assertEquals(1, tombstones.getValue().size());
+    assertEquals(12L, tombstones.getValue().get(0).getChangeSeq());
+    assertEquals(SyncEntityType.ROUTINE, tombstones.getValue().get(0).getEntityType());
+  }
+
+  @Test
+  void applyBatch_unknownTeacher() {
+    when(teacherRepository.findAllById(anySet())).thenReturn(List.of());
+    when(groupRepository.findAllById(anySet())).thenReturn(List.of(studyGroup));
+    when(routineRepository.findAllById(anySet())).thenReturn(List.of());
+    routineDTO.setRoutineId(null);
+
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineService.applyBatch(List.of(
+            new RoutineBatchOperationDTO(BatchOperationType.CREATE, routineDTO))));
+
+    assertEquals("Error applying routine batch: Teacher not found with id: 1",
+        exception.getMessage());
+    verify(routineRepository, never()).saveAll(anyList());
+  }
+
+  @Test
+  void applyBatch_unknownRoutine() {
+    when(teacherRepository.findAllById(anySet())).thenReturn(List.of(teacher));
+    when(groupRepository.findAllById(anySet())).thenReturn(List.of(studyGroup));
+    when(routineRepository.findAllById(anySet())).thenReturn(List.of());
+
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineService.applyBatch(List.of(
+            new RoutineBatchOperationDTO(BatchOperationType.UPDATE, routineDTO))));
+
+    assertEquals("Error applying routine batch: Routine not found with id: 1",
+        exception.getMessage());
+  }
+
+  @Test
+  void applyBatch_repeatedRoutineId() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineService.applyBatch(List.of(
+            new RoutineBatchOperationDTO(BatchOperationType.UPDATE, routineDTO),
+            new RoutineBatchOperationDTO(BatchOperationType.DELETE, routineDTO))));
+
+    assertEquals("Error applying routine batch: Routine 1 appears more than once in the"
+        + " batch", exception.getMessage());
+    verifyNoInteractions(routineRepository, routineConflictIndex);
   }
 
   @Test
   void getRoutineById_success() {
-    when(routineRepository.findById(anyLong())).thenReturn(Optional.of(routine));
+    when(routineRepository.findDtoById(anyLong())).thenReturn(Optional.of(routineDTO));
 
     Optional<RoutineDTO> routineOptional = routineService.getRoutineById(1L);
 
     assertTrue(routineOptional.isPresent());
-    verify(routineRepository, times(1)).findById(anyLong());
+    verify(routineRepository, times(1)).findDtoById(anyLong());
+    verify(routineRepository, never()).findById(anyLong());
   }
 
   @Test
   void getRoutineById_notFound() {
-    when(routineRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(routineRepository.findDtoById(anyLong())).thenReturn(Optional.empty());
 
     RoutineResourceException exception = assertThrows(RoutineResourceException.class,
         () -> routineService.getRoutineById(1L));
@@ -171,23 +434,41 @@ class RoutineServiceImplTest {
         exception.getMessage());
   }
 
+  @Test
+  void getRoutineVersion_readsVersionOnly() {
+    when(routineRepository.findVersionById(1L)).thenReturn(Optional.of(2L));
+
+    assertEquals(Optional.of(2L), routineService.getRoutineVersion(1L));
+    verify(routineRepository, never()).findDtoById(anyLong());
+  }
+
+  @Test
+  void collectionVersion_coversRowsAndTombstones() {
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(12L);
+    when(routineRepository.findMaxChangeSeq()).thenReturn(7L);
+    when(tombstoneRepository.findMaxChangeSeq(SyncEntityType.ROUTINE)).thenReturn(9L);
+
+    assertEquals(Optional.of(9L), routineService.collectionVersion());
+  }
+
   @Test
   void calculateTeacherWorkload_success() {
-    when(teacherRepository.findByName(anyString())).thenReturn(Optional.of(teacher));
-    when(routineRepository.findByTeacherAndRoutineDateBetween(any(Teacher.class),
-        any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of(routine));
+    when(referenceDataCache.findTeacherByName(anyString())).thenReturn(
+        Optional.of(teacher));
+    when(workloadRollupService.teacherMinutes(anyLong(), any(LocalDate.class),
+        any(LocalDate.class))).thenReturn(90L);
 
     long workload = routineService.calculateTeacherWorkload("Aashish Karki",
         LocalDate.now(), LocalDate.now());
 
-    assertEquals(1, workload);
-    verify(routineRepository, times(1)).findByTeacherAndRoutineDateBetween(
-        any(Teacher.class), any(LocalDate.class), any(LocalDate.class));
+    assertEquals(90, workload);
+    verify(workloadRollupService, times(1)).teacherMinutes(anyLong(),
+        any(LocalDate.class), any(LocalDate.class));
   }
 
   @Test
   void calculateTeacherWorkload_teacherNotFound() {
-    when(teacherRepository.findByName(anyString())).thenReturn(Optional.empty());
+    when(referenceDataCache.findTeacherByName(anyString())).thenReturn(Optional.empty());
 
     TeacherResourceException exception = assertThrows(TeacherResourceException.class,
         () -> routineService.calculateTeacherWorkload("Aashish Karki", LocalDate.now(),
@@ -198,24 +479,78 @@ class RoutineServiceImplTest {
 
   @Test
   void calculateGroupWorkload_success() {
-    when(groupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
-    when(routineRepository.findByStudyGroup(any(StudyGroup.class))).thenReturn(
-        List.of(routine));
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(workloadRollupService.groupMinutes(anyLong())).thenReturn(60L);
 
-    long workload = routineService.calculateGroupWorkload(1L);
+    long workload = routineService.calculateGroupWorkload(1L, null, null);
 
-    assertEquals(1, workload);
-    verify(routineRepository, times(1)).findByStudyGroup(any(StudyGroup.class));
+    assertEquals(60, workload);
+    verify(workloadRollupService, times(1)).groupMinutes(anyLong());
   }
 
   @Test
   void calculateGroupWorkload_groupNotFound() {
-    when(groupRepository.findById(anyLong())).thenReturn(Optional.empty());
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.empty());
 
     GroupResourceException exception = assertThrows(GroupResourceException.class,
-        () -> routineService.calculateGroupWorkload(1L));
+        () -> routineService.calculateGroupWorkload(1L, null, null));
 
     assertEquals("Group not found with id: 1", exception.getMessage());
   }
-}
 
+  @Test
+  void calculateGroupWorkload_dateRange() {
+    LocalDate start = LocalDate.of(2024, 7, 1);
+    LocalDate end = LocalDate.of(2024, 7, 31);
+    when(referenceDataCache.findGroupById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(workloadRollupService.groupMinutes(1L, start, end)).thenReturn(45L);
+
+    assertEquals(45L, routineService.calculateGroupWorkload(1L, start, end));
+    verify(workloadRollupService, never()).groupMinutes(anyLong());
+  }
+
+  @Test
+  void calculateTeacherWorkloads_byIds() {
+    LocalDate start = LocalDate.of(2024, 7, 1);
+    LocalDate end = LocalDate.of(2024, 7, 31);
+    when(workloadRollupService.teacherMinutes(anyCollection(), eq(start), eq(end)))
+        .thenReturn(Map.of(1L, 90L, 2L, 0L));
+
+    Map<Long, Long> workloads = routineService.calculateTeacherWorkloads(
+        List.of(1L, 2L, 2L), null, start, end);
+
+    assertEquals(Map.of(1L, 90L, 2L, 0L), workloads);
+    verifyNoMoreInteractions(referenceDataCache);
+  }
+
+  @Test
+  void calculateTeacherWorkloads_byDepartment() {
+    LocalDate start = LocalDate.of(2024, 7, 1);
+    LocalDate end = LocalDate.of(2024, 7, 31);
+    when(workloadRollupService.departmentMinutes("Science", start, end))
+        .thenReturn(Map.of(3L, 120L));
+
+    assertEquals(Map.of(3L, 120L),
+        routineService.calculateTeacherWorkloads(null, "Science", start, end));
+  }
+
+  @Test
+  void calculateTeacherWorkloads_idsAndDepartment() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineService.calculateTeacherWorkloads(List.of(1L), "Science",
+            LocalDate.now(), LocalDate.now()));
+
+    assertEquals("Error while calculating teacher workloads: Provide either teacher ids"
+        + " or a department", exception.getMessage());
+  }
+
+  @Test
+  void calculateGroupWorkloads_invalidRange() {
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> routineService.calculateGroupWorkloads(List.of(1L),
+            LocalDate.of(2024, 7, 31), LocalDate.of(2024, 7, 1)));
+
+    assertEquals("Error while calculating group workloads: Start date is after end date",
+        exception.getMessage());
+  }
+}
@@ -2,27 +2,56 @@ package com.example.teacher_management.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.SearchIndex;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.SearchHitDTO;
 import com.example.teacher_management.dto.StudyGroupDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Tombstone;
 import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.ChangeJournalService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class StudyGroupServiceImplTest {
 
+  private static final Set<String> ALL_FIELDS = Set.copyOf(StudyGroupDTO.FIELDS);
+
   @Mock
   private GroupRepository studyGroupRepository;
 
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @Mock
+  private TombstoneRepository tombstoneRepository;
+
+  @Mock
+  private ChangeJournalService changeJournalService;
+
+  @Mock
+  private SearchIndex searchIndex;
+
   @InjectMocks
   private StudyGroupServiceImpl studyGroupService;
 
@@ -35,6 +64,7 @@ class StudyGroupServiceImplTest {
     studyGroup.setGroupId(1L);
     studyGroup.setGroupName("IT Group");
     studyGroup.setDescription("Group for IT enthusiasts");
+    studyGroup.setVersion(2L);
 
     studyGroupDTO = new StudyGroupDTO();
     studyGroupDTO.setGroupId(1L);
@@ -63,6 +93,33 @@ class StudyGroupServiceImplTest {
     assertEquals("Group resource not found with id: 1", exception.getMessage());
   }
 
+  @Test
+  void findVersion_readsVersionOnly() {
+    when(studyGroupRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+    assertEquals(4L, studyGroupService.findVersion(1L));
+    verify(studyGroupRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  void findVersion_notFound() {
+    when(studyGroupRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+    GroupResourceException exception = assertThrows(GroupResourceException.class,
+        () -> studyGroupService.findVersion(1L));
+
+    assertEquals("Group resource not found with id: 1", exception.getMessage());
+  }
+
+  @Test
+  void collectionVersion_coversRowsAndTombstones() {
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(23L);
+    when(studyGroupRepository.findMaxChangeSeq()).thenReturn(20L);
+    when(tombstoneRepository.findMaxChangeSeq(SyncEntityType.GROUP)).thenReturn(3L);
+
+    assertEquals(Optional.of(20L), studyGroupService.collectionVersion());
+  }
+
   @Test
   void save_success() {
     when(studyGroupRepository.save(any(StudyGroup.class))).thenReturn(studyGroup);
@@ -72,6 +129,7 @@ class StudyGroupServiceImplTest {
     assertNotNull(savedGroupDTO);
     assertEquals(studyGroupDTO.getGroupName(), savedGroupDTO.getGroupName());
     verify(studyGroupRepository, times(1)).save(any(StudyGroup.class));
+    verify(searchIndex).putGroup(any(StudyGroupDTO.class));
   }
 
   @Test
@@ -88,14 +146,43 @@ class StudyGroupServiceImplTest {
   @Test
   void update_success() {
     when(studyGroupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
-    when(studyGroupRepository.save(any(StudyGroup.class))).thenReturn(studyGroup);
+    when(studyGroupRepository.saveAndFlush(any(StudyGroup.class))).thenReturn(studyGroup);
 
-    StudyGroupDTO updatedGroupDTO = studyGroupService.update(1L, studyGroupDTO);
+    Versioned<StudyGroupDTO> updatedGroupDTO =
+        studyGroupService.update(1L, studyGroupDTO, null);
 
     assertNotNull(updatedGroupDTO);
-    assertEquals(studyGroupDTO.getGroupName(), updatedGroupDTO.getGroupName());
+    assertEquals(studyGroupDTO.getGroupName(), updatedGroupDTO.getValue().getGroupName());
+    assertEquals(2L, updatedGroupDTO.getVersion());
     verify(studyGroupRepository, times(1)).findById(anyLong());
-    verify(studyGroupRepository, times(1)).save(any(StudyGroup.class));
+    verify(studyGroupRepository, times(1)).saveAndFlush(any(StudyGroup.class));
+    verify(referenceDataCache, times(1)).evictGroup(1L);
+    verify(searchIndex).putGroup(any(StudyGroupDTO.class));
+  }
+
+  @Test
+  void update_staleVersion() {
+    when(studyGroupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> studyGroupService.update(1L, studyGroupDTO, 1L));
+
+    assertEquals("Study group with id 1 is at version 2, not 1", exception.getMessage());
+    verify(studyGroupRepository, never()).saveAndFlush(any(StudyGroup.class));
+  }
+
+  @Test
+  void update_concurrentWrite() {
+    when(studyGroupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
+    when(studyGroupRepository.saveAndFlush(any(StudyGroup.class))).thenThrow(
+        new ObjectOptimisticLockingFailureException(StudyGroup.class, 1L));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> studyGroupService.update(1L, studyGroupDTO, 2L));
+
+    assertEquals("Study group with id 1 was updated concurrently",
+        exception.getMessage());
+    verifyNoInteractions(searchIndex, changeJournalService);
   }
 
   @Test
@@ -103,7 +190,7 @@ class StudyGroupServiceImplTest {
     when(studyGroupRepository.findById(anyLong())).thenReturn(Optional.empty());
 
     GroupResourceException exception = assertThrows(GroupResourceException.class,
-        () -> studyGroupService.update(1L, studyGroupDTO));
+        () -> studyGroupService.update(1L, studyGroupDTO, null));
 
     assertEquals("Error updating study group with id: 1. Group not found with id: 1",
         exception.getMessage());
@@ -112,11 +199,11 @@ class StudyGroupServiceImplTest {
   @Test
   void update_exception() {
     when(studyGroupRepository.findById(anyLong())).thenReturn(Optional.of(studyGroup));
-    when(studyGroupRepository.save(any(StudyGroup.class))).thenThrow(
+    when(studyGroupRepository.saveAndFlush(any(StudyGroup.class))).thenThrow(
         new RuntimeException("Database error"));
 
     GroupResourceException exception = assertThrows(GroupResourceException.class,
-        () -> studyGroupService.update(1L, studyGroupDTO));
+        () -> studyGroupService.update(1L, studyGroupDTO, null));
 
     assertEquals("Error updating study group with id: 1. Database error",
         exception.getMessage());
@@ -131,6 +218,13 @@ class StudyGroupServiceImplTest {
 
     verify(studyGroupRepository, times(1)).existsById(anyLong());
     verify(studyGroupRepository, times(1)).deleteById(anyLong());
+    verify(referenceDataCache, times(1)).evictGroup(1L);
+    verify(tombstoneRepository).save(argThat((Tombstone tombstone) ->
+        tombstone.getEntityType() == SyncEntityType.GROUP
+            && tombstone.getEntityId() == 1L));
+    verify(changeJournalService).record(SyncEntityType.GROUP, RoutineChangeType.DELETED,
+        1L);
+    verify(searchIndex).removeGroup(1L);
   }
 
   @Test
@@ -156,4 +250,81 @@ class StudyGroupServiceImplTest {
     assertEquals("Error deleting study group with id: 1. Database error",
         exception.getMessage());
   }
+
+  @Test
+  void search_clampsLimit() {
+    when(searchIndex.searchGroups("it", 100)).thenReturn(
+        List.of(new SearchHitDTO<>(studyGroupDTO, 1.0)));
+
+    List<SearchHitDTO<StudyGroupDTO>> hits = studyGroupService.search("it", 1000);
+
+    assertEquals(1, hits.size());
+    assertEquals(studyGroupDTO, hits.get(0).getItem());
+  }
+
+  @Test
+  void search_blankQuery() {
+    GroupResourceException exception = assertThrows(GroupResourceException.class,
+        () -> studyGroupService.search(" ", null));
+
+    assertEquals("A search query is required", exception.getMessage());
+    verifyNoInteractions(searchIndex);
+  }
+
+  @Test
+  void findAllById_keepsRequestedOrderAndSkipsMissing() {
+    StudyGroup other = new StudyGroup();
+    other.setGroupId(2L);
+    when(studyGroupRepository.findAllById(any())).thenReturn(List.of(studyGroup, other));
+
+    List<StudyGroupDTO> found = studyGroupService.findAllById(List.of(2L, 3L, 1L, 2L));
+
+    assertEquals(List.of(2L, 1L), found.stream().map(StudyGroupDTO::getGroupId).toList());
+    verify(studyGroupRepository, times(1)).findAllById(any());
+  }
+
+  @Test
+  void findAllById_empty() {
+    GroupResourceException exception = assertThrows(GroupResourceException.class,
+        () -> studyGroupService.findAllById(List.of()));
+
+    assertEquals("At least one id is required", exception.getMessage());
+    verifyNoInteractions(studyGroupRepository);
+  }
+
+  @Test
+  void getGroups_hasNextPage() {
+    StudyGroupDTO next = new StudyGroupDTO();
+    next.setGroupId(2L);
+    when(studyGroupRepository.findPage(isNull(), any(IdCursor.class), eq(2),
+        eq(ALL_FIELDS)))
+        .thenReturn(List.of(studyGroupDTO, next));
+
+    CursorPageDTO<StudyGroupDTO> page = studyGroupService.getGroups(null,
+        new IdCursor(0L).encode(), 1, ALL_FIELDS);
+
+    assertEquals(1, page.getItems().size());
+    assertEquals(1L, IdCursor.decode(page.getNextCursor()).getId());
+  }
+
+  @Test
+  void getGroups_lastPageWithCappedSize() {
+    when(studyGroupRepository.findPage(isNull(), isNull(), eq(501), eq(ALL_FIELDS)))
+        .thenReturn(List.of(studyGroupDTO));
+
+    CursorPageDTO<StudyGroupDTO> page = studyGroupService.getGroups(null, null, 10_000,
+        ALL_FIELDS);
+
+    assertEquals(1, page.getItems().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void getGroups_invalidCursor() {
+    GroupResourceException exception = assertThrows(GroupResourceException.class,
+        () -> studyGroupService.getGroups(null, "not-a-cursor", null, ALL_FIELDS));
+
+    assertEquals("Error fetching study groups: Invalid cursor: not-a-cursor",
+        exception.getMessage());
+  }
 }
@@ -0,0 +1,140 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.SyncDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import com.example.teacher_management.entity.Routine;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.entity.Tombstone;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.GroupRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceImplTest {
+
+  @Mock
+  private TeacherRepository teacherRepository;
+
+  @Mock
+  private GroupRepository groupRepository;
+
+  @Mock
+  private RoutineRepository routineRepository;
+
+  @Mock
+  private TombstoneRepository tombstoneRepository;
+
+  @InjectMocks
+  private SyncServiceImpl syncService;
+
+  private Routine routine(long id, long changeSeq) {
+    return new Routine(id, LocalTime.of(9, 0), LocalTime.of(10, 0),
+        LocalDate.of(2024, 7, 1), null, null, changeSeq, 0L);
+  }
+
+  @Test
+  void changesSince_endsPageAtLimitAcrossTables() {
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(30L);
+    when(teacherRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of(new Teacher(1L, "Ann", null, null, 12L, 0L)));
+    when(groupRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(routineRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of(routine(5L, 11L), routine(6L, 14L)));
+    when(tombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of(new Tombstone(13L, SyncEntityType.ROUTINE, 4L)));
+
+    SyncDTO sync = syncService.changesSince(10L, 2);
+
+    assertEquals(12L, sync.getChangeSeq());
+    assertTrue(sync.isHasMore());
+    assertEquals(1, sync.getTeachers().size());
+    assertEquals(List.of(5L), sync.getRoutines().stream()
+        .map(RoutineDTO::getRoutineId).toList());
+    assertTrue(sync.getDeleted().isEmpty());
+    verify(routineRepository).findByChangeSeqGreaterThanOrderByChangeSeq(eq(10L),
+        argThat((Limit limit) -> limit.max() == 3));
+  }
+
+  @Test
+  void changesSince_lastPage() {
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(25L);
+    when(teacherRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(groupRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of(new StudyGroup(7L, "A", null, 21L, 0L)));
+    when(routineRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(tombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of(new Tombstone(22L, SyncEntityType.TEACHER, 3L)));
+
+    SyncDTO sync = syncService.changesSince(20L, null);
+
+    assertEquals(22L, sync.getChangeSeq());
+    assertFalse(sync.isHasMore());
+    assertEquals(1, sync.getGroups().size());
+    assertEquals(SyncEntityType.TEACHER, sync.getDeleted().get(0).getEntityType());
+    assertEquals(3L, sync.getDeleted().get(0).getEntityId());
+  }
+
+  @Test
+  void changesSince_nothingNewKeepsSequence() {
+    when(teacherRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(groupRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(routineRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(tombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+
+    SyncDTO sync = syncService.changesSince(30L, 100);
+
+    assertEquals(30L, sync.getChangeSeq());
+    assertFalse(sync.isHasMore());
+  }
+
+  @Test
+  void changesSince_stopsBelowInFlightWrites() {
+    // Sequence 12 is still in flight, so 13 must not be handed out yet.
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(11L);
+    when(teacherRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(groupRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+    when(routineRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of(routine(5L, 11L), routine(6L, 13L)));
+    when(tombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(anyLong(), any()))
+        .thenReturn(List.of());
+
+    SyncDTO sync = syncService.changesSince(10L, 100);
+
+    assertEquals(11L, sync.getChangeSeq());
+    assertFalse(sync.isHasMore());
+    assertEquals(List.of(5L), sync.getRoutines().stream()
+        .map(RoutineDTO::getRoutineId).toList());
+  }
+
+  @Test
+  void changesSince_negativeSequence() {
+    assertThrows(RoutineResourceException.class,
+        () -> syncService.changesSince(-1L, null));
+  }
+}
@@ -2,27 +2,57 @@ package com.example.teacher_management.service.impl;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.SearchIndex;
+import com.example.teacher_management.dto.CursorPageDTO;
+import com.example.teacher_management.dto.IdCursor;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.SearchHitDTO;
+import com.example.teacher_management.dto.SyncEntityType;
 import com.example.teacher_management.dto.TeacherDTO;
+import com.example.teacher_management.dto.TeacherFilter;
+import com.example.teacher_management.dto.Versioned;
 import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.entity.Tombstone;
 import com.example.teacher_management.exception.TeacherResourceException;
+import com.example.teacher_management.exception.VersionConflictException;
 import com.example.teacher_management.repository.TeacherRepository;
+import com.example.teacher_management.repository.TombstoneRepository;
+import com.example.teacher_management.service.ChangeJournalService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TeacherServiceImplTest {
 
+  private static final Set<String> ALL_FIELDS = Set.copyOf(TeacherDTO.FIELDS);
+
   @Mock
   private TeacherRepository teacherRepository;
 
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @Mock
+  private TombstoneRepository tombstoneRepository;
+
+  @Mock
+  private ChangeJournalService changeJournalService;
+
+  @Mock
+  private SearchIndex searchIndex;
+
   @InjectMocks
   private TeacherServiceImpl teacherService;
 
@@ -36,6 +66,7 @@ class TeacherServiceImplTest {
     teacher.setName("Aashish Karki");
     teacher.setDepartment("IT");
     teacher.setEmail("aashish@gmail.com");
+    teacher.setVersion(2L);
 
     teacherDTO = new TeacherDTO();
     teacherDTO.setTeacherId(1L);
@@ -65,6 +96,42 @@ class TeacherServiceImplTest {
     assertEquals("Teacher not found with id: 1", exception.getMessage());
   }
 
+  @Test
+  void findVersion_readsVersionOnly() {
+    when(teacherRepository.findVersionById(1L)).thenReturn(Optional.of(4L));
+
+    assertEquals(4L, teacherService.findVersion(1L));
+    verify(teacherRepository, never()).findById(anyLong());
+  }
+
+  @Test
+  void findVersion_notFound() {
+    when(teacherRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+    TeacherResourceException exception = assertThrows(TeacherResourceException.class,
+        () -> teacherService.findVersion(1L));
+
+    assertEquals("Teacher not found with id: 1", exception.getMessage());
+  }
+
+  @Test
+  void collectionVersion_coversRowsAndTombstones() {
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(15L);
+    when(teacherRepository.findMaxChangeSeq()).thenReturn(10L);
+    when(tombstoneRepository.findMaxChangeSeq(SyncEntityType.TEACHER)).thenReturn(12L);
+
+    assertEquals(Optional.of(12L), teacherService.collectionVersion());
+  }
+
+  @Test
+  void collectionVersion_noTagWhileEarlierWriteInFlight() {
+    when(tombstoneRepository.findSafeChangeSeq()).thenReturn(11L);
+    when(teacherRepository.findMaxChangeSeq()).thenReturn(12L);
+    when(tombstoneRepository.findMaxChangeSeq(SyncEntityType.TEACHER)).thenReturn(4L);
+
+    assertTrue(teacherService.collectionVersion().isEmpty());
+  }
+
   @Test
   void save_success() {
     when(teacherRepository.save(any(Teacher.class))).thenReturn(teacher);
@@ -74,6 +141,7 @@ class TeacherServiceImplTest {
     assertNotNull(savedTeacherDTO);
     assertEquals(teacherDTO.getName(), savedTeacherDTO.getName());
     verify(teacherRepository, times(1)).save(any(Teacher.class));
+    verify(searchIndex).putTeacher(any(TeacherDTO.class));
   }
 
   @Test
@@ -90,14 +158,42 @@ class TeacherServiceImplTest {
   @Test
   void update_success() {
     when(teacherRepository.findById(anyLong())).thenReturn(Optional.of(teacher));
-    when(teacherRepository.save(any(Teacher.class))).thenReturn(teacher);
+    when(teacherRepository.saveAndFlush(any(Teacher.class))).thenReturn(teacher);
 
-    TeacherDTO updatedTeacherDTO = teacherService.update(1L, teacherDTO);
+    Versioned<TeacherDTO> updatedTeacherDTO = teacherService.update(1L, teacherDTO, 2L);
 
     assertNotNull(updatedTeacherDTO);
-    assertEquals(teacherDTO.getName(), updatedTeacherDTO.getName());
+    assertEquals(teacherDTO.getName(), updatedTeacherDTO.getValue().getName());
+    assertEquals(2L, updatedTeacherDTO.getVersion());
     verify(teacherRepository, times(1)).findById(anyLong());
-    verify(teacherRepository, times(1)).save(any(Teacher.class));
+    verify(teacherRepository, times(1)).saveAndFlush(any(Teacher.class));
+    verify(referenceDataCache, times(1)).evictTeacher(1L);
+    verify(searchIndex).putTeacher(any(TeacherDTO.class));
+  }
+
+  @Test
+  void update_staleVersion() {
+    when(teacherRepository.findById(anyLong())).thenReturn(Optional.of(teacher));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> teacherService.update(1L, teacherDTO, 1L));
+
+    assertEquals("Teacher with id 1 is at version 2, not 1", exception.getMessage());
+    verify(teacherRepository, never()).saveAndFlush(any(Teacher.class));
+    verifyNoInteractions(searchIndex, changeJournalService);
+  }
+
+  @Test
+  void update_concurrentWrite() {
+    when(teacherRepository.findById(anyLong())).thenReturn(Optional.of(teacher));
+    when(teacherRepository.saveAndFlush(any(Teacher.class))).thenThrow(
+        new ObjectOptimisticLockingFailureException(Teacher.class, 1L));
+
+    VersionConflictException exception = assertThrows(VersionConflictException.class,
+        () -> teacherService.update(1L, teacherDTO, null));
+
+    assertEquals("Teacher with id 1 was updated concurrently", exception.getMessage());
+    verifyNoInteractions(searchIndex, changeJournalService);
   }
 
   @Test
@@ -105,7 +201,7 @@ class TeacherServiceImplTest {
     when(teacherRepository.findById(anyLong())).thenReturn(Optional.empty());
 
     TeacherResourceException exception = assertThrows(TeacherResourceException.class,
-        () -> teacherService.update(1L, teacherDTO));
+        () -> teacherService.update(1L, teacherDTO, null));
 
     assertEquals("Error updating teacher with id: 1. Teacher not found with id: 1",
         exception.getMessage());
@@ -114,11 +210,11 @@ class TeacherServiceImplTest {
   @Test
   void update_exception() {
     when(teacherRepository.findById(anyLong())).thenReturn(Optional.of(teacher));
-    when(teacherRepository.save(any(Teacher.class))).thenThrow(
+    when(teacherRepository.saveAndFlush(any(Teacher.class))).thenThrow(
         new RuntimeException("Database error"));
 
     TeacherResourceException exception = assertThrows(TeacherResourceException.class,
-        () -> teacherService.update(1L, teacherDTO));
+        () -> teacherService.update(1L, teacherDTO, null));
 
     assertEquals("Error updating teacher with id: 1. Database error",
         exception.getMessage());
@@ -133,6 +229,13 @@ class TeacherServiceImplTest {
 
     verify(teacherRepository, times(1)).existsById(anyLong());
     verify(teacherRepository, times(1)).deleteById(anyLong());
+    verify(referenceDataCache, times(1)).evictTeacher(1L);
+    verify(tombstoneRepository).save(argThat((Tombstone tombstone) ->
+        tombstone.getEntityType() == SyncEntityType.TEACHER
+            && tombstone.getEntityId() == 1L));
+    verify(changeJournalService).record(SyncEntityType.TEACHER, RoutineChangeType.DELETED,
+        1L);
+    verify(searchIndex).removeTeacher(1L);
   }
 
   @Test
@@ -158,4 +261,83 @@ class TeacherServiceImplTest {
     assertEquals("Error deleting teacher with id: 1. Database error",
         exception.getMessage());
   }
+
+  @Test
+  void search_clampsLimit() {
+    when(searchIndex.searchTeachers("it", 100)).thenReturn(
+        List.of(new SearchHitDTO<>(teacherDTO, 1.0)));
+
+    List<SearchHitDTO<TeacherDTO>> hits = teacherService.search("it", 1000);
+
+    assertEquals(1, hits.size());
+    assertEquals(teacherDTO, hits.get(0).getItem());
+  }
+
+  @Test
+  void search_blankQuery() {
+    TeacherResourceException exception = assertThrows(TeacherResourceException.class,
+        () -> teacherService.search(" ", null));
+
+    assertEquals("A search query is required", exception.getMessage());
+    verifyNoInteractions(searchIndex);
+  }
+
+  @Test
+  void findAllById_keepsRequestedOrderAndSkipsMissing() {
+    Teacher other = new Teacher();
+    other.setTeacherId(2L);
+    when(teacherRepository.findAllById(any())).thenReturn(List.of(teacher, other));
+
+    List<TeacherDTO> found = teacherService.findAllById(List.of(2L, 3L, 1L, 2L));
+
+    assertEquals(List.of(2L, 1L), found.stream().map(TeacherDTO::getTeacherId).toList());
+    verify(teacherRepository, times(1)).findAllById(any());
+  }
+
+  @Test
+  void findAllById_empty() {
+    TeacherResourceException exception = assertThrows(TeacherResourceException.class,
+        () -> teacherService.findAllById(List.of()));
+
+    assertEquals("At least one id is required", exception.getMessage());
+    verifyNoInteractions(teacherRepository);
+  }
+
+  @Test
+  void getTeachers_hasNextPage() {
+    TeacherDTO next = new TeacherDTO();
+    next.setTeacherId(2L);
+    when(teacherRepository.findPage(any(TeacherFilter.class), any(IdCursor.class), eq(2),
+        eq(ALL_FIELDS)))
+        .thenReturn(List.of(teacherDTO, next));
+
+    CursorPageDTO<TeacherDTO> page = teacherService.getTeachers(new TeacherFilter(),
+        new IdCursor(0L).encode(), 1, ALL_FIELDS);
+
+    assertEquals(1, page.getItems().size());
+    assertEquals(1L, IdCursor.decode(page.getNextCursor()).getId());
+  }
+
+  @Test
+  void getTeachers_lastPageWithCappedSize() {
+    when(teacherRepository.findPage(any(TeacherFilter.class), isNull(), eq(501),
+        eq(ALL_FIELDS)))
+        .thenReturn(List.of(teacherDTO));
+
+    CursorPageDTO<TeacherDTO> page = teacherService.getTeachers(new TeacherFilter(), null,
+        10_000, ALL_FIELDS);
+
+    assertEquals(1, page.getItems().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void getTeachers_invalidCursor() {
+    TeacherResourceException exception = assertThrows(TeacherResourceException.class,
+        () -> teacherService.getTeachers(new TeacherFilter(), "not-a-cursor", null,
+            ALL_FIELDS));
+
+    assertEquals("Error fetching teachers: Invalid cursor: not-a-cursor",
+        exception.getMessage());
+  }
 }
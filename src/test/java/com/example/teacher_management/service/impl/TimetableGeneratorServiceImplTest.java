@@ -0,0 +1,175 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.dto.BatchOperationType;
+import com.example.teacher_management.dto.GroupRequirementDTO;
+import com.example.teacher_management.dto.RoutineBatchOperationDTO;
+import com.example.teacher_management.dto.RoutineBatchResultDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TimetableGenerationRequestDTO;
+import com.example.teacher_management.dto.TimetablePlanDTO;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.exception.GroupResourceException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.RoutineRepository;
+import com.example.teacher_management.service.RoutineService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableGeneratorServiceImplTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+  @Mock
+  private RoutineRepository routineRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @Mock
+  private RoutineService routineService;
+
+  @InjectMocks
+  private TimetableGeneratorServiceImpl timetableGeneratorService;
+
+  @AfterEach
+  void tearDown() {
+    timetableGeneratorService.shutdown();
+  }
+
+  private TimetableGenerationRequestDTO request(List<LocalDate> blackoutDates) {
+    return new TimetableGenerationRequestDTO(MONDAY, MONDAY.plusDays(20),
+        List.of(DayOfWeek.MONDAY), LocalTime.of(9, 0), LocalTime.of(12, 0), blackoutDates,
+        null, List.of(new GroupRequirementDTO(7L, List.of(1L), 2, 60)), 2, 2000L, 11L);
+  }
+
+  @Test
+  void generate_avoidsExistingRoutinesAndSkipsBlackoutDates() {
+    when(referenceDataCache.findGroupById(7L)).thenReturn(Optional.of(new StudyGroup()));
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    when(routineRepository.findByTeachersBetween(anyCollection(), any(), any()))
+        .thenReturn(List.of(new RoutineDTO(3L, LocalTime.of(10, 0), LocalTime.of(11, 0),
+            MONDAY.plusWeeks(2), 1L, 8L)));
+    when(routineRepository.findByGroupsBetween(anyCollection(), any(), any()))
+        .thenReturn(List.of());
+
+    TimetablePlanDTO plan = timetableGeneratorService.generate(
+        request(List.of(MONDAY.plusWeeks(1))));
+
+    assertTrue(plan.isFeasible());
+    assertEquals(4, plan.getRoutines().size());
+    for (RoutineDTO routine : plan.getRoutines()) {
+      assertNotEquals(MONDAY.plusWeeks(1), routine.getRoutineDate());
+      assertEquals(1L, routine.getTeacherId());
+      assertEquals(7L, routine.getGroupId());
+      assertFalse(routine.getStartTime().isBefore(LocalTime.of(11, 0))
+          && routine.getEndTime().isAfter(LocalTime.of(10, 0)));
+    }
+    RoutineDTO first = plan.getRoutines().get(0);
+    RoutineDTO second = plan.getRoutines().get(1);
+    assertEquals(MONDAY, first.getRoutineDate());
+    assertFalse(second.getStartTime().isBefore(first.getEndTime()));
+  }
+
+  @Test
+  void generate_startsSessionsOnQuarterHours() {
+    when(referenceDataCache.findGroupById(7L)).thenReturn(Optional.of(new StudyGroup()));
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    when(routineRepository.findByTeachersBetween(anyCollection(), any(), any()))
+        .thenReturn(List.of());
+    when(routineRepository.findByGroupsBetween(anyCollection(), any(), any()))
+        .thenReturn(List.of());
+    TimetableGenerationRequestDTO request = new TimetableGenerationRequestDTO(MONDAY,
+        MONDAY, List.of(DayOfWeek.MONDAY), LocalTime.of(8, 5), LocalTime.of(10, 0), null,
+        null, List.of(new GroupRequirementDTO(7L, List.of(1L), 3, 30)), 2, 2000L, 11L);
+
+    TimetablePlanDTO plan = timetableGeneratorService.generate(request);
+
+    assertTrue(plan.isFeasible());
+    assertEquals(3, plan.getRoutines().size());
+    for (RoutineDTO routine : plan.getRoutines()) {
+      assertEquals(0, routine.getStartTime().getMinute() % 15);
+      assertFalse(routine.getStartTime().isBefore(LocalTime.of(8, 15)));
+      assertEquals(routine.getStartTime().plusMinutes(30), routine.getEndTime());
+    }
+  }
+
+  @Test
+  void generate_rejectsSessionLengthOffTheSlotGrid() {
+    when(referenceDataCache.findGroupById(7L)).thenReturn(Optional.of(new StudyGroup()));
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    TimetableGenerationRequestDTO request = new TimetableGenerationRequestDTO(MONDAY,
+        MONDAY, null, LocalTime.of(8, 0), LocalTime.of(18, 0), null, null,
+        List.of(new GroupRequirementDTO(7L, List.of(1L), 1, 52)), 2, 2000L, 11L);
+
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> timetableGeneratorService.generate(request));
+
+    assertEquals("Sessions of group 7 must last a multiple of 5 minutes",
+        exception.getMessage());
+    verifyNoInteractions(routineRepository);
+  }
+
+  @Test
+  void generate_rejectsUnknownGroup() {
+    when(referenceDataCache.findGroupById(7L)).thenReturn(Optional.empty());
+
+    assertThrows(GroupResourceException.class,
+        () -> timetableGeneratorService.generate(request(null)));
+    verifyNoInteractions(routineRepository);
+  }
+
+  @Test
+  void generate_rejectsPlanLargerThanOneBatch() {
+    when(referenceDataCache.findGroupById(7L)).thenReturn(Optional.of(new StudyGroup()));
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    TimetableGenerationRequestDTO request = new TimetableGenerationRequestDTO(MONDAY,
+        MONDAY.plusWeeks(51), null, LocalTime.of(8, 0), LocalTime.of(18, 0), null, null,
+        List.of(new GroupRequirementDTO(7L, List.of(1L), 100, 5)), 2, 2000L, 11L);
+
+    RoutineResourceException exception = assertThrows(RoutineResourceException.class,
+        () -> timetableGeneratorService.generate(request));
+
+    assertTrue(exception.getMessage().startsWith("Up to 5200 routines over 52 weeks"));
+    verifyNoInteractions(routineRepository);
+  }
+
+  @Test
+  void commit_createsEveryRoutineInOneBatch() {
+    RoutineDTO routine = new RoutineDTO(null, LocalTime.of(9, 0), LocalTime.of(10, 0),
+        MONDAY, 1L, 7L);
+    RoutineBatchResultDTO result = new RoutineBatchResultDTO(List.of(routine), List.of(),
+        List.of());
+    when(routineService.applyBatch(anyList())).thenReturn(result);
+
+    assertSame(result, timetableGeneratorService.commit(List.of(routine)));
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<RoutineBatchOperationDTO>> captor =
+        ArgumentCaptor.forClass(List.class);
+    verify(routineService).applyBatch(captor.capture());
+    assertEquals(1, captor.getValue().size());
+    assertEquals(BatchOperationType.CREATE, captor.getValue().get(0).getOperation());
+    assertSame(routine, captor.getValue().get(0).getRoutine());
+  }
+}
@@ -0,0 +1,57 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.cache.ReferenceDataCache;
+import com.example.teacher_management.cache.TimetableCache;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.exception.GroupResourceException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableServiceImplTest {
+
+  @Mock
+  private ReferenceDataCache referenceDataCache;
+
+  @Mock
+  private TimetableCache timetableCache;
+
+  @InjectMocks
+  private TimetableServiceImpl timetableService;
+
+  @Test
+  void getTimetable_usesWeekStart() {
+    TimetableDTO timetable = new TimetableDTO(TimetableOwner.TEACHER, 1L,
+        LocalDate.of(2024, 7, 1), 5, List.of());
+    when(referenceDataCache.findTeacherById(1L)).thenReturn(Optional.of(new Teacher()));
+    when(timetableCache.findWeek(TimetableOwner.TEACHER, 1L, LocalDate.of(2024, 7, 1)))
+        .thenReturn(timetable);
+
+    assertSame(timetable, timetableService.getTimetable(TimetableOwner.TEACHER, 1L,
+        LocalDate.of(2024, 7, 4)));
+  }
+
+  @Test
+  void getTimetable_groupNotFound() {
+    when(referenceDataCache.findGroupById(1L)).thenReturn(Optional.empty());
+
+    GroupResourceException exception = assertThrows(GroupResourceException.class,
+        () -> timetableService.getTimetable(TimetableOwner.GROUP, 1L,
+            LocalDate.of(2024, 7, 4)));
+
+    assertEquals("Group not found with id: 1", exception.getMessage());
+    verifyNoInteractions(timetableCache);
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.WorkloadJobDTO;
+import com.example.teacher_management.dto.WorkloadJobRequestDTO;
+import com.example.teacher_management.dto.WorkloadJobStatus;
+import com.example.teacher_management.dto.WorkloadJobType;
+import com.example.teacher_management.dto.WorkloadReportDTO;
+import com.example.teacher_management.exception.JobRejectedException;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.service.RoutineService;
+import com.example.teacher_management.service.WorkloadReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadJobServiceImplTest {
+
+  private static final LocalDate START = LocalDate.of(2024, 7, 1);
+  private static final LocalDate END = LocalDate.of(2024, 9, 30);
+
+  @Mock
+  private RoutineService routineService;
+
+  @Mock
+  private WorkloadReportService workloadReportService;
+
+  private WorkloadJobServiceImpl workloadJobService;
+
+  @BeforeEach
+  void setUp() {
+    workloadJobService = new WorkloadJobServiceImpl(routineService, workloadReportService,
+        1, 1, Duration.ofMinutes(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    workloadJobService.shutdown();
+  }
+
+  private WorkloadJobDTO await(String jobId) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    WorkloadJobDTO job = workloadJobService.getJob(jobId);
+    while (job.getCompletedAt() == null && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+      job = workloadJobService.getJob(jobId);
+    }
+    return job;
+  }
+
+  @Test
+  void submit_runsReportInBackground() throws InterruptedException {
+    WorkloadReportDTO report = new WorkloadReportDTO(START, END, 0, 0, List.of());
+    when(workloadReportService.buildReport(START, END)).thenReturn(report);
+
+    WorkloadJobDTO submitted = workloadJobService.submit(
+        new WorkloadJobRequestDTO(WorkloadJobType.REPORT, START, END, null, null, null));
+    WorkloadJobDTO finished = await(submitted.getJobId());
+
+    assertEquals(WorkloadJobStatus.DONE, finished.getStatus());
+    assertSame(report, finished.getResult());
+  }
+
+  @Test
+  void submit_sharesJobForEquivalentRequests() throws InterruptedException {
+    when(routineService.calculateGroupWorkloads(List.of(3L, 7L), START, END))
+        .thenReturn(Map.of(3L, 60L, 7L, 0L));
+
+    WorkloadJobDTO first = workloadJobService.submit(new WorkloadJobRequestDTO(
+        WorkloadJobType.GROUP_WORKLOADS, START, END, null, null, List.of(7L, 3L)));
+    await(first.getJobId());
+    WorkloadJobDTO second = workloadJobService.submit(new WorkloadJobRequestDTO(
+        WorkloadJobType.GROUP_WORKLOADS, START, END, null, null, List.of(3L, 7L, 3L)));
+
+    assertEquals(first.getJobId(), second.getJobId());
+    assertEquals(WorkloadJobStatus.DONE, second.getStatus());
+    verify(routineService, times(1)).calculateGroupWorkloads(any(), any(), any());
+  }
+
+  @Test
+  void submit_retriesFailedJob() throws InterruptedException {
+    when(workloadReportService.buildReport(START, END))
+        .thenThrow(new RoutineResourceException("boom"))
+        .thenReturn(new WorkloadReportDTO(START, END, 0, 0, List.of()));
+    WorkloadJobRequestDTO request = new WorkloadJobRequestDTO(WorkloadJobType.REPORT,
+        START, END, null, null, null);
+
+    WorkloadJobDTO failed = await(workloadJobService.submit(request).getJobId());
+    WorkloadJobDTO retried = await(workloadJobService.submit(request).getJobId());
+
+    assertEquals(WorkloadJobStatus.FAILED, failed.getStatus());
+    assertEquals("boom", failed.getError());
+    assertNotEquals(failed.getJobId(), retried.getJobId());
+    assertEquals(WorkloadJobStatus.DONE, retried.getStatus());
+  }
+
+  @Test
+  void submit_rejectsWhenQueueIsFull() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(workloadReportService.buildReport(any(), any())).thenAnswer(invocation -> {
+      started.countDown();
+      release.await();
+      return new WorkloadReportDTO(START, END, 0, 0, List.of());
+    });
+
+    try {
+      workloadJobService.submit(new WorkloadJobRequestDTO(WorkloadJobType.REPORT, START,
+          END, null, null, null));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      workloadJobService.submit(new WorkloadJobRequestDTO(WorkloadJobType.REPORT, START,
+          END.plusDays(1), null, null, null));
+
+      assertThrows(JobRejectedException.class,
+          () -> workloadJobService.submit(new WorkloadJobRequestDTO(
+              WorkloadJobType.REPORT, START, END.plusDays(2), null, null, null)));
+    } finally {
+      release.countDown();
+    }
+  }
+
+  @Test
+  void submit_validatesRequest() {
+    assertThrows(RoutineResourceException.class,
+        () -> workloadJobService.submit(new WorkloadJobRequestDTO(
+            WorkloadJobType.TEACHER_WORKLOADS, START, END, List.of(1L), "Science",
+            null)));
+    assertThrows(RoutineResourceException.class,
+        () -> workloadJobService.submit(new WorkloadJobRequestDTO(
+            WorkloadJobType.REPORT, END, START, null, null, null)));
+    verifyNoInteractions(routineService, workloadReportService);
+  }
+
+  @Test
+  void getJob_unknownId() {
+    assertThrows(RoutineResourceException.class,
+        () -> workloadJobService.getJob("missing"));
+  }
+}
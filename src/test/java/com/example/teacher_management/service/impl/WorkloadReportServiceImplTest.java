@@ -0,0 +1,136 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.DepartmentWorkloadDTO;
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.WorkloadReportDTO;
+import com.example.teacher_management.dto.WorkloadStatus;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.exception.RoutineResourceException;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.TeacherDailyWorkloadRepository;
+import com.example.teacher_management.repository.TeacherWorkloadRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadReportServiceImplTest {
+
+  private static final LocalDate START = LocalDate.of(2024, 7, 1);
+  private static final LocalDate END = LocalDate.of(2024, 7, 7);
+
+  @Mock
+  private TeacherDailyWorkloadRepository teacherDailyWorkloadRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  private WorkloadReportServiceImpl workloadReportService;
+
+  @BeforeEach
+  void setUp() {
+    workloadReportService = new WorkloadReportServiceImpl(teacherDailyWorkloadRepository,
+        recurringRoutineRepository, 600, 1500);
+  }
+
+  private TeacherWorkloadRow row(Long teacherId, String department, Long minutes) {
+    return new TeacherWorkloadRow() {
+      public Long getTeacherId() {
+        return teacherId;
+      }
+
+      public String getName() {
+        return "Teacher " + teacherId;
+      }
+
+      public String getDepartment() {
+        return department;
+      }
+
+      public Long getMinutes() {
+        return minutes;
+      }
+    };
+  }
+
+  @Test
+  void buildReport_groupsByDepartment() {
+    when(teacherDailyWorkloadRepository.sumMinutesPerTeacher(START, END)).thenReturn(
+        List.of(row(1L, "Science", 1200L), row(2L, "Science", 1800L),
+            row(3L, "Science", 300L), row(4L, null, 0L)));
+
+    WorkloadReportDTO report = workloadReportService.buildReport(START, END);
+
+    assertEquals(600, report.getMinExpectedMinutes());
+    assertEquals(2, report.getDepartments().size());
+    DepartmentWorkloadDTO science = report.getDepartments().get(0);
+    assertEquals("Science", science.getDepartment());
+    assertEquals(3, science.getTeacherCount());
+    assertEquals(3300, science.getTotalMinutes());
+    assertEquals(1100.0, science.getMeanMinutes());
+    assertEquals(1200, science.getP50Minutes());
+    assertEquals(1800, science.getP90Minutes());
+    assertEquals(1800, science.getMaxMinutes());
+    assertEquals(1, science.getOverloadedCount());
+    assertEquals(1, science.getUnderloadedCount());
+    assertEquals(WorkloadStatus.OVERLOADED, science.getTeachers().get(0).getStatus());
+    assertEquals(WorkloadReportServiceImpl.UNASSIGNED_DEPARTMENT,
+        report.getDepartments().get(1).getDepartment());
+  }
+
+  @Test
+  void buildReport_addsRecurringMinutes() {
+    RecurringRoutine weekly = new RecurringRoutineDTO(5L, DayOfWeek.WEDNESDAY,
+        LocalTime.of(9, 0), LocalTime.of(15, 0), START, START.plusMonths(3), 3L, 7L,
+        List.of()).toEntity();
+    weekly.setTeacher(new Teacher(3L, "Teacher 3", "Science", null, null, null));
+    when(recurringRoutineRepository.findAllBetween(START, END)).thenReturn(
+        List.of(weekly));
+    when(teacherDailyWorkloadRepository.sumMinutesPerTeacher(START, END)).thenReturn(
+        List.of(row(3L, "Science", 300L)));
+
+    DepartmentWorkloadDTO science = workloadReportService.buildReport(START, END)
+        .getDepartments().get(0);
+
+    assertEquals(660, science.getTotalMinutes());
+    assertEquals(WorkloadStatus.NORMAL, science.getTeachers().get(0).getStatus());
+  }
+
+  @Test
+  void buildReport_scalesBandsByWeeks() {
+    when(teacherDailyWorkloadRepository.sumMinutesPerTeacher(any(), any()))
+        .thenReturn(List.of());
+
+    WorkloadReportDTO report = workloadReportService.buildReport(START,
+        START.plusDays(7));
+
+    assertEquals(1200, report.getMinExpectedMinutes());
+    assertEquals(3000, report.getMaxExpectedMinutes());
+  }
+
+  @Test
+  void buildReport_invalidRange() {
+    assertThrows(RoutineResourceException.class,
+        () -> workloadReportService.buildReport(END, START));
+  }
+
+  @Test
+  void percentile_nearestRank() {
+    long[] sorted = {10, 20, 30, 40, 50, 60, 70, 80, 90, 100};
+
+    assertEquals(50, WorkloadReportServiceImpl.percentile(sorted, 50));
+    assertEquals(90, WorkloadReportServiceImpl.percentile(sorted, 90));
+    assertEquals(0, WorkloadReportServiceImpl.percentile(new long[0], 90));
+  }
+}
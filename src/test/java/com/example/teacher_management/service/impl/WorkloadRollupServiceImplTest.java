@@ -0,0 +1,111 @@
+package com.example.teacher_management.service.impl;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.entity.RecurringRoutine;
+import com.example.teacher_management.entity.StudyGroup;
+import com.example.teacher_management.entity.Teacher;
+import com.example.teacher_management.repository.GroupDailyWorkloadRepository;
+import com.example.teacher_management.repository.RecurringRoutineRepository;
+import com.example.teacher_management.repository.TeacherDailyWorkloadRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WorkloadRollupServiceImplTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 7, 1);
+
+  @Mock
+  private TeacherDailyWorkloadRepository teacherDailyWorkloadRepository;
+
+  @Mock
+  private GroupDailyWorkloadRepository groupDailyWorkloadRepository;
+
+  @Mock
+  private RecurringRoutineRepository recurringRoutineRepository;
+
+  @InjectMocks
+  private WorkloadRollupServiceImpl workloadRollupService;
+
+  private RoutineDTO routine(Long teacherId, Long groupId, LocalTime start, LocalTime end) {
+    return new RoutineDTO(1L, start, end, DAY, teacherId, groupId);
+  }
+
+  @Test
+  void applyChanges_addsMinutesForNewRoutine() {
+    workloadRollupService.applyChanges(List.of(),
+        List.of(routine(1L, 7L, LocalTime.of(9, 0), LocalTime.of(10, 30))));
+
+    verify(teacherDailyWorkloadRepository, times(1)).addMinutes(1L, DAY, 90L);
+    verify(groupDailyWorkloadRepository, times(1)).addMinutes(7L, DAY, 90L);
+  }
+
+  @Test
+  void applyChanges_movesMinutesBetweenTeachers() {
+    workloadRollupService.applyChanges(
+        List.of(routine(1L, 7L, LocalTime.of(9, 0), LocalTime.of(10, 0))),
+        List.of(routine(2L, 7L, LocalTime.of(9, 0), LocalTime.of(10, 0))));
+
+    verify(teacherDailyWorkloadRepository, times(1)).addMinutes(1L, DAY, -60L);
+    verify(teacherDailyWorkloadRepository, times(1)).addMinutes(2L, DAY, 60L);
+    verify(groupDailyWorkloadRepository, never()).addMinutes(anyLong(), any(), anyLong());
+  }
+
+  @Test
+  void applyChanges_skipsUnchangedRoutine() {
+    RoutineDTO unchanged = routine(1L, 7L, LocalTime.of(9, 0), LocalTime.of(10, 0));
+
+    workloadRollupService.applyChanges(List.of(unchanged), List.of(unchanged));
+
+    verifyNoInteractions(teacherDailyWorkloadRepository, groupDailyWorkloadRepository);
+  }
+
+  @Test
+  void teacherMinutes_readsRollup() {
+    when(teacherDailyWorkloadRepository.sumMinutes(1L, DAY, DAY)).thenReturn(120L);
+
+    assertEquals(120L, workloadRollupService.teacherMinutes(1L, DAY, DAY));
+  }
+
+  @Test
+  void teacherMinutes_addsRecurringOccurrencesArithmetically() {
+    // Mondays in July 2024 are the 1st, 8th, 15th, 22nd and 29th; the 15th is excepted.
+    RecurringRoutineDTO weekly = new RecurringRoutineDTO(5L, DayOfWeek.MONDAY,
+        LocalTime.of(9, 0), LocalTime.of(10, 30), DAY, DAY.plusMonths(6), 1L, 7L,
+        List.of(LocalDate.of(2024, 7, 15)));
+    RecurringRoutine definition = weekly.toEntity();
+    definition.setTeacher(new Teacher(1L, "Ann", null, null, null, null));
+    definition.setStudyGroup(new StudyGroup(7L, "A", null, null, null));
+    LocalDate end = LocalDate.of(2024, 7, 31);
+    when(teacherDailyWorkloadRepository.sumMinutesByTeacher(List.of(1L, 2L), DAY, end))
+        .thenReturn(List.of());
+    when(recurringRoutineRepository.findByTeachersBetween(List.of(1L, 2L), DAY, end))
+        .thenReturn(List.of(definition));
+
+    assertEquals(Map.of(1L, 360L, 2L, 0L),
+        workloadRollupService.teacherMinutes(List.of(1L, 2L), DAY, end));
+  }
+
+  @Test
+  void rebuild_replacesAllRows() {
+    when(teacherDailyWorkloadRepository.rebuildFromRoutines()).thenReturn(3);
+    when(groupDailyWorkloadRepository.rebuildFromRoutines()).thenReturn(2);
+
+    assertEquals(5, workloadRollupService.rebuild());
+    verify(teacherDailyWorkloadRepository, times(1)).deleteAllRows();
+    verify(groupDailyWorkloadRepository, times(1)).deleteAllRows();
+  }
+}
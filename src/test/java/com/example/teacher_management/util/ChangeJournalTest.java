@@ -0,0 +1,144 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineChangeType;
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.SyncEntityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeJournalTest {
+
+  @TempDir
+  Path directory;
+
+  private ChangeJournal.Entry routine(long timestamp, RoutineChangeType operation,
+      long id, Long teacherId) {
+    RoutineDTO routine = operation == RoutineChangeType.DELETED ? null
+        : new RoutineDTO(id, LocalTime.of(9, 30), LocalTime.of(10, 45),
+            LocalDate.of(2024, 7, 1), teacherId, 7L);
+    return new ChangeJournal.Entry(timestamp, SyncEntityType.ROUTINE, operation, id,
+        routine);
+  }
+
+  private List<Long> offsetsUntil(ChangeJournal journal, long until) throws IOException {
+    List<Long> offsets = new ArrayList<>();
+    journal.replay(until, cursor -> offsets.add(cursor.offset()));
+    return offsets;
+  }
+
+  @Test
+  void append_roundTripsEveryField() throws IOException {
+    ChangeJournal journal = new ChangeJournal(directory, 16);
+
+    long offset = journal.append(routine(1000, RoutineChangeType.CREATED, 5L, 1L));
+    journal.append(new ChangeJournal.Entry(2000, SyncEntityType.TEACHER,
+        RoutineChangeType.UPDATED, 1L, null));
+
+    ChangeJournal.Entry read = journal.read(offset).orElseThrow();
+    assertEquals(1000, read.timestamp());
+    assertEquals(SyncEntityType.ROUTINE, read.entityType());
+    assertEquals(RoutineChangeType.CREATED, read.operation());
+    assertEquals(LocalTime.of(9, 30), read.routine().getStartTime());
+    assertEquals(LocalTime.of(10, 45), read.routine().getEndTime());
+    assertEquals(LocalDate.of(2024, 7, 1), read.routine().getRoutineDate());
+    assertEquals(1L, read.routine().getTeacherId());
+    assertEquals(7L, read.routine().getGroupId());
+    assertNull(journal.read(1).orElseThrow().routine());
+    assertTrue(journal.read(2).isEmpty());
+  }
+
+  @Test
+  void append_writesRecurringRoutineWithItsExceptionDates() throws IOException {
+    ChangeJournal journal = new ChangeJournal(directory, 2);
+    journal.append(routine(1000, RoutineChangeType.CREATED, 5L, 1L));
+
+    long offset = journal.append(new ChangeJournal.Entry(2000,
+        SyncEntityType.RECURRING_ROUTINE, RoutineChangeType.CREATED, 3L, null,
+        new RecurringRoutineDTO(3L, DayOfWeek.FRIDAY, LocalTime.of(14, 0),
+            LocalTime.of(15, 0), LocalDate.of(2024, 7, 1), LocalDate.of(2024, 9, 30), 1L,
+            7L, List.of(LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 12)))));
+
+    assertEquals(1, offset);
+    assertEquals(4, journal.nextOffset());
+    RecurringRoutineDTO read = journal.read(offset).orElseThrow().recurringRoutine();
+    assertEquals(DayOfWeek.FRIDAY, read.getDayOfWeek());
+    assertEquals(LocalTime.of(14, 0), read.getStartTime());
+    assertEquals(LocalDate.of(2024, 7, 1), read.getStartDate());
+    assertEquals(LocalDate.of(2024, 9, 30), read.getEndDate());
+    assertEquals(1L, read.getTeacherId());
+    assertEquals(List.of(), read.getExceptionDates());
+    List<LocalDate> exceptionDates = new ArrayList<>();
+    journal.replay(Long.MAX_VALUE, cursor -> {
+      if (cursor.isExceptionDate()) {
+        exceptionDates.add(cursor.routineDate());
+      }
+    });
+    assertEquals(List.of(LocalDate.of(2024, 7, 5), LocalDate.of(2024, 7, 12)),
+        exceptionDates);
+    assertNull(journal.read(0).orElseThrow().recurringRoutine());
+  }
+
+  @Test
+  void replay_stopsAtTimestampAcrossSegments() throws IOException {
+    ChangeJournal journal = new ChangeJournal(directory, 2);
+    for (int i = 0; i < 5; i++) {
+      journal.append(routine(1000L * (i + 1), RoutineChangeType.UPDATED, 5L, 1L));
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(3, files.count());
+    }
+    assertEquals(List.of(0L, 1L, 2L), offsetsUntil(journal, 3500));
+    assertEquals(List.of(0L, 1L, 2L, 3L, 4L), offsetsUntil(journal, Long.MAX_VALUE));
+    assertEquals(List.of(), offsetsUntil(journal, 999));
+    assertEquals(4000, journal.read(3).orElseThrow().timestamp());
+  }
+
+  @Test
+  void append_keepsTimestampsMonotonic() throws IOException {
+    ChangeJournal journal = new ChangeJournal(directory, 16);
+
+    journal.append(routine(2000, RoutineChangeType.CREATED, 5L, 1L));
+    journal.append(routine(1000, RoutineChangeType.UPDATED, 5L, 1L));
+
+    assertEquals(2000, journal.read(1).orElseThrow().timestamp());
+  }
+
+  @Test
+  void reopen_continuesAfterLastValidRecord() throws IOException {
+    ChangeJournal journal = new ChangeJournal(directory, 4);
+    for (int i = 0; i < 6; i++) {
+      journal.append(routine(1000L * (i + 1), RoutineChangeType.UPDATED, i, 1L));
+    }
+    journal.close();
+
+    // Tear the last record of the second segment, as a crash mid-write would.
+    Path last = directory.resolve(String.format("%020d.journal", 4));
+    try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {1, 2, 3}),
+          ChangeJournal.RECORD_SIZE + 8);
+    }
+
+    ChangeJournal reopened = new ChangeJournal(directory, 4);
+    assertEquals(5, reopened.nextOffset());
+    assertEquals(5, reopened.append(routine(500, RoutineChangeType.DELETED, 9L, null)));
+    assertEquals(5000, reopened.read(5).orElseThrow().timestamp());
+    assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L), offsetsUntil(reopened, Long.MAX_VALUE));
+  }
+}
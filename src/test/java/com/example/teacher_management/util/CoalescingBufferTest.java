@@ -0,0 +1,41 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoalescingBufferTest {
+
+  @Test
+  void offer_replacesPendingValueAndMovesItToTheBack() {
+    CoalescingBuffer<Long, String> buffer = new CoalescingBuffer<>(10);
+
+    buffer.offer(1L, "a1");
+    buffer.offer(2L, "b1");
+    buffer.offer(1L, "a2");
+
+    assertEquals(List.of("b1", "a2"), buffer.drain());
+    assertTrue(buffer.isEmpty());
+  }
+
+  @Test
+  void offer_overflowDropsEverythingUntilTaken() {
+    CoalescingBuffer<Long, String> buffer = new CoalescingBuffer<>(2);
+
+    assertTrue(buffer.offer(1L, "a"));
+    assertTrue(buffer.offer(2L, "b"));
+    assertTrue(buffer.offer(2L, "b2"));
+    assertFalse(buffer.offer(3L, "c"));
+    assertFalse(buffer.offer(4L, "d"));
+
+    assertFalse(buffer.isEmpty());
+    assertTrue(buffer.drain().isEmpty());
+    assertTrue(buffer.takeOverflow());
+    assertFalse(buffer.takeOverflow());
+    assertTrue(buffer.isEmpty());
+    assertTrue(buffer.offer(5L, "e"));
+    assertEquals(List.of("e"), buffer.drain());
+  }
+}
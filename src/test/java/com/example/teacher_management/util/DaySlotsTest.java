@@ -0,0 +1,55 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DaySlotsTest {
+
+  @Test
+  void mark_roundsOutwardToWholeSlots() {
+    DaySlots slots = new DaySlots();
+    slots.mark(LocalTime.of(9, 2), LocalTime.of(9, 58));
+
+    assertEquals(12, slots.occupiedCount());
+    assertTrue(slots.isOccupied(DaySlots.startSlot(LocalTime.of(9, 0))));
+    assertFalse(slots.isOccupied(DaySlots.startSlot(LocalTime.of(10, 0))));
+  }
+
+  @Test
+  void nextOccupiedAndNextFree_crossWordBoundaries() {
+    DaySlots slots = new DaySlots();
+    slots.mark(60, 130);
+
+    assertEquals(60, slots.nextOccupied(0));
+    assertEquals(130, slots.nextFree(60));
+    assertEquals(-1, slots.nextOccupied(130));
+    assertEquals(0, slots.nextFree(0));
+    assertTrue(slots.isOccupied(0, 61));
+    assertFalse(slots.isOccupied(0, 60));
+  }
+
+  @Test
+  void nextFree_fullDay() {
+    DaySlots slots = new DaySlots();
+    slots.mark(0, DaySlots.SLOTS_PER_DAY);
+
+    assertEquals(DaySlots.SLOTS_PER_DAY, slots.nextFree(0));
+    assertEquals(DaySlots.SLOTS_PER_DAY, slots.occupiedCount());
+  }
+
+  @Test
+  void encode_packsSlotsIntoBytes() {
+    DaySlots slots = new DaySlots();
+    slots.mark(0, 1);
+    slots.mark(9, 10);
+
+    byte[] bytes = Base64.getDecoder().decode(slots.encode());
+    assertEquals(36, bytes.length);
+    assertEquals(1, bytes[0]);
+    assertEquals(2, bytes[1]);
+  }
+}
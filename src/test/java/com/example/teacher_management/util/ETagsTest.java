@@ -0,0 +1,46 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ETagsTest {
+
+  @Test
+  void of_quotesTheVersion() {
+    assertEquals("\"7\"", ETags.of(7));
+  }
+
+  @Test
+  void weak_marksTheTag() {
+    assertEquals("W/\"7\"", ETags.weak(7));
+  }
+
+  @Test
+  void versionOf_readsAStrongTag() {
+    assertEquals(7L, ETags.versionOf(ETags.of(7)));
+    assertEquals(12L, ETags.versionOf(" \"12\" "));
+  }
+
+  @Test
+  void versionOf_readsTheWeakTagOfAGet() {
+    assertEquals(7L, ETags.versionOf(ETags.weak(7)));
+  }
+
+  @Test
+  void versionOf_noPrecondition() {
+    assertNull(ETags.versionOf(null));
+    assertNull(ETags.versionOf(" "));
+    assertNull(ETags.versionOf("*"));
+  }
+
+  @Test
+  void versionOf_rejectsOtherTags() {
+    for (String tag : new String[] {"7", "W/7", "w/\"7\"", "\"\"", "\"abc\"",
+        "\"1\", \"2\"", "\"99999999999999999999\""}) {
+      IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+          () -> ETags.versionOf(tag));
+      assertEquals("Invalid If-Match: " + tag, exception.getMessage());
+    }
+  }
+}
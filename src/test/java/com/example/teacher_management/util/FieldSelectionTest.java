@@ -0,0 +1,89 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TeacherDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldSelectionTest {
+
+  @Test
+  void parse_keepsOrderAndDefaultsToAll() {
+    assertEquals(List.of("groupId", "routineId"), List.copyOf(
+        FieldSelection.parse(" groupId, routineId,,", RoutineDTO.FIELDS)));
+    assertEquals(Set.copyOf(RoutineDTO.FIELDS), FieldSelection.parse(null,
+        RoutineDTO.FIELDS));
+    assertEquals(Set.copyOf(RoutineDTO.FIELDS), FieldSelection.parse(" ",
+        RoutineDTO.FIELDS));
+  }
+
+  @Test
+  void parse_rejectsUnknownField() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> FieldSelection.parse("name,room", TeacherDTO.FIELDS));
+
+    assertTrue(exception.getMessage().startsWith("Unknown field: room"));
+  }
+
+  @Test
+  void filters_writeOnlySelectedFields() throws IOException {
+    ObjectMapper mapper = new ObjectMapper();
+    TeacherDTO teacher = new TeacherDTO(1L, "Aashish Karki", "IT", "aashish@gmail.com");
+
+    assertEquals("{\"teacherId\":1,\"name\":\"Aashish Karki\"}", mapper.writer(
+        FieldSelection.filters("name,teacherId")).writeValueAsString(teacher));
+    assertEquals("{\"teacherId\":1,\"name\":\"Aashish Karki\",\"department\":\"IT\","
+            + "\"email\":\"aashish@gmail.com\"}",
+        mapper.writer(FieldSelection.filters((String) null)).writeValueAsString(teacher));
+  }
+
+  // Bytes on the wire for a page of 500 routines, against the full JSON page.
+  @Test
+  void selectionCborAndGzip_shrinkRoutinePage() throws IOException {
+    List<RoutineDTO> page = new ArrayList<>();
+    for (long id = 1; id <= 500; id++) {
+      page.add(new RoutineDTO(id, LocalTime.of(9, 0), LocalTime.of(10, 30),
+          LocalDate.of(2024, 7, 1).plusDays(id % 30), id % 40 + 1, id % 25 + 1));
+    }
+    // Configured as Boot configures the application's mappers.
+    ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .filters(FieldSelection.unfiltered()).build();
+    ObjectMapper cbor = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .filters(FieldSelection.unfiltered()).factory(new CBORFactory()).build();
+
+    byte[] full = json.writeValueAsBytes(page);
+    byte[] selected = json.writer(FieldSelection.filters("routineId,routineDate"))
+        .writeValueAsBytes(page);
+    byte[] binary = cbor.writeValueAsBytes(page);
+    byte[] gzipped = gzip(full);
+
+    assertTrue(selected.length < full.length / 2);
+    assertTrue(binary.length < full.length);
+    assertTrue(gzipped.length < full.length / 3);
+    assertEquals(page.size(), cbor.readTree(binary).size());
+  }
+
+  private static byte[] gzip(byte[] bytes) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    }
+    return out.toByteArray();
+  }
+}
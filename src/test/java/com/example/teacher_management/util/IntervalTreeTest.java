@@ -0,0 +1,64 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeTest {
+
+  @Test
+  void findOverlapping_halfOpenBounds() {
+    IntervalTree<Long> tree = new IntervalTree<>();
+    tree.insert(540, 600, 1L);
+    tree.insert(600, 660, 2L);
+    tree.insert(30, 1400, 3L);
+
+    assertEquals(List.of(3L, 1L), tree.findOverlapping(550, 560));
+    assertEquals(List.of(3L, 2L), tree.findOverlapping(600, 610));
+    assertEquals(List.of(), tree.findOverlapping(1400, 1440));
+  }
+
+  @Test
+  void remove_onlyMatchingInterval() {
+    IntervalTree<Long> tree = new IntervalTree<>();
+    tree.insert(540, 600, 1L);
+    tree.insert(540, 600, 2L);
+
+    assertFalse(tree.remove(540, 600, 3L));
+    assertTrue(tree.remove(540, 600, 1L));
+
+    assertEquals(1, tree.size());
+    assertEquals(List.of(2L), tree.findOverlapping(0, 1440));
+  }
+
+  @Test
+  void findOverlapping_matchesLinearScan() {
+    Random random = new Random(42);
+    IntervalTree<Long> tree = new IntervalTree<>();
+    List<long[]> intervals = new ArrayList<>();
+    for (long id = 0; id < 2000; id++) {
+      long start = random.nextInt(100_000);
+      long end = start + 1 + random.nextInt(500);
+      tree.insert(start, end, id);
+      intervals.add(new long[] {start, end, id});
+    }
+    for (int i = 0; i < 1000; i++) {
+      long[] removed = intervals.remove(random.nextInt(intervals.size()));
+      assertTrue(tree.remove(removed[0], removed[1], removed[2]));
+    }
+
+    for (int query = 0; query < 200; query++) {
+      long start = random.nextInt(100_000);
+      long end = start + 1 + random.nextInt(500);
+      List<Long> expected = intervals.stream()
+          .filter(interval -> interval[0] < end && interval[1] > start)
+          .map(interval -> interval[2]).sorted().toList();
+      assertEquals(expected, tree.findOverlapping(start, end).stream().sorted().toList());
+    }
+    assertEquals(intervals.size(), tree.size());
+  }
+}
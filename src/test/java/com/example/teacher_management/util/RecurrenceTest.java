@@ -0,0 +1,91 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RecurringRoutineDTO;
+import com.example.teacher_management.dto.RoutineOccurrenceDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RecurrenceTest {
+
+  private static final LocalDate TERM_START = LocalDate.of(2024, 7, 1);
+  private static final LocalDate TERM_END = LocalDate.of(2024, 9, 30);
+
+  private RecurringRoutineDTO weekly(Long id, DayOfWeek day, int startHour, int endHour,
+      Long teacherId, Long groupId, List<LocalDate> exceptionDates) {
+    return new RecurringRoutineDTO(id, day, LocalTime.of(startHour, 0),
+        LocalTime.of(endHour, 0), TERM_START, TERM_END, teacherId, groupId,
+        exceptionDates);
+  }
+
+  @Test
+  void count_matchesExpansion() {
+    RecurringRoutineDTO routine = weekly(1L, DayOfWeek.WEDNESDAY, 9, 10, 1L, 7L,
+        List.of(LocalDate.of(2024, 7, 17), LocalDate.of(2024, 7, 18)));
+
+    List<RoutineOccurrenceDTO> occurrences = Recurrence.expand(routine, TERM_START,
+        TERM_END);
+
+    // 13 Wednesdays in the term, one excepted; July 18th is a Thursday.
+    assertEquals(12, occurrences.size());
+    assertEquals(12, Recurrence.count(routine, TERM_START, TERM_END));
+    assertEquals(720, Recurrence.minutes(routine, TERM_START, TERM_END));
+    assertEquals(LocalDate.of(2024, 7, 3), occurrences.get(0).getRoutineDate());
+    assertTrue(occurrences.stream()
+        .noneMatch(o -> o.getRoutineDate().equals(LocalDate.of(2024, 7, 17))));
+  }
+
+  @Test
+  void count_clipsToQueryRange() {
+    RecurringRoutineDTO routine = weekly(1L, DayOfWeek.MONDAY, 9, 10, 1L, 7L, List.of());
+
+    assertEquals(1, Recurrence.count(routine, LocalDate.of(2024, 6, 1),
+        LocalDate.of(2024, 7, 7)));
+    assertEquals(0, Recurrence.count(routine, LocalDate.of(2024, 7, 2),
+        LocalDate.of(2024, 7, 7)));
+    assertEquals(0, Recurrence.count(routine, LocalDate.of(2024, 10, 1),
+        LocalDate.of(2024, 12, 31)));
+  }
+
+  @Test
+  void occursOn_honoursRangeDayAndExceptions() {
+    RecurringRoutineDTO routine = weekly(1L, DayOfWeek.MONDAY, 9, 10, 1L, 7L,
+        List.of(LocalDate.of(2024, 7, 8)));
+
+    assertTrue(Recurrence.occursOn(routine, LocalDate.of(2024, 7, 1)));
+    assertFalse(Recurrence.occursOn(routine, LocalDate.of(2024, 7, 2)));
+    assertFalse(Recurrence.occursOn(routine, LocalDate.of(2024, 7, 8)));
+    assertFalse(Recurrence.occursOn(routine, LocalDate.of(2024, 10, 7)));
+  }
+
+  @Test
+  void overlaps_needsSharedOwnerDayAndTime() {
+    RecurringRoutineDTO routine = weekly(1L, DayOfWeek.MONDAY, 9, 11, 1L, 7L, List.of());
+
+    assertTrue(Recurrence.overlaps(routine,
+        weekly(2L, DayOfWeek.MONDAY, 10, 12, 2L, 7L, List.of())));
+    assertFalse(Recurrence.overlaps(routine,
+        weekly(2L, DayOfWeek.MONDAY, 10, 12, 2L, 8L, List.of())));
+    assertFalse(Recurrence.overlaps(routine,
+        weekly(2L, DayOfWeek.TUESDAY, 10, 12, 1L, 7L, List.of())));
+    assertFalse(Recurrence.overlaps(routine,
+        weekly(2L, DayOfWeek.MONDAY, 11, 12, 1L, 7L, List.of())));
+  }
+
+  @Test
+  void overlaps_ignoresSharedDatesThatAreExcepted() {
+    RecurringRoutineDTO routine = new RecurringRoutineDTO(1L, DayOfWeek.MONDAY,
+        LocalTime.of(9, 0), LocalTime.of(10, 0), TERM_START, LocalDate.of(2024, 7, 8), 1L,
+        7L, List.of(LocalDate.of(2024, 7, 8)));
+    RecurringRoutineDTO other = new RecurringRoutineDTO(2L, DayOfWeek.MONDAY,
+        LocalTime.of(9, 0), LocalTime.of(10, 0), LocalDate.of(2024, 7, 8), TERM_END, 1L,
+        8L, List.of());
+
+    assertFalse(Recurrence.overlaps(routine, other));
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutineCsvReaderTest {
+
+  private RoutineCsvReader reader;
+
+  @BeforeEach
+  void setUp() {
+    reader = new RoutineCsvReader("group_id,teacher_name,routine_date,start_time,end_time",
+        Map.of("Aashish Karki", 1L, "Sam Lee", RoutineCsvReader.AMBIGUOUS_TEACHER),
+        Set.of(7L));
+  }
+
+  @Test
+  void read_validLine() {
+    RoutineDTO routine = reader.read("7,\"Aashish Karki\",2024-07-01,09:00,10:30");
+
+    assertEquals(1L, routine.getTeacherId());
+    assertEquals(7L, routine.getGroupId());
+    assertEquals(LocalDate.of(2024, 7, 1), routine.getRoutineDate());
+    assertEquals(LocalTime.of(9, 0), routine.getStartTime());
+    assertEquals(LocalTime.of(10, 30), routine.getEndTime());
+  }
+
+  @Test
+  void read_unknownTeacher() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> reader.read("7,Nobody,2024-07-01,09:00,10:00"));
+
+    assertEquals("Unknown teacher: Nobody", exception.getMessage());
+  }
+
+  @Test
+  void read_ambiguousTeacher() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> reader.read("7,Sam Lee,2024-07-01,09:00,10:00"));
+
+    assertEquals("Ambiguous teacher name: Sam Lee", exception.getMessage());
+  }
+
+  @Test
+  void read_unknownGroup() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> reader.read("8,Aashish Karki,2024-07-01,09:00,10:00"));
+
+    assertEquals("Unknown group id: 8", exception.getMessage());
+  }
+
+  @Test
+  void read_endBeforeStart() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> reader.read("7,Aashish Karki,2024-07-01,10:00,09:00"));
+
+    assertEquals("Start time must be before end time", exception.getMessage());
+  }
+
+  @Test
+  void read_malformedDate() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> reader.read("7,Aashish Karki,01/07/2024,09:00,10:00"));
+
+    assertTrue(exception.getMessage().startsWith("Malformed value:"));
+  }
+
+  @Test
+  void read_missingColumn() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> reader.read("7,Aashish Karki,2024-07-01,09:00"));
+
+    assertEquals("Missing value for end_time", exception.getMessage());
+  }
+
+  @Test
+  void constructor_headerWithoutColumn() {
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new RoutineCsvReader("teacher_name,group_id,routine_date,start_time",
+            Map.of(), Set.of()));
+
+    assertEquals("CSV header has no column end_time", exception.getMessage());
+  }
+
+  @Test
+  void splitLine_quotedFields() {
+    assertEquals(List.of("Karki, Aashish", "say \"hi\"", ""),
+        RoutineCsvReader.splitLine("\"Karki, Aashish\",\"say \"\"hi\"\"\","));
+  }
+}
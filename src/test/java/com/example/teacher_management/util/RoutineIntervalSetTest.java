@@ -0,0 +1,53 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RoutineIntervalSetTest {
+
+  private static final LocalDate DAY = LocalDate.of(2024, 7, 1);
+
+  private RoutineIntervalSet slots;
+
+  @BeforeEach
+  void setUp() {
+    slots = new RoutineIntervalSet();
+    slots.add(1L, routine(1L, 7L, DAY, 9, 10));
+  }
+
+  private RoutineDTO routine(Long teacherId, Long groupId, LocalDate date, int startHour,
+      int endHour) {
+    return new RoutineDTO(null, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0),
+        date, teacherId, groupId);
+  }
+
+  @Test
+  void findConflicts_sameTeacher() {
+    assertEquals(List.of(1L), slots.findConflicts(routine(1L, 8L, DAY, 9, 11)));
+  }
+
+  @Test
+  void findConflicts_sameGroup() {
+    assertEquals(List.of(1L), slots.findConflicts(routine(2L, 7L, DAY, 8, 10)));
+  }
+
+  @Test
+  void findConflicts_adjacentOrOtherDay() {
+    assertEquals(List.of(), slots.findConflicts(routine(1L, 7L, DAY, 10, 11)));
+    assertEquals(List.of(), slots.findConflicts(routine(1L, 7L, DAY.plusDays(1), 9, 10)));
+  }
+
+  @Test
+  void remove_freesSlot() {
+    slots.remove(1L, routine(1L, 7L, DAY, 9, 10));
+
+    assertEquals(List.of(), slots.findConflicts(routine(1L, 7L, DAY, 9, 10)));
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeUtilTest {
+
+  @Test
+  void minuteOfDay() {
+    assertEquals(0, TimeUtil.minuteOfDay(LocalTime.MIDNIGHT));
+    assertEquals(9 * 60 + 45, TimeUtil.minuteOfDay(LocalTime.of(9, 45)));
+  }
+
+  @Test
+  void minutesBetween_ignoresSeconds() {
+    assertEquals(90L, TimeUtil.minutesBetween(LocalTime.of(9, 0, 30), LocalTime.of(10, 30)));
+  }
+}
@@ -0,0 +1,43 @@
+package com.example.teacher_management.util;
+
+import com.example.teacher_management.dto.RoutineDTO;
+import com.example.teacher_management.dto.TimetableDTO;
+import com.example.teacher_management.dto.TimetableDayDTO;
+import com.example.teacher_management.dto.TimetableOwner;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimetableGridTest {
+
+  private static final LocalDate MONDAY = LocalDate.of(2024, 7, 1);
+
+  @Test
+  void weekStart_isMonday() {
+    assertEquals(MONDAY, TimetableGrid.weekStart(LocalDate.of(2024, 7, 7)));
+    assertEquals(MONDAY, TimetableGrid.weekStart(MONDAY));
+  }
+
+  @Test
+  void build_placesRoutinesOnTheirDay() {
+    RoutineDTO wednesday = new RoutineDTO(5L, LocalTime.of(9, 0), LocalTime.of(10, 0),
+        MONDAY.plusDays(2), 1L, 7L);
+    RoutineDTO nextWeek = new RoutineDTO(6L, LocalTime.of(9, 0), LocalTime.of(10, 0),
+        MONDAY.plusDays(7), 1L, 7L);
+
+    TimetableDTO timetable = TimetableGrid.build(TimetableOwner.TEACHER, 1L, MONDAY,
+        List.of(wednesday, nextWeek));
+
+    assertEquals(7, timetable.getDays().size());
+    TimetableDayDTO day = timetable.getDays().get(2);
+    assertEquals(MONDAY.plusDays(2), day.getDate());
+    assertEquals(12, day.getOccupiedSlots());
+    assertEquals(108, day.getEntries().get(0).getStartSlot());
+    assertEquals(120, day.getEntries().get(0).getEndSlot());
+    assertTrue(timetable.getDays().get(0).getEntries().isEmpty());
+  }
+}
@@ -0,0 +1,80 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimetableSearchTest {
+
+  private DaySlots[][] emptySlots(int owners, int days) {
+    DaySlots[][] slots = new DaySlots[owners][days];
+    for (DaySlots[] ownerSlots : slots) {
+      for (int day = 0; day < days; day++) {
+        ownerSlots[day] = new DaySlots();
+      }
+    }
+    return slots;
+  }
+
+  private boolean overlaps(TimetableSearch.Result result, List<TimetableSearch.Session> sessions,
+      int a, int b) {
+    return result.days()[a] == result.days()[b]
+        && result.starts()[a] < result.starts()[b] + sessions.get(b).slots()
+        && result.starts()[b] < result.starts()[a] + sessions.get(a).slots();
+  }
+
+  @Test
+  void search_findsConflictFreePlacement() {
+    // Two groups sharing one teacher, one day with room for exactly four sessions.
+    List<TimetableSearch.Session> sessions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      sessions.add(new TimetableSearch.Session(i % 2, new int[] {0}, 12));
+    }
+    TimetableSearch search = new TimetableSearch(1, 96, 144, 3, sessions,
+        emptySlots(1, 1), emptySlots(2, 1), new int[] {Integer.MAX_VALUE / 2});
+
+    TimetableSearch.Result result = search.search(7L, System.nanoTime() + 2_000_000_000L);
+
+    assertEquals(0, result.cost());
+    for (int a = 0; a < sessions.size(); a++) {
+      for (int b = a + 1; b < sessions.size(); b++) {
+        assertFalse(overlaps(result, sessions, a, b));
+      }
+    }
+  }
+
+  @Test
+  void search_avoidsBusySlotsAndRespectsCap() {
+    DaySlots[][] teacherBusy = emptySlots(2, 2);
+    teacherBusy[0][0].mark(0, DaySlots.SLOTS_PER_DAY);
+    List<TimetableSearch.Session> sessions = List.of(
+        new TimetableSearch.Session(0, new int[] {0, 1}, 12),
+        new TimetableSearch.Session(0, new int[] {0, 1}, 12));
+    TimetableSearch search = new TimetableSearch(2, 96, 120, 3, sessions, teacherBusy,
+        emptySlots(1, 2), new int[] {12, 12});
+
+    TimetableSearch.Result result = search.search(3L, System.nanoTime() + 2_000_000_000L);
+
+    assertEquals(0, result.cost());
+    assertNotEquals(result.teachers()[0], result.teachers()[1]);
+    for (int s = 0; s < 2; s++) {
+      assertFalse(result.teachers()[s] == 0 && result.days()[s] == 0);
+    }
+  }
+
+  @Test
+  void search_reportsRemainingConflicts() {
+    List<TimetableSearch.Session> sessions = List.of(
+        new TimetableSearch.Session(0, new int[] {0}, 12),
+        new TimetableSearch.Session(0, new int[] {0}, 12));
+    TimetableSearch search = new TimetableSearch(1, 96, 108, 3, sessions,
+        emptySlots(1, 1), emptySlots(1, 1), new int[] {Integer.MAX_VALUE / 2});
+
+    TimetableSearch.Result result = search.search(1L, System.nanoTime() + 50_000_000L);
+
+    assertTrue(result.cost() > 0);
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.teacher_management.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrigramIndexTest {
+
+  private TrigramIndex<String> index() {
+    TrigramIndex<String> index = new TrigramIndex<>();
+    index.put(1L, "Aashish", "Aashish Karki", "IT", "aashish@gmail.com");
+    index.put(2L, "Ramesh", "Ramesh Sharma", "Science", "ramesh@gmail.com");
+    index.put(3L, "Karina", "Karina Shrestha", "Mathematics", "karina@gmail.com");
+    return index;
+  }
+
+  private List<String> values(List<TrigramIndex.Hit<String>> hits) {
+    return hits.stream().map(TrigramIndex.Hit::value).toList();
+  }
+
+  @Test
+  void search_matchesPrefixOfAWord() {
+    List<TrigramIndex.Hit<String>> hits = index().search("kar", 0.3, 10);
+
+    assertEquals(List.of("Aashish", "Karina"), values(hits));
+    assertTrue(hits.stream().allMatch(TrigramIndex.Hit::prefix));
+  }
+
+  @Test
+  void search_toleratesATypo() {
+    List<TrigramIndex.Hit<String>> hits = index().search("Shrama", 0.3, 10);
+
+    assertEquals("Ramesh", hits.get(0).value());
+    assertFalse(hits.get(0).prefix());
+    assertTrue(hits.get(0).score() < 1.0);
+  }
+
+  @Test
+  void search_ignoresCaseAndAccents() {
+    assertEquals(List.of("Ramesh"), values(index().search("RAM\u00c9SH", 0.3, 10)));
+  }
+
+  @Test
+  void search_ranksShortestPrefixMatchFirst() {
+    TrigramIndex<String> index = new TrigramIndex<>();
+    index.put(1L, "partial", "Mathew");
+    index.put(4L, "transposed", "Mtah");
+    index.put(2L, "exact", "Math");
+    index.put(3L, "plural", "Maths Department");
+
+    List<TrigramIndex.Hit<String>> hits = index.search("math", 0.3, 10);
+
+    assertEquals(List.of("exact", "plural", "partial"), values(hits));
+    assertEquals(1.0, hits.get(0).score());
+  }
+
+  @Test
+  void search_honoursMinScoreAndLimit() {
+    TrigramIndex<String> index = index();
+
+    assertTrue(index.search("zzz", 0.3, 10).isEmpty());
+    assertEquals(1, index.search("kar", 0.3, 1).size());
+    assertTrue(index.search(" ", 0.3, 10).isEmpty());
+  }
+
+  @Test
+  void put_replacesAndRemoveDropsDocument() {
+    TrigramIndex<String> index = index();
+
+    index.put(2L, "Ramesh", "Ramesh Thapa", "Science", "ramesh@gmail.com");
+    index.remove(3L);
+
+    assertEquals(List.of("Ramesh"), values(index.search("thapa", 0.3, 10)));
+    assertTrue(index.search("sharma", 0.3, 10).isEmpty());
+    assertFalse(values(index.search("karina", 0.3, 10)).contains("Karina"));
+    assertEquals(2, index.size());
+  }
+
+  @Test
+  void words_foldsAndSplits() {
+    assertEquals(List.of("jose", "garcia", "gmail", "com"),
+        TrigramIndex.words("Jos\u00e9 Garc\u00eda <gmail.com>"));
+  }
+}